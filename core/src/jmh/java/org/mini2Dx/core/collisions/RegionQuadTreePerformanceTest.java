@@ -13,6 +13,7 @@ package org.mini2Dx.core.collisions;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.mini2Dx.core.engine.geom.CollisionBox;
 import org.mini2Dx.core.geom.LineSegment;
@@ -36,6 +37,9 @@ import com.badlogic.gdx.math.MathUtils;
 @Threads(value=1)
 public class RegionQuadTreePerformanceTest {
 	private static final int ELEMENTS_PER_QUAD = 4;
+	private static final int LARGE_TOTAL_ELEMENTS = 20000;
+	private static final float LARGE_WORLD_SIZE = 4096f;
+	private static final ForkJoinPool FORK_JOIN_POOL = new ForkJoinPool();
 	
 	@State(Scope.Thread)
 	public static class TestState {
@@ -49,6 +53,11 @@ public class RegionQuadTreePerformanceTest {
 		public List<CollisionBox> basicCollisions = new ArrayList<CollisionBox>();
 		public List<CollisionBox> complexCollisions = new ArrayList<CollisionBox>();
 		
+		public ConcurrentRegionQuadTree<CollisionBox> largeQuadTree = new ConcurrentRegionQuadTree<CollisionBox>(ELEMENTS_PER_QUAD * 4, 0f, 0f, LARGE_WORLD_SIZE, LARGE_WORLD_SIZE);
+		public Rectangle largeRectangle = new Rectangle(256f, 256f, LARGE_WORLD_SIZE - 512f, LARGE_WORLD_SIZE - 512f);
+		public List<CollisionBox> largeCollisions = new ArrayList<CollisionBox>();
+		public List<CollisionBox> largeResults = new ArrayList<CollisionBox>();
+		
 		{
 			basicCollisions.add(new CollisionBox(0f, 0f, 20f, 20f));
 			basicCollisions.add(new CollisionBox(80f, 80f, 20f, 20f));
@@ -77,12 +86,17 @@ public class RegionQuadTreePerformanceTest {
 			for(int i = 0; i < (ELEMENTS_PER_QUAD * 2) + 1; i++) {
 				complexCollisions.add(new CollisionBox(MathUtils.random(60f, 80f), MathUtils.random(60f, 80f), 20f, 20f));
 			}
+			
+			for(int i = 0; i < LARGE_TOTAL_ELEMENTS; i++) {
+				largeCollisions.add(new CollisionBox(MathUtils.random(0f, LARGE_WORLD_SIZE - 16f), MathUtils.random(0f, LARGE_WORLD_SIZE - 16f), 16f, 16f));
+			}
 		}
 		
 		@Setup(Level.Iteration)
 		public void setUp() {			
 			basicQuadTree.addAll(basicCollisions);
 			complexQuadTree.addAll(complexCollisions);
+			largeQuadTree.addAll(largeCollisions);
 		}
 		
 		@TearDown(Level.Iteration)
@@ -90,6 +104,7 @@ public class RegionQuadTreePerformanceTest {
 			emptyQuadTree.clear();
 			basicQuadTree.clear();
 			complexQuadTree.clear();
+			largeQuadTree.removeAll(largeCollisions);
 		}
 	}
 	
@@ -155,4 +170,20 @@ public class RegionQuadTreePerformanceTest {
 	public void testComplexRegionQuadTreeIntersectingRectangle(TestState state) {
 		state.complexQuadTree.getElementsWithinArea(state.rectangle);
 	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("ConcurrentRegionQuadTree_Large_Area_Serial")
+	public void testLargeConcurrentRegionQuadTreeWithinAreaSerial(TestState state) {
+		state.largeResults.clear();
+		state.largeQuadTree.getElementsWithinArea(state.largeResults, state.largeRectangle);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("ConcurrentRegionQuadTree_Large_Area_Parallel")
+	public void testLargeConcurrentRegionQuadTreeWithinAreaParallel(TestState state) {
+		state.largeResults.clear();
+		state.largeQuadTree.getElementsWithinArea(state.largeResults, state.largeRectangle, FORK_JOIN_POOL);
+	}
 }
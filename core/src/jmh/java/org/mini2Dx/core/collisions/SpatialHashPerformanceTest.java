@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.collisions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mini2Dx.core.engine.geom.CollisionBox;
+import org.mini2Dx.core.geom.LineSegment;
+import org.mini2Dx.core.geom.Point;
+import org.mini2Dx.core.geom.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Performance comparison of {@link SpatialHash} against {@link RegionQuadTree}
+ */
+@Threads(value=1)
+public class SpatialHashPerformanceTest {
+	private static final int ELEMENTS_PER_QUAD = 4;
+	private static final int TOTAL_ELEMENTS = 2000;
+	private static final float WORLD_SIZE = 2048f;
+	private static final float ELEMENT_SIZE = 16f;
+	private static final float CELL_SIZE = 32f;
+	
+	@State(Scope.Thread)
+	public static class TestState {
+		public RegionQuadTree<CollisionBox> quadTree = new RegionQuadTree<CollisionBox>(ELEMENTS_PER_QUAD, 0f, 0f, WORLD_SIZE, WORLD_SIZE);
+		public SpatialHash<CollisionBox> spatialHash = new SpatialHash<CollisionBox>(CELL_SIZE, 0f, 0f, WORLD_SIZE, WORLD_SIZE);
+		
+		public LineSegment lineSegment = new LineSegment(256f, 256f, 768f, 768f);
+		public Rectangle rectangle = new Rectangle(512f, 512f, 256f, 256f);
+		public Point point = new Point(1024f, 1024f);
+		
+		public List<CollisionBox> quadTreeCollisions = new ArrayList<CollisionBox>();
+		public List<CollisionBox> spatialHashCollisions = new ArrayList<CollisionBox>();
+		public List<CollisionBox> results = new ArrayList<CollisionBox>();
+		
+		{
+			for(int i = 0; i < TOTAL_ELEMENTS; i++) {
+				float x = MathUtils.random(0f, WORLD_SIZE - ELEMENT_SIZE);
+				float y = MathUtils.random(0f, WORLD_SIZE - ELEMENT_SIZE);
+				quadTreeCollisions.add(new CollisionBox(x, y, ELEMENT_SIZE, ELEMENT_SIZE));
+				spatialHashCollisions.add(new CollisionBox(x, y, ELEMENT_SIZE, ELEMENT_SIZE));
+			}
+		}
+		
+		@Setup(Level.Iteration)
+		public void setUp() {
+			quadTree.addAll(quadTreeCollisions);
+			spatialHash.addAll(spatialHashCollisions);
+		}
+		
+		@TearDown(Level.Iteration)
+		public void cleanup() {
+			quadTree.clear();
+			spatialHash.clear();
+		}
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_Area")
+	public void testRegionQuadTreeWithinArea(TestState state) {
+		state.results.clear();
+		state.quadTree.getElementsWithinArea(state.results, state.rectangle);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_Area")
+	public void testSpatialHashWithinArea(TestState state) {
+		state.results.clear();
+		state.spatialHash.getElementsWithinArea(state.results, state.rectangle);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_Point")
+	public void testRegionQuadTreeContainingPoint(TestState state) {
+		state.results.clear();
+		state.quadTree.getElementsContainingPoint(state.results, state.point);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_Point")
+	public void testSpatialHashContainingPoint(TestState state) {
+		state.results.clear();
+		state.spatialHash.getElementsContainingPoint(state.results, state.point);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_LineSegment")
+	public void testRegionQuadTreeIntersectingLineSegment(TestState state) {
+		state.results.clear();
+		state.quadTree.getElementsIntersectingLineSegment(state.results, state.lineSegment);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_LineSegment")
+	public void testSpatialHashIntersectingLineSegment(TestState state) {
+		state.results.clear();
+		state.spatialHash.getElementsIntersectingLineSegment(state.results, state.lineSegment);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_Move")
+	public void testRegionQuadTreeMoveAll(TestState state) {
+		for(int i = state.quadTreeCollisions.size() - 1; i >= 0; i--) {
+			CollisionBox collisionBox = state.quadTreeCollisions.get(i);
+			collisionBox.set(MathUtils.random(0f, WORLD_SIZE - ELEMENT_SIZE), MathUtils.random(0f, WORLD_SIZE - ELEMENT_SIZE));
+		}
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("SpatialHash_Comparison_Move")
+	public void testSpatialHashMoveAll(TestState state) {
+		for(int i = state.spatialHashCollisions.size() - 1; i >= 0; i--) {
+			CollisionBox collisionBox = state.spatialHashCollisions.get(i);
+			collisionBox.set(MathUtils.random(0f, WORLD_SIZE - ELEMENT_SIZE), MathUtils.random(0f, WORLD_SIZE - ELEMENT_SIZE));
+		}
+	}
+}
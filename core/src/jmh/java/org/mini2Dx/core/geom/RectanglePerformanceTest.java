@@ -36,6 +36,10 @@ public class RectanglePerformanceTest {
 		
 		public Circle intersectingCircle = new Circle(75f, 75f, 50f);
 		public Circle nonIntersectingCircle = new Circle(1000f, 1000f, 50f);
+		
+		public Rectangle movingRectangle = new Rectangle(0f, 0f, 50f, 50f);
+		public Rectangle containedRectangle = new Rectangle(10f, 10f, 20f, 20f);
+		public float position = 0f;
     }
 	
 	@Benchmark
@@ -196,4 +200,54 @@ public class RectanglePerformanceTest {
 		state.rectangle.setRotation(45f);
 		state.rectangle.intersects(state.nonIntersectingCircle);
 	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("Rectangle")
+	public void testContainsRectangle(TestState state) {
+		state.rectangle.contains(state.containedRectangle);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("Rectangle_Set")
+	public void testSetXY(TestState state) {
+		state.position = state.position > 100f ? 0f : state.position + 1f;
+		state.movingRectangle.set(state.position, state.position);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("Rectangle_Set")
+	public void testSetXYWidthHeight(TestState state) {
+		state.position = state.position > 100f ? 0f : state.position + 1f;
+		state.movingRectangle.set(state.position, state.position, 50f + state.position, 50f);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("Rectangle_Set")
+	public void testSetContainsXY(TestState state) {
+		state.position = state.position > 100f ? 0f : state.position + 1f;
+		state.movingRectangle.set(state.position, state.position);
+		state.movingRectangle.contains(25f, 25f);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("Rectangle_Set")
+	public void testSetIntersectsRectangle(TestState state) {
+		state.position = state.position > 100f ? 0f : state.position + 1f;
+		state.movingRectangle.set(state.position, state.position);
+		state.movingRectangle.intersects(state.intersectingRectangle);
+	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("Rectangle_Set")
+	public void testSetIntersectsCircle(TestState state) {
+		state.position = state.position > 100f ? 0f : state.position + 1f;
+		state.movingRectangle.set(state.position, state.position);
+		state.movingRectangle.intersects(state.intersectingCircle);
+	}
 }
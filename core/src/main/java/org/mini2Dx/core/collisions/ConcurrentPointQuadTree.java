@@ -25,6 +25,7 @@ import org.mini2Dx.core.geom.Shape;
 import org.mini2Dx.core.graphics.Graphics;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.IntSet;
 
 /**
  * Implements a thread-safe point quadtree
@@ -50,6 +51,12 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 	protected int totalElementsCache = -1;
 	protected int totalMerges = 0;
 
+	protected volatile boolean batching = false;
+	protected List<ConcurrentPointQuadTree<T>> batchQuads;
+	protected List<T> batchElements;
+	protected IntSet batchElementIds;
+	protected boolean queuedForBatch = false;
+
 	/**
 	 * Constructs a {@link ConcurrentPointQuadTree} with a specified element
 	 * limit and no merging watermark. As elements are removed, small sized
@@ -228,10 +235,7 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		int totalElements = this.elements.size();
 		lock.writeLock().unlock();
 
-		if (totalElements > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
-				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
-			subdivide();
-		}
+		subdivideIfRequired(totalElements);
 	}
 
 	public boolean add(T element) {
@@ -260,13 +264,24 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		int totalElements = elements.size();
 		lock.writeLock().unlock();
 
-		if (totalElements > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
-				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
-			subdivide();
-		}
+		subdivideIfRequired(totalElements);
 		return true;
 	}
 
+	protected void subdivideIfRequired(int totalElements) {
+		if (totalElements <= elementLimitPerQuad) {
+			return;
+		}
+		if ((getWidth() * 0.5f) < minimumQuadWidth || (getHeight() * 0.5f) < minimumQuadHeight) {
+			return;
+		}
+		if (isBatching()) {
+			queueForBatch();
+			return;
+		}
+		subdivide();
+	}
+
 	protected boolean addElementToChild(T element) {
 		if (topLeft.add(element)) {
 			lock.readLock().unlock();
@@ -329,6 +344,10 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		}
 
 		lock.readLock().lock();
+		if (topLeft == null) {
+			lock.readLock().unlock();
+			return false;
+		}
 		int topLeftTotal = topLeft.getTotalElements();
 		if (topLeftTotal >= mergeWatermark) {
 			lock.readLock().unlock();
@@ -452,6 +471,10 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		if (parent == null) {
 			return;
 		}
+		if (isBatching()) {
+			parent.queueForBatch();
+			return;
+		}
 		if (parent.isMergable()) {
 			parent.merge();
 		}
@@ -512,6 +535,10 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		if (parent == null) {
 			return result;
 		}
+		if (result && isBatching()) {
+			parent.queueForBatch();
+			return result;
+		}
 		if (result && parent.isMergable()) {
 			if(!topDownInvocation) {
 				parent.lock.readLock().lock();
@@ -627,6 +654,29 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		lock.readLock().unlock();
 	}
 
+	/**
+	 * Notifies the {@link CollisionPairConsumer} of each pair of elements that
+	 * share the same quad
+	 */
+	@Override
+	public void forEachPotentialCollision(CollisionPairConsumer<T> consumer) {
+		lock.readLock().lock();
+		if (topLeft != null) {
+			topLeft.forEachPotentialCollision(consumer);
+			topRight.forEachPotentialCollision(consumer);
+			bottomLeft.forEachPotentialCollision(consumer);
+			bottomRight.forEachPotentialCollision(consumer);
+		} else {
+			for (int i = 0; i < elements.size(); i++) {
+				T element = elements.get(i);
+				for (int j = i + 1; j < elements.size(); j++) {
+					consumer.onPotentialCollision(element, elements.get(j));
+				}
+			}
+		}
+		lock.readLock().unlock();
+	}
+
 	public List<T> getElements() {
 		List<T> result = new ArrayList<T>();
 		getElements(result);
@@ -684,6 +734,10 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 
 	@Override
 	public void positionChanged(T moved) {
+		if (isBatching()) {
+			markMoved(moved);
+			return;
+		}
 		if (this.contains(moved.getX(), moved.getY()))
 			return;
 
@@ -698,6 +752,187 @@ public class ConcurrentPointQuadTree<T extends Positionable> extends Rectangle i
 		}
 	}
 
+	@Override
+	public void beginBatch() {
+		ConcurrentPointQuadTree<T> root = getRoot();
+		synchronized (root) {
+			if (root.batchQuads == null) {
+				root.batchQuads = new ArrayList<ConcurrentPointQuadTree<T>>();
+			}
+			root.batching = true;
+		}
+	}
+
+	/**
+	 * Re-bins all elements that moved since {@link #beginBatch()} was called
+	 * and ends the batch update. This should be called once all element
+	 * movement for the current update has completed.
+	 */
+	@Override
+	public void commitBatch() {
+		ConcurrentPointQuadTree<T> root = getRoot();
+		synchronized (root) {
+			if (!root.batching) {
+				return;
+			}
+			final List<ConcurrentPointQuadTree<T>> quads = root.batchQuads;
+
+			// Quads may be appended while re-binning so the size is re-evaluated
+			for (int i = 0; i < getTotalBatchQuads(quads); i++) {
+				getBatchQuad(quads, i).rebinMovedElements();
+			}
+			root.batching = false;
+
+			for (int i = 0; i < getTotalBatchQuads(quads); i++) {
+				ConcurrentPointQuadTree<T> quad = getBatchQuad(quads, i);
+				synchronized (quads) {
+					quad.queuedForBatch = false;
+				}
+				quad.restructure();
+			}
+			synchronized (quads) {
+				quads.clear();
+			}
+		}
+	}
+
+	private int getTotalBatchQuads(List<ConcurrentPointQuadTree<T>> quads) {
+		synchronized (quads) {
+			return quads.size();
+		}
+	}
+
+	private ConcurrentPointQuadTree<T> getBatchQuad(List<ConcurrentPointQuadTree<T>> quads, int index) {
+		synchronized (quads) {
+			return quads.get(index);
+		}
+	}
+
+	@Override
+	public boolean isBatching() {
+		return getRoot().batching;
+	}
+
+	/**
+	 * Records that an element within this quad moved during a batch update
+	 * 
+	 * @param moved
+	 *            The element that moved
+	 */
+	protected void markMoved(T moved) {
+		lock.writeLock().lock();
+		if (batchElements == null) {
+			batchElements = new ArrayList<T>(elementLimitPerQuad);
+			batchElementIds = new IntSet(elementLimitPerQuad);
+		}
+		if (batchElementIds.add(moved.getId())) {
+			batchElements.add(moved);
+		}
+		lock.writeLock().unlock();
+		queueForBatch();
+	}
+
+	protected void queueForBatch() {
+		final List<ConcurrentPointQuadTree<T>> quads = getRoot().batchQuads;
+		synchronized (quads) {
+			if (queuedForBatch) {
+				return;
+			}
+			queuedForBatch = true;
+			quads.add(this);
+		}
+	}
+
+	/**
+	 * Removes moved elements that are no longer within this quad and re-adds
+	 * them to the nearest ancestor that accepts them. Elements from the same
+	 * quad are processed together so they share the same upwards walk.
+	 */
+	protected void rebinMovedElements() {
+		lock.writeLock().lock();
+		if (batchElements == null || batchElements.isEmpty()) {
+			lock.writeLock().unlock();
+			return;
+		}
+		for (int i = batchElements.size() - 1; i >= 0; i--) {
+			T element = batchElements.get(i);
+			if (containsElement(element) || !elements.remove(element)) {
+				batchElements.remove(i);
+				batchElementIds.remove(element.getId());
+			}
+		}
+		lock.writeLock().unlock();
+
+		for (int i = batchElements.size() - 1; i >= 0; i--) {
+			T element = batchElements.get(i);
+			element.removePositionChangeListener(this);
+			clearTotalElementsCacheUpwards();
+
+			QuadTree<T> parentQuad = parent;
+			while (parentQuad != null) {
+				if (parentQuad.add(element)) {
+					break;
+				}
+				parentQuad = parentQuad.getParent();
+			}
+		}
+		lock.writeLock().lock();
+		batchElements.clear();
+		batchElementIds.clear();
+		lock.writeLock().unlock();
+
+		if (parent != null) {
+			parent.queueForBatch();
+		}
+	}
+
+	/**
+	 * Applies any subdivide or merge that was deferred during a batch update
+	 */
+	protected void restructure() {
+		lock.readLock().lock();
+		boolean leaf = topLeft == null;
+		int totalElements = elements.size();
+		lock.readLock().unlock();
+
+		if (leaf) {
+			subdivideIfRequired(totalElements);
+			return;
+		}
+		if (isMergable()) {
+			lock.readLock().lock();
+			merge();
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns if an element is still within the bounds of this quad
+	 * 
+	 * @param element
+	 *            The element to check
+	 * @return True if this quad still contains the element
+	 */
+	protected boolean containsElement(T element) {
+		return this.contains(element.getX(), element.getY());
+	}
+
+	protected void clearTotalElementsCacheUpwards() {
+		ConcurrentPointQuadTree<T> quad = this;
+		while (quad != null) {
+			quad.clearTotalElementsCache();
+			quad = quad.parent;
+		}
+	}
+
+	protected ConcurrentPointQuadTree<T> getRoot() {
+		ConcurrentPointQuadTree<T> result = this;
+		while (result.parent != null) {
+			result = result.parent;
+		}
+		return result;
+	}
+
 	public QuadTree<T> getParent() {
 		return parent;
 	}
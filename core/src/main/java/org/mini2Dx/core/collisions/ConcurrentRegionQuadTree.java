@@ -14,6 +14,8 @@ package org.mini2Dx.core.collisions;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.mini2Dx.core.engine.geom.CollisionShape;
 import org.mini2Dx.core.geom.LineSegment;
@@ -32,6 +34,12 @@ import com.badlogic.gdx.graphics.Color;
 public class ConcurrentRegionQuadTree<T extends CollisionShape> extends ConcurrentPointQuadTree<T> {
 	private static final long serialVersionUID = 2344163859287984782L;
 
+	/**
+	 * The default number of elements a quad (including its children) must
+	 * contain before a parallel query splits across its child quads
+	 */
+	public static final int DEFAULT_PARALLEL_QUERY_THRESHOLD = 512;
+
 	/**
 	 * Constructs a {@link ConcurrentRegionQuadTree} with a specified element
 	 * limit and watermark
@@ -204,9 +212,7 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		int totalElements = this.elements.size();
 		lock.writeLock().unlock();
 		
-		if (totalElements > elementLimitPerQuad && getWidth() >= 2f && getHeight() >= 2f) {
-			subdivide();
-		}
+		subdivideIfRequired(totalElements);
 	}
 
 	@Override
@@ -244,13 +250,26 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		elements.add(element);
 		element.addPostionChangeListener(this);
 
-		if (elements.size() > elementLimitPerQuad && getWidth() >= 2f && getHeight() >= 2f) {
-			subdivide();
-		}
+		subdivideIfRequired(elements.size());
 		lock.writeLock().unlock();
 		return true;
 	}
 
+	@Override
+	protected void subdivideIfRequired(int totalElements) {
+		if (totalElements <= elementLimitPerQuad) {
+			return;
+		}
+		if (getWidth() < 2f || getHeight() < 2f) {
+			return;
+		}
+		if (isBatching()) {
+			queueForBatch();
+			return;
+		}
+		subdivide();
+	}
+
 	@Override
 	protected boolean addElementToChild(T element) {
 		Shape shape = element.getShape();
@@ -364,6 +383,10 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		if (parent == null) {
 			return;
 		}
+		if (isBatching()) {
+			parent.queueForBatch();
+			return;
+		}
 		if (parent.isMergable()) {
 			parent.merge();
 		}
@@ -403,6 +426,10 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		if (parent == null) {
 			return result;
 		}
+		if (result && isBatching()) {
+			parent.queueForBatch();
+			return result;
+		}
 		if (result && parent.isMergable()) {
 			if(!topDownInvocation) {
 				parent.lock.readLock().lock();
@@ -450,6 +477,52 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		lock.readLock().unlock();
 	}
 
+	/**
+	 * Retrieves all elements within an area, splitting the traversal of child
+	 * quads across a {@link ForkJoinPool} for quads containing more than
+	 * {@link #DEFAULT_PARALLEL_QUERY_THRESHOLD} elements
+	 * 
+	 * @param result
+	 *            The {@link Collection} to store the results in. This does
+	 *            not need to be thread-safe as results are merged on the
+	 *            calling thread.
+	 * @param area
+	 *            The area to search
+	 * @param pool
+	 *            The {@link ForkJoinPool} to execute the query on
+	 */
+	public void getElementsWithinArea(Collection<T> result, Shape area, ForkJoinPool pool) {
+		getElementsWithinArea(result, area, pool, DEFAULT_PARALLEL_QUERY_THRESHOLD);
+	}
+
+	/**
+	 * Retrieves all elements within an area, splitting the traversal of child
+	 * quads across a {@link ForkJoinPool} for quads containing more than the
+	 * specified threshold of elements
+	 * 
+	 * @param result
+	 *            The {@link Collection} to store the results in. This does
+	 *            not need to be thread-safe as results are merged on the
+	 *            calling thread.
+	 * @param area
+	 *            The area to search
+	 * @param pool
+	 *            The {@link ForkJoinPool} to execute the query on
+	 * @param parallelThreshold
+	 *            The number of elements a quad must contain before its
+	 *            children are queried in parallel
+	 */
+	public void getElementsWithinArea(Collection<T> result, Shape area, ForkJoinPool pool,
+			int parallelThreshold) {
+		if (getTotalElements() <= parallelThreshold) {
+			getElementsWithinArea(result, area);
+			return;
+		}
+		AreaQueryTask<T> task = new AreaQueryTask<T>(this, area, parallelThreshold);
+		pool.invoke(task);
+		result.addAll(task.result);
+	}
+
 	@Override
 	public List<T> getElementsContainingPoint(Point point) {
 		List<T> result = new ArrayList<T>();
@@ -520,6 +593,70 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		lock.readLock().unlock();
 	}
 
+	/**
+	 * Notifies the {@link CollisionPairConsumer} of each pair of elements
+	 * whose bounds overlap. Elements that only share an edge are not
+	 * reported. Elements are only compared against elements in the
+	 * same quad and in descendant quads so the tree is walked once.
+	 * 
+	 * Pairs are collected while the quads are read-locked and the consumer is
+	 * only notified once every lock has been released, so the consumer may
+	 * safely move, add or remove elements.
+	 */
+	@Override
+	public void forEachPotentialCollision(CollisionPairConsumer<T> consumer) {
+		final List<T> pairs = new ArrayList<T>();
+		collectPotentialCollisions(pairs, new ArrayList<T>());
+		for (int i = 0; i < pairs.size(); i += 2) {
+			consumer.onPotentialCollision(pairs.get(i), pairs.get(i + 1));
+		}
+	}
+
+	/**
+	 * Collects each pair of overlapping elements in this quad and its
+	 * descendants
+	 * 
+	 * @param pairs
+	 *            The list to append pairs to, with each pair stored as two
+	 *            consecutive elements
+	 * @param ancestorElements
+	 *            The elements of the ancestors of this quad
+	 */
+	protected void collectPotentialCollisions(List<T> pairs, List<T> ancestorElements) {
+		lock.readLock().lock();
+		for (int i = 0; i < elements.size(); i++) {
+			T element = elements.get(i);
+			for (int j = i + 1; j < elements.size(); j++) {
+				T otherElement = elements.get(j);
+				if (RegionQuadTree.isBoundsOverlapping(element, otherElement)) {
+					pairs.add(element);
+					pairs.add(otherElement);
+				}
+			}
+			for (int j = 0; j < ancestorElements.size(); j++) {
+				T ancestorElement = ancestorElements.get(j);
+				if (RegionQuadTree.isBoundsOverlapping(ancestorElement, element)) {
+					pairs.add(ancestorElement);
+					pairs.add(element);
+				}
+			}
+		}
+		if (topLeft != null) {
+			final int totalAncestorElements = ancestorElements.size();
+			for (int i = 0; i < elements.size(); i++) {
+				ancestorElements.add(elements.get(i));
+			}
+			((ConcurrentRegionQuadTree<T>) topLeft).collectPotentialCollisions(pairs, ancestorElements);
+			((ConcurrentRegionQuadTree<T>) topRight).collectPotentialCollisions(pairs, ancestorElements);
+			((ConcurrentRegionQuadTree<T>) bottomLeft).collectPotentialCollisions(pairs, ancestorElements);
+			((ConcurrentRegionQuadTree<T>) bottomRight).collectPotentialCollisions(pairs, ancestorElements);
+			for (int i = ancestorElements.size() - 1; i >= totalAncestorElements; i--) {
+				ancestorElements.remove(i);
+			}
+		}
+		lock.readLock().unlock();
+	}
+
 	@Override
 	public List<T> getElements() {
 		List<T> result = new ArrayList<T>();
@@ -560,8 +697,17 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 		return totalElementsCache;
 	}
 
+	@Override
+	protected boolean containsElement(T element) {
+		return this.contains(element.getShape());
+	}
+
 	@Override
 	public void positionChanged(T moved) {
+		if (isBatching()) {
+			markMoved(moved);
+			return;
+		}
 		if (this.contains(moved.getShape()))
 			return;
 
@@ -575,4 +721,69 @@ public class ConcurrentRegionQuadTree<T extends CollisionShape> extends Concurre
 			parentQuad = parentQuad.getParent();
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Queries a quad and its children for elements within an area, forking a
+	 * sub-task per child quad while the element count is above the threshold
+	 */
+	private static class AreaQueryTask<T extends CollisionShape> extends RecursiveAction {
+		private static final long serialVersionUID = -3386542207418315658L;
+
+		private final ConcurrentRegionQuadTree<T> quad;
+		private final Shape area;
+		private final int parallelThreshold;
+		private final List<T> result = new ArrayList<T>();
+
+		public AreaQueryTask(ConcurrentRegionQuadTree<T> quad, Shape area, int parallelThreshold) {
+			this.quad = quad;
+			this.area = area;
+			this.parallelThreshold = parallelThreshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (quad.getTotalElements() <= parallelThreshold) {
+				quad.getElementsWithinArea(result, area);
+				return;
+			}
+
+			quad.lock.readLock().lock();
+			if (quad.topLeft == null) {
+				quad.lock.readLock().unlock();
+				quad.getElementsWithinArea(result, area);
+				return;
+			}
+
+			List<AreaQueryTask<T>> childTasks = new ArrayList<AreaQueryTask<T>>(4);
+			forkChildTask(childTasks, (ConcurrentRegionQuadTree<T>) quad.topLeft);
+			forkChildTask(childTasks, (ConcurrentRegionQuadTree<T>) quad.topRight);
+			forkChildTask(childTasks, (ConcurrentRegionQuadTree<T>) quad.bottomLeft);
+			forkChildTask(childTasks, (ConcurrentRegionQuadTree<T>) quad.bottomRight);
+
+			for (int i = quad.elements.size() - 1; i >= 0; i--) {
+				T element = quad.elements.get(i);
+				if (element == null)
+					continue;
+				if (area.contains(element.getShape()) || area.intersects(element.getShape())) {
+					result.add(element);
+				}
+			}
+
+			for (int i = 0; i < childTasks.size(); i++) {
+				AreaQueryTask<T> childTask = childTasks.get(i);
+				childTask.join();
+				result.addAll(childTask.result);
+			}
+			quad.lock.readLock().unlock();
+		}
+
+		private void forkChildTask(List<AreaQueryTask<T>> childTasks, ConcurrentRegionQuadTree<T> child) {
+			if (!child.contains(area) && !child.intersects(area)) {
+				return;
+			}
+			AreaQueryTask<T> childTask = new AreaQueryTask<T>(child, area, parallelThreshold);
+			childTask.fork();
+			childTasks.add(childTask);
+		}
+	}
+}
@@ -23,6 +23,7 @@ import org.mini2Dx.core.geom.Shape;
 import org.mini2Dx.core.graphics.Graphics;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.IntSet;
 
 /**
  * Implements a point quadtree
@@ -46,6 +47,12 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 
 	protected int totalElementsCache = -1;
 
+	protected boolean batching = false;
+	protected List<PointQuadTree<T>> batchQuads;
+	protected List<T> batchElements;
+	protected IntSet batchElementIds;
+	protected boolean queuedForBatch = false;
+
 	/**
 	 * Constructs a {@link PointQuadTree} with a specified element limit and
 	 * watermark
@@ -201,10 +208,7 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 			elements.add(element);
 			element.addPostionChangeListener(this);
 		}
-		if (elements.size() > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
-				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
-			subdivide();
-		}
+		subdivideIfRequired();
 	}
 
 	public boolean add(T element) {
@@ -225,12 +229,22 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 	protected boolean addElement(T element) {
 		elements.add(element);
 		element.addPostionChangeListener(this);
+		subdivideIfRequired();
+		return true;
+	}
 
-		if (elements.size() > elementLimitPerQuad && (getWidth() * 0.5f) >= minimumQuadWidth
-				&& (getHeight() * 0.5f) >= minimumQuadHeight) {
-			subdivide();
+	protected void subdivideIfRequired() {
+		if (elements.size() <= elementLimitPerQuad) {
+			return;
 		}
-		return true;
+		if ((getWidth() * 0.5f) < minimumQuadWidth || (getHeight() * 0.5f) < minimumQuadHeight) {
+			return;
+		}
+		if (isBatching()) {
+			queueForBatch();
+			return;
+		}
+		subdivide();
 	}
 
 	protected boolean addElementToChild(T element) {
@@ -351,13 +365,7 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		for (T element : elementsWithinQuad) {
 			element.removePositionChangeListener(this);
 		}
-
-		if (parent == null) {
-			return;
-		}
-		if (parent.isMergable()) {
-			parent.merge();
-		}
+		mergeParentIfRequired();
 	}
 
 	public boolean remove(T element) {
@@ -389,6 +397,18 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		} else {
 			elements.clear();
 		}
+		clearBatch();
+	}
+
+	protected void clearBatch() {
+		if (batchElements != null) {
+			batchElements.clear();
+			batchElementIds.clear();
+		}
+		if (batchQuads != null) {
+			batchQuads.clear();
+		}
+		queuedForBatch = false;
 	}
 
 	protected boolean removeElementFromChild(T element) {
@@ -407,13 +427,23 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		boolean result = elements.remove(element);
 		element.removePositionChangeListener(this);
 
+		if (result) {
+			mergeParentIfRequired();
+		}
+		return result;
+	}
+
+	protected void mergeParentIfRequired() {
 		if (parent == null) {
-			return result;
+			return;
+		}
+		if (isBatching()) {
+			parent.queueForBatch();
+			return;
 		}
-		if (result && parent.isMergable()) {
+		if (parent.isMergable()) {
 			parent.merge();
 		}
-		return result;
 	}
 
 	@Override
@@ -513,6 +543,27 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		}
 	}
 
+	/**
+	 * Notifies the {@link CollisionPairConsumer} of each pair of elements that
+	 * share the same quad
+	 */
+	@Override
+	public void forEachPotentialCollision(CollisionPairConsumer<T> consumer) {
+		if (topLeft != null) {
+			topLeft.forEachPotentialCollision(consumer);
+			topRight.forEachPotentialCollision(consumer);
+			bottomLeft.forEachPotentialCollision(consumer);
+			bottomRight.forEachPotentialCollision(consumer);
+			return;
+		}
+		for (int i = 0; i < elements.size(); i++) {
+			T element = elements.get(i);
+			for (int j = i + 1; j < elements.size(); j++) {
+				consumer.onPotentialCollision(element, elements.get(j));
+			}
+		}
+	}
+
 	public List<T> getElements() {
 		List<T> result = new ArrayList<T>();
 		getElements(result);
@@ -563,6 +614,10 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 
 	@Override
 	public void positionChanged(T moved) {
+		if (isBatching()) {
+			markMoved(moved);
+			return;
+		}
 		if (this.contains(moved.getX(), moved.getY()))
 			return;
 
@@ -577,6 +632,142 @@ public class PointQuadTree<T extends Positionable> extends Rectangle implements
 		}
 	}
 
+	@Override
+	public void beginBatch() {
+		PointQuadTree<T> root = getRoot();
+		if (root.batchQuads == null) {
+			root.batchQuads = new ArrayList<PointQuadTree<T>>();
+		}
+		root.batching = true;
+	}
+
+	@Override
+	public void commitBatch() {
+		PointQuadTree<T> root = getRoot();
+		if (!root.batching) {
+			return;
+		}
+		final List<PointQuadTree<T>> quads = root.batchQuads;
+
+		// Quads may be appended while re-binning so the size is re-evaluated
+		for (int i = 0; i < quads.size(); i++) {
+			quads.get(i).rebinMovedElements();
+		}
+		root.batching = false;
+
+		for (int i = 0; i < quads.size(); i++) {
+			PointQuadTree<T> quad = quads.get(i);
+			quad.queuedForBatch = false;
+			quad.restructure();
+		}
+		quads.clear();
+	}
+
+	@Override
+	public boolean isBatching() {
+		return getRoot().batching;
+	}
+
+	/**
+	 * Records that an element within this quad moved during a batch update
+	 * 
+	 * @param moved
+	 *            The element that moved
+	 */
+	protected void markMoved(T moved) {
+		if (batchElements == null) {
+			batchElements = new ArrayList<T>(elementLimitPerQuad);
+			batchElementIds = new IntSet(elementLimitPerQuad);
+		}
+		if (batchElementIds.add(moved.getId())) {
+			batchElements.add(moved);
+		}
+		queueForBatch();
+	}
+
+	protected void queueForBatch() {
+		if (queuedForBatch) {
+			return;
+		}
+		queuedForBatch = true;
+		getRoot().batchQuads.add(this);
+	}
+
+	/**
+	 * Removes moved elements that are no longer within this quad and re-adds
+	 * them to the nearest ancestor that accepts them. Elements from the same
+	 * quad are processed together so they share the same upwards walk.
+	 */
+	protected void rebinMovedElements() {
+		if (batchElements == null || batchElements.isEmpty()) {
+			return;
+		}
+		for (int i = batchElements.size() - 1; i >= 0; i--) {
+			T element = batchElements.get(i);
+			if (containsElement(element)) {
+				continue;
+			}
+			if (elements == null || !elements.remove(element)) {
+				continue;
+			}
+			element.removePositionChangeListener(this);
+			clearTotalElementsCacheUpwards();
+
+			QuadTree<T> parentQuad = parent;
+			while (parentQuad != null) {
+				if (parentQuad.add(element)) {
+					break;
+				}
+				parentQuad = parentQuad.getParent();
+			}
+		}
+		batchElements.clear();
+		batchElementIds.clear();
+		if (parent != null) {
+			parent.queueForBatch();
+		}
+	}
+
+	/**
+	 * Applies any subdivide or merge that was deferred during a batch update
+	 */
+	protected void restructure() {
+		if (topLeft == null) {
+			if (elements != null) {
+				subdivideIfRequired();
+			}
+		} else if (isMergable()) {
+			merge();
+		}
+	}
+
+	/**
+	 * Returns if an element is still within the bounds of this quad
+	 * 
+	 * @param element
+	 *            The element to check
+	 * @return True if this quad still contains the element
+	 */
+	protected boolean containsElement(T element) {
+		return this.contains(element.getX(), element.getY());
+	}
+
+	protected void clearTotalElementsCacheUpwards() {
+		PointQuadTree<T> quad = this;
+		while (quad != null) {
+			quad.clearTotalElementsCache();
+			quad = quad.parent;
+		}
+	}
+
+	protected PointQuadTree<T> getRoot() {
+		PointQuadTree<T> result = this;
+		while (result.parent != null) {
+			result = result.parent;
+		}
+		return result;
+	}
+
 	public QuadTree<T> getParent() {
 		return parent;
 	}
@@ -48,6 +48,16 @@ public interface QuadTree<T extends Positionable> extends PositionChangeListener
 	
 	public void getElementsContainingPoint(Collection<T> result, Point point);
 	
+	/**
+	 * Walks the tree once and notifies the {@link CollisionPairConsumer} of
+	 * each pair of elements that may be colliding. Each pair is only reported
+	 * once.
+	 * 
+	 * @param consumer
+	 *            The {@link CollisionPairConsumer} to notify
+	 */
+	public void forEachPotentialCollision(CollisionPairConsumer<T> consumer);
+	
 	public List<T> getElements();
 	
 	public void getElements(List<T> result);
@@ -61,4 +71,28 @@ public interface QuadTree<T extends Positionable> extends PositionChangeListener
 	public float getMinimumQuadWidth();
 	
 	public float getMinimumQuadHeight();
+	
+	/**
+	 * Starts a batch update. Until {@link #commitBatch()} is called, element
+	 * movement is only recorded and elements are re-binned once during the
+	 * commit, regardless of how many times they moved.
+	 * 
+	 * Queries made before the commit are stale: moved elements are still
+	 * stored at their old position, so they may be missing from results at
+	 * their new position. Query the tree after {@link #commitBatch()}.
+	 */
+	public void beginBatch();
+	
+	/**
+	 * Re-bins all elements that moved since {@link #beginBatch()} was called
+	 * and ends the batch update. Queries return up to date results again
+	 * once this returns.
+	 */
+	public void commitBatch();
+	
+	/**
+	 * Returns if a batch update is in progress
+	 * @return True if {@link #beginBatch()} has been called without a matching {@link #commitBatch()}
+	 */
+	public boolean isBatching();
 }
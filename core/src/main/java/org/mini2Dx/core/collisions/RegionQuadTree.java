@@ -32,6 +32,8 @@ import com.badlogic.gdx.graphics.Color;
 public class RegionQuadTree<T extends CollisionShape> extends PointQuadTree<T> {
 	private static final long serialVersionUID = -2417612178966065600L;
 
+	private List<T> ancestorElements;
+
 	/**
 	 * Constructs a {@link RegionQuadTree} with a specified element limit and
 	 * watermark
@@ -266,6 +268,7 @@ public class RegionQuadTree<T extends CollisionShape> extends PointQuadTree<T> {
 			bottomRight = null;
 		}
 		elements.clear();
+		clearBatch();
 	}
 
 	@Override
@@ -359,6 +362,64 @@ public class RegionQuadTree<T extends CollisionShape> extends PointQuadTree<T> {
 		}
 	}
 
+	/**
+	 * Notifies the {@link CollisionPairConsumer} of each pair of elements
+	 * whose bounds overlap. Elements that only share an edge are not
+	 * reported. Elements are only compared against elements in the
+	 * same quad and in descendant quads so the tree is walked once.
+	 */
+	@Override
+	public void forEachPotentialCollision(CollisionPairConsumer<T> consumer) {
+		if (ancestorElements == null) {
+			ancestorElements = new ArrayList<T>();
+		}
+		ancestorElements.clear();
+		forEachPotentialCollision(consumer, ancestorElements);
+	}
+
+	protected void forEachPotentialCollision(CollisionPairConsumer<T> consumer, List<T> ancestorElements) {
+		for (int i = 0; i < elements.size(); i++) {
+			T element = elements.get(i);
+			for (int j = i + 1; j < elements.size(); j++) {
+				T otherElement = elements.get(j);
+				if (isBoundsOverlapping(element, otherElement)) {
+					consumer.onPotentialCollision(element, otherElement);
+				}
+			}
+			for (int j = 0; j < ancestorElements.size(); j++) {
+				T ancestorElement = ancestorElements.get(j);
+				if (isBoundsOverlapping(ancestorElement, element)) {
+					consumer.onPotentialCollision(ancestorElement, element);
+				}
+			}
+		}
+		if (topLeft == null) {
+			return;
+		}
+
+		final int totalAncestorElements = ancestorElements.size();
+		for (int i = 0; i < elements.size(); i++) {
+			ancestorElements.add(elements.get(i));
+		}
+		((RegionQuadTree<T>) topLeft).forEachPotentialCollision(consumer, ancestorElements);
+		((RegionQuadTree<T>) topRight).forEachPotentialCollision(consumer, ancestorElements);
+		((RegionQuadTree<T>) bottomLeft).forEachPotentialCollision(consumer, ancestorElements);
+		((RegionQuadTree<T>) bottomRight).forEachPotentialCollision(consumer, ancestorElements);
+		for (int i = ancestorElements.size() - 1; i >= totalAncestorElements; i--) {
+			ancestorElements.remove(i);
+		}
+	}
+
+	static boolean isBoundsOverlapping(CollisionShape shapeA, CollisionShape shapeB) {
+		if (shapeA.getMaxX() <= shapeB.getMinX() || shapeB.getMaxX() <= shapeA.getMinX()) {
+			return false;
+		}
+		if (shapeA.getMaxY() <= shapeB.getMinY() || shapeB.getMaxY() <= shapeA.getMinY()) {
+			return false;
+		}
+		return true;
+	}
+
 	@Override
 	public List<T> getElements() {
 		List<T> result = new ArrayList<T>();
@@ -394,8 +455,17 @@ public class RegionQuadTree<T extends CollisionShape> extends PointQuadTree<T> {
 		return totalElementsCache;
 	}
 
+	@Override
+	protected boolean containsElement(T element) {
+		return this.contains(element.getShape());
+	}
+
 	@Override
 	public void positionChanged(T moved) {
+		if (isBatching()) {
+			markMoved(moved);
+			return;
+		}
 		if (this.contains(moved.getShape()))
 			return;
 
@@ -0,0 +1,635 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.collisions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.mini2Dx.core.engine.SizeChangeListener;
+import org.mini2Dx.core.engine.geom.CollisionShape;
+import org.mini2Dx.core.geom.LineSegment;
+import org.mini2Dx.core.geom.Point;
+import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.core.geom.Shape;
+import org.mini2Dx.core.graphics.Graphics;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/**
+ * Implements a uniform grid spatial hash that can be used anywhere a
+ * {@link QuadTree} is expected.
+ * 
+ * Unlike {@link RegionQuadTree}, cells never split or merge. Each cell stores
+ * the integer slot ids of the elements overlapping it, so moving an element
+ * only touches the cells it enters and leaves and does not allocate once the
+ * buckets have grown to their working size. Elements are tracked by
+ * {@link CollisionShape#getId()} so ids must be unique within a
+ * {@link SpatialHash}.
+ * 
+ * Note: This implementation is not thread-safe.
+ * 
+ * @see <a href="https://en.wikipedia.org/wiki/Spatial_hashing">Wikipedia:
+ *      Spatial Hashing</a>
+ */
+public class SpatialHash<T extends CollisionShape> extends Rectangle implements QuadTree<T>, SizeChangeListener<T> {
+	public static Color CELL_COLOR = new Color(1f, 0f, 0f, 0.5f);
+	public static Color ELEMENT_COLOR = new Color(0f, 0f, 1f, 0.5f);
+
+	private static final long serialVersionUID = -5302953419410286212L;
+	private static final int DEFAULT_CELL_CAPACITY = 4;
+	private static final int DEFAULT_ELEMENT_CAPACITY = 32;
+
+	private final float originX, originY, boundsMaxX, boundsMaxY;
+	private final float cellWidth, cellHeight;
+	private final int totalColumns, totalRows;
+
+	private final int[][] cells;
+	private final int[] cellSizes;
+	private final IntIntMap idToSlot;
+
+	private Object[] slotElements;
+	private int[] slotMinColumn, slotMinRow, slotMaxColumn, slotMaxRow;
+	private int[] slotQueryMarks;
+	private boolean[] slotMoved;
+	private int[] freeSlots;
+	private int[] movedSlots;
+	private int totalMovedSlots = 0;
+	private boolean batching = false;
+	private int totalFreeSlots = 0;
+	private int nextSlot = 0;
+	private int totalElements = 0;
+	private int queryMark = 0;
+
+	/**
+	 * Constructs a {@link SpatialHash} with square cells
+	 * 
+	 * @param cellSize
+	 *            The width and height of each cell
+	 * @param x
+	 *            The x coordinate of the {@link SpatialHash}
+	 * @param y
+	 *            The y coordinate of the {@link SpatialHash}
+	 * @param width
+	 *            The width of the {@link SpatialHash}
+	 * @param height
+	 *            The height of the {@link SpatialHash}
+	 */
+	public SpatialHash(float cellSize, float x, float y, float width, float height) {
+		this(cellSize, cellSize, x, y, width, height);
+	}
+
+	/**
+	 * Constructs a {@link SpatialHash}
+	 * 
+	 * @param cellWidth
+	 *            The width of each cell. Ideally this is close to the size of
+	 *            the typical element.
+	 * @param cellHeight
+	 *            The height of each cell. Ideally this is close to the size of
+	 *            the typical element.
+	 * @param x
+	 *            The x coordinate of the {@link SpatialHash}
+	 * @param y
+	 *            The y coordinate of the {@link SpatialHash}
+	 * @param width
+	 *            The width of the {@link SpatialHash}
+	 * @param height
+	 *            The height of the {@link SpatialHash}
+	 */
+	public SpatialHash(float cellWidth, float cellHeight, float x, float y, float width, float height) {
+		super(x, y, width, height);
+		if (cellWidth <= 0f || cellHeight <= 0f) {
+			throw new IllegalArgumentException("Cell width and height must be greater than 0");
+		}
+		this.originX = x;
+		this.originY = y;
+		this.boundsMaxX = x + width;
+		this.boundsMaxY = y + height;
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+		this.totalColumns = Math.max(1, (int) Math.ceil(width / cellWidth));
+		this.totalRows = Math.max(1, (int) Math.ceil(height / cellHeight));
+
+		cells = new int[totalColumns * totalRows][];
+		cellSizes = new int[totalColumns * totalRows];
+		idToSlot = new IntIntMap(DEFAULT_ELEMENT_CAPACITY);
+
+		slotElements = new Object[DEFAULT_ELEMENT_CAPACITY];
+		slotMinColumn = new int[DEFAULT_ELEMENT_CAPACITY];
+		slotMinRow = new int[DEFAULT_ELEMENT_CAPACITY];
+		slotMaxColumn = new int[DEFAULT_ELEMENT_CAPACITY];
+		slotMaxRow = new int[DEFAULT_ELEMENT_CAPACITY];
+		slotQueryMarks = new int[DEFAULT_ELEMENT_CAPACITY];
+		slotMoved = new boolean[DEFAULT_ELEMENT_CAPACITY];
+		freeSlots = new int[DEFAULT_ELEMENT_CAPACITY];
+		movedSlots = new int[DEFAULT_ELEMENT_CAPACITY];
+	}
+
+	@Override
+	public void debugRender(Graphics g) {
+		Color tmp = g.getColor();
+
+		g.setColor(CELL_COLOR);
+		for (int row = 0; row < totalRows; row++) {
+			for (int column = 0; column < totalColumns; column++) {
+				if (cellSizes[getCellIndex(column, row)] == 0) {
+					continue;
+				}
+				g.drawRect(originX + (column * cellWidth), originY + (row * cellHeight), cellWidth, cellHeight);
+			}
+		}
+
+		g.setColor(ELEMENT_COLOR);
+		for (int slot = 0; slot < nextSlot; slot++) {
+			T element = getElement(slot);
+			if (element == null) {
+				continue;
+			}
+			g.drawRect(element.getX(), element.getY(), element.getWidth(), element.getHeight());
+		}
+		g.setColor(tmp);
+	}
+
+	@Override
+	public boolean add(T element) {
+		if (element == null) {
+			return false;
+		}
+		if (!overlapsBounds(element)) {
+			return false;
+		}
+		if (idToSlot.containsKey(element.getId())) {
+			return false;
+		}
+
+		int slot = allocateSlot();
+		slotElements[slot] = element;
+		idToSlot.put(element.getId(), slot);
+		insertIntoCells(slot, element);
+		totalElements++;
+
+		element.addPostionChangeListener(this);
+		element.addSizeChangeListener(this);
+		return true;
+	}
+
+	@Override
+	public void addAll(List<T> elements) {
+		if (elements == null || elements.isEmpty()) {
+			return;
+		}
+		for (int i = 0; i < elements.size(); i++) {
+			add(elements.get(i));
+		}
+	}
+
+	@Override
+	public boolean remove(T element) {
+		if (element == null) {
+			return false;
+		}
+		int slot = idToSlot.remove(element.getId(), -1);
+		if (slot < 0) {
+			return false;
+		}
+		removeFromCells(slot);
+		releaseSlot(slot);
+		totalElements--;
+
+		element.removePositionChangeListener(this);
+		element.removeSizeChangeListener(this);
+		return true;
+	}
+
+	@Override
+	public void removeAll(List<T> elements) {
+		if (elements == null || elements.isEmpty()) {
+			return;
+		}
+		for (int i = 0; i < elements.size(); i++) {
+			remove(elements.get(i));
+		}
+	}
+
+	/**
+	 * Removes all elements from this {@link SpatialHash}
+	 */
+	public void clear() {
+		for (int slot = 0; slot < nextSlot; slot++) {
+			T element = getElement(slot);
+			if (element == null) {
+				continue;
+			}
+			element.removePositionChangeListener(this);
+			element.removeSizeChangeListener(this);
+			slotElements[slot] = null;
+		}
+		Arrays.fill(cellSizes, 0);
+		Arrays.fill(slotMoved, false);
+		idToSlot.clear();
+		totalMovedSlots = 0;
+		nextSlot = 0;
+		totalFreeSlots = 0;
+		totalElements = 0;
+	}
+
+	@Override
+	public void positionChanged(T moved) {
+		updateElement(moved);
+	}
+
+	@Override
+	public void sizeChanged(T changed) {
+		updateElement(changed);
+	}
+
+	@Override
+	public void beginBatch() {
+		batching = true;
+	}
+
+	@Override
+	public void commitBatch() {
+		if (!batching) {
+			return;
+		}
+		batching = false;
+		for (int i = 0; i < totalMovedSlots; i++) {
+			final int slot = movedSlots[i];
+			slotMoved[slot] = false;
+
+			T element = getElement(slot);
+			if (element == null) {
+				continue;
+			}
+			updateElement(element);
+		}
+		totalMovedSlots = 0;
+	}
+
+	@Override
+	public boolean isBatching() {
+		return batching;
+	}
+
+	private void updateElement(T element) {
+		int slot = idToSlot.get(element.getId(), -1);
+		if (slot < 0) {
+			return;
+		}
+		if (batching) {
+			if (!slotMoved[slot]) {
+				slotMoved[slot] = true;
+				movedSlots[totalMovedSlots] = slot;
+				totalMovedSlots++;
+			}
+			return;
+		}
+		if (!overlapsBounds(element)) {
+			remove(element);
+			return;
+		}
+
+		int minColumn = getColumn(element.getMinX());
+		int minRow = getRow(element.getMinY());
+		int maxColumn = getColumn(element.getMaxX());
+		int maxRow = getRow(element.getMaxY());
+
+		if (minColumn == slotMinColumn[slot] && minRow == slotMinRow[slot] && maxColumn == slotMaxColumn[slot]
+				&& maxRow == slotMaxRow[slot]) {
+			return;
+		}
+		removeFromCells(slot);
+		insertIntoCells(slot, minColumn, minRow, maxColumn, maxRow);
+	}
+
+	@Override
+	public List<T> getElementsWithinArea(Shape area) {
+		List<T> result = new ArrayList<T>();
+		getElementsWithinArea(result, area);
+		return result;
+	}
+
+	@Override
+	public void getElementsWithinArea(Collection<T> result, Shape area) {
+		if (totalElements == 0) {
+			return;
+		}
+		final int mark = nextQueryMark();
+		final int minColumn = getColumn(area.getMinX());
+		final int minRow = getRow(area.getMinY());
+		final int maxColumn = getColumn(area.getMaxX());
+		final int maxRow = getRow(area.getMaxY());
+
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				final int cellIndex = getCellIndex(column, row);
+				final int[] cell = cells[cellIndex];
+				for (int i = cellSizes[cellIndex] - 1; i >= 0; i--) {
+					final int slot = cell[i];
+					if (slotQueryMarks[slot] == mark) {
+						continue;
+					}
+					slotQueryMarks[slot] = mark;
+
+					T element = getElement(slot);
+					if (area.contains(element.getShape()) || area.intersects(element.getShape())) {
+						result.add(element);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public List<T> getElementsIntersectingLineSegment(LineSegment lineSegment) {
+		List<T> result = new ArrayList<T>();
+		getElementsIntersectingLineSegment(result, lineSegment);
+		return result;
+	}
+
+	@Override
+	public void getElementsIntersectingLineSegment(Collection<T> result, LineSegment lineSegment) {
+		if (totalElements == 0) {
+			return;
+		}
+		final int mark = nextQueryMark();
+		final int minColumn = getColumn(lineSegment.getMinX());
+		final int minRow = getRow(lineSegment.getMinY());
+		final int maxColumn = getColumn(lineSegment.getMaxX());
+		final int maxRow = getRow(lineSegment.getMaxY());
+
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				final int cellIndex = getCellIndex(column, row);
+				final int[] cell = cells[cellIndex];
+				for (int i = cellSizes[cellIndex] - 1; i >= 0; i--) {
+					final int slot = cell[i];
+					if (slotQueryMarks[slot] == mark) {
+						continue;
+					}
+					slotQueryMarks[slot] = mark;
+
+					T element = getElement(slot);
+					if (element.intersects(lineSegment)) {
+						result.add(element);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public List<T> getElementsContainingPoint(Point point) {
+		List<T> result = new ArrayList<T>();
+		getElementsContainingPoint(result, point);
+		return result;
+	}
+
+	@Override
+	public void getElementsContainingPoint(Collection<T> result, Point point) {
+		if (totalElements == 0) {
+			return;
+		}
+		if (point.x < originX || point.y < originY || point.x > boundsMaxX || point.y > boundsMaxY) {
+			return;
+		}
+		final int cellIndex = getCellIndex(getColumn(point.x), getRow(point.y));
+		final int[] cell = cells[cellIndex];
+		for (int i = cellSizes[cellIndex] - 1; i >= 0; i--) {
+			T element = getElement(cell[i]);
+			if (element.contains(point)) {
+				result.add(element);
+			}
+		}
+	}
+
+	/**
+	 * Notifies the {@link CollisionPairConsumer} of each pair of elements
+	 * whose bounds overlap. Elements that only share an edge are not
+	 * reported. A pair spanning several cells is only reported by
+	 * the first cell both elements share.
+	 */
+	@Override
+	public void forEachPotentialCollision(CollisionPairConsumer<T> consumer) {
+		for (int row = 0; row < totalRows; row++) {
+			for (int column = 0; column < totalColumns; column++) {
+				final int cellIndex = getCellIndex(column, row);
+				final int[] cell = cells[cellIndex];
+				final int cellSize = cellSizes[cellIndex];
+				for (int i = 0; i < cellSize; i++) {
+					final int slot = cell[i];
+					final T element = getElement(slot);
+					for (int j = i + 1; j < cellSize; j++) {
+						final int otherSlot = cell[j];
+						if (Math.max(slotMinColumn[slot], slotMinColumn[otherSlot]) != column) {
+							continue;
+						}
+						if (Math.max(slotMinRow[slot], slotMinRow[otherSlot]) != row) {
+							continue;
+						}
+						final T otherElement = getElement(otherSlot);
+						if (RegionQuadTree.isBoundsOverlapping(element, otherElement)) {
+							consumer.onPotentialCollision(element, otherElement);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public List<T> getElements() {
+		List<T> result = new ArrayList<T>();
+		getElements(result);
+		return result;
+	}
+
+	@Override
+	public void getElements(List<T> result) {
+		for (int slot = 0; slot < nextSlot; slot++) {
+			T element = getElement(slot);
+			if (element == null) {
+				continue;
+			}
+			result.add(element);
+		}
+	}
+
+	/**
+	 * Returns the total number of cells in this {@link SpatialHash}
+	 */
+	@Override
+	public int getTotalQuads() {
+		return cells.length;
+	}
+
+	@Override
+	public int getTotalElements() {
+		return totalElements;
+	}
+
+	@Override
+	public QuadTree<T> getParent() {
+		return null;
+	}
+
+	/**
+	 * Returns the cell width of this {@link SpatialHash}
+	 */
+	@Override
+	public float getMinimumQuadWidth() {
+		return cellWidth;
+	}
+
+	/**
+	 * Returns the cell height of this {@link SpatialHash}
+	 */
+	@Override
+	public float getMinimumQuadHeight() {
+		return cellHeight;
+	}
+
+	public int getTotalColumns() {
+		return totalColumns;
+	}
+
+	public int getTotalRows() {
+		return totalRows;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getElement(int slot) {
+		return (T) slotElements[slot];
+	}
+
+	private boolean overlapsBounds(T element) {
+		if (element.getMaxX() < originX || element.getMinX() > boundsMaxX) {
+			return false;
+		}
+		if (element.getMaxY() < originY || element.getMinY() > boundsMaxY) {
+			return false;
+		}
+		return true;
+	}
+
+	private int getColumn(float x) {
+		int result = (int) ((x - originX) / cellWidth);
+		if (result < 0) {
+			return 0;
+		}
+		if (result >= totalColumns) {
+			return totalColumns - 1;
+		}
+		return result;
+	}
+
+	private int getRow(float y) {
+		int result = (int) ((y - originY) / cellHeight);
+		if (result < 0) {
+			return 0;
+		}
+		if (result >= totalRows) {
+			return totalRows - 1;
+		}
+		return result;
+	}
+
+	private int getCellIndex(int column, int row) {
+		return (row * totalColumns) + column;
+	}
+
+	private int nextQueryMark() {
+		queryMark++;
+		if (queryMark == 0) {
+			Arrays.fill(slotQueryMarks, 0);
+			queryMark = 1;
+		}
+		return queryMark;
+	}
+
+	private void insertIntoCells(int slot, T element) {
+		insertIntoCells(slot, getColumn(element.getMinX()), getRow(element.getMinY()), getColumn(element.getMaxX()),
+				getRow(element.getMaxY()));
+	}
+
+	private void insertIntoCells(int slot, int minColumn, int minRow, int maxColumn, int maxRow) {
+		slotMinColumn[slot] = minColumn;
+		slotMinRow[slot] = minRow;
+		slotMaxColumn[slot] = maxColumn;
+		slotMaxRow[slot] = maxRow;
+
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				final int cellIndex = getCellIndex(column, row);
+				int[] cell = cells[cellIndex];
+				final int cellSize = cellSizes[cellIndex];
+				if (cell == null) {
+					cell = new int[DEFAULT_CELL_CAPACITY];
+					cells[cellIndex] = cell;
+				} else if (cellSize == cell.length) {
+					cell = Arrays.copyOf(cell, cell.length * 2);
+					cells[cellIndex] = cell;
+				}
+				cell[cellSize] = slot;
+				cellSizes[cellIndex] = cellSize + 1;
+			}
+		}
+	}
+
+	private void removeFromCells(int slot) {
+		for (int row = slotMinRow[slot]; row <= slotMaxRow[slot]; row++) {
+			for (int column = slotMinColumn[slot]; column <= slotMaxColumn[slot]; column++) {
+				final int cellIndex = getCellIndex(column, row);
+				final int[] cell = cells[cellIndex];
+				final int lastIndex = cellSizes[cellIndex] - 1;
+				for (int i = lastIndex; i >= 0; i--) {
+					if (cell[i] != slot) {
+						continue;
+					}
+					cell[i] = cell[lastIndex];
+					cellSizes[cellIndex] = lastIndex;
+					break;
+				}
+			}
+		}
+	}
+
+	private int allocateSlot() {
+		if (totalFreeSlots > 0) {
+			totalFreeSlots--;
+			return freeSlots[totalFreeSlots];
+		}
+		if (nextSlot == slotElements.length) {
+			final int capacity = slotElements.length * 2;
+			slotElements = Arrays.copyOf(slotElements, capacity);
+			slotMinColumn = Arrays.copyOf(slotMinColumn, capacity);
+			slotMinRow = Arrays.copyOf(slotMinRow, capacity);
+			slotMaxColumn = Arrays.copyOf(slotMaxColumn, capacity);
+			slotMaxRow = Arrays.copyOf(slotMaxRow, capacity);
+			slotQueryMarks = Arrays.copyOf(slotQueryMarks, capacity);
+			slotMoved = Arrays.copyOf(slotMoved, capacity);
+			freeSlots = Arrays.copyOf(freeSlots, capacity);
+			movedSlots = Arrays.copyOf(movedSlots, capacity);
+		}
+		return nextSlot++;
+	}
+
+	private void releaseSlot(int slot) {
+		slotElements[slot] = null;
+		freeSlots[totalFreeSlots] = slot;
+		totalFreeSlots++;
+	}
+}
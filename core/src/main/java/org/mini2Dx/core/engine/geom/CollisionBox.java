@@ -37,9 +37,6 @@ import com.badlogic.gdx.math.Vector2;
 public class CollisionBox extends Rectangle implements CollisionShape {
 	private static final long serialVersionUID = -8217730724587578266L;
 
-	private static final Vector2 TMP_SOURCE_VECTOR = new Vector2();
-	private static final Vector2 TMP_TARGET_VECTOR = new Vector2();
-
 	private final int id;
 	private final ReentrantReadWriteLock positionChangeListenerLock;
 	private final ReentrantReadWriteLock sizeChangeListenerLock;
@@ -88,6 +85,11 @@ public class CollisionBox extends Rectangle implements CollisionShape {
 		previousRectangle.set(this);
 	}
 
+	@Override
+	public boolean isInterpolateRequired() {
+		return interpolate;
+	}
+
 	@Override
 	public void update(GameContainer gc, float delta) {
 	}
@@ -97,18 +99,42 @@ public class CollisionBox extends Rectangle implements CollisionShape {
 		if(!interpolate) {
 			return;
 		}
-		renderRectangle.set(previousRectangle.lerp(this, alpha));
+		final float x = getX();
+		final float y = getY();
+		final float width = getWidth();
+		final float height = getHeight();
+
+		if(previousRectangle.getRotation() != getRotation()) {
+			renderRectangle.set(previousRectangle.lerp(this, alpha));
+		} else {
+			final float inverseAlpha = 1.0f - alpha;
+			final float lerpX = (previousRectangle.getX() * inverseAlpha) + (x * alpha);
+			final float lerpY = (previousRectangle.getY() * inverseAlpha) + (y * alpha);
+			float lerpWidth = previousRectangle.getWidth();
+			float lerpHeight = previousRectangle.getHeight();
+			if(lerpWidth != width) {
+				lerpWidth = (lerpWidth * inverseAlpha) + (width * alpha);
+			}
+			if(lerpHeight != height) {
+				lerpHeight = (lerpHeight * inverseAlpha) + (height * alpha);
+			}
+			previousRectangle.set(lerpX, lerpY, lerpWidth, lerpHeight);
+			renderRectangle.set(lerpX, lerpY, lerpWidth, lerpHeight);
+			if(renderRectangle.getRotation() != previousRectangle.getRotation()) {
+				renderRectangle.setRotation(previousRectangle.getRotation());
+			}
+		}
 		storeRenderCoordinates();
-		if(renderX != MathUtils.round(this.getX())) {
+		if(renderX != MathUtils.round(x)) {
 			return;
 		}
-		if(renderY != MathUtils.round(this.getY())) {
+		if(renderY != MathUtils.round(y)) {
 			return;
 		}
-		if(renderWidth != MathUtils.round(this.getWidth())) {
+		if(renderWidth != MathUtils.round(width)) {
 			return;
 		}
-		if(renderHeight != MathUtils.round(this.getHeight())) {
+		if(renderHeight != MathUtils.round(height)) {
 			return;
 		}
 		interpolate = false;
@@ -338,15 +364,17 @@ public class CollisionBox extends Rectangle implements CollisionShape {
 	
 	@Override
 	public void moveTowards(float x, float y, float speed) {
-		TMP_SOURCE_VECTOR.set(getX(), getY());
-		TMP_TARGET_VECTOR.set(x, y);
-		Vector2 direction = TMP_TARGET_VECTOR.sub(TMP_SOURCE_VECTOR).nor();
+		final float sourceX = getX();
+		final float sourceY = getY();
+		float angle = (float) Math.atan2(y - sourceY, x - sourceX) * MathUtils.radiansToDegrees;
+		if (angle < 0f) {
+			angle += 360f;
+		}
 		
-		float xComponent = speed * MathUtils.cosDeg(direction.angle());
-		float yComponent = speed * MathUtils.sinDeg(direction.angle());
-		TMP_SOURCE_VECTOR.add(xComponent, yComponent);
+		float xComponent = speed * MathUtils.cosDeg(angle);
+		float yComponent = speed * MathUtils.sinDeg(angle);
 		
-		set(TMP_SOURCE_VECTOR.x, TMP_SOURCE_VECTOR.y);
+		set(sourceX + xComponent, sourceY + yComponent);
 	}
 
 	@Override
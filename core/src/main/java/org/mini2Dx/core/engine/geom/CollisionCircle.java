@@ -26,7 +26,6 @@ import org.mini2Dx.core.geom.Shape;
 import org.mini2Dx.core.graphics.Graphics;
 
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
 
 /**
  * An implementation of {@link Circle} that allows for interpolation. Game
@@ -36,9 +35,6 @@ import com.badlogic.gdx.math.Vector2;
  */
 public class CollisionCircle extends Circle implements CollisionShape {
 
-	private static final Vector2 TMP_SOURCE_VECTOR = new Vector2();
-	private static final Vector2 TMP_TARGET_VECTOR = new Vector2();
-	
 	private final int id;
 	private final ReadWriteLock positionChangeListenerLock;
 	private final ReadWriteLock sizeChangeListenerLock;
@@ -83,6 +79,11 @@ public class CollisionCircle extends Circle implements CollisionShape {
 	public void preUpdate() {
 		previousCircle.set(this);
 	}
+
+	@Override
+	public boolean isInterpolateRequired() {
+		return interpolate;
+	}
 	
 	@Override
 	public void update(GameContainer gc, float delta) {
@@ -222,15 +223,17 @@ public class CollisionCircle extends Circle implements CollisionShape {
 	
 	@Override
 	public void moveTowards(float x, float y, float speed) {
-		TMP_SOURCE_VECTOR.set(getX(), getY());
-		TMP_TARGET_VECTOR.set(x, y);
-		Vector2 direction = TMP_TARGET_VECTOR.sub(TMP_SOURCE_VECTOR).nor();
+		final float sourceX = getX();
+		final float sourceY = getY();
+		float angle = (float) Math.atan2(y - sourceY, x - sourceX) * MathUtils.radiansToDegrees;
+		if (angle < 0f) {
+			angle += 360f;
+		}
 		
-		float xComponent = speed * MathUtils.cosDeg(direction.angle());
-		float yComponent = speed * MathUtils.sinDeg(direction.angle());
-		TMP_SOURCE_VECTOR.add(xComponent, yComponent);
+		float xComponent = speed * MathUtils.cosDeg(angle);
+		float yComponent = speed * MathUtils.sinDeg(angle);
 		
-		set(TMP_SOURCE_VECTOR.x, TMP_SOURCE_VECTOR.y);
+		set(sourceX + xComponent, sourceY + yComponent);
 	}
 
 	@Override
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.engine.geom;
+
+/**
+ * A lightweight reference to a collision object stored in a
+ * {@link CollisionStore}
+ */
+public class CollisionHandle {
+	private final int id;
+
+	CollisionStore store;
+	int index;
+
+	CollisionHandle(CollisionStore store, int id, int index) {
+		this.store = store;
+		this.id = id;
+		this.index = index;
+	}
+
+	/**
+	 * Sets the current x and y coordinate. The render coordinates will be
+	 * interpolated towards the new position.
+	 * 
+	 * @param x
+	 *            The x coordinate to set
+	 * @param y
+	 *            The y coordinate to set
+	 */
+	public void set(float x, float y) {
+		store.set(index, x, y, store.getWidth(index), store.getHeight(index));
+	}
+
+	/**
+	 * Sets the current bounds. The render bounds will be interpolated towards
+	 * the new bounds.
+	 * 
+	 * @param x
+	 *            The x coordinate to set
+	 * @param y
+	 *            The y coordinate to set
+	 * @param width
+	 *            The width to set
+	 * @param height
+	 *            The height to set
+	 */
+	public void set(float x, float y, float width, float height) {
+		store.set(index, x, y, width, height);
+	}
+
+	/**
+	 * Sets the current x and y coordinate and force updates the rendering
+	 * position to match
+	 * 
+	 * @param x
+	 *            The x coordinate to set
+	 * @param y
+	 *            The y coordinate to set
+	 */
+	public void forceTo(float x, float y) {
+		store.forceTo(index, x, y, store.getWidth(index), store.getHeight(index));
+	}
+
+	/**
+	 * Sets the current bounds and force updates the rendering bounds to match
+	 * 
+	 * @param x
+	 *            The x coordinate to set
+	 * @param y
+	 *            The y coordinate to set
+	 * @param width
+	 *            The width to set
+	 * @param height
+	 *            The height to set
+	 */
+	public void forceTo(float x, float y, float width, float height) {
+		store.forceTo(index, x, y, width, height);
+	}
+
+	public void setX(float x) {
+		set(x, getY());
+	}
+
+	public void setY(float y) {
+		set(getX(), y);
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public float getX() {
+		return store.getX(index);
+	}
+
+	public float getY() {
+		return store.getY(index);
+	}
+
+	public float getWidth() {
+		return store.getWidth(index);
+	}
+
+	public float getHeight() {
+		return store.getHeight(index);
+	}
+
+	public float getCenterX() {
+		return getX() + (getWidth() * 0.5f);
+	}
+
+	public float getCenterY() {
+		return getY() + (getHeight() * 0.5f);
+	}
+
+	public int getRenderX() {
+		return store.getRenderX(index);
+	}
+
+	public int getRenderY() {
+		return store.getRenderY(index);
+	}
+
+	public int getRenderWidth() {
+		return store.getRenderWidth(index);
+	}
+
+	public int getRenderHeight() {
+		return store.getRenderHeight(index);
+	}
+
+	/**
+	 * Returns if the render bounds still need to be interpolated
+	 * 
+	 * @return False if the render bounds match the current bounds
+	 */
+	public boolean isInterpolating() {
+		return store.isInterpolating(index);
+	}
+
+	/**
+	 * Returns if this handle still belongs to a {@link CollisionStore}
+	 * 
+	 * @return False if the collision object was removed
+	 */
+	public boolean isValid() {
+		return store != null;
+	}
+
+	@Override
+	public String toString() {
+		if (store == null) {
+			return "CollisionHandle [id=" + id + "]";
+		}
+		return "CollisionHandle [id=" + id + ", x=" + getX() + ", y=" + getY() + ", width=" + getWidth()
+				+ ", height=" + getHeight() + "]";
+	}
+}
@@ -33,9 +33,6 @@ import com.badlogic.gdx.math.Vector2;
 public class CollisionPoint extends Point implements Positionable {
 	private static final long serialVersionUID = -7752697723641315393L;
 
-	private static final Vector2 TMP_SOURCE_VECTOR = new Vector2();
-	private static final Vector2 TMP_TARGET_VECTOR = new Vector2();
-	
 	private final int id;
 	private final ReadWriteLock positionChangeListenerLock;
 	
@@ -94,7 +91,18 @@ public class CollisionPoint extends Point implements Positionable {
 	public void preUpdate() {
 		previousPosition.set(this);
 	}
-	
+
+	/**
+	 * Returns if the render coordinates of this {@link CollisionPoint} have
+	 * not yet caught up with its current coordinates
+	 *
+	 * @return False if calling {@link #interpolate(GameContainer, float)} would
+	 *         have no effect
+	 */
+	public boolean isInterpolateRequired() {
+		return interpolate;
+	}
+
 	@Override
 	public void update(GameContainer gc, float delta) {
 	}
@@ -161,15 +169,17 @@ public class CollisionPoint extends Point implements Positionable {
 	
 	@Override
 	public void moveTowards(float x, float y, float speed) {
-		TMP_SOURCE_VECTOR.set(getX(), getY());
-		TMP_TARGET_VECTOR.set(x, y);
-		Vector2 direction = TMP_TARGET_VECTOR.sub(TMP_SOURCE_VECTOR).nor();
+		final float sourceX = getX();
+		final float sourceY = getY();
+		float angle = (float) Math.atan2(y - sourceY, x - sourceX) * MathUtils.radiansToDegrees;
+		if (angle < 0f) {
+			angle += 360f;
+		}
 		
-		float xComponent = speed * MathUtils.cosDeg(direction.angle());
-		float yComponent = speed * MathUtils.sinDeg(direction.angle());
-		TMP_SOURCE_VECTOR.add(xComponent, yComponent);
+		float xComponent = speed * MathUtils.cosDeg(angle);
+		float yComponent = speed * MathUtils.sinDeg(angle);
 		
-		set(TMP_SOURCE_VECTOR.x, TMP_SOURCE_VECTOR.y);
+		set(sourceX + xComponent, sourceY + yComponent);
 	}
 
 	@Override
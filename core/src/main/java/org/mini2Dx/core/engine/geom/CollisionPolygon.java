@@ -31,9 +31,6 @@ import com.badlogic.gdx.math.Vector2;
  *
  */
 public class CollisionPolygon extends Polygon implements CollisionShape {
-	private static final Vector2 TMP_SOURCE_VECTOR = new Vector2();
-	private static final Vector2 TMP_TARGET_VECTOR = new Vector2();
-
 	private final int id;
 	private final ReentrantReadWriteLock positionChangeListenerLock;
 	private final ReentrantReadWriteLock sizeChangeListenerLock;
@@ -60,6 +57,9 @@ public class CollisionPolygon extends Polygon implements CollisionShape {
 		
 		positionChangeListenerLock = new ReentrantReadWriteLock();
 		sizeChangeListenerLock = new ReentrantReadWriteLock();
+		previousPolygon = (Polygon) copy();
+		renderPolygon = (Polygon) copy();
+		storeRenderCoordinates();
 	}
 
 	public CollisionPolygon(int id, Vector2[] vectors) {
@@ -68,6 +68,9 @@ public class CollisionPolygon extends Polygon implements CollisionShape {
 		
 		positionChangeListenerLock = new ReentrantReadWriteLock();
 		sizeChangeListenerLock = new ReentrantReadWriteLock();
+		previousPolygon = (Polygon) copy();
+		renderPolygon = (Polygon) copy();
+		storeRenderCoordinates();
 	}
 	
 	private void storeRenderCoordinates() {
@@ -79,6 +82,11 @@ public class CollisionPolygon extends Polygon implements CollisionShape {
 	public void preUpdate() {
 		previousPolygon.set(this);
 	}
+
+	@Override
+	public boolean isInterpolateRequired() {
+		return interpolate;
+	}
 	
 	@Override
 	public void update(GameContainer gc, float delta) {}
@@ -223,15 +231,17 @@ public class CollisionPolygon extends Polygon implements CollisionShape {
 	
 	@Override
 	public void moveTowards(float x, float y, float speed) {
-		TMP_SOURCE_VECTOR.set(getX(), getY());
-		TMP_TARGET_VECTOR.set(x, y);
-		Vector2 direction = TMP_TARGET_VECTOR.sub(TMP_SOURCE_VECTOR).nor();
+		final float sourceX = getX();
+		final float sourceY = getY();
+		float angle = (float) Math.atan2(y - sourceY, x - sourceX) * MathUtils.radiansToDegrees;
+		if (angle < 0f) {
+			angle += 360f;
+		}
 		
-		float xComponent = speed * MathUtils.cosDeg(direction.angle());
-		float yComponent = speed * MathUtils.sinDeg(direction.angle());
-		TMP_SOURCE_VECTOR.add(xComponent, yComponent);
+		float xComponent = speed * MathUtils.cosDeg(angle);
+		float yComponent = speed * MathUtils.sinDeg(angle);
 		
-		set(TMP_SOURCE_VECTOR.x, TMP_SOURCE_VECTOR.y);
+		set(sourceX + xComponent, sourceY + yComponent);
 	}
 
 	@Override
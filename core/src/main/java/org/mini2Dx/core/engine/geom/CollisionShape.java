@@ -28,6 +28,15 @@ public interface CollisionShape extends Positionable, Sizeable {
 	 */
 	public void preUpdate();
 	
+	/**
+	 * Returns if the render coordinates of this {@link CollisionShape} have
+	 * not yet caught up with its current coordinates
+	 * 
+	 * @return False if calling {@link #interpolate(org.mini2Dx.core.game.GameContainer, float)}
+	 *         would have no effect
+	 */
+	public boolean isInterpolateRequired();
+	
 	/**
 	 * Sets the current x and y coordinate to the specified x and y and force updates the
 	 * rendering position to match
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.engine.geom;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Utility functions for updating large numbers of {@link CollisionShape}s
+ */
+public class CollisionShapes {
+
+	private CollisionShapes() {}
+
+	/**
+	 * Calls {@link CollisionShape#preUpdate()} on all {@link CollisionShape}s
+	 * in a {@link Collection}
+	 * 
+	 * @param shapes
+	 *            The {@link CollisionShape}s to update
+	 */
+	public static void preUpdateAll(Collection<? extends CollisionShape> shapes) {
+		if (shapes instanceof List && shapes instanceof RandomAccess) {
+			final List<? extends CollisionShape> list = (List<? extends CollisionShape>) shapes;
+			for (int i = list.size() - 1; i >= 0; i--) {
+				list.get(i).preUpdate();
+			}
+			return;
+		}
+		for (CollisionShape shape : shapes) {
+			shape.preUpdate();
+		}
+	}
+
+	/**
+	 * Interpolates all {@link CollisionShape}s in a {@link Collection} that
+	 * have not yet reached their current position. Shapes where
+	 * {@link CollisionShape#isInterpolateRequired()} is false are skipped.
+	 * 
+	 * @param shapes
+	 *            The {@link CollisionShape}s to interpolate
+	 * @param alpha
+	 *            The interpolation alpha value
+	 */
+	public static void interpolateAll(Collection<? extends CollisionShape> shapes, float alpha) {
+		if (shapes instanceof List && shapes instanceof RandomAccess) {
+			final List<? extends CollisionShape> list = (List<? extends CollisionShape>) shapes;
+			for (int i = list.size() - 1; i >= 0; i--) {
+				final CollisionShape shape = list.get(i);
+				if (!shape.isInterpolateRequired()) {
+					continue;
+				}
+				shape.interpolate(null, alpha);
+			}
+			return;
+		}
+		for (CollisionShape shape : shapes) {
+			if (!shape.isInterpolateRequired()) {
+				continue;
+			}
+			shape.interpolate(null, alpha);
+		}
+	}
+
+	/**
+	 * Interpolates all {@link CollisionShape}s in a {@link Collection} and
+	 * removes any shape that has finished interpolating. This allows a game to
+	 * maintain a working set of moving shapes so that the cost of
+	 * interpolation scales with the number of moving shapes rather than the
+	 * total number of shapes. Shapes should be re-added to the
+	 * {@link Collection} when they are moved again.
+	 * 
+	 * Note: The order of elements in a {@link List} is not preserved.
+	 * 
+	 * @param movingShapes
+	 *            The {@link CollisionShape}s to interpolate
+	 * @param alpha
+	 *            The interpolation alpha value
+	 */
+	public static <T extends CollisionShape> void interpolateAndRemoveCompleted(Collection<T> movingShapes,
+			float alpha) {
+		if (movingShapes instanceof List && movingShapes instanceof RandomAccess) {
+			final List<T> list = (List<T>) movingShapes;
+			for (int i = list.size() - 1; i >= 0; i--) {
+				final T shape = list.get(i);
+				shape.interpolate(null, alpha);
+				if (shape.isInterpolateRequired()) {
+					continue;
+				}
+				final int lastIndex = list.size() - 1;
+				if (i != lastIndex) {
+					list.set(i, list.get(lastIndex));
+				}
+				list.remove(lastIndex);
+			}
+			return;
+		}
+		final Iterator<T> iterator = movingShapes.iterator();
+		while (iterator.hasNext()) {
+			final T shape = iterator.next();
+			shape.interpolate(null, alpha);
+			if (shape.isInterpolateRequired()) {
+				continue;
+			}
+			iterator.remove();
+		}
+	}
+}
@@ -0,0 +1,375 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.engine.geom;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/**
+ * Stores the bounds of many collision objects in contiguous primitive arrays
+ * so that {@link #preUpdate()} and {@link #interpolate(float)} can run as
+ * tight loops. Individual objects are accessed through lightweight
+ * {@link CollisionHandle} instances.
+ * 
+ * This is an alternative to creating large numbers of {@link CollisionBox},
+ * {@link CollisionCircle} or {@link CollisionPoint} instances when only their
+ * bounds and interpolated render coordinates are required.
+ * 
+ * Note: This implementation is not thread-safe.
+ */
+public class CollisionStore {
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private final IntIntMap idToIndex;
+
+	private CollisionHandle[] handles;
+	private float[] x, y, width, height;
+	private float[] previousX, previousY, previousWidth, previousHeight;
+	private float[] renderX, renderY, renderWidth, renderHeight;
+	private int[] roundedRenderX, roundedRenderY, roundedRenderWidth, roundedRenderHeight;
+	private boolean[] interpolate;
+	private int size = 0;
+
+	/**
+	 * Constructs a {@link CollisionStore} with a default initial capacity
+	 */
+	public CollisionStore() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a {@link CollisionStore}
+	 * 
+	 * @param initialCapacity
+	 *            The number of collision objects that can be stored before the
+	 *            internal arrays are resized
+	 */
+	public CollisionStore(int initialCapacity) {
+		initialCapacity = Math.max(1, initialCapacity);
+		idToIndex = new IntIntMap(initialCapacity);
+		allocate(initialCapacity);
+	}
+
+	/**
+	 * Creates a new collision box
+	 * 
+	 * @param x
+	 *            The x coordinate
+	 * @param y
+	 *            The y coordinate
+	 * @param width
+	 *            The width
+	 * @param height
+	 *            The height
+	 * @return The {@link CollisionHandle} for the new box
+	 */
+	public CollisionHandle createBox(float x, float y, float width, float height) {
+		return create(CollisionIdSequence.nextId(), x, y, width, height);
+	}
+
+	/**
+	 * Creates a new collision circle. The circle is stored by its bounding box.
+	 * 
+	 * @param centerX
+	 *            The x coordinate of the circle's center
+	 * @param centerY
+	 *            The y coordinate of the circle's center
+	 * @param radius
+	 *            The radius of the circle
+	 * @return The {@link CollisionHandle} for the new circle
+	 */
+	public CollisionHandle createCircle(float centerX, float centerY, float radius) {
+		return create(CollisionIdSequence.nextId(), centerX - radius, centerY - radius, radius * 2f, radius * 2f);
+	}
+
+	/**
+	 * Creates a new collision point
+	 * 
+	 * @param x
+	 *            The x coordinate
+	 * @param y
+	 *            The y coordinate
+	 * @return The {@link CollisionHandle} for the new point
+	 */
+	public CollisionHandle createPoint(float x, float y) {
+		return create(CollisionIdSequence.nextId(), x, y, 0f, 0f);
+	}
+
+	/**
+	 * Creates a new collision object with a specific id
+	 * 
+	 * @param id
+	 *            The unique id of the collision object
+	 * @param x
+	 *            The x coordinate
+	 * @param y
+	 *            The y coordinate
+	 * @param width
+	 *            The width
+	 * @param height
+	 *            The height
+	 * @return The {@link CollisionHandle} for the new object
+	 */
+	public CollisionHandle create(int id, float x, float y, float width, float height) {
+		if (idToIndex.containsKey(id)) {
+			throw new IllegalArgumentException("Collision id " + id + " already exists in this "
+					+ CollisionStore.class.getSimpleName());
+		}
+		if (size == this.x.length) {
+			allocate(size * 2);
+		}
+		final int index = size;
+		final CollisionHandle handle = new CollisionHandle(this, id, index);
+		handles[index] = handle;
+		idToIndex.put(id, index);
+		size++;
+		forceTo(index, x, y, width, height);
+		return handle;
+	}
+
+	/**
+	 * Removes a collision object from this {@link CollisionStore}. The
+	 * {@link CollisionHandle} can no longer be used after removal.
+	 * 
+	 * @param handle
+	 *            The {@link CollisionHandle} to remove
+	 * @return False if the {@link CollisionHandle} did not belong to this
+	 *         {@link CollisionStore}
+	 */
+	public boolean remove(CollisionHandle handle) {
+		if (handle.store != this) {
+			return false;
+		}
+		final int index = idToIndex.remove(handle.getId(), -1);
+		if (index < 0) {
+			return false;
+		}
+		final int lastIndex = size - 1;
+		if (index != lastIndex) {
+			copy(lastIndex, index);
+			handles[index] = handles[lastIndex];
+			handles[index].index = index;
+			idToIndex.put(handles[index].getId(), index);
+		}
+		handles[lastIndex] = null;
+		handle.store = null;
+		handle.index = -1;
+		size--;
+		return true;
+	}
+
+	/**
+	 * Returns the {@link CollisionHandle} for a collision object id
+	 * 
+	 * @param id
+	 *            The collision object id
+	 * @return Null if no object with the id exists in this store
+	 */
+	public CollisionHandle getHandle(int id) {
+		final int index = idToIndex.get(id, -1);
+		if (index < 0) {
+			return null;
+		}
+		return handles[index];
+	}
+
+	/**
+	 * Stores the current bounds of all collision objects as their previous
+	 * bounds. This needs to be called at the start of each frame before any
+	 * changes are made.
+	 */
+	public void preUpdate() {
+		System.arraycopy(x, 0, previousX, 0, size);
+		System.arraycopy(y, 0, previousY, 0, size);
+		System.arraycopy(width, 0, previousWidth, 0, size);
+		System.arraycopy(height, 0, previousHeight, 0, size);
+	}
+
+	/**
+	 * Interpolates the render bounds of all collision objects that have
+	 * changed since they were last rendered
+	 * 
+	 * @param alpha
+	 *            The interpolation alpha value
+	 */
+	public void interpolate(float alpha) {
+		final float inverseAlpha = 1f - alpha;
+		for (int i = 0; i < size; i++) {
+			if (!interpolate[i]) {
+				continue;
+			}
+			renderX[i] = (previousX[i] * inverseAlpha) + (x[i] * alpha);
+			renderY[i] = (previousY[i] * inverseAlpha) + (y[i] * alpha);
+			renderWidth[i] = (previousWidth[i] * inverseAlpha) + (width[i] * alpha);
+			renderHeight[i] = (previousHeight[i] * inverseAlpha) + (height[i] * alpha);
+			storeRenderCoordinates(i);
+
+			if (roundedRenderX[i] != MathUtils.round(x[i])) {
+				continue;
+			}
+			if (roundedRenderY[i] != MathUtils.round(y[i])) {
+				continue;
+			}
+			if (roundedRenderWidth[i] != MathUtils.round(width[i])) {
+				continue;
+			}
+			if (roundedRenderHeight[i] != MathUtils.round(height[i])) {
+				continue;
+			}
+			interpolate[i] = false;
+		}
+	}
+
+	/**
+	 * Returns the number of collision objects in this {@link CollisionStore}
+	 * 
+	 * @return 0 if empty
+	 */
+	public int size() {
+		return size;
+	}
+
+	void set(int index, float x, float y, float width, float height) {
+		if (this.x[index] == x && this.y[index] == y && this.width[index] == width && this.height[index] == height) {
+			return;
+		}
+		this.x[index] = x;
+		this.y[index] = y;
+		this.width[index] = width;
+		this.height[index] = height;
+		interpolate[index] = true;
+	}
+
+	void forceTo(int index, float x, float y, float width, float height) {
+		this.x[index] = x;
+		this.y[index] = y;
+		this.width[index] = width;
+		this.height[index] = height;
+		previousX[index] = x;
+		previousY[index] = y;
+		previousWidth[index] = width;
+		previousHeight[index] = height;
+		renderX[index] = x;
+		renderY[index] = y;
+		renderWidth[index] = width;
+		renderHeight[index] = height;
+		storeRenderCoordinates(index);
+		interpolate[index] = false;
+	}
+
+	float getX(int index) {
+		return x[index];
+	}
+
+	float getY(int index) {
+		return y[index];
+	}
+
+	float getWidth(int index) {
+		return width[index];
+	}
+
+	float getHeight(int index) {
+		return height[index];
+	}
+
+	int getRenderX(int index) {
+		return roundedRenderX[index];
+	}
+
+	int getRenderY(int index) {
+		return roundedRenderY[index];
+	}
+
+	int getRenderWidth(int index) {
+		return roundedRenderWidth[index];
+	}
+
+	int getRenderHeight(int index) {
+		return roundedRenderHeight[index];
+	}
+
+	boolean isInterpolating(int index) {
+		return interpolate[index];
+	}
+
+	private void storeRenderCoordinates(int index) {
+		roundedRenderX[index] = MathUtils.round(renderX[index]);
+		roundedRenderY[index] = MathUtils.round(renderY[index]);
+		roundedRenderWidth[index] = MathUtils.round(renderWidth[index]);
+		roundedRenderHeight[index] = MathUtils.round(renderHeight[index]);
+	}
+
+	private void copy(int fromIndex, int toIndex) {
+		x[toIndex] = x[fromIndex];
+		y[toIndex] = y[fromIndex];
+		width[toIndex] = width[fromIndex];
+		height[toIndex] = height[fromIndex];
+		previousX[toIndex] = previousX[fromIndex];
+		previousY[toIndex] = previousY[fromIndex];
+		previousWidth[toIndex] = previousWidth[fromIndex];
+		previousHeight[toIndex] = previousHeight[fromIndex];
+		renderX[toIndex] = renderX[fromIndex];
+		renderY[toIndex] = renderY[fromIndex];
+		renderWidth[toIndex] = renderWidth[fromIndex];
+		renderHeight[toIndex] = renderHeight[fromIndex];
+		roundedRenderX[toIndex] = roundedRenderX[fromIndex];
+		roundedRenderY[toIndex] = roundedRenderY[fromIndex];
+		roundedRenderWidth[toIndex] = roundedRenderWidth[fromIndex];
+		roundedRenderHeight[toIndex] = roundedRenderHeight[fromIndex];
+		interpolate[toIndex] = interpolate[fromIndex];
+	}
+
+	private void allocate(int capacity) {
+		if (handles == null) {
+			handles = new CollisionHandle[capacity];
+			x = new float[capacity];
+			y = new float[capacity];
+			width = new float[capacity];
+			height = new float[capacity];
+			previousX = new float[capacity];
+			previousY = new float[capacity];
+			previousWidth = new float[capacity];
+			previousHeight = new float[capacity];
+			renderX = new float[capacity];
+			renderY = new float[capacity];
+			renderWidth = new float[capacity];
+			renderHeight = new float[capacity];
+			roundedRenderX = new int[capacity];
+			roundedRenderY = new int[capacity];
+			roundedRenderWidth = new int[capacity];
+			roundedRenderHeight = new int[capacity];
+			interpolate = new boolean[capacity];
+			return;
+		}
+		handles = Arrays.copyOf(handles, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		width = Arrays.copyOf(width, capacity);
+		height = Arrays.copyOf(height, capacity);
+		previousX = Arrays.copyOf(previousX, capacity);
+		previousY = Arrays.copyOf(previousY, capacity);
+		previousWidth = Arrays.copyOf(previousWidth, capacity);
+		previousHeight = Arrays.copyOf(previousHeight, capacity);
+		renderX = Arrays.copyOf(renderX, capacity);
+		renderY = Arrays.copyOf(renderY, capacity);
+		renderWidth = Arrays.copyOf(renderWidth, capacity);
+		renderHeight = Arrays.copyOf(renderHeight, capacity);
+		roundedRenderX = Arrays.copyOf(roundedRenderX, capacity);
+		roundedRenderY = Arrays.copyOf(roundedRenderY, capacity);
+		roundedRenderWidth = Arrays.copyOf(roundedRenderWidth, capacity);
+		roundedRenderHeight = Arrays.copyOf(roundedRenderHeight, capacity);
+		interpolate = Arrays.copyOf(interpolate, capacity);
+	}
+}
@@ -23,7 +23,6 @@ import org.mini2Dx.core.geom.Circle;
 import org.mini2Dx.core.geom.Shape;
 
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
 
 /**
  * A {@link Circle} implementation of {@link CollisionShape} that does not
@@ -31,9 +30,6 @@ import com.badlogic.gdx.math.Vector2;
  * {@link CollisionCircle} for static collisions.
  */
 public class StaticCollisionCircle extends Circle implements CollisionShape {
-	private static final Vector2 TMP_SOURCE_VECTOR = new Vector2();
-	private static final Vector2 TMP_TARGET_VECTOR = new Vector2();
-
 	private final int id;
 	
 	private List<PositionChangeListener> positionChangeListeners;
@@ -77,15 +73,17 @@ public class StaticCollisionCircle extends Circle implements CollisionShape {
 	}
 
 	public void moveTowards(float x, float y, float speed) {
-		TMP_SOURCE_VECTOR.set(getX(), getY());
-		TMP_TARGET_VECTOR.set(x, y);
-		Vector2 direction = TMP_TARGET_VECTOR.sub(TMP_SOURCE_VECTOR).nor();
+		final float sourceX = getX();
+		final float sourceY = getY();
+		float angle = (float) Math.atan2(y - sourceY, x - sourceX) * MathUtils.radiansToDegrees;
+		if (angle < 0f) {
+			angle += 360f;
+		}
 		
-		float xComponent = speed * MathUtils.cosDeg(direction.angle());
-		float yComponent = speed * MathUtils.sinDeg(direction.angle());
-		TMP_SOURCE_VECTOR.add(xComponent, yComponent);
+		float xComponent = speed * MathUtils.cosDeg(angle);
+		float yComponent = speed * MathUtils.sinDeg(angle);
 		
-		set(TMP_SOURCE_VECTOR.x, TMP_SOURCE_VECTOR.y);
+		set(sourceX + xComponent, sourceY + yComponent);
 	}
 
 	@Override
@@ -97,6 +95,11 @@ public class StaticCollisionCircle extends Circle implements CollisionShape {
 	public void preUpdate() {
 	}
 
+	@Override
+	public boolean isInterpolateRequired() {
+		return false;
+	}
+
 	@Override
 	public void update(GameContainer gc, float delta) {
 	}
@@ -14,7 +14,6 @@ package org.mini2Dx.core.geom;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.core.util.EdgeIterator;
 
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 
@@ -24,9 +23,6 @@ import com.badlogic.gdx.math.Vector2;
 public class Circle extends Shape {
 	private static final long serialVersionUID = 7900371446650127192L;
 
-	private static final Vector2 TMP_VECTOR1 = new Vector2();
-	private static final Vector2 TMP_VECTOR2 = new Vector2();
-	private static final Vector2 CENTER_TMP = new Vector2();
 
 	private final Rectangle boundingBox = new Rectangle();
 	
@@ -159,16 +155,13 @@ public class Circle extends Shape {
 	
 	@Override
 	public boolean intersectsLineSegment(Vector2 pointA, Vector2 pointB) {
-		CENTER_TMP.set(circle.x, circle.y);
-		return Intersector.intersectSegmentCircle(pointA, pointB, CENTER_TMP, circle.radius * circle.radius);
+		return Intersector.intersectSegmentCircle(pointA.x, pointA.y, pointB.x, pointB.y, circle.x, circle.y,
+				circle.radius * circle.radius);
 	}
 
 	@Override
 	public boolean intersectsLineSegment(float x1, float y1, float x2, float y2) {
-		TMP_VECTOR1.set(x1, y1);
-		TMP_VECTOR2.set(x2, y2);
-		CENTER_TMP.set(circle.x, circle.y);
-		return Intersector.intersectSegmentCircle(TMP_VECTOR1, TMP_VECTOR2, CENTER_TMP, circle.radius * circle.radius);
+		return Intersector.intersectSegmentCircle(x1, y1, x2, y2, circle.x, circle.y, circle.radius * circle.radius);
 	}
 	
 	/**
@@ -178,7 +171,7 @@ public class Circle extends Shape {
 	 * @return True if intersection occurs
 	 */
 	public boolean intersects(Rectangle rectangle) {
-		return org.mini2Dx.core.geom.Intersector.intersects(rectangle, this);
+		return Intersector.intersects(rectangle, this);
 	}
 
 	/**
@@ -12,23 +12,16 @@
 package org.mini2Dx.core.geom;
 
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.FloatArray;
 
 /**
  * Provides implementations for detecting intersections between geom package
  * objects.
  * 
- * Note: This exists because LibGDX implementations weren't accurate
+ * Note: This exists because LibGDX implementations weren't accurate. None of
+ * these methods use shared scratch objects so they are safe to call from
+ * multiple threads.
  */
 public class Intersector {
-	private final static Vector2 ip = new Vector2();
-	private final static Vector2 ep1 = new Vector2();
-	private final static Vector2 ep2 = new Vector2();
-	private final static Vector2 s = new Vector2();
-	private final static Vector2 e = new Vector2();
-	private final static FloatArray floatArray = new FloatArray();
-	private final static FloatArray floatArray2 = new FloatArray();
-
 	public static boolean intersectLines(Vector2 p1, Vector2 p2, Vector2 p3, Vector2 p4, Vector2 intersection) {
 		float x1 = p1.x, y1 = p1.y, x2 = p2.x, y2 = p2.y, x3 = p3.x, y3 = p3.y, x4 = p4.x, y4 = p4.y;
 
@@ -163,7 +156,25 @@ public class Intersector {
 	 * @return True if the polygon and segment intersect
 	 */
 	public static boolean intersectSegmentPolygon(Vector2 p1, Vector2 p2, float[] vertices) {
-		float x1 = p1.x, y1 = p1.y, x2 = p2.x, y2 = p2.y;
+		return intersectSegmentPolygon(p1.x, p1.y, p2.x, p2.y, vertices);
+	}
+
+	/**
+	 * Check whether the given line segment and polygon intersect.
+	 * 
+	 * @param x1
+	 *            The x coordinate of the first point of the segment
+	 * @param y1
+	 *            The y coordinate of the first point of the segment
+	 * @param x2
+	 *            The x coordinate of the second point of the segment
+	 * @param y2
+	 *            The y coordinate of the second point of the segment
+	 * @param vertices
+	 *            The vertices of the polygon
+	 * @return True if the polygon and segment intersect
+	 */
+	public static boolean intersectSegmentPolygon(float x1, float y1, float x2, float y2, float[] vertices) {
 		int n = vertices.length;
 		float x3 = vertices[n - 2], y3 = vertices[n - 1];
 		for (int i = 0; i < n; i += 2) {
@@ -185,4 +196,76 @@ public class Intersector {
 		}
 		return false;
 	}
+
+	/**
+	 * Check whether the given line segment and circle intersect.
+	 * 
+	 * @param x1
+	 *            The x coordinate of the first point of the segment
+	 * @param y1
+	 *            The y coordinate of the first point of the segment
+	 * @param x2
+	 *            The x coordinate of the second point of the segment
+	 * @param y2
+	 *            The y coordinate of the second point of the segment
+	 * @param centerX
+	 *            The x coordinate of the circle's center
+	 * @param centerY
+	 *            The y coordinate of the circle's center
+	 * @param squareRadius
+	 *            The radius of the circle squared
+	 * @return True if the circle and segment intersect
+	 */
+	public static boolean intersectSegmentCircle(float x1, float y1, float x2, float y2, float centerX,
+			float centerY, float squareRadius) {
+		return squareDistanceSegmentPoint(x1, y1, x2, y2, centerX, centerY) <= squareRadius;
+	}
+
+	/**
+	 * Returns the distance between a line segment and a point
+	 * 
+	 * @param x1
+	 *            The x coordinate of the first point of the segment
+	 * @param y1
+	 *            The y coordinate of the first point of the segment
+	 * @param x2
+	 *            The x coordinate of the second point of the segment
+	 * @param y2
+	 *            The y coordinate of the second point of the segment
+	 * @param pointX
+	 *            The x coordinate of the point
+	 * @param pointY
+	 *            The y coordinate of the point
+	 * @return The distance from the point to the closest point on the segment
+	 */
+	public static float distanceSegmentPoint(float x1, float y1, float x2, float y2, float pointX, float pointY) {
+		return (float) Math.sqrt(squareDistanceSegmentPoint(x1, y1, x2, y2, pointX, pointY));
+	}
+
+	private static float squareDistanceSegmentPoint(float x1, float y1, float x2, float y2, float pointX,
+			float pointY) {
+		float segmentX = x2 - x1;
+		float segmentY = y2 - y1;
+		final float length = (float) Math.sqrt((segmentX * segmentX) + (segmentY * segmentY));
+		if (length != 0f) {
+			segmentX /= length;
+			segmentY /= length;
+		}
+		final float projection = ((pointX - x1) * segmentX) + ((pointY - y1) * segmentY);
+
+		float closestX, closestY;
+		if (projection <= 0f) {
+			closestX = x1;
+			closestY = y1;
+		} else if (projection >= length) {
+			closestX = x2;
+			closestY = y2;
+		} else {
+			closestX = x1 + (segmentX * projection);
+			closestY = y1 + (segmentY * projection);
+		}
+		final float distanceX = pointX - closestX;
+		final float distanceY = pointY - closestY;
+		return (distanceX * distanceX) + (distanceY * distanceY);
+	}
 }
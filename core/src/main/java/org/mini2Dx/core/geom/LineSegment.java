@@ -15,7 +15,6 @@ package org.mini2Dx.core.geom;
  * Represents a segment of a line (the space between two points)
  */
 public class LineSegment {
-	private static final Point TMP_INTERSECTION = new Point();
 
 	protected Point pointA, pointB;
 
@@ -113,8 +112,9 @@ public class LineSegment {
 	 */
 	@Deprecated
 	public Point getIntersection(LineSegment lineSegment) {
-		if(getIntersection(lineSegment, TMP_INTERSECTION)) {
-			return TMP_INTERSECTION;
+		Point result = new Point();
+		if(getIntersection(lineSegment, result)) {
+			return result;
 		}
 		return null;
 	}
@@ -31,13 +31,9 @@ import com.badlogic.gdx.utils.ShortArray;
  */
 public class Polygon extends Shape {
 	private static final String LOGGING_TAG = Polygon.class.getSimpleName();
-	private static final LineSegment INTERNAL_EDGE_LINE_SEGMENT = new LineSegment(0f, 0f, 1f, 1f);
-	private static final Vector2 TMP_VECTOR1 = new Vector2();
-	private static final Vector2 TMP_VECTOR2 = new Vector2();
 
 	private final EarClippingTriangulator triangulator;
 	private final PolygonEdgeIterator edgeIterator = new PolygonEdgeIterator();
-	private final PolygonEdgeIterator internalEdgeIterator = new PolygonEdgeIterator(INTERNAL_EDGE_LINE_SEGMENT);
 
 	private final Vector2 centroid = new Vector2();
 	private float[] vertices;
@@ -232,18 +228,17 @@ public class Polygon extends Shape {
 		if (polygon.maxY < minY) {
 			return false;
 		}
-		boolean result = false;
-
-		internalEdgeIterator.begin();
-		while (internalEdgeIterator.hasNext()) {
-			internalEdgeIterator.next();
-			if (polygon.intersects(internalEdgeIterator.getEdgeLineSegment())) {
-				result = true;
-				break;
+		final float[] vertices = this.vertices;
+		float previousX = vertices[vertices.length - 2];
+		float previousY = vertices[vertices.length - 1];
+		for (int i = 0; i < vertices.length; i += 2) {
+			if (polygon.intersectsLineSegment(previousX, previousY, vertices[i], vertices[i + 1])) {
+				return true;
 			}
+			previousX = vertices[i];
+			previousY = vertices[i + 1];
 		}
-		internalEdgeIterator.end();
-		return result;
+		return false;
 	}
 
 	/**
@@ -266,7 +261,7 @@ public class Polygon extends Shape {
 	 * @return True if this {@link Polygon} and {@link Rectangle} intersect
 	 */
 	public boolean intersects(Rectangle rectangle) {
-		return intersects(rectangle.polygon);
+		return intersects(rectangle.getPolygon());
 	}
 
 	public boolean intersects(Circle circle) {
@@ -295,19 +290,17 @@ public class Polygon extends Shape {
 			return closestX + closestY < circle.getRadius() * circle.getRadius();
 		}
 
-		boolean result = false;
-
-		internalEdgeIterator.begin();
-		while (internalEdgeIterator.hasNext()) {
-			internalEdgeIterator.next();
-			if (circle.intersectsLineSegment(internalEdgeIterator.getPointAX(), internalEdgeIterator.getPointAY(),
-					internalEdgeIterator.getPointBX(), internalEdgeIterator.getPointBY())) {
-				result = true;
-				break;
+		final float[] vertices = this.vertices;
+		float previousX = vertices[vertices.length - 2];
+		float previousY = vertices[vertices.length - 1];
+		for (int i = 0; i < vertices.length; i += 2) {
+			if (circle.intersectsLineSegment(previousX, previousY, vertices[i], vertices[i + 1])) {
+				return true;
 			}
+			previousX = vertices[i];
+			previousY = vertices[i + 1];
 		}
-		internalEdgeIterator.end();
-		return result;
+		return false;
 	}
 
 	@Override
@@ -317,22 +310,20 @@ public class Polygon extends Shape {
 
 	@Override
 	public boolean intersectsLineSegment(Vector2 pointA, Vector2 pointB) {
-		return Intersector.intersectSegmentPolygon(pointA, pointB, vertices);
+		return Intersector.intersectSegmentPolygon(pointA.x, pointA.y, pointB.x, pointB.y, vertices);
 	}
 
 	@Override
 	public boolean intersectsLineSegment(float x1, float y1, float x2, float y2) {
-		TMP_VECTOR1.set(x1, y1);
-		TMP_VECTOR2.set(x2, y2);
-		return Intersector.intersectSegmentPolygon(TMP_VECTOR1, TMP_VECTOR2, vertices);
+		return Intersector.intersectSegmentPolygon(x1, y1, x2, y2, vertices);
 	}
 
 	@Override
 	public float getDistanceTo(float x, float y) {
-		float result = com.badlogic.gdx.math.Intersector.distanceSegmentPoint(vertices[vertices.length - 2],
+		float result = Intersector.distanceSegmentPoint(vertices[vertices.length - 2],
 				vertices[vertices.length - 1], vertices[0], vertices[1], x, y);
 		for (int i = 0; i < vertices.length - 2; i += 2) {
-			float distance = com.badlogic.gdx.math.Intersector.distanceSegmentPoint(vertices[i], vertices[i + 1],
+			float distance = Intersector.distanceSegmentPoint(vertices[i], vertices[i + 1],
 					vertices[i + 2], vertices[i + 3], x, y);
 			if (distance < result) {
 				result = distance;
@@ -495,6 +486,23 @@ public class Polygon extends Shape {
 		setDirty();
 	}
 
+	/**
+	 * Sets the vertices of a 4-sided {@link Polygon} to an unrotated rectangle
+	 * without allocating a new vertex array
+	 */
+	void setRectangle(float x, float y, float width, float height) {
+		vertices[0] = x;
+		vertices[1] = y;
+		vertices[2] = x + width;
+		vertices[3] = y;
+		vertices[4] = x + width;
+		vertices[5] = y + height;
+		vertices[6] = x;
+		vertices[7] = y + height;
+		rotation = 0f;
+		setDirty();
+	}
+
 	@Override
 	public float getRotation() {
 		return rotation;
@@ -705,7 +713,7 @@ public class Polygon extends Shape {
 		for (int i = 0; i < vertices.length; i += 2) {
 			vertices[i] += xDiff;
 		}
-		setDirty();
+		setTranslated(xDiff, 0f);
 	}
 
 	@Override
@@ -719,7 +727,7 @@ public class Polygon extends Shape {
 		for (int i = 1; i < vertices.length; i += 2) {
 			vertices[i] += yDiff;
 		}
-		setDirty();
+		setTranslated(0f, yDiff);
 	}
 
 	@Override
@@ -735,13 +743,12 @@ public class Polygon extends Shape {
 			vertices[i] += xDiff;
 			vertices[i + 1] += yDiff;
 		}
-		setDirty();
+		setTranslated(xDiff, yDiff);
 	}
 	
 	@Override
 	public void setRadius(float radius) {
-		TMP_VECTOR1.set(vertices[0], vertices[1]);
-		scale(radius / TMP_VECTOR1.dst(getCenterX(), getCenterY()));
+		scale(radius / Vector2.dst(vertices[0], vertices[1], getCenterX(), getCenterY()));
 	}
 	
 	@Override
@@ -751,13 +758,11 @@ public class Polygon extends Shape {
 			return;
 		}
 		
+		final float centerX = getCenterX();
+		final float centerY = getCenterY();
 		for(int i = 0; i < vertices.length; i += 2) {
-			TMP_VECTOR1.set(vertices[i], vertices[i + 1]);
-			TMP_VECTOR1.sub(getCenterX(), getCenterY());
-			TMP_VECTOR1.scl(scale);
-			TMP_VECTOR1.add(vertices[i], vertices[i + 1]);
-			vertices[i] = TMP_VECTOR1.x;
-			vertices[i + 1] = TMP_VECTOR1.y;
+			vertices[i] = ((vertices[i] - centerX) * scale) + vertices[i];
+			vertices[i + 1] = ((vertices[i + 1] - centerY) * scale) + vertices[i + 1];
 		}
 		
 		setDirty();
@@ -777,7 +782,7 @@ public class Polygon extends Shape {
 			vertices[i] += translateX;
 			vertices[i + 1] += translateY;
 		}
-		setDirty();
+		setTranslated(translateX, translateY);
 	}
 
 	@Override
@@ -836,6 +841,23 @@ public class Polygon extends Shape {
 		centroidDirty = true;
 	}
 
+	/**
+	 * Offsets the cached bounds and centroid after all vertices have been
+	 * translated. Triangles are stored as vertex indices so they remain
+	 * valid.
+	 */
+	private void setTranslated(float translateX, float translateY) {
+		if (!minMaxDirty) {
+			minX += translateX;
+			minY += translateY;
+			maxX += translateX;
+			maxY += translateY;
+		}
+		if (!centroidDirty) {
+			centroid.add(translateX, translateY);
+		}
+	}
+
 	private void minMaxDirtyCheck() {
 		if (!minMaxDirty) {
 			return;
@@ -18,18 +18,20 @@ import com.badlogic.gdx.math.Vector2;
 
 /**
  * Implements a rectangle.
+ * 
+ * While a {@link Rectangle} is not rotated, its operations are computed
+ * directly from its x, y, width and height. The backing {@link Polygon} is
+ * only created and kept up to date once the {@link Rectangle} is rotated or
+ * {@link #getPolygon()} is called.
  */
 public class Rectangle extends Shape implements
 		Parallelogram {
 	private static final long serialVersionUID = 4016090439885217620L;
 
-	private static final Vector2 [] TMP_VERTICES = new Vector2[] {
-			new Vector2(), new Vector2(), new Vector2(), new Vector2()
-	};
-	private static final Rectangle TMP_RECTANGLE = new Rectangle();
-
-	final Polygon polygon;
-	private float width, height;
+	private float x, y, width, height;
+	private Polygon polygon;
+	private boolean rotated = false;
+	private boolean polygonDirty = false;
 	
 	/**
 	 * Default constructor. Creates a {@link Rectangle} at 0,0 with a width and
@@ -53,9 +55,10 @@ public class Rectangle extends Shape implements
 	 */
 	public Rectangle(float x, float y, float width, float height) {
 		super();
+		this.x = x;
+		this.y = y;
 		this.width = width;
 		this.height = height;
-		polygon = new Polygon(determineVertices(x, y, width, height));
 	}
 	
 	/**
@@ -64,9 +67,14 @@ public class Rectangle extends Shape implements
 	 */
 	public Rectangle(Rectangle rectangle) {
 		super();
-		this.width = rectangle.getWidth();
-		this.height = rectangle.getHeight();
-		this.polygon = (Polygon) rectangle.polygon.copy();
+		this.x = rectangle.x;
+		this.y = rectangle.y;
+		this.width = rectangle.width;
+		this.height = rectangle.height;
+		this.rotated = rectangle.rotated;
+		if(rotated) {
+			this.polygon = (Polygon) rectangle.polygon.copy();
+		}
 	}
 	
 	@Override
@@ -74,53 +82,103 @@ public class Rectangle extends Shape implements
 		return new Rectangle(this);
 	}
 	
-	private Vector2 [] determineVertices(float x, float y, float width, float height) {
-		TMP_VERTICES[0].set(x, y);
-		TMP_VERTICES[1].set(x + width, y);
-		TMP_VERTICES[2].set(x + width, y + height);
-		TMP_VERTICES[3].set(x, y + height);
-		return TMP_VERTICES;
+	private Polygon getSyncedPolygon() {
+		if(polygon == null) {
+			polygon = new Polygon(new float[] { x, y, x + width, y, x + width, y + height, x, y + height });
+			polygonDirty = false;
+		} else if(polygonDirty) {
+			polygon.setRectangle(x, y, width, height);
+			polygonDirty = false;
+		}
+		return polygon;
+	}
+	
+	private void polygonChanged() {
+		x = polygon.getX();
+		y = polygon.getY();
+		if(polygon.getRotation() == 0f) {
+			rotated = false;
+			//Re-sync on next use to discard any rounding error from rotation
+			polygonDirty = true;
+		} else {
+			rotated = true;
+		}
 	}
 	
 	@Override
 	public boolean contains(float x, float y) {
-		return polygon.contains(x, y);
+		if(rotated) {
+			return polygon.contains(x, y);
+		}
+		return x >= getMinX() && x <= getMaxX() && y >= getMinY() && y <= getMaxY();
 	}
 
 	@Override
 	public boolean contains(Vector2 point) {
-		return polygon.contains(point);
+		return contains(point.x, point.y);
 	}
 	
 	@Override
 	public boolean contains(Shape shape) {
-		return polygon.contains(shape);
+		if(!rotated) {
+			if(shape instanceof Rectangle) {
+				return contains((Rectangle) shape);
+			}
+			if(shape.isCircle()) {
+				return contains(((Circle) shape).getBoundingBox());
+			}
+		}
+		return getSyncedPolygon().contains(shape);
 	}
 	
 	public boolean contains(Parallelogram parallelogram) {
-		TMP_RECTANGLE.set(parallelogram.getX(),
+		if(parallelogram instanceof Rectangle) {
+			return contains((Rectangle) parallelogram);
+		}
+		Rectangle rectangle = new Rectangle(parallelogram.getX(),
 				parallelogram.getY(), parallelogram.getWidth(),
 				parallelogram.getHeight());
-		TMP_RECTANGLE.setRotation(parallelogram.getRotation());
-		return contains(TMP_RECTANGLE);
+		rectangle.setRotation(parallelogram.getRotation());
+		return contains(rectangle);
 	}
 	
 	public boolean contains(Rectangle rectangle) {
-		return this.polygon.contains(rectangle.polygon);
+		if(rotated) {
+			return polygon.contains(rectangle.getSyncedPolygon());
+		}
+		if(rectangle.rotated) {
+			final float [] vertices = rectangle.polygon.getVertices();
+			for(int i = 0; i < vertices.length; i += 2) {
+				if(!contains(vertices[i], vertices[i + 1])) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return rectangle.getMinX() >= getMinX() && rectangle.getMaxX() <= getMaxX()
+				&& rectangle.getMinY() >= getMinY() && rectangle.getMaxY() <= getMaxY();
 	}
 	
 	public boolean contains(Circle circle) {
-		return this.polygon.contains(circle.getBoundingBox());
+		return contains(circle.getBoundingBox());
 	}
 
 	@Override
 	public boolean intersects(Shape shape) {
-		return polygon.intersects(shape);
+		if(!rotated) {
+			if(shape instanceof Rectangle) {
+				return intersects((Rectangle) shape);
+			}
+			if(shape.isCircle()) {
+				return intersects((Circle) shape);
+			}
+		}
+		return getSyncedPolygon().intersects(shape);
 	}
 	
 	@Override
 	public boolean intersectsLineSegment(LineSegment lineSegment) {
-		return polygon.intersects(lineSegment);
+		return getSyncedPolygon().intersects(lineSegment);
 	}
 	
 	/**
@@ -130,7 +188,35 @@ public class Rectangle extends Shape implements
 	 * @return True if the {@link Circle} intersects
 	 */
 	public boolean intersects(Circle circle) {
-		return polygon.intersects(circle);
+		if(rotated) {
+			return polygon.intersects(circle);
+		}
+		final float minX = getMinX();
+		final float minY = getMinY();
+		final float maxX = getMaxX();
+		final float maxY = getMaxY();
+		
+		float closestX = circle.getX();
+		float closestY = circle.getY();
+
+		if (circle.getX() < minX) {
+			closestX = minX;
+		} else if (circle.getX() > maxX) {
+			closestX = maxX;
+		}
+
+		if (circle.getY() < minY) {
+			closestY = minY;
+		} else if (circle.getY() > maxY) {
+			closestY = maxY;
+		}
+
+		closestX = closestX - circle.getX();
+		closestX *= closestX;
+		closestY = closestY - circle.getY();
+		closestY *= closestY;
+
+		return closestX + closestY < circle.getRadius() * circle.getRadius();
 	}
 
 	/**
@@ -144,31 +230,49 @@ public class Rectangle extends Shape implements
 		boolean xAxisOverlaps = true;
 		boolean yAxisOverlaps = true;
 
-		if (polygon.getMaxX() < rectangle.getMinX())
+		if (getMaxX() < rectangle.getMinX())
 			xAxisOverlaps = false;
-		if (rectangle.getMaxX() < polygon.getMinX())
+		if (rectangle.getMaxX() < getMinX())
 			xAxisOverlaps = false;
-		if (polygon.getMaxY() < rectangle.getMinY())
+		if (getMaxY() < rectangle.getMinY())
 			yAxisOverlaps = false;
-		if (rectangle.getMaxY() < polygon.getMinY())
+		if (rectangle.getMaxY() < getMinY())
 			yAxisOverlaps = false;
 
 		return xAxisOverlaps && yAxisOverlaps;
 	}
 	
 	public boolean intersects(Parallelogram parallelogram) {
-		TMP_RECTANGLE.set(parallelogram.getX(),
+		if(parallelogram instanceof Rectangle) {
+			return intersects((Rectangle) parallelogram);
+		}
+		if(parallelogram.getRotation() == 0f) {
+			return intersects(parallelogram.getX(), parallelogram.getY(), parallelogram.getWidth(),
+					parallelogram.getHeight());
+		}
+		Rectangle rectangle = new Rectangle(parallelogram.getX(),
 				parallelogram.getY(), parallelogram.getWidth(),
 				parallelogram.getHeight());
-		TMP_RECTANGLE.setRotation(parallelogram.getRotation());
-		return intersects(TMP_RECTANGLE);
+		rectangle.setRotation(parallelogram.getRotation());
+		return intersects(rectangle);
 	}
 	
 	@Override
 	public boolean intersects(float x, float y, float width, float height) {
-		TMP_RECTANGLE.set(x, y, width, height);
-		TMP_RECTANGLE.setRotation(0f);
-		return intersects(TMP_RECTANGLE);
+		final float minX = Math.min(x, x + width);
+		final float maxX = Math.max(x, x + width);
+		final float minY = Math.min(y, y + height);
+		final float maxY = Math.max(y, y + height);
+		
+		if (getMaxX() < minX)
+			return false;
+		if (maxX < getMinX())
+			return false;
+		if (getMaxY() < minY)
+			return false;
+		if (maxY < getMinY())
+			return false;
+		return true;
 	}
 	
 	/**
@@ -177,7 +281,7 @@ public class Rectangle extends Shape implements
 	 * @return True if this {@link Rectangle} and the {@link Triangle} intersect
 	 */
 	public boolean intersects(Triangle triangle) {
-		return polygon.intersects(triangle);
+		return getSyncedPolygon().intersects(triangle);
 	}
 	
 	/**
@@ -186,21 +290,21 @@ public class Rectangle extends Shape implements
 	 * @return True if this {@link Rectangle} and the {@link Polygon} intersect
 	 */
 	public boolean intersects(Polygon polygon) {
-		return this.polygon.intersects(polygon);
+		return getSyncedPolygon().intersects(polygon);
 	}
 
 	@Override
 	public boolean intersectsLineSegment(Vector2 pointA, Vector2 pointB) {
-		return polygon.intersectsLineSegment(pointA, pointB);
+		return getSyncedPolygon().intersectsLineSegment(pointA, pointB);
 	}
 
 	@Override
 	public boolean intersectsLineSegment(float x1, float y1, float x2, float y2) {
-		return polygon.intersectsLineSegment(x1, y1, x2, y2);
+		return getSyncedPolygon().intersectsLineSegment(x1, y1, x2, y2);
 	}
 
 	public Rectangle intersection(Rectangle rect) {
-		if (polygon.getRotation() != 0f || rect.getRotation() != 0f)
+		if (getRotation() != 0f || rect.getRotation() != 0f)
 			throw new UnsupportedOperationException(
 					"Rectangle.intersection is not implemented to handle rotated rectangles");
 
@@ -224,12 +328,12 @@ public class Rectangle extends Shape implements
 	 */
 	@Override
 	public void draw(Graphics g) {
-		polygon.draw(g);
+		getSyncedPolygon().draw(g);
 	}
 	
 	@Override
 	public void fill(Graphics g) {
-		polygon.fill(g);
+		getSyncedPolygon().fill(g);
 	}
 	
 	public Rectangle lerp(Rectangle target, float alpha) {
@@ -260,52 +364,90 @@ public class Rectangle extends Shape implements
 	}
 	
 	public float getDistanceTo(float x, float y) {
-	    return polygon.getDistanceTo(x, y);
+		if(rotated) {
+			return polygon.getDistanceTo(x, y);
+		}
+		final float minX = getMinX();
+		final float minY = getMinY();
+		final float maxX = getMaxX();
+		final float maxY = getMaxY();
+		
+		final float distanceX = Math.max(Math.max(minX - x, x - maxX), 0f);
+		final float distanceY = Math.max(Math.max(minY - y, y - maxY), 0f);
+		if(distanceX > 0f || distanceY > 0f) {
+			return (float) Math.sqrt((distanceX * distanceX) + (distanceY * distanceY));
+		}
+		//Point is inside, return the distance to the closest edge
+		return Math.min(Math.min(x - minX, maxX - x), Math.min(y - minY, maxY - y));
 	}
 
 	@Override
 	public float getRotation() {
+		if(!rotated) {
+			return 0f;
+		}
 		return polygon.getRotation();
 	}
 
 	@Override
 	public void setRotation(float degrees) {
-		polygon.setRotation(degrees);
+		if(!rotated && degrees == 0f) {
+			return;
+		}
+		getSyncedPolygon().setRotation(degrees);
+		polygonChanged();
 	}
 
 	@Override
 	public void rotate(float degrees) {
-		polygon.rotate(degrees);
+		if(degrees == 0f) {
+			return;
+		}
+		getSyncedPolygon().rotate(degrees);
+		polygonChanged();
 	}
 	
 	@Override
 	public void rotateAround(float centerX, float centerY, float degrees) {
-		polygon.rotateAround(centerX, centerY, degrees);
+		if(degrees == 0f) {
+			return;
+		}
+		getSyncedPolygon().rotateAround(centerX, centerY, degrees);
+		polygonChanged();
 	}
 	
 	@Override
 	public void setRotationAround(Point center, float degrees) {
-		polygon.setRotationAround(center.x, center.y, degrees);
+		setRotationAround(center.x, center.y, degrees);
 	}
 
 	@Override
 	public void setRotationAround(float centerX, float centerY, float degrees) {
-		polygon.setRotationAround(centerX, centerY, degrees);
+		if(!rotated && degrees == 0f) {
+			return;
+		}
+		getSyncedPolygon().setRotationAround(centerX, centerY, degrees);
+		polygonChanged();
 	}
 
 	public Rectangle set(float x, float y, float width, float height) {
-		float rotation = polygon.getRotation();
-		if(rotation != 0f) {
-			polygon.setRotation(-rotation);
-		}
-		polygon.setVertices(determineVertices(x, y, width, height));
-		if(rotation != 0f) {
-			polygon.setRotation(rotation);
-		}
-		
+		setBounds(x, y, width, height);
+		return this;
+	}
+	
+	private void setBounds(float x, float y, float width, float height) {
+		this.x = x;
+		this.y = y;
 		this.width = width;
 		this.height = height;
-		return this;
+		
+		if(!rotated) {
+			polygonDirty = true;
+			return;
+		}
+		float rotation = polygon.getRotation();
+		polygon.setRectangle(x, y, width, height);
+		polygon.setRotation(rotation);
 	}
 
 	public void set(Rectangle rectangle) {
@@ -317,28 +459,48 @@ public class Rectangle extends Shape implements
 	}
 	
 	public void set(float x, float y) {
-		polygon.set(x, y);
+		setPosition(x, y);
 	}
 	
 	public void set(Vector2 position) {
-		polygon.set(position.x, position.y);
+		setPosition(position.x, position.y);
+	}
+	
+	private void setPosition(float x, float y) {
+		this.x = x;
+		this.y = y;
+		if(!rotated) {
+			polygonDirty = true;
+			return;
+		}
+		polygon.set(x, y);
 	}
 	
 	@Override
 	public float getX() {
-		return polygon.getX();
+		return x;
 	}
 	
 	public void setX(float x) {
+		this.x = x;
+		if(!rotated) {
+			polygonDirty = true;
+			return;
+		}
 		polygon.setX(x);
 	}
 	
 	@Override
 	public float getY() {
-		return polygon.getY();
+		return y;
 	}
 	
 	public void setY(float y) {
+		this.y = y;
+		if(!rotated) {
+			polygonDirty = true;
+			return;
+		}
 		polygon.setY(y);
 	}
 	
@@ -347,11 +509,7 @@ public class Rectangle extends Shape implements
 	}
 
 	public Rectangle setWidth(float width) {
-		float rotation = polygon.getRotation();
-		polygon.setRotation(-rotation);
-		polygon.setVertices(determineVertices(getX(), getY(), width, getHeight()));
-		polygon.setRotation(rotation);
-		this.width = width;
+		setBounds(x, y, width, height);
 		return this;
 	}
 	
@@ -360,58 +518,52 @@ public class Rectangle extends Shape implements
 	}
 
 	public Rectangle setHeight(float height) {
-		float rotation = polygon.getRotation();
-		polygon.setRotation(-rotation);
-		polygon.setVertices(determineVertices(getX(), getY(), getWidth(), height));
-		polygon.setRotation(rotation);
-		this.height = height;
+		setBounds(x, y, width, height);
 		return this;
 	}
 
 	public Rectangle setSize(float width, float height) {
-		float rotation = polygon.getRotation();
-		polygon.setRotation(-rotation);
-		polygon.setVertices(determineVertices(getX(), getY(), getWidth(), height));
-		polygon.setRotation(rotation);
-		
-		this.width = width;
-		this.height = height;
+		setBounds(x, y, width, height);
 		return this;
 	}
 
 	public Rectangle setSize(float sizeXY) {
-		float rotation = polygon.getRotation();
-		polygon.setRotation(-rotation);
-		polygon.setVertices(determineVertices(getX(), getY(), sizeXY, sizeXY));
-		polygon.setRotation(rotation);
-		
-		this.width = sizeXY;
-		this.height = sizeXY;
+		setBounds(x, y, sizeXY, sizeXY);
 		return this;
 	}
 	
 	@Override
 	public void setRadius(float radius) {
+		Polygon polygon = getSyncedPolygon();
 		polygon.setRadius(radius);
 		width = polygon.getMaxX() - polygon.getX();
 		height = polygon.getMaxY() - polygon.getY();
+		polygonChanged();
 	}
 	
 	@Override
 	public void scale(float scale) {
+		Polygon polygon = getSyncedPolygon();
 		polygon.scale(scale);
 		width = polygon.getMaxX() - polygon.getX();
 		height = polygon.getMaxY() - polygon.getY();
+		polygonChanged();
 	}
 	
 	@Override
 	public void translate(float translateX, float translateY) {
+		x += translateX;
+		y += translateY;
+		if(!rotated) {
+			polygonDirty = true;
+			return;
+		}
 		polygon.translate(translateX, translateY);
 	}
 	
 	@Override
 	public EdgeIterator edgeIterator() {
-		return polygon.edgeIterator();
+		return getSyncedPolygon().edgeIterator();
 	}
 
 	/**
@@ -420,7 +572,10 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float getCenterX() {
-		return polygon.getCenterX();
+		if(rotated) {
+			return polygon.getCenterX();
+		}
+		return x + (width * 0.5f);
 	}
 
 	/**
@@ -429,22 +584,40 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float getCenterY() {
-		return polygon.getCenterY();
+		if(rotated) {
+			return polygon.getCenterY();
+		}
+		return y + (height * 0.5f);
 	}
 	
 	@Override
 	public void setCenter(float x, float y) {
-		polygon.setCenter(x, y);
+		if(rotated) {
+			polygon.setCenter(x, y);
+			polygonChanged();
+			return;
+		}
+		setPosition(x - (width * 0.5f), y - (height * 0.5f));
 	}
 
 	@Override
 	public void setCenterX(float x) {
-		polygon.setCenterX(x);
+		if(rotated) {
+			polygon.setCenterX(x);
+			polygonChanged();
+			return;
+		}
+		setPosition(x - (width * 0.5f), this.y);
 	}
 
 	@Override
 	public void setCenterY(float y) {
-		polygon.setCenterY(y);
+		if(rotated) {
+			polygon.setCenterY(y);
+			polygonChanged();
+			return;
+		}
+		setPosition(this.x, y - (height * 0.5f));
 	}
 
 	/**
@@ -453,7 +626,10 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float getMinX() {
-		return polygon.getMinX();
+		if(rotated) {
+			return polygon.getMinX();
+		}
+		return width < 0f ? x + width : x;
 	}
 
 	/**
@@ -462,7 +638,10 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float getMinY() {
-		return polygon.getMinY();
+		if(rotated) {
+			return polygon.getMinY();
+		}
+		return height < 0f ? y + height : y;
 	}
 
 	/**
@@ -471,7 +650,10 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float getMaxX() {
-		return polygon.getMaxX();
+		if(rotated) {
+			return polygon.getMaxX();
+		}
+		return width < 0f ? x : x + width;
 	}
 
 	/**
@@ -480,7 +662,10 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float getMaxY() {
-		return polygon.getMaxY();
+		if(rotated) {
+			return polygon.getMaxY();
+		}
+		return height < 0f ? y : y + height;
 	}
 	
 	/**
@@ -488,12 +673,12 @@ public class Rectangle extends Shape implements
 	 * @return
 	 */
 	public float [] getVertices() {
-		return polygon.getVertices();
+		return getSyncedPolygon().getVertices();
 	}
 
 	@Override
 	public String toString() {
-		return "Rectangle [rotation=" + polygon.getRotation() + ", x=" + getX() + ", y=" + getY()
+		return "Rectangle [rotation=" + getRotation() + ", x=" + getX() + ", y=" + getY()
 				+ ", width=" + getWidth() + ", height=" + getHeight() + "]";
 	}
 
@@ -502,9 +687,14 @@ public class Rectangle extends Shape implements
 		return false;
 	}
 
+	/**
+	 * Returns the {@link Polygon} representation of this {@link Rectangle}.
+	 * The {@link Polygon} is brought up to date each time this method is
+	 * called and should not be modified directly.
+	 */
 	@Override
 	public Polygon getPolygon() {
-		return polygon;
+		return getSyncedPolygon();
 	}
 
 	@Override
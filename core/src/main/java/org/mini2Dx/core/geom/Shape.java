@@ -20,7 +20,6 @@ import com.badlogic.gdx.math.Vector2;
  * Base class for shapes
  */
 public abstract class Shape {
-	private static final Vector2 TMP_VECTOR = new Vector2();
 	
 	/**
 	 * Returns an exact copy of this {@link Shape}
@@ -132,9 +131,7 @@ public abstract class Shape {
 	 * @param y The y component
 	 */
 	public void add(float x, float y) {
-		TMP_VECTOR.set(getX(), getY());
-		TMP_VECTOR.add(x, y);
-		set(TMP_VECTOR.x, TMP_VECTOR.y);
+		set(getX() + x, getY() + y);
 	}
 	
 	/**
@@ -143,9 +140,7 @@ public abstract class Shape {
 	 * @param y The y component
 	 */
 	public void subtract(float x, float y) {
-		TMP_VECTOR.set(getX(), getY());
-		TMP_VECTOR.sub(x, y);
-		set(TMP_VECTOR.x, TMP_VECTOR.y);
+		set(getX() - x, getY() - y);
 	}
 
 	/**
@@ -670,6 +670,25 @@ public interface Graphics {
 	 */
 	public void flush();
 
+	/**
+	 * Returns if shapes are batched with other draw operations
+	 * 
+	 * @return False by default
+	 */
+	public boolean isBatchedShapeRendering();
+
+	/**
+	 * Sets if shapes should be batched with other draw operations. When
+	 * enabled, lines, rectangles, circles, triangles and polygons are drawn as
+	 * textured triangles into the same batch as textures and sprites, avoiding
+	 * a flush per shape. Outlines use the current line height and the current
+	 * shader program is applied to shapes.
+	 * 
+	 * @param batchedShapeRendering
+	 *            True if shapes should be batched
+	 */
+	public void setBatchedShapeRendering(boolean batchedShapeRendering);
+
 	/**
 	 * Returns the line height used
 	 * 
@@ -41,6 +41,7 @@ public class HeadlessGraphics implements Graphics {
 	private int windowWidth, windowHeight;
 
 	private int lineHeight;
+	private boolean batchedShapeRendering;
 	private Rectangle clip;
 	
 	public HeadlessGraphics() {
@@ -337,6 +338,16 @@ public class HeadlessGraphics implements Graphics {
 	public void flush() {
 	}
 
+	@Override
+	public boolean isBatchedShapeRendering() {
+		return batchedShapeRendering;
+	}
+
+	@Override
+	public void setBatchedShapeRendering(boolean batchedShapeRendering) {
+		this.batchedShapeRendering = batchedShapeRendering;
+	}
+
 	/**
 	 * Resets transformation values
 	 */
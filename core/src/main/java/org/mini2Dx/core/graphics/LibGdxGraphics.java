@@ -50,6 +50,7 @@ public class LibGdxGraphics implements Graphics {
 	private final ShapeRenderer shapeRenderer;
 	private final PolygonSpriteBatch polygonSpriteBatch;
 	private final EarClippingTriangulator triangulator = new EarClippingTriangulator();
+	private final ShapeVertexBuffer shapeVertexBuffer = new ShapeVertexBuffer();
 	
 	private Color color, backgroundColor, tint, defaultTint;
 	private OrthographicCamera camera;
@@ -64,6 +65,7 @@ public class LibGdxGraphics implements Graphics {
 	private int defaultBlendSrcFunc = GL20.GL_SRC_ALPHA, defaultBlendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
 	private int lineHeight;
 	private boolean rendering, renderingShapes, renderingStage;
+	private boolean batchedShapeRendering;
 	private Rectangle clip;
 	
 	private float [] triangleVertices = new float[6];
@@ -134,6 +136,11 @@ public class LibGdxGraphics implements Graphics {
 	
 	@Override
 	public void drawLineSegment(float x1, float y1, float x2, float y2) {
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addLine(x1, y1, x2, y2, lineHeight, color.toFloatBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		endRendering();
 
@@ -154,6 +161,11 @@ public class LibGdxGraphics implements Graphics {
 		int roundWidth = MathUtils.round(width);
 		int roundHeight = MathUtils.round(height);
 		
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addRect(x, y, roundWidth, roundHeight, lineHeight, color.toFloatBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		endRendering();
 
@@ -173,6 +185,11 @@ public class LibGdxGraphics implements Graphics {
 
 	@Override
 	public void fillRect(float x, float y, float width, float height) {
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addFilledRect(x, y, width, height, getTintedColorBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		
 		spriteBatch.draw(colorTextureCache.getFilledRectangleTexture(color), x, y, 0, 0, width, height, 1f, 1f, 0, 0, 0,
@@ -181,6 +198,11 @@ public class LibGdxGraphics implements Graphics {
 
 	@Override
 	public void drawCircle(float centerX, float centerY, int radius) {
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addCircle(centerX, centerY, radius, lineHeight, color.toFloatBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		endRendering();
 		
@@ -200,6 +222,11 @@ public class LibGdxGraphics implements Graphics {
 
 	@Override
 	public void fillCircle(float centerX, float centerY, int radius) {
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addFilledCircle(centerX, centerY, radius, color.toFloatBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		endRendering();
 		
@@ -243,6 +270,11 @@ public class LibGdxGraphics implements Graphics {
 	
 	@Override
 	public void drawPolygon(float[] vertices) {
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addPolygon(vertices, lineHeight, color.toFloatBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		endRendering();
 
@@ -260,6 +292,11 @@ public class LibGdxGraphics implements Graphics {
 	
 	@Override
 	public void fillPolygon(float [] vertices, short [] triangles) {
+		if (batchedShapeRendering) {
+			shapeVertexBuffer.addFilledPolygon(vertices, triangles, color.toFloatBits());
+			drawShapeVertices();
+			return;
+		}
 		beginRendering();
 		endRendering();
 		
@@ -286,6 +323,26 @@ public class LibGdxGraphics implements Graphics {
 		beginRendering();
 	}
 
+	/**
+	 * Draws the contents of the {@link ShapeVertexBuffer} to the
+	 * {@link SpriteBatch} using a single white texel
+	 */
+	private void drawShapeVertices() {
+		beginRendering();
+		if (shapeVertexBuffer.size() > 0) {
+			spriteBatch.draw(colorTextureCache.getFilledRectangleTexture(Color.WHITE),
+					shapeVertexBuffer.getVertices(), 0, shapeVertexBuffer.size());
+		}
+		shapeVertexBuffer.clear();
+	}
+
+	private float getTintedColorBits() {
+		if (tint == null) {
+			return color.toFloatBits();
+		}
+		return Color.toFloatBits(color.r * tint.r, color.g * tint.g, color.b * tint.b, color.a * tint.a);
+	}
+
 	@Override
 	public void drawString(String text, float x, float y) {
 		if (font == null) {
@@ -636,6 +693,16 @@ public class LibGdxGraphics implements Graphics {
 		spriteBatch.flush();
 	}
 
+	@Override
+	public boolean isBatchedShapeRendering() {
+		return batchedShapeRendering;
+	}
+
+	@Override
+	public void setBatchedShapeRendering(boolean batchedShapeRendering) {
+		this.batchedShapeRendering = batchedShapeRendering;
+	}
+
 	/**
 	 * This method allows for translation, scaling, etc. to be set before the
 	 * {@link SpriteBatch} begins
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.graphics;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Builds {@link SpriteBatch} compatible vertices (x, y, color, u, v) for
+ * shapes so that they can be drawn with a single white texel instead of
+ * switching to a {@link com.badlogic.gdx.graphics.glutils.ShapeRenderer}.
+ * Every line segment and triangle is stored as a quad, triangles repeating
+ * their last vertex.
+ */
+class ShapeVertexBuffer {
+	static final int VERTEX_SIZE = 5;
+	static final int QUAD_SIZE = VERTEX_SIZE * 4;
+
+	private float[] vertices = new float[QUAD_SIZE * 16];
+	private int size;
+
+	/**
+	 * Removes all vertices from the buffer
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Adds a line segment as a quad of the specified width
+	 */
+	public void addLine(float x1, float y1, float x2, float y2, float width, float color) {
+		float normalX = y2 - y1;
+		float normalY = x1 - x2;
+		float length = (float) Math.sqrt((normalX * normalX) + (normalY * normalY));
+		if (length == 0f) {
+			return;
+		}
+		float halfWidth = width * 0.5f;
+		normalX = (normalX / length) * halfWidth;
+		normalY = (normalY / length) * halfWidth;
+
+		addQuad(x1 + normalX, y1 + normalY, x1 - normalX, y1 - normalY, x2 - normalX, y2 - normalY, x2 + normalX,
+				y2 + normalY, color);
+	}
+
+	/**
+	 * Adds the outline of a rectangle using the same edges as
+	 * {@link LibGdxGraphics#drawRect(float, float, float, float)}
+	 */
+	public void addRect(float x, float y, float width, float height, float lineWidth, float color) {
+		addLine(x, y, x + width, y, lineWidth, color);
+		addLine(x, y, x, y + height, lineWidth, color);
+		addLine(x + width, y, x + width, y + height, lineWidth, color);
+		addLine(x, y + height, x + width, y + height, lineWidth, color);
+	}
+
+	/**
+	 * Adds a filled rectangle
+	 */
+	public void addFilledRect(float x, float y, float width, float height, float color) {
+		addQuad(x, y, x, y + height, x + width, y + height, x + width, y, color);
+	}
+
+	/**
+	 * Adds the outline of a circle
+	 */
+	public void addCircle(float centerX, float centerY, float radius, float lineWidth, float color) {
+		int segments = getCircleSegments(radius);
+		float angle = MathUtils.PI2 / segments;
+		float previousX = centerX + radius;
+		float previousY = centerY;
+		for (int i = 1; i <= segments; i++) {
+			float nextX = centerX + (radius * MathUtils.cos(angle * i));
+			float nextY = centerY + (radius * MathUtils.sin(angle * i));
+			addLine(previousX, previousY, nextX, nextY, lineWidth, color);
+			previousX = nextX;
+			previousY = nextY;
+		}
+	}
+
+	/**
+	 * Adds a filled circle as a fan of triangles
+	 */
+	public void addFilledCircle(float centerX, float centerY, float radius, float color) {
+		int segments = getCircleSegments(radius);
+		float angle = MathUtils.PI2 / segments;
+		float previousX = centerX + radius;
+		float previousY = centerY;
+		for (int i = 1; i <= segments; i++) {
+			float nextX = centerX + (radius * MathUtils.cos(angle * i));
+			float nextY = centerY + (radius * MathUtils.sin(angle * i));
+			addTriangle(centerX, centerY, previousX, previousY, nextX, nextY, color);
+			previousX = nextX;
+			previousY = nextY;
+		}
+	}
+
+	/**
+	 * Adds the outline of a polygon, including the edge between the last and
+	 * first vertex
+	 * 
+	 * @param polygonVertices
+	 *            The polygon vertices as x,y pairs
+	 */
+	public void addPolygon(float[] polygonVertices, float lineWidth, float color) {
+		int length = polygonVertices.length - (polygonVertices.length % 2);
+		if (length < 4) {
+			return;
+		}
+		for (int i = 0; i < length; i += 2) {
+			int next = (i + 2) % length;
+			addLine(polygonVertices[i], polygonVertices[i + 1], polygonVertices[next], polygonVertices[next + 1],
+					lineWidth, color);
+		}
+	}
+
+	/**
+	 * Adds a filled polygon. Triangles referencing vertices outside of the
+	 * polygon are skipped.
+	 * 
+	 * @param polygonVertices
+	 *            The polygon vertices as x,y pairs
+	 * @param triangles
+	 *            The vertex indices of each triangle
+	 */
+	public void addFilledPolygon(float[] polygonVertices, short[] triangles, float color) {
+		int totalPoints = polygonVertices.length / 2;
+		for (int i = 0; i + 2 < triangles.length; i += 3) {
+			int i1 = triangles[i];
+			int i2 = triangles[i + 1];
+			int i3 = triangles[i + 2];
+			if (i1 >= totalPoints || i2 >= totalPoints || i3 >= totalPoints) {
+				continue;
+			}
+			i1 *= 2;
+			i2 *= 2;
+			i3 *= 2;
+			addTriangle(polygonVertices[i1], polygonVertices[i1 + 1], polygonVertices[i2], polygonVertices[i2 + 1],
+					polygonVertices[i3], polygonVertices[i3 + 1], color);
+		}
+	}
+
+	/**
+	 * Adds a triangle as a quad with a repeated last vertex
+	 */
+	public void addTriangle(float x1, float y1, float x2, float y2, float x3, float y3, float color) {
+		addQuad(x1, y1, x2, y2, x3, y3, x3, y3, color);
+	}
+
+	/**
+	 * Adds a quad
+	 */
+	public void addQuad(float x1, float y1, float x2, float y2, float x3, float y3, float x4, float y4,
+			float color) {
+		ensureCapacity(size + QUAD_SIZE);
+		size = putVertex(size, x1, y1, color);
+		size = putVertex(size, x2, y2, color);
+		size = putVertex(size, x3, y3, color);
+		size = putVertex(size, x4, y4, color);
+	}
+
+	private int putVertex(int index, float x, float y, float color) {
+		vertices[index] = x;
+		vertices[index + 1] = y;
+		vertices[index + 2] = color;
+		vertices[index + 3] = 0f;
+		vertices[index + 4] = 0f;
+		return index + VERTEX_SIZE;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= vertices.length) {
+			return;
+		}
+		float[] result = new float[Math.max(capacity, vertices.length * 2)];
+		System.arraycopy(vertices, 0, result, 0, size);
+		vertices = result;
+	}
+
+	private static int getCircleSegments(float radius) {
+		return Math.max(1, (int) (6 * (float) Math.cbrt(radius)));
+	}
+
+	/**
+	 * Returns the backing vertex array. Only the first {@link #size()}
+	 * values are valid.
+	 * 
+	 * @return The vertex array
+	 */
+	public float[] getVertices() {
+		return vertices;
+	}
+
+	/**
+	 * Returns the amount of vertex data in the buffer
+	 * 
+	 * @return The number of floats written, always a multiple of
+	 *         {@link #QUAD_SIZE}
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the amount of quads in the buffer
+	 * 
+	 * @return The number of quads written
+	 */
+	public int getTotalQuads() {
+		return size / QUAD_SIZE;
+	}
+}
@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -468,4 +469,64 @@ public class ConcurrentRegionQuadTreeTest implements Runnable {
 		REMOVER,
 		MOVER
 	}
+
+	@Test
+	public void testBatchUpdate() {
+		QuadTreeTestHelper.testBatchUpdate(rootQuad, box1, box2, box3, box4);
+	}
+
+	@Test
+	public void testForEachPotentialCollision() {
+		QuadTreeTestHelper.testForEachPotentialCollision(rootQuad);
+	}
+
+	@Test
+	public void testForEachPotentialCollisionRepeated() {
+		QuadTreeTestHelper.testForEachPotentialCollision(rootQuad);
+		int expectedPairs = QuadTreeTestHelper.countPotentialCollisions(rootQuad);
+		Assert.assertEquals(expectedPairs, QuadTreeTestHelper.countPotentialCollisions(rootQuad));
+	}
+
+	@Test(timeout = 10000L)
+	public void testForEachPotentialCollisionConsumerMovesElements() {
+		final List<CollisionBox> collisionBoxes = new ArrayList<CollisionBox>();
+		for (int i = 0; i < 20; i++) {
+			collisionBoxes.add(new CollisionBox(i * 4, i * 4, 8, 8));
+		}
+		rootQuad.addAll(collisionBoxes);
+
+		final AtomicInteger totalPairs = new AtomicInteger();
+		rootQuad.forEachPotentialCollision(new CollisionPairConsumer<CollisionBox>() {
+			@Override
+			public void onPotentialCollision(CollisionBox elementA, CollisionBox elementB) {
+				totalPairs.incrementAndGet();
+				// Typical collision response - push one element away
+				elementB.set(elementB.getX() + 1, elementB.getY());
+				rootQuad.remove(elementA);
+				rootQuad.add(elementA);
+			}
+		});
+		Assert.assertEquals(19, totalPairs.get());
+		Assert.assertEquals(20, rootQuad.getTotalElements());
+	}
+
+	@Test
+	public void testGetElementsWithinAreaParallel() {
+		Random random = new Random();
+		List<CollisionBox> collisionBoxes = new ArrayList<CollisionBox>();
+		for(int i = 0; i < 1000; i++) {
+			collisionBoxes.add(new CollisionBox(random.nextInt(96), random.nextInt(96), random.nextInt(32) + 1, random.nextInt(32) + 1));
+		}
+		rootQuad.addAll(collisionBoxes);
+		
+		ForkJoinPool pool = new ForkJoinPool();
+		Rectangle area = new Rectangle(16, 16, 64, 64);
+		List<CollisionBox> expected = rootQuad.getElementsWithinArea(area);
+		List<CollisionBox> result = new ArrayList<CollisionBox>();
+		rootQuad.getElementsWithinArea(result, area, pool, 16);
+		pool.shutdown();
+		
+		Assert.assertEquals(expected.size(), result.size());
+		Assert.assertEquals(true, result.containsAll(expected));
+	}
 }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.collisions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.mini2Dx.core.engine.geom.CollisionBox;
+import org.mini2Dx.core.geom.Point;
+
+import junit.framework.Assert;
+
+/**
+ * Shared test cases for {@link QuadTree} implementations
+ */
+public class QuadTreeTestHelper {
+
+	/**
+	 * Moves elements within a batch and checks they are only re-binned, and
+	 * only found at their new position by queries, after commit. Expects a 128x128 tree and one 32x32 box in each corner.
+	 */
+	public static void testBatchUpdate(QuadTree<CollisionBox> quadTree, CollisionBox box1, CollisionBox box2,
+			CollisionBox box3, CollisionBox box4) {
+		quadTree.add(box1);
+		quadTree.add(box2);
+		quadTree.add(box3);
+		quadTree.add(box4);
+
+		quadTree.beginBatch();
+		Assert.assertEquals(true, quadTree.isBatching());
+		box1.set(8, 8);
+		box1.set(95, 95);
+		box2.set(2, 95);
+		Assert.assertEquals(4, quadTree.getTotalElements());
+		// Queries are stale until commit since moved elements are still in their old quads
+		Assert.assertEquals(0, quadTree.getElementsContainingPoint(new Point(16, 16)).size());
+		Assert.assertEquals(1, quadTree.getElementsContainingPoint(new Point(112, 112)).size());
+		Assert.assertEquals(1, quadTree.getElementsContainingPoint(new Point(16, 112)).size());
+		quadTree.commitBatch();
+		Assert.assertEquals(false, quadTree.isBatching());
+
+		Assert.assertEquals(4, quadTree.getTotalElements());
+		Assert.assertEquals(0, quadTree.getElementsContainingPoint(new Point(16, 16)).size());
+		Assert.assertEquals(2, quadTree.getElementsContainingPoint(new Point(112, 112)).size());
+		Assert.assertEquals(2, quadTree.getElementsContainingPoint(new Point(16, 112)).size());
+		Assert.assertEquals(0, quadTree.getElementsContainingPoint(new Point(112, 16)).size());
+	}
+
+	/**
+	 * Adds random boxes to a 128x128 tree and checks every overlapping pair is
+	 * reported exactly once by
+	 * {@link QuadTree#forEachPotentialCollision(CollisionPairConsumer)}
+	 */
+	public static void testForEachPotentialCollision(QuadTree<CollisionBox> quadTree) {
+		Random random = new Random();
+		final List<CollisionBox> collisionBoxes = new ArrayList<CollisionBox>();
+		for(int i = 0; i < 200; i++) {
+			collisionBoxes.add(new CollisionBox(random.nextInt(96), random.nextInt(96), random.nextInt(32) + 1, random.nextInt(32) + 1));
+		}
+		quadTree.addAll(collisionBoxes);
+
+		int expectedPairs = 0;
+		for(int i = 0; i < collisionBoxes.size(); i++) {
+			for(int j = i + 1; j < collisionBoxes.size(); j++) {
+				CollisionBox box = collisionBoxes.get(i);
+				CollisionBox otherBox = collisionBoxes.get(j);
+				if(box.getMaxX() <= otherBox.getMinX() || otherBox.getMaxX() <= box.getMinX()) {
+					continue;
+				}
+				if(box.getMaxY() <= otherBox.getMinY() || otherBox.getMaxY() <= box.getMinY()) {
+					continue;
+				}
+				expectedPairs++;
+			}
+		}
+
+		Assert.assertEquals(expectedPairs, countPotentialCollisions(quadTree));
+	}
+
+	/**
+	 * Counts the pairs reported by
+	 * {@link QuadTree#forEachPotentialCollision(CollisionPairConsumer)},
+	 * failing if any pair is reported more than once
+	 */
+	public static int countPotentialCollisions(QuadTree<CollisionBox> quadTree) {
+		final Set<Long> pairs = new HashSet<Long>();
+		quadTree.forEachPotentialCollision(new CollisionPairConsumer<CollisionBox>() {
+			@Override
+			public void onPotentialCollision(CollisionBox elementA, CollisionBox elementB) {
+				long minId = Math.min(elementA.getId(), elementB.getId());
+				long maxId = Math.max(elementA.getId(), elementB.getId());
+				Assert.assertEquals(true, pairs.add((minId << 32) | maxId));
+			}
+		});
+		return pairs.size();
+	}
+}
@@ -267,4 +267,31 @@ public class RegionQuadTreeTest {
 		Assert.assertEquals(1, collisionBoxs.size());
 		Assert.assertEquals(true, collisionBoxs.contains(box4));
 	}
+
+	@Test
+	public void testBatchUpdate() {
+		QuadTreeTestHelper.testBatchUpdate(rootQuad, box1, box2, box3, box4);
+	}
+
+	@Test
+	public void testForEachPotentialCollision() {
+		QuadTreeTestHelper.testForEachPotentialCollision(rootQuad);
+	}
+
+	@Test
+	public void testBatchUpdateWithRepeatedMoves() {
+		rootQuad.add(box1);
+		rootQuad.add(box2);
+
+		rootQuad.beginBatch();
+		for (int i = 0; i < 50; i++) {
+			box1.set(i, i);
+		}
+		box1.set(95, 95);
+		rootQuad.commitBatch();
+
+		Assert.assertEquals(2, rootQuad.getTotalElements());
+		Assert.assertEquals(0, rootQuad.getElementsContainingPoint(new Point(16, 16)).size());
+		Assert.assertEquals(1, rootQuad.getElementsContainingPoint(new Point(112, 112)).size());
+	}
 }
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.collisions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.engine.geom.CollisionBox;
+import org.mini2Dx.core.geom.LineSegment;
+import org.mini2Dx.core.geom.Point;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link SpatialHash}
+ */
+public class SpatialHashTest {
+	private SpatialHash<CollisionBox> spatialHash;
+	private CollisionBox box1, box2, box3, box4;
+	
+	@Before
+	public void setup() {
+		spatialHash = new SpatialHash<CollisionBox>(32, 0, 0, 128, 128);
+		
+		box1 = new CollisionBox(1, 1, 32, 32);
+		box2 = new CollisionBox(95, 1, 32, 32);
+		box3 = new CollisionBox(1, 95, 32, 32);
+		box4 = new CollisionBox(95, 95, 32, 32);
+	}
+	
+	@Test
+	public void testAdd() {
+		Random random = new Random();
+		for(int i = 0; i < 100; i++) {
+			CollisionBox rect = new CollisionBox(random.nextInt(96), random.nextInt(96), 32f, 32f);
+			Assert.assertEquals(true, spatialHash.add(rect));
+			Assert.assertEquals(i + 1, spatialHash.getTotalElements());
+		}
+		Assert.assertEquals(false, spatialHash.add(new CollisionBox(256, 256, 32, 32)));
+		Assert.assertEquals(16, spatialHash.getTotalQuads());
+	}
+	
+	@Test
+	public void testAddDuplicate() {
+		Assert.assertEquals(true, spatialHash.add(box1));
+		Assert.assertEquals(false, spatialHash.add(box1));
+		Assert.assertEquals(1, spatialHash.getTotalElements());
+	}
+	
+	@Test
+	public void testRemove() {
+		Random random = new Random();
+		List<CollisionBox> collisionBoxes = new ArrayList<CollisionBox>();
+		for(int i = 0; i < 1000; i++) {
+			collisionBoxes.add(new CollisionBox(random.nextInt(96), random.nextInt(96), random.nextInt(32), random.nextInt(32)));
+		}
+		
+		for(int i = 0; i < collisionBoxes.size(); i++) {
+			spatialHash.add(collisionBoxes.get(i));
+			Assert.assertEquals(i + 1, spatialHash.getElements().size());
+		}
+		
+		for(int i = collisionBoxes.size() - 1; i >= 0 ; i--) {
+			Assert.assertEquals(i + 1, spatialHash.getElements().size());
+			Assert.assertEquals(true, spatialHash.remove(collisionBoxes.get(i)));
+			Assert.assertEquals(i, spatialHash.getElements().size());
+		}
+		Assert.assertEquals(false, spatialHash.remove(box1));
+	}
+	
+	@Test
+	public void testRemoveAll() {
+		Random random = new Random();
+		List<CollisionBox> rects = new ArrayList<CollisionBox>();
+		for(int i = 0; i < 100; i++) {
+			rects.add(new CollisionBox(random.nextInt(96), random.nextInt(96), random.nextInt(32), random.nextInt(32)));
+		}
+		spatialHash.addAll(rects);
+		Assert.assertEquals(rects.size(), spatialHash.getTotalElements());
+		spatialHash.removeAll(rects);
+		Assert.assertEquals(0, spatialHash.getTotalElements());
+	}
+	
+	@Test
+	public void testPositionChanged() {
+		spatialHash.add(box1);
+		Assert.assertEquals(1, spatialHash.getElementsContainingPoint(new Point(16, 16)).size());
+		
+		box1.set(64, 64);
+		Assert.assertEquals(0, spatialHash.getElementsContainingPoint(new Point(16, 16)).size());
+		Assert.assertEquals(1, spatialHash.getElementsContainingPoint(new Point(80, 80)).size());
+		Assert.assertEquals(1, spatialHash.getTotalElements());
+		
+		box1.set(512, 512);
+		Assert.assertEquals(0, spatialHash.getTotalElements());
+	}
+	
+	@Test
+	public void testSizeChanged() {
+		spatialHash.add(box1);
+		Assert.assertEquals(0, spatialHash.getElementsContainingPoint(new Point(80, 80)).size());
+		
+		box1.set(1, 1, 96, 96);
+		Assert.assertEquals(1, spatialHash.getElementsContainingPoint(new Point(80, 80)).size());
+	}
+	
+	@Test
+	public void testGetElementsWithinRegion() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.add(box3);
+		spatialHash.add(box4);
+		
+		List<CollisionBox> collisionBoxes = spatialHash.getElementsWithinArea(new CollisionBox(48, 48, 32, 32));
+		Assert.assertEquals(0, collisionBoxes.size());
+		
+		CollisionBox collisionBox5 = new CollisionBox(24, 24, 2, 2);
+		CollisionBox collisionBox6 = new CollisionBox(48, 48, 32, 32);
+		CollisionBox collisionBox7 = new CollisionBox(12, 48, 8, 8);
+		
+		spatialHash.add(collisionBox5);
+		spatialHash.add(collisionBox6);
+		spatialHash.add(collisionBox7);
+		
+		collisionBoxes = spatialHash.getElementsWithinArea(new CollisionBox(0, 0, 128, 128));
+		Assert.assertEquals(spatialHash.getElements().size(), collisionBoxes.size());
+		
+		collisionBoxes = spatialHash.getElementsWithinArea(new CollisionBox(36, 36, 32, 32));
+		Assert.assertEquals(1, collisionBoxes.size());
+		Assert.assertEquals(collisionBox6, collisionBoxes.get(0));
+		
+		collisionBoxes = spatialHash.getElementsWithinArea(new CollisionBox(0, 0, 64, 64));
+		Assert.assertEquals(4, collisionBoxes.size());
+		Assert.assertEquals(true, collisionBoxes.contains(box1));
+		Assert.assertEquals(true, collisionBoxes.contains(collisionBox5));
+		Assert.assertEquals(true, collisionBoxes.contains(collisionBox6));
+		Assert.assertEquals(true, collisionBoxes.contains(collisionBox7));
+		
+		collisionBoxes = spatialHash.getElementsWithinArea(new CollisionBox(12, 40, 48, 8));
+		Assert.assertEquals(2, collisionBoxes.size());
+		Assert.assertEquals(true, collisionBoxes.contains(collisionBox6));
+		Assert.assertEquals(true, collisionBoxes.contains(collisionBox7));
+	}
+	
+	@Test
+	public void testGetElementsIntersectingLineSegment() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.add(box3);
+		spatialHash.add(box4);
+		
+		List<CollisionBox> collisionBoxes = spatialHash.getElementsIntersectingLineSegment(new LineSegment(0,  0, 128, 128));
+		Assert.assertEquals(2, collisionBoxes.size());
+		Assert.assertEquals(true, collisionBoxes.contains(box1));
+		Assert.assertEquals(true, collisionBoxes.contains(box4));
+	}
+	
+	@Test
+	public void testGetElementsContainingPoint() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.add(box3);
+		spatialHash.add(box4);
+		
+		List<CollisionBox> collisionBoxes = spatialHash.getElementsContainingPoint(new Point(16, 16));
+		Assert.assertEquals(1, collisionBoxes.size());
+		Assert.assertEquals(true, collisionBoxes.contains(box1));
+		
+		collisionBoxes = spatialHash.getElementsContainingPoint(new Point(112, 112));
+		Assert.assertEquals(1, collisionBoxes.size());
+		Assert.assertEquals(true, collisionBoxes.contains(box4));
+		
+		collisionBoxes = spatialHash.getElementsContainingPoint(new Point(200, 200));
+		Assert.assertEquals(0, collisionBoxes.size());
+	}
+	
+	@Test
+	public void testClear() {
+		spatialHash.add(box1);
+		spatialHash.add(box2);
+		spatialHash.clear();
+		Assert.assertEquals(0, spatialHash.getTotalElements());
+		Assert.assertEquals(0, spatialHash.getElementsContainingPoint(new Point(16, 16)).size());
+		Assert.assertEquals(true, spatialHash.add(box1));
+	}
+
+	@Test
+	public void testBatchUpdate() {
+		QuadTreeTestHelper.testBatchUpdate(spatialHash, box1, box2, box3, box4);
+	}
+
+	@Test
+	public void testForEachPotentialCollision() {
+		QuadTreeTestHelper.testForEachPotentialCollision(spatialHash);
+	}
+}
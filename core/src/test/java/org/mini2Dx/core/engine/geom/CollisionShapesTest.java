@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.engine.geom;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CollisionShapes}
+ */
+public class CollisionShapesTest {
+	private CollisionBox box;
+	private CollisionCircle circle;
+	private CollisionPolygon polygon;
+	private StaticCollisionBox staticBox;
+
+	private List<CollisionShape> shapes;
+
+	@Before
+	public void setUp() {
+		box = new CollisionBox(0f, 0f, 10f, 10f);
+		circle = new CollisionCircle(0f, 0f, 5f);
+		polygon = new CollisionPolygon(new float[] { 0f, 0f, 10f, 0f, 10f, 10f });
+		staticBox = new StaticCollisionBox(0f, 0f, 10f, 10f);
+
+		shapes = new ArrayList<CollisionShape>();
+		shapes.add(box);
+		shapes.add(circle);
+		shapes.add(polygon);
+		shapes.add(staticBox);
+	}
+
+	@Test
+	public void testInterpolateAll() {
+		CollisionShapes.preUpdateAll(shapes);
+		box.set(100f, 50f);
+		circle.set(20f, 0f);
+
+		Assert.assertEquals(true, box.isInterpolateRequired());
+		Assert.assertEquals(true, circle.isInterpolateRequired());
+		Assert.assertEquals(false, polygon.isInterpolateRequired());
+		Assert.assertEquals(false, staticBox.isInterpolateRequired());
+
+		CollisionShapes.interpolateAll(shapes, 0.5f);
+		Assert.assertEquals(50, box.getRenderX());
+		Assert.assertEquals(25, box.getRenderY());
+		Assert.assertEquals(10, box.getRenderWidth());
+		Assert.assertEquals(10, circle.getRenderX());
+
+		CollisionShapes.interpolateAll(new LinkedList<CollisionShape>(shapes), 1f);
+		Assert.assertEquals(100, box.getRenderX());
+		Assert.assertEquals(50, box.getRenderY());
+		Assert.assertEquals(20, circle.getRenderX());
+		Assert.assertEquals(false, box.isInterpolateRequired());
+		Assert.assertEquals(false, circle.isInterpolateRequired());
+	}
+
+	@Test
+	public void testInterpolateMatchesIndividualInterpolation() {
+		CollisionBox expected = new CollisionBox(0f, 0f, 10f, 10f);
+		for (int i = 0; i < 10; i++) {
+			expected.preUpdate();
+			CollisionShapes.preUpdateAll(shapes);
+
+			expected.set(i * 3.3f, i * 1.7f);
+			expected.setWidth(10f + i);
+			box.set(i * 3.3f, i * 1.7f);
+			box.setWidth(10f + i);
+
+			expected.interpolate(null, 0.3f);
+			CollisionShapes.interpolateAll(shapes, 0.3f);
+
+			Assert.assertEquals(expected.getRenderX(), box.getRenderX());
+			Assert.assertEquals(expected.getRenderY(), box.getRenderY());
+			Assert.assertEquals(expected.getRenderWidth(), box.getRenderWidth());
+			Assert.assertEquals(expected.getRenderHeight(), box.getRenderHeight());
+		}
+	}
+
+	@Test
+	public void testInterpolateAndRemoveCompleted() {
+		List<CollisionShape> movingShapes = new ArrayList<CollisionShape>();
+
+		CollisionShapes.preUpdateAll(shapes);
+		box.set(100f, 50f);
+		circle.set(20f, 0f);
+		movingShapes.add(box);
+		movingShapes.add(circle);
+
+		CollisionShapes.interpolateAndRemoveCompleted(movingShapes, 0.5f);
+		Assert.assertEquals(2, movingShapes.size());
+
+		CollisionShapes.preUpdateAll(shapes);
+		box.set(110f, 50f);
+		CollisionShapes.interpolateAndRemoveCompleted(movingShapes, 1f);
+		Assert.assertEquals(0, movingShapes.size());
+		Assert.assertEquals(110, box.getRenderX());
+		Assert.assertEquals(20, circle.getRenderX());
+
+		List<CollisionShape> linkedShapes = new LinkedList<CollisionShape>();
+		CollisionShapes.preUpdateAll(shapes);
+		box.set(0f, 0f);
+		linkedShapes.add(box);
+		linkedShapes.add(polygon);
+		CollisionShapes.interpolateAndRemoveCompleted(linkedShapes, 0.5f);
+		Assert.assertEquals(1, linkedShapes.size());
+		Assert.assertEquals(box, linkedShapes.get(0));
+	}
+}
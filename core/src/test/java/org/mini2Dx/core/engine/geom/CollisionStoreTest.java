@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.engine.geom;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CollisionStore}
+ */
+public class CollisionStoreTest {
+	private CollisionStore store;
+
+	@Before
+	public void setUp() {
+		store = new CollisionStore(2);
+	}
+
+	@Test
+	public void testCreate() {
+		CollisionHandle box = store.createBox(10f, 20f, 30f, 40f);
+		CollisionHandle circle = store.createCircle(50f, 50f, 5f);
+		CollisionHandle point = store.createPoint(1f, 2f);
+
+		Assert.assertEquals(3, store.size());
+		Assert.assertEquals(true, box.getId() != circle.getId());
+		Assert.assertEquals(true, circle.getId() != point.getId());
+
+		Assert.assertEquals(10f, box.getX(), 0f);
+		Assert.assertEquals(20f, box.getY(), 0f);
+		Assert.assertEquals(30f, box.getWidth(), 0f);
+		Assert.assertEquals(40f, box.getHeight(), 0f);
+
+		Assert.assertEquals(45f, circle.getX(), 0f);
+		Assert.assertEquals(50f, circle.getCenterX(), 0f);
+		Assert.assertEquals(10f, circle.getWidth(), 0f);
+
+		Assert.assertEquals(1f, point.getX(), 0f);
+		Assert.assertEquals(2f, point.getY(), 0f);
+		Assert.assertEquals(0f, point.getWidth(), 0f);
+
+		Assert.assertEquals(box, store.getHandle(box.getId()));
+		Assert.assertEquals(point, store.getHandle(point.getId()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreateDuplicateId() {
+		store.create(1, 0f, 0f, 1f, 1f);
+		store.create(1, 0f, 0f, 1f, 1f);
+	}
+
+	@Test
+	public void testRemove() {
+		CollisionHandle box1 = store.createBox(1f, 1f, 1f, 1f);
+		CollisionHandle box2 = store.createBox(2f, 2f, 2f, 2f);
+		CollisionHandle box3 = store.createBox(3f, 3f, 3f, 3f);
+
+		Assert.assertEquals(true, store.remove(box1));
+		Assert.assertEquals(false, store.remove(box1));
+		Assert.assertEquals(false, box1.isValid());
+		Assert.assertEquals(2, store.size());
+		Assert.assertEquals(null, store.getHandle(box1.getId()));
+
+		Assert.assertEquals(2f, box2.getX(), 0f);
+		Assert.assertEquals(3f, box3.getX(), 0f);
+		Assert.assertEquals(3, box3.getRenderX());
+		Assert.assertEquals(box3, store.getHandle(box3.getId()));
+
+		Assert.assertEquals(false, new CollisionStore().remove(box2));
+	}
+
+	@Test
+	public void testInterpolate() {
+		CollisionHandle box = store.createBox(0f, 0f, 10f, 10f);
+		CollisionHandle point = store.createPoint(0f, 0f);
+
+		store.preUpdate();
+		box.set(100f, 50f);
+		Assert.assertEquals(true, box.isInterpolating());
+		Assert.assertEquals(false, point.isInterpolating());
+
+		store.interpolate(0.5f);
+		Assert.assertEquals(50, box.getRenderX());
+		Assert.assertEquals(25, box.getRenderY());
+		Assert.assertEquals(10, box.getRenderWidth());
+		Assert.assertEquals(true, box.isInterpolating());
+		Assert.assertEquals(0, point.getRenderX());
+
+		store.interpolate(1f);
+		Assert.assertEquals(100, box.getRenderX());
+		Assert.assertEquals(50, box.getRenderY());
+		Assert.assertEquals(false, box.isInterpolating());
+
+		store.preUpdate();
+		store.interpolate(0.5f);
+		Assert.assertEquals(100, box.getRenderX());
+	}
+
+	@Test
+	public void testInterpolateMatchesCollisionBox() {
+		CollisionBox collisionBox = new CollisionBox(0f, 0f, 10f, 10f);
+		CollisionHandle handle = store.createBox(0f, 0f, 10f, 10f);
+
+		for (int i = 0; i < 10; i++) {
+			collisionBox.preUpdate();
+			store.preUpdate();
+
+			collisionBox.set(i * 3.3f, i * 1.7f, 10f + i, 10f);
+			handle.set(i * 3.3f, i * 1.7f, 10f + i, 10f);
+
+			collisionBox.interpolate(null, 0.3f);
+			store.interpolate(0.3f);
+
+			Assert.assertEquals(collisionBox.getRenderX(), handle.getRenderX());
+			Assert.assertEquals(collisionBox.getRenderY(), handle.getRenderY());
+			Assert.assertEquals(collisionBox.getRenderWidth(), handle.getRenderWidth());
+			Assert.assertEquals(collisionBox.getRenderHeight(), handle.getRenderHeight());
+		}
+	}
+
+	@Test
+	public void testForceTo() {
+		CollisionHandle box = store.createBox(0f, 0f, 10f, 10f);
+		store.preUpdate();
+		box.forceTo(20f, 30f);
+		Assert.assertEquals(false, box.isInterpolating());
+		store.interpolate(0.5f);
+		Assert.assertEquals(20, box.getRenderX());
+		Assert.assertEquals(30, box.getRenderY());
+	}
+}
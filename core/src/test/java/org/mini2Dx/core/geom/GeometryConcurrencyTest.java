@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.geom;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.mini2Dx.core.engine.geom.CollisionBox;
+import org.mini2Dx.core.engine.geom.CollisionCircle;
+import org.mini2Dx.core.engine.geom.CollisionPolygon;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import junit.framework.Assert;
+import net.jodah.concurrentunit.Waiter;
+
+/**
+ * Stress tests geometry calculations across multiple threads to ensure no
+ * state is shared between shape instances
+ */
+public class GeometryConcurrencyTest {
+	private static final long CONCURRENCY_TEST_TIMEOUT = 30000L;
+	private static final int OPERATIONS_PER_WORKLOAD = 500;
+	private static final int RESULTS_PER_OPERATION = 12;
+	private static final int DISTANCE_RESULTS_PER_OPERATION = 4;
+	private static final int REPETITIONS = 20;
+
+	@Test
+	public void testConcurrentShapeCalculations() throws TimeoutException {
+		runConcurrently(false);
+	}
+
+	@Test
+	public void testConcurrentDistanceCalculations() throws TimeoutException {
+		runConcurrently(true);
+	}
+
+	private void runConcurrently(final boolean distanceWorkload) throws TimeoutException {
+		final int totalThreads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		final float[][] expectedResults = new float[totalThreads][];
+		for (int i = 0; i < totalThreads; i++) {
+			expectedResults[i] = distanceWorkload ? runDistanceWorkload(i) : runWorkload(i);
+		}
+
+		final Waiter waiter = new Waiter();
+		for (int i = 0; i < totalThreads; i++) {
+			final int seed = i;
+			new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < REPETITIONS; j++) {
+							float[] results = distanceWorkload ? runDistanceWorkload(seed) : runWorkload(seed);
+							if (!Arrays.equals(expectedResults[seed], results)) {
+								waiter.fail("Workload " + seed + " produced different results on repetition " + j);
+								return;
+							}
+						}
+					} catch (Throwable e) {
+						waiter.fail(e);
+						return;
+					}
+					waiter.resume();
+				}
+			}).start();
+		}
+		waiter.await(CONCURRENCY_TEST_TIMEOUT, totalThreads);
+	}
+
+	@Test
+	public void testWorkloadIsDeterministic() {
+		Assert.assertEquals(true, Arrays.equals(runWorkload(7), runWorkload(7)));
+		Assert.assertEquals(false, Arrays.equals(runWorkload(7), runWorkload(8)));
+		Assert.assertEquals(true, Arrays.equals(runDistanceWorkload(7), runDistanceWorkload(7)));
+		Assert.assertEquals(false, Arrays.equals(runDistanceWorkload(7), runDistanceWorkload(8)));
+	}
+
+	private static float[] runWorkload(int seed) {
+		final Random random = new Random(seed);
+		final float[] results = new float[OPERATIONS_PER_WORKLOAD * RESULTS_PER_OPERATION];
+
+		int index = 0;
+		for (int i = 0; i < OPERATIONS_PER_WORKLOAD; i++) {
+			final float x = random.nextFloat() * 100f;
+			final float y = random.nextFloat() * 100f;
+			final float size = 1f + (random.nextFloat() * 50f);
+
+			Triangle triangle = new Triangle(x, y, x + size, y + size, x - size, y + size);
+			Polygon polygon = new Polygon(new float[] { x, y + 5f, x + 20f, y, x + 30f, y + 15f, x + 10f, y + 30f });
+			Circle circle = new Circle(x + 10f, y + 10f, size);
+			Rectangle rectangle = new Rectangle(y, x, size, size * 0.5f);
+			LineSegment lineSegment = new LineSegment(x, y, y, x);
+			LineSegment otherLineSegment = new LineSegment(y, y, x, x + size);
+
+			results[index++] = polygon.intersects(triangle.getPolygon()) ? 1f : 0f;
+			results[index++] = polygon.intersectsLineSegment(x, y, x + size, y - size) ? 1f : 0f;
+			results[index++] = circle.intersectsLineSegment(y, x, y + size, x + size) ? 1f : 0f;
+			results[index++] = polygon.intersects(circle) ? 1f : 0f;
+
+			rectangle.rotate(random.nextFloat() * 90f);
+			results[index++] = rectangle.intersects(triangle) ? 1f : 0f;
+			results[index++] = rectangle.contains(x, y) ? 1f : 0f;
+
+			Point intersection = new Point();
+			results[index++] = lineSegment.getIntersection(otherLineSegment, intersection) ? intersection.x : -1f;
+
+			triangle.add(size, -size);
+			results[index++] = triangle.getX();
+
+			final float squareSize = MathUtils.round(size);
+			Polygon square = new Polygon(new float[] { 0f, 0f, squareSize, 0f, squareSize, squareSize, 0f, squareSize });
+			square.set(x, y);
+			square.scale(0.5f);
+			results[index++] = square.getMaxX();
+
+			CollisionBox collisionBox = new CollisionBox(x, y, size, size);
+			collisionBox.moveTowards(y, x, 2f);
+			results[index++] = collisionBox.getX();
+			results[index++] = collisionBox.getY();
+
+			CollisionCircle collisionCircle = new CollisionCircle(x, y, size);
+			collisionCircle.moveTowards(y, x, 2f);
+			results[index++] = collisionCircle.getX() + collisionCircle.getY();
+		}
+		return results;
+	}
+
+	private static float[] runDistanceWorkload(int seed) {
+		final Random random = new Random(seed);
+		final float[] results = new float[OPERATIONS_PER_WORKLOAD * DISTANCE_RESULTS_PER_OPERATION];
+
+		int index = 0;
+		for (int i = 0; i < OPERATIONS_PER_WORKLOAD; i++) {
+			final float x = random.nextFloat() * 100f;
+			final float y = random.nextFloat() * 100f;
+			final float size = 1f + (random.nextFloat() * 50f);
+			final float pointX = random.nextFloat() * 200f;
+			final float pointY = random.nextFloat() * 200f;
+
+			Polygon polygon = new Polygon(new float[] { x, y + 5f, x + 20f, y, x + 30f, y + 15f, x + 10f, y + 30f });
+			results[index++] = polygon.getDistanceTo(pointX, pointY);
+
+			Rectangle rectangle = new Rectangle(y, x, size, size * 0.5f);
+			rectangle.rotate(random.nextFloat() * 90f);
+			results[index++] = rectangle.getDistanceTo(pointX, pointY);
+
+			CollisionBox collisionBox = new CollisionBox(x, y, size, size);
+			collisionBox.setRotation(random.nextFloat() * 90f);
+			results[index++] = collisionBox.getDistanceTo(pointX, pointY);
+
+			CollisionPolygon collisionPolygon = new CollisionPolygon(
+					new float[] { x, y, x + size, y, x + (size * 0.5f), y + size });
+			results[index++] = collisionPolygon.getDistanceTo(pointX, pointY);
+		}
+		return results;
+	}
+}
@@ -11,11 +11,14 @@
  */
 package org.mini2Dx.core.geom;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 import org.mini2Dx.core.util.EdgeIterator;
 
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.ShortArray;
 
 import junit.framework.Assert;
 
@@ -624,6 +627,84 @@ public class PolygonTest {
 		Assert.assertEquals(10f, polygon.getY(3));
 	}
 	
+	@Test
+	public void testTranslateDoesNotSetDirtyFlag() {
+		Polygon polygon = new Polygon(new Point [] {
+				new Point(0f, 0f),
+				new Point(10f, 0f),
+				new Point(10f, 10f),
+				new Point(0f, 10f)
+		});
+		clearDirtyBit(polygon);
+		ShortArray triangles = polygon.getTriangles();
+		short [] indices = triangles.toArray();
+
+		polygon.translate(25f, -5f);
+		Assert.assertEquals(false, polygon.isDirty());
+		polygon.setX(50f);
+		Assert.assertEquals(false, polygon.isDirty());
+		polygon.setY(50f);
+		Assert.assertEquals(false, polygon.isDirty());
+		polygon.set(-20f, 30f);
+		Assert.assertEquals(false, polygon.isDirty());
+		polygon.setCenter(100f, 100f);
+		Assert.assertEquals(false, polygon.isDirty());
+
+		Assert.assertSame(triangles, polygon.getTriangles());
+		Assert.assertTrue(Arrays.equals(indices, polygon.getTriangles().toArray()));
+	}
+
+	@Test
+	public void testTranslateUpdatesCachedBounds() {
+		Polygon polygon = new Polygon(new Point [] {
+				new Point(0f, 0f),
+				new Point(10f, 0f),
+				new Point(15f, 5f),
+				new Point(10f, 10f),
+				new Point(0f, 10f)
+		});
+		clearDirtyBit(polygon);
+
+		polygon.translate(100f, 50f);
+		polygon.setX(40f);
+		polygon.setY(-20f);
+
+		Polygon expected = new Polygon(new Point [] {
+				new Point(40f, -20f),
+				new Point(50f, -20f),
+				new Point(55f, -15f),
+				new Point(50f, -10f),
+				new Point(40f, -10f)
+		});
+		Assert.assertEquals(expected.getMinX(), polygon.getMinX(), 0.0001f);
+		Assert.assertEquals(expected.getMinY(), polygon.getMinY(), 0.0001f);
+		Assert.assertEquals(expected.getMaxX(), polygon.getMaxX(), 0.0001f);
+		Assert.assertEquals(expected.getMaxY(), polygon.getMaxY(), 0.0001f);
+		Assert.assertEquals(expected.getCenterX(), polygon.getCenterX(), 0.0001f);
+		Assert.assertEquals(expected.getCenterY(), polygon.getCenterY(), 0.0001f);
+		Assert.assertTrue(polygon.contains(54f, -15f));
+		Assert.assertFalse(polygon.contains(14f, 5f));
+	}
+
+	@Test
+	public void testRotateAfterTranslateRecomputesCache() {
+		Polygon polygon = new Polygon(new Point [] {
+				new Point(0f, 0f),
+				new Point(20f, 0f),
+				new Point(20f, 10f),
+				new Point(0f, 10f)
+		});
+		clearDirtyBit(polygon);
+		polygon.translate(10f, 10f);
+		polygon.rotate(90f);
+		Assert.assertEquals(true, polygon.isDirty());
+
+		Assert.assertEquals(0, MathUtils.round(polygon.getMinX()));
+		Assert.assertEquals(10, MathUtils.round(polygon.getMinY()));
+		Assert.assertEquals(10, MathUtils.round(polygon.getMaxX()));
+		Assert.assertEquals(30, MathUtils.round(polygon.getMaxY()));
+	}
+
 	@Test
 	public void testContainsPoint() {
 		Polygon polygon = new Polygon(new Point [] {
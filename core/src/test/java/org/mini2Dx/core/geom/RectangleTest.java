@@ -405,4 +405,73 @@ public class RectangleTest {
 		rectangle2 = new Rectangle(0.001f, 0, 50, 50);
 		Assert.assertEquals(false, rectangle1.equals(rectangle2));
 	}
+	
+	@Test
+	public void testPolygonSyncedAfterMove() {
+		rectangle1 = new Rectangle(0f, 0f, 50f, 50f);
+		Polygon polygon = rectangle1.getPolygon();
+		Assert.assertEquals(0f, polygon.getX());
+		
+		rectangle1.set(100f, 200f);
+		rectangle1.setWidth(25f);
+		polygon = rectangle1.getPolygon();
+		Assert.assertEquals(100f, polygon.getX());
+		Assert.assertEquals(200f, polygon.getY());
+		Assert.assertEquals(125f, polygon.getMaxX());
+		Assert.assertEquals(250f, polygon.getMaxY());
+	}
+	
+	@Test
+	public void testAxisAlignedAfterRotation() {
+		rectangle1 = new Rectangle(0f, 0f, 50f, 50f);
+		rectangle1.rotate(90f);
+		Assert.assertEquals(false, rectangle1.contains(25f, 25f));
+		Assert.assertEquals(true, rectangle1.contains(-25f, 25f));
+		
+		rectangle1.setX(100f);
+		Assert.assertEquals(100f, rectangle1.getX());
+		Assert.assertEquals(50f, rectangle1.getMinX(), 0.001f);
+		
+		rectangle1.rotate(-90f);
+		Assert.assertEquals(0f, rectangle1.getRotation());
+		Assert.assertEquals(100f, rectangle1.getX(), MathUtils.FLOAT_ROUNDING_ERROR);
+		Assert.assertEquals(0f, rectangle1.getY(), MathUtils.FLOAT_ROUNDING_ERROR);
+		Assert.assertEquals(true, rectangle1.contains(125f, 25f));
+		Assert.assertEquals(false, rectangle1.contains(75f, 25f));
+	}
+	
+	@Test
+	public void testContainsRotatedRectangle() {
+		rectangle1 = new Rectangle(0f, 0f, 50f, 50f);
+		rectangle2 = new Rectangle(10f, 10f, 20f, 20f);
+		Assert.assertEquals(true, rectangle1.contains(rectangle2));
+		Assert.assertEquals(true, rectangle1.contains((Shape) rectangle2));
+		
+		rectangle2.set(20f, 20f, 10f, 10f);
+		rectangle2.setRotation(45f);
+		Assert.assertEquals(true, rectangle1.contains(rectangle2));
+		
+		rectangle2.set(45f, 20f);
+		Assert.assertEquals(false, rectangle1.contains(rectangle2));
+		
+		rectangle2.setRotation(0f);
+		rectangle2.set(40f, 40f, 20f, 20f);
+		Assert.assertEquals(false, rectangle1.contains(rectangle2));
+	}
+	
+	@Test
+	public void testSetSize() {
+		rectangle1 = new Rectangle(0f, 0f, 50f, 50f);
+		rectangle1.setSize(20f, 30f);
+		Assert.assertEquals(20f, rectangle1.getMaxX());
+		Assert.assertEquals(30f, rectangle1.getMaxY());
+	}
+	
+	@Test
+	public void testGetDistanceTo() {
+		rectangle1 = new Rectangle(0f, 0f, 50f, 50f);
+		Assert.assertEquals(10f, rectangle1.getDistanceTo(10f, 25f), MathUtils.FLOAT_ROUNDING_ERROR);
+		Assert.assertEquals(5f, rectangle1.getDistanceTo(55f, 25f), MathUtils.FLOAT_ROUNDING_ERROR);
+		Assert.assertEquals(5f, rectangle1.getDistanceTo(53f, 54f), MathUtils.FLOAT_ROUNDING_ERROR);
+	}
 }
@@ -94,4 +94,12 @@ public class LibGdxGraphicsTest {
 		Assert.assertNotNull(graphics.getBackgroundColor());
 	}
 
+	@Test
+	public void testBatchedShapeRenderingDisabledByDefault() {
+		Assert.assertEquals(false, graphics.isBatchedShapeRendering());
+
+		graphics.setBatchedShapeRendering(true);
+		Assert.assertEquals(true, graphics.isBatchedShapeRendering());
+	}
+
 }
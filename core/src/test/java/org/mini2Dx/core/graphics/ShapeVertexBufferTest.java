@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.core.graphics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link ShapeVertexBuffer}
+ */
+public class ShapeVertexBufferTest {
+	private static final float DELTA = 0.0001f;
+
+	private ShapeVertexBuffer buffer;
+	private float color;
+
+	@Before
+	public void setup() {
+		buffer = new ShapeVertexBuffer();
+		color = Color.RED.toFloatBits();
+	}
+
+	@Test
+	public void testAddLine() {
+		buffer.addLine(0f, 0f, 10f, 0f, 2f, color);
+		Assert.assertEquals(1, buffer.getTotalQuads());
+		Assert.assertEquals(ShapeVertexBuffer.QUAD_SIZE, buffer.size());
+
+		assertVertex(0, 0f, -1f);
+		assertVertex(1, 0f, 1f);
+		assertVertex(2, 10f, 1f);
+		assertVertex(3, 10f, -1f);
+		for (int i = 0; i < 4; i++) {
+			Assert.assertEquals(color, buffer.getVertices()[(i * ShapeVertexBuffer.VERTEX_SIZE) + 2]);
+		}
+	}
+
+	@Test
+	public void testAddZeroLengthLine() {
+		buffer.addLine(5f, 5f, 5f, 5f, 1f, color);
+		Assert.assertEquals(0, buffer.size());
+	}
+
+	@Test
+	public void testAddRect() {
+		buffer.addRect(0f, 0f, 10f, 20f, 1f, color);
+		Assert.assertEquals(4, buffer.getTotalQuads());
+	}
+
+	@Test
+	public void testAddFilledRect() {
+		buffer.addFilledRect(5f, 10f, 20f, 30f, color);
+		Assert.assertEquals(1, buffer.getTotalQuads());
+		assertVertex(0, 5f, 10f);
+		assertVertex(1, 5f, 40f);
+		assertVertex(2, 25f, 40f);
+		assertVertex(3, 25f, 10f);
+	}
+
+	@Test
+	public void testAddTriangleRepeatsLastVertex() {
+		buffer.addTriangle(0f, 0f, 10f, 0f, 5f, 10f, color);
+		Assert.assertEquals(1, buffer.getTotalQuads());
+		assertVertex(2, 5f, 10f);
+		assertVertex(3, 5f, 10f);
+	}
+
+	@Test
+	public void testAddPolygonIncludesClosingEdge() {
+		buffer.addPolygon(new float[] { 0f, 0f, 10f, 0f, 10f, 10f, 0f, 10f }, 1f, color);
+		Assert.assertEquals(4, buffer.getTotalQuads());
+	}
+
+	@Test
+	public void testAddFilledPolygon() {
+		float[] vertices = new float[] { 0f, 0f, 10f, 0f, 10f, 10f, 0f, 10f };
+		buffer.addFilledPolygon(vertices, new short[] { 0, 1, 2, 0, 2, 3 }, color);
+		Assert.assertEquals(2, buffer.getTotalQuads());
+		assertVertex(4, 0f, 0f);
+		assertVertex(5, 10f, 10f);
+		assertVertex(6, 0f, 10f);
+	}
+
+	@Test
+	public void testAddFilledPolygonSkipsInvalidTriangles() {
+		float[] vertices = new float[] { 0f, 0f, 10f, 0f, 10f, 10f };
+		buffer.addFilledPolygon(vertices, new short[] { 0, 1, 2, 0, 2, 7, 0 }, color);
+		Assert.assertEquals(1, buffer.getTotalQuads());
+	}
+
+	@Test
+	public void testAddCircle() {
+		buffer.addCircle(0f, 0f, 8f, 1f, color);
+		Assert.assertEquals(12, buffer.getTotalQuads());
+
+		buffer.clear();
+		buffer.addFilledCircle(0f, 0f, 8f, color);
+		Assert.assertEquals(12, buffer.getTotalQuads());
+		assertVertex(0, 0f, 0f);
+		assertVertex(1, 8f, 0f);
+	}
+
+	@Test
+	public void testBufferExpands() {
+		for (int i = 0; i < 1000; i++) {
+			buffer.addFilledRect(i, i, 1f, 1f, color);
+		}
+		Assert.assertEquals(1000, buffer.getTotalQuads());
+		assertVertex(3996, 999f, 999f);
+
+		buffer.clear();
+		Assert.assertEquals(0, buffer.size());
+	}
+
+	private void assertVertex(int vertex, float x, float y) {
+		int index = vertex * ShapeVertexBuffer.VERTEX_SIZE;
+		Assert.assertEquals(x, buffer.getVertices()[index], DELTA);
+		Assert.assertEquals(y, buffer.getVertices()[index + 1], DELTA);
+	}
+}
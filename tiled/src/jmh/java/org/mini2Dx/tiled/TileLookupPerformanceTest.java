@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.core.graphics.HeadlessGraphics;
+import org.mini2Dx.tiled.renderer.IsometricTileLayerRenderer;
+import org.mini2Dx.tiled.renderer.TileLayerRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Performance tests for looking up {@link Tile}s by tile id on a 256x256
+ * {@link TiledMap} with 12 {@link Tileset}s
+ */
+public class TileLookupPerformanceTest {
+	private static final int MAP_SIZE = 256;
+	private static final int TOTAL_TILESETS = 12;
+	private static final int TILES_PER_TILESET = 256;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		public TiledMap tiledMap;
+		public TileLayer layer;
+		public TileLayerRenderer renderer;
+		public Graphics graphics;
+		private File tmxFile;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			tmxFile = File.createTempFile("mini2Dx-tile-lookup", ".tmx");
+			new FileHandle(tmxFile).writeString(createTmx(), false, "UTF-8");
+			tiledMap = new TiledMap(new FileHandle(tmxFile), false, false);
+			layer = tiledMap.getTileLayer(0);
+			// Tileset textures are not loaded so tiles are drawn without images
+			renderer = new IsometricTileLayerRenderer(tiledMap, false);
+			graphics = new HeadlessGraphics();
+		}
+
+		@TearDown(Level.Trial)
+		public void teardown() {
+			tmxFile.delete();
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public void testDrawLayer(TestState state) {
+		state.renderer.drawLayer(state.graphics, state.layer, 0, 0, 0, 0, MAP_SIZE, MAP_SIZE);
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public void testGetTile(TestState state, Blackhole blackhole) {
+		for (int y = 0; y < MAP_SIZE; y++) {
+			for (int x = 0; x < MAP_SIZE; x++) {
+				blackhole.consume(state.tiledMap.getTile(state.layer.getTileId(x, y)));
+			}
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public void testGetTileByTilesetScan(TestState state, Blackhole blackhole) {
+		List<Tileset> tilesets = state.tiledMap.getTilesets();
+		for (int y = 0; y < MAP_SIZE; y++) {
+			for (int x = 0; x < MAP_SIZE; x++) {
+				int tileId = state.layer.getTileId(x, y);
+				for (int i = 0; i < tilesets.size(); i++) {
+					Tileset tileset = tilesets.get(i);
+					if (tileset.contains(tileId)) {
+						blackhole.consume(tileset.getTile(tileId));
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private static String createTmx() {
+		StringBuilder result = new StringBuilder();
+		result.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		result.append("<map version=\"1.0\" orientation=\"isometric\" renderorder=\"right-down\" width=\"" + MAP_SIZE
+				+ "\" height=\"" + MAP_SIZE + "\" tilewidth=\"32\" tileheight=\"32\">\n");
+		for (int i = 0; i < TOTAL_TILESETS; i++) {
+			int firstGid = (i * TILES_PER_TILESET) + 1;
+			result.append(" <tileset firstgid=\"" + firstGid + "\" name=\"tileset" + i
+					+ "\" tilewidth=\"32\" tileheight=\"32\" tilecount=\"256\" columns=\"16\">\n");
+			result.append("  <image source=\"tileset" + i + ".png\" width=\"512\" height=\"512\"/>\n");
+			result.append(" </tileset>\n");
+		}
+		result.append(" <layer name=\"Ground\" width=\"" + MAP_SIZE + "\" height=\"" + MAP_SIZE + "\">\n");
+		result.append("  <data encoding=\"csv\">\n");
+		int totalGids = TOTAL_TILESETS * TILES_PER_TILESET;
+		for (int y = 0; y < MAP_SIZE; y++) {
+			for (int x = 0; x < MAP_SIZE; x++) {
+				result.append((((y * MAP_SIZE) + x) * 31) % totalGids + 1);
+				if (x < MAP_SIZE - 1 || y < MAP_SIZE - 1) {
+					result.append(',');
+				}
+			}
+			result.append('\n');
+		}
+		result.append("  </data>\n");
+		result.append(" </layer>\n");
+		result.append("</map>\n");
+		return result.toString();
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.collisions;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.mini2Dx.core.engine.geom.CollisionBox;
+import org.mini2Dx.tiled.TiledMap;
+import org.mini2Dx.tiled.collisions.merger.TileIdCollisionMerger;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Performance tests for merging collisions on a 512x512 {@link TiledMap}
+ * layer. Alongside the runtime, the amount of merged collisions produced by
+ * each {@link TileMergeMode} is reported as the "boxes" counter.
+ */
+public class TiledCollisionMapperPerformanceTest {
+	private static final int MAP_SIZE = 512;
+	private static final int TOTAL_AREAS = 4096;
+	private static final int MAX_AREA_SIZE = 24;
+	private static final int REGION_SIZE = 64;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		@Param({ "AREA", "ROWS_COLUMNS", "COLUMNS_ROWS" })
+		public TileMergeMode mergeMode;
+
+		public TiledMap tiledMap;
+		public int layerIndex;
+		public TiledCollisionMapper<CollisionBox> collisionMapper;
+		public final List<CollisionBox> results = new ArrayList<CollisionBox>();
+		private File tmxFile;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			tmxFile = File.createTempFile("mini2Dx-collision-merge", ".tmx");
+			new FileHandle(tmxFile).writeString(createTmx(), false, "UTF-8");
+			tiledMap = new TiledMap(new FileHandle(tmxFile), false, false);
+			layerIndex = tiledMap.getLayerIndex("Collisions");
+			collisionMapper = new TiledCollisionMapper<CollisionBox>(new TiledCollisionBoxFactory(),
+					new TileIdCollisionMerger(), mergeMode);
+		}
+
+		@TearDown(Level.Trial)
+		public void teardown() {
+			tmxFile.delete();
+		}
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class MergeCounters {
+		/**
+		 * The amount of collisions produced by the most recent merge
+		 */
+		public int boxes;
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public List<CollisionBox> testMapAndMergeCollisionsByLayer(TestState state, MergeCounters counters) {
+		state.results.clear();
+		state.collisionMapper.mapAndMergeCollisionsByLayer(state.results, state.tiledMap, state.layerIndex);
+		counters.boxes = state.results.size();
+		return state.results;
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public List<CollisionBox> testMapAndMergeCollisionsByRegions(TestState state, MergeCounters counters) {
+		state.results.clear();
+		state.collisionMapper.mapAndMergeCollisionsByRegions(state.results, state.tiledMap, state.layerIndex,
+				REGION_SIZE, ForkJoinPool.commonPool());
+		counters.boxes = state.results.size();
+		return state.results;
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public List<CollisionBox> testMapAndMergeEmptySpacesByLayer(TestState state, MergeCounters counters) {
+		state.results.clear();
+		state.collisionMapper.mapAndMergeEmptySpacesByLayer(state.results, state.tiledMap, state.layerIndex);
+		counters.boxes = state.results.size();
+		return state.results;
+	}
+
+	private static String createTmx() {
+		// Overlapping rectangular areas of two different tiles
+		final int[] tileIds = new int[MAP_SIZE * MAP_SIZE];
+		final Random random = new Random(MAP_SIZE);
+		for (int i = 0; i < TOTAL_AREAS; i++) {
+			int areaX = random.nextInt(MAP_SIZE);
+			int areaY = random.nextInt(MAP_SIZE);
+			int areaWidth = Math.min(MAP_SIZE - areaX, random.nextInt(MAX_AREA_SIZE) + 1);
+			int areaHeight = Math.min(MAP_SIZE - areaY, random.nextInt(MAX_AREA_SIZE) + 1);
+			int tileId = random.nextInt(2) + 1;
+			for (int y = areaY; y < areaY + areaHeight; y++) {
+				for (int x = areaX; x < areaX + areaWidth; x++) {
+					tileIds[(y * MAP_SIZE) + x] = tileId;
+				}
+			}
+		}
+
+		StringBuilder result = new StringBuilder();
+		result.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		result.append("<map version=\"1.0\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"" + MAP_SIZE
+				+ "\" height=\"" + MAP_SIZE + "\" tilewidth=\"32\" tileheight=\"32\">\n");
+		result.append(" <tileset firstgid=\"1\" name=\"tileset\" tilewidth=\"32\" tileheight=\"32\""
+				+ " tilecount=\"4\" columns=\"2\">\n");
+		result.append("  <image source=\"tileset.png\" width=\"64\" height=\"64\"/>\n");
+		result.append(" </tileset>\n");
+		result.append(" <layer name=\"Collisions\" width=\"" + MAP_SIZE + "\" height=\"" + MAP_SIZE + "\">\n");
+		result.append("  <data encoding=\"csv\">\n");
+		for (int i = 0; i < tileIds.length; i++) {
+			result.append(tileIds[i]);
+			if (i < tileIds.length - 1) {
+				result.append(',');
+			}
+			if ((i + 1) % MAP_SIZE == 0) {
+				result.append('\n');
+			}
+		}
+		result.append("  </data>\n");
+		result.append(" </layer>\n");
+		result.append("</map>\n");
+		return result.toString();
+	}
+}
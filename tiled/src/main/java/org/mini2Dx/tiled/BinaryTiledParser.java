@@ -0,0 +1,369 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+import org.mini2Dx.tiled.renderer.AnimatedTileRenderer;
+import org.mini2Dx.tiled.renderer.TileFrame;
+import org.mini2Dx.tiled.tileset.ImageTilesetSource;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * A {@link TiledParser} that reads maps pre-baked by {@link BinaryTiledWriter}
+ * instead of parsing TMX XML. The binary file is expected alongside the TMX
+ * file with the {@link #FILE_EXTENSION} extension and is memory-mapped where
+ * the file system allows it. Each {@link TileLayer} keeps its own tile array,
+ * so tile layer data is copied out of the mapped file with a single bulk read
+ * per layer rather than decoded tile by tile.
+ * 
+ * The header records the length and CRC32 checksum of the TMX file it was
+ * written from so that a binary file left over from before the TMX file was
+ * edited is detected. Parsing fails with an {@link IOException} in that case,
+ * so callers that fall back to the TMX file do not need to check
+ * {@link #isUpToDate(FileHandle)} first.
+ */
+public class BinaryTiledParser extends TiledParser {
+	/**
+	 * The file extension of pre-baked map files
+	 */
+	public static final String FILE_EXTENSION = "tmxb";
+
+	static final int MAGIC = 0x4D445854;
+	static final int VERSION = 2;
+
+	static final byte TILESET_IMAGE = 0;
+	static final byte TILESET_TSX = 1;
+
+	static final byte LAYER_TILE = 0;
+	static final byte LAYER_OBJECT_GROUP = 1;
+
+	static final Charset CHARSET = Charset.forName("UTF-8");
+
+	/**
+	 * Parses the pre-baked binary file for a TMX file and notifies any
+	 * {@link TiledParserListener}s of parsing results
+	 * 
+	 * @param tmxFileHandle
+	 *            A {@link FileHandle} to the TMX file. Tileset paths are
+	 *            resolved relative to this file.
+	 * @throws IOException
+	 *             Thrown if the binary file could not be read or is not a
+	 *             supported format
+	 */
+	@Override
+	public void parseTmx(FileHandle tmxFileHandle) throws IOException {
+		parse(tmxFileHandle, readBinaryFile(getBinaryFileHandle(tmxFileHandle)));
+	}
+
+	/**
+	 * Parses pre-baked map data and notifies any {@link TiledParserListener}s
+	 * of parsing results
+	 * 
+	 * @param tmxFileHandle
+	 *            A {@link FileHandle} to the TMX file. Tileset paths are
+	 *            resolved relative to this file.
+	 * @param buffer
+	 *            The map data written by {@link BinaryTiledWriter}
+	 * @throws IOException
+	 *             Thrown if the data is not a supported format or was
+	 *             written from a different version of the TMX file
+	 */
+	public void parse(FileHandle tmxFileHandle, ByteBuffer buffer) throws IOException {
+		if (buffer.getInt() != MAGIC) {
+			throw new IOException("Not a pre-baked map file");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported pre-baked map version " + version);
+		}
+		long sourceLength = buffer.getLong();
+		long sourceChecksum = buffer.getLong();
+		if (!isSourceMatching(tmxFileHandle, sourceLength, sourceChecksum)) {
+			throw new IOException(getBinaryFileHandle(tmxFileHandle).path() + " is out of date with "
+					+ tmxFileHandle.path());
+		}
+
+		String orientation = readString(buffer);
+		String staggerAxis = readString(buffer);
+		String staggerIndex = readString(buffer);
+		Color backgroundColor = null;
+		if (buffer.get() != 0) {
+			backgroundColor = new Color(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+		}
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+		int tileWidth = buffer.getInt();
+		int tileHeight = buffer.getInt();
+		int sideLength = buffer.getInt();
+		notifyBeginParsing(orientation, staggerAxis, staggerIndex, backgroundColor, width, height, tileWidth,
+				tileHeight, sideLength);
+
+		int totalProperties = buffer.getInt();
+		for (int i = 0; i < totalProperties; i++) {
+			notifyMapPropertyParsed(readString(buffer), readString(buffer));
+		}
+
+		int totalTilesets = buffer.getInt();
+		for (int i = 0; i < totalTilesets; i++) {
+			notifyTilesetParsed(readTileset(tmxFileHandle, buffer));
+		}
+
+		int totalLayers = buffer.getInt();
+		for (int i = 0; i < totalLayers; i++) {
+			byte layerType = buffer.get();
+			switch (layerType) {
+			case LAYER_TILE:
+				notifyTileLayerParsed(readTileLayer(buffer));
+				break;
+			case LAYER_OBJECT_GROUP:
+				notifyObjectGroupParsed(readObjectGroup(buffer));
+				break;
+			default:
+				throw new IOException("Unknown layer type " + layerType);
+			}
+		}
+	}
+
+	private Tileset readTileset(FileHandle tmxFileHandle, ByteBuffer buffer) throws IOException {
+		int firstGid = buffer.getInt();
+		byte tilesetType = buffer.get();
+		if (tilesetType == TILESET_TSX) {
+			return loadTsxTileset(tmxFileHandle, readString(buffer), firstGid);
+		}
+		if (tilesetType != TILESET_IMAGE) {
+			throw new IOException("Unknown tileset type " + tilesetType);
+		}
+
+		String name = readString(buffer);
+		int imageWidth = buffer.getInt();
+		int imageHeight = buffer.getInt();
+		int tileWidth = buffer.getInt();
+		int tileHeight = buffer.getInt();
+		int spacing = buffer.getInt();
+		int margin = buffer.getInt();
+
+		ImageTilesetSource tilesetSource = new ImageTilesetSource(imageWidth, imageHeight, tileWidth, tileHeight,
+				spacing, margin);
+		tilesetSource.setName(name);
+		tilesetSource.setTilesetImagePath(readString(buffer));
+		tilesetSource.setTransparentColorValue(readString(buffer));
+		Tileset tileset = new Tileset(firstGid, tilesetSource);
+
+		int totalProperties = buffer.getInt();
+		for (int i = 0; i < totalProperties; i++) {
+			tileset.setProperty(readString(buffer), readString(buffer));
+		}
+
+		int totalTiles = buffer.getInt();
+		for (int i = 0; i < totalTiles; i++) {
+			Tile tile = tilesetSource.getTile(buffer.getInt(), 0);
+			int totalTileProperties = buffer.getInt();
+			for (int j = 0; j < totalTileProperties; j++) {
+				tile.setProperty(readString(buffer), readString(buffer));
+			}
+			int totalFrames = buffer.getInt();
+			if (totalFrames > 0) {
+				TileFrame[] frames = new TileFrame[totalFrames];
+				for (int j = 0; j < totalFrames; j++) {
+					float duration = buffer.getFloat();
+					frames[j] = new TileFrame(duration, buffer.getInt());
+				}
+				tile.setTileRenderer(new AnimatedTileRenderer(tilesetSource, frames));
+			}
+			notifyTilePropertyParsed(tile);
+		}
+		setStaticTileRenderers(tilesetSource);
+		return tileset;
+	}
+
+	private TileLayer readTileLayer(ByteBuffer buffer) {
+		String name = readString(buffer);
+		boolean visible = buffer.get() != 0;
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+
+		TileLayer layer = new TileLayer(width, height);
+		layer.setName(name);
+		layer.setVisible(visible);
+
+		int totalProperties = buffer.getInt();
+		for (int i = 0; i < totalProperties; i++) {
+			layer.setProperty(readString(buffer), readString(buffer));
+		}
+
+		int totalTiles = width * height;
+		layer.setTileGids(buffer.asIntBuffer());
+		buffer.position(buffer.position() + (totalTiles * 4));
+		return layer;
+	}
+
+	private TiledObjectGroup readObjectGroup(ByteBuffer buffer) {
+		TiledObjectGroup objectGroup = new TiledObjectGroup();
+		objectGroup.setName(readString(buffer));
+		objectGroup.setVisible(buffer.get() != 0);
+		objectGroup.setWidth(buffer.getInt());
+		objectGroup.setHeight(buffer.getInt());
+
+		int totalProperties = buffer.getInt();
+		for (int i = 0; i < totalProperties; i++) {
+			objectGroup.setProperty(readString(buffer), readString(buffer));
+		}
+
+		int totalObjects = buffer.getInt();
+		for (int i = 0; i < totalObjects; i++) {
+			float x = buffer.getFloat();
+			float y = buffer.getFloat();
+			float width = buffer.getFloat();
+			float height = buffer.getFloat();
+			TiledObject object = new TiledObject(x, y, width, height);
+			object.setName(readString(buffer));
+			object.setType(readString(buffer));
+
+			int gid = buffer.getInt();
+			object.setGid(gid & ~TileLayer.MASK_FLIP_FLAGS);
+			object.setGidFlipHorizontally((gid & TileLayer.FLAG_FLIP_HORIZONTALLY) != 0);
+			object.setGidFlipVertically((gid & TileLayer.FLAG_FLIP_VERTICALLY) != 0);
+			object.setGidFlipDiagonally((gid & TileLayer.FLAG_FLIP_DIAGONALLY) != 0);
+			object.setVisible(buffer.get() != 0);
+			object.setPolyline(readString(buffer));
+			object.setPolygon(readString(buffer));
+
+			int totalObjectProperties = buffer.getInt();
+			for (int j = 0; j < totalObjectProperties; j++) {
+				object.setProperty(readString(buffer), readString(buffer));
+			}
+			objectGroup.getObjects().add(object);
+		}
+		return objectGroup;
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, CHARSET);
+	}
+
+	/**
+	 * Reads a pre-baked map file, memory-mapping it if it is on the file
+	 * system
+	 * 
+	 * @param binaryFileHandle
+	 *            The {@link FileHandle} of the pre-baked map
+	 * @return A {@link ByteBuffer} positioned at the start of the map data
+	 * @throws IOException
+	 *             Thrown if the file could not be read
+	 */
+	static ByteBuffer readBinaryFile(FileHandle binaryFileHandle) throws IOException {
+		if (!binaryFileHandle.exists()) {
+			throw new FileNotFoundException(binaryFileHandle.path() + " does not exist");
+		}
+		File file = binaryFileHandle.file();
+		if (!file.isFile()) {
+			// Packaged assets (e.g. classpath or APK) cannot be mapped
+			return ByteBuffer.wrap(binaryFileHandle.readBytes());
+		}
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			FileChannel fileChannel = randomAccessFile.getChannel();
+			return fileChannel.map(MapMode.READ_ONLY, 0, fileChannel.size());
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	/**
+	 * Returns if the pre-baked map for a TMX file exists and was written from
+	 * the current contents of the TMX file
+	 * 
+	 * @param tmxFileHandle
+	 *            The {@link FileHandle} of the TMX file
+	 * @return False if there is no pre-baked map, it is an unsupported version
+	 *         or the TMX file has changed since it was written. True if only
+	 *         the pre-baked map exists.
+	 */
+	public static boolean isUpToDate(FileHandle tmxFileHandle) {
+		FileHandle binaryFileHandle = getBinaryFileHandle(tmxFileHandle);
+		if (!binaryFileHandle.exists()) {
+			return false;
+		}
+		DataInputStream input = new DataInputStream(binaryFileHandle.read());
+		try {
+			if (input.readInt() != MAGIC) {
+				return false;
+			}
+			if (input.readInt() != VERSION) {
+				return false;
+			}
+			return isSourceMatching(tmxFileHandle, input.readLong(), input.readLong());
+		} catch (IOException e) {
+			return false;
+		} finally {
+			try {
+				input.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	private static boolean isSourceMatching(FileHandle tmxFileHandle, long sourceLength, long sourceChecksum) {
+		if (!tmxFileHandle.exists()) {
+			// Only the pre-baked map was shipped
+			return true;
+		}
+		if (tmxFileHandle.length() != sourceLength) {
+			return false;
+		}
+		return getChecksum(tmxFileHandle) == sourceChecksum;
+	}
+
+	/**
+	 * Returns the CRC32 checksum of a TMX file as stored in the header of its
+	 * pre-baked map
+	 * 
+	 * @param tmxFileHandle
+	 *            The {@link FileHandle} of the TMX file
+	 * @return The checksum of the file contents
+	 */
+	static long getChecksum(FileHandle tmxFileHandle) {
+		CRC32 crc32 = new CRC32();
+		crc32.update(tmxFileHandle.readBytes());
+		return crc32.getValue();
+	}
+
+	/**
+	 * Returns the {@link FileHandle} of the pre-baked map for a TMX file
+	 * 
+	 * @param tmxFileHandle
+	 *            The {@link FileHandle} of the TMX file
+	 * @return A sibling {@link FileHandle} with the {@link #FILE_EXTENSION}
+	 *         extension
+	 */
+	public static FileHandle getBinaryFileHandle(FileHandle tmxFileHandle) {
+		return tmxFileHandle.sibling(tmxFileHandle.nameWithoutExtension() + "." + FILE_EXTENSION);
+	}
+}
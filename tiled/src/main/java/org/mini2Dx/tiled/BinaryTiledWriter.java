@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.mini2Dx.tiled.renderer.AnimatedTileRenderer;
+import org.mini2Dx.tiled.renderer.TileFrame;
+import org.mini2Dx.tiled.tileset.ImageTilesetSource;
+import org.mini2Dx.tiled.tileset.TilesetSource;
+import org.mini2Dx.tiled.tileset.TsxTilesetSource;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * Writes {@link TiledMapData} in the pre-baked binary format read by
+ * {@link BinaryTiledParser}. TSX tilesets are written by reference so that
+ * they are still shared between maps at runtime.
+ */
+public class BinaryTiledWriter {
+
+	/**
+	 * Converts TMX files to pre-baked binary files alongside them
+	 * 
+	 * @param args
+	 *            The paths of the TMX files to convert
+	 * @throws IOException
+	 *             Thrown if a file could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		for (String path : args) {
+			FileHandle tmxFileHandle = new FileHandle(new File(path));
+			write(new TiledMapData(tmxFileHandle));
+		}
+	}
+
+	/**
+	 * Writes {@link TiledMapData} to a pre-baked binary file alongside its
+	 * TMX file
+	 * 
+	 * @param tiledMapData
+	 *            The {@link TiledMapData} to write
+	 * @throws IOException
+	 *             Thrown if the file could not be written
+	 */
+	public static void write(TiledMapData tiledMapData) throws IOException {
+		FileHandle binaryFileHandle = BinaryTiledParser.getBinaryFileHandle(tiledMapData.getFileHandle());
+		OutputStream outputStream = binaryFileHandle.write(false);
+		try {
+			write(tiledMapData, outputStream);
+		} finally {
+			outputStream.close();
+		}
+	}
+
+	/**
+	 * Writes {@link TiledMapData} in the pre-baked binary format
+	 * 
+	 * @param tiledMapData
+	 *            The {@link TiledMapData} to write
+	 * @param outputStream
+	 *            The {@link OutputStream} to write to
+	 * @throws IOException
+	 *             Thrown if the data could not be written
+	 */
+	public static void write(TiledMapData tiledMapData, OutputStream outputStream) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+		output.writeInt(BinaryTiledParser.MAGIC);
+		output.writeInt(BinaryTiledParser.VERSION);
+		output.writeLong(tiledMapData.getFileHandle().length());
+		output.writeLong(BinaryTiledParser.getChecksum(tiledMapData.getFileHandle()));
+
+		writeString(output, tiledMapData.getOrientation().name());
+		writeString(output, tiledMapData.getStaggerAxis() == null ? null : tiledMapData.getStaggerAxis().name());
+		writeString(output, tiledMapData.getStaggerIndex() == null ? null : tiledMapData.getStaggerIndex().name());
+		Color backgroundColor = tiledMapData.getBackgroundColor();
+		output.writeBoolean(backgroundColor != null);
+		if (backgroundColor != null) {
+			output.writeFloat(backgroundColor.r);
+			output.writeFloat(backgroundColor.g);
+			output.writeFloat(backgroundColor.b);
+			output.writeFloat(backgroundColor.a);
+		}
+		output.writeInt(tiledMapData.getWidth());
+		output.writeInt(tiledMapData.getHeight());
+		output.writeInt(tiledMapData.getTileWidth());
+		output.writeInt(tiledMapData.getTileHeight());
+		output.writeInt(tiledMapData.getSideLength());
+		writeProperties(output, tiledMapData.getProperties());
+
+		List<Tileset> tilesets = tiledMapData.getTilesets();
+		output.writeInt(tilesets.size());
+		for (int i = 0; i < tilesets.size(); i++) {
+			writeTileset(output, tilesets.get(i));
+		}
+
+		List<Layer> layers = tiledMapData.getLayers();
+		output.writeInt(layers.size());
+		for (int i = 0; i < layers.size(); i++) {
+			Layer layer = layers.get(i);
+			switch (layer.getLayerType()) {
+			case TILE:
+				output.writeByte(BinaryTiledParser.LAYER_TILE);
+				writeTileLayer(output, (TileLayer) layer);
+				break;
+			case OBJECT:
+				output.writeByte(BinaryTiledParser.LAYER_OBJECT_GROUP);
+				writeObjectGroup(output, (TiledObjectGroup) layer);
+				break;
+			}
+		}
+		output.flush();
+	}
+
+	private static void writeTileset(DataOutputStream output, Tileset tileset) throws IOException {
+		output.writeInt(tileset.getFirstGid());
+
+		TilesetSource tilesetSource = tileset.getTilesetSource();
+		if (tilesetSource instanceof TsxTilesetSource) {
+			output.writeByte(BinaryTiledParser.TILESET_TSX);
+			writeString(output, ((TsxTilesetSource) tilesetSource).getTsxPath());
+			return;
+		}
+		if (!(tilesetSource instanceof ImageTilesetSource)) {
+			throw new IOException("Unsupported tileset source " + tilesetSource.getClass().getName());
+		}
+		ImageTilesetSource imageTilesetSource = (ImageTilesetSource) tilesetSource;
+		output.writeByte(BinaryTiledParser.TILESET_IMAGE);
+		writeString(output, imageTilesetSource.getName());
+		output.writeInt(imageTilesetSource.getWidth());
+		output.writeInt(imageTilesetSource.getHeight());
+		output.writeInt(imageTilesetSource.getTileWidth());
+		output.writeInt(imageTilesetSource.getTileHeight());
+		output.writeInt(imageTilesetSource.getSpacing());
+		output.writeInt(imageTilesetSource.getMargin());
+		writeString(output, imageTilesetSource.getTilesetImagePath());
+		writeString(output, imageTilesetSource.getTransparentColorValue());
+		writeProperties(output, imageTilesetSource.getProperties());
+
+		int totalTiles = 0;
+		for (int y = 0; y < imageTilesetSource.getHeightInTiles(); y++) {
+			for (int x = 0; x < imageTilesetSource.getWidthInTiles(); x++) {
+				if (hasTileData(imageTilesetSource.getTileByPosition(x, y))) {
+					totalTiles++;
+				}
+			}
+		}
+		output.writeInt(totalTiles);
+		for (int y = 0; y < imageTilesetSource.getHeightInTiles(); y++) {
+			for (int x = 0; x < imageTilesetSource.getWidthInTiles(); x++) {
+				Tile tile = imageTilesetSource.getTileByPosition(x, y);
+				if (!hasTileData(tile)) {
+					continue;
+				}
+				output.writeInt(tile.getTileId(0));
+				writeProperties(output, tile.getProperties());
+				if (tile.getTileRenderer() instanceof AnimatedTileRenderer) {
+					TileFrame[] frames = ((AnimatedTileRenderer) tile.getTileRenderer()).getFrames();
+					output.writeInt(frames.length);
+					for (int i = 0; i < frames.length; i++) {
+						output.writeFloat(frames[i].getDuration());
+						output.writeInt(frames[i].getTileId());
+					}
+				} else {
+					output.writeInt(0);
+				}
+			}
+		}
+	}
+
+	private static boolean hasTileData(Tile tile) {
+		if (tile == null) {
+			return false;
+		}
+		if (tile.getProperties() != null) {
+			return true;
+		}
+		return tile.getTileRenderer() instanceof AnimatedTileRenderer;
+	}
+
+	private static void writeTileLayer(DataOutputStream output, TileLayer layer) throws IOException {
+		writeString(output, layer.getName());
+		output.writeBoolean(layer.isVisible());
+		output.writeInt(layer.getWidth());
+		output.writeInt(layer.getHeight());
+		writeProperties(output, layer.getProperties());
+
+		int[] row = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileGids(0, y, row.length, 1, row);
+			for (int x = 0; x < row.length; x++) {
+				output.writeInt(row[x]);
+			}
+		}
+	}
+
+	private static void writeObjectGroup(DataOutputStream output, TiledObjectGroup objectGroup)
+			throws IOException {
+		writeString(output, objectGroup.getName());
+		output.writeBoolean(objectGroup.isVisible());
+		output.writeInt(objectGroup.getWidth());
+		output.writeInt(objectGroup.getHeight());
+		writeProperties(output, objectGroup.getProperties());
+
+		List<TiledObject> objects = objectGroup.getObjects();
+		output.writeInt(objects.size());
+		for (int i = 0; i < objects.size(); i++) {
+			TiledObject object = objects.get(i);
+			output.writeFloat(object.getX());
+			output.writeFloat(object.getY());
+			output.writeFloat(object.getWidth());
+			output.writeFloat(object.getHeight());
+			writeString(output, object.getName());
+			writeString(output, object.getType());
+
+			int gid = object.getGid();
+			if (object.isGidFlipHorizontally()) {
+				gid |= TileLayer.FLAG_FLIP_HORIZONTALLY;
+			}
+			if (object.isGidFlipVertically()) {
+				gid |= TileLayer.FLAG_FLIP_VERTICALLY;
+			}
+			if (object.isGidFlipDiagonally()) {
+				gid |= TileLayer.FLAG_FLIP_DIAGONALLY;
+			}
+			output.writeInt(gid);
+			output.writeBoolean(object.isVisible());
+			writeString(output, object.getPolyline());
+			writeString(output, object.getPolygon());
+			writeProperties(output, object.getProperties());
+		}
+	}
+
+	private static void writeProperties(DataOutputStream output, Map<String, String> properties)
+			throws IOException {
+		if (properties == null) {
+			output.writeInt(0);
+			return;
+		}
+		output.writeInt(properties.size());
+		for (Map.Entry<String, String> property : properties.entrySet()) {
+			writeString(output, property.getKey());
+			writeString(output, property.getValue());
+		}
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(BinaryTiledParser.CHARSET);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+}
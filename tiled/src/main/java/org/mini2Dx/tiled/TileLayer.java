@@ -11,23 +11,44 @@
  */
 package org.mini2Dx.tiled;
 
-import java.util.BitSet;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Represents a tile layer with in a {@link TiledMap}
+ * Represents a tile layer with in a {@link TiledMap}. Tiles are stored row by
+ * row in a single array with the Tiled flip flags kept in the upper bits of
+ * each tile id.
  */
 public class TileLayer extends Layer {
-	private final int[][] tiles;
-	private final BitSet flipHorizontally;
-	private final BitSet flipVertically;
-	private final BitSet flipDiagonally;
+	/**
+	 * Flag set in a tile gid when the tile is flipped horizontally
+	 */
+	public static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
+	/**
+	 * Flag set in a tile gid when the tile is flipped vertically
+	 */
+	public static final int FLAG_FLIP_VERTICALLY = 0x40000000;
+	/**
+	 * Flag set in a tile gid when the tile is flipped (anti) diagonally
+	 */
+	public static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
+	/**
+	 * Mask of all flip flags in a tile gid
+	 */
+	public static final int MASK_FLIP_FLAGS = FLAG_FLIP_HORIZONTALLY | FLAG_FLIP_VERTICALLY
+			| FLAG_FLIP_DIAGONALLY;
+
+	private final int width, height;
+	private final int[] tiles;
+	
+	private List<TileChangeListener> tileChangeListeners;
 
 	public TileLayer(int width, int height) {
 		super(LayerType.TILE);
-		tiles = new int[width][height];
-		flipHorizontally = new BitSet(width * height);
-		flipVertically = new BitSet(width * height);
-		flipDiagonally = new BitSet(width * height);
+		this.width = width;
+		this.height = height;
+		tiles = new int[width * height];
 	}
 
 	/**
@@ -40,11 +61,72 @@ public class TileLayer extends Layer {
 	 * @return 0 if there is no tile
 	 */
 	public int getTileId(int x, int y) {
-		return tiles[x][y];
+		return tiles[getIndex(x, y)] & ~MASK_FLIP_FLAGS;
 	}
 
 	/**
-	 * Sets the tile id at a given coordinate on the layer
+	 * Returns the tile id at a given coordinate on the layer including its
+	 * flip flags
+	 * 
+	 * @param x
+	 *            The x coordinate in tiles
+	 * @param y
+	 *            The y coordinate in tiles
+	 * @return 0 if there is no tile
+	 */
+	public int getTileGid(int x, int y) {
+		return tiles[getIndex(x, y)];
+	}
+
+	/**
+	 * Copies the tile ids (without flip flags) of a region of the layer into
+	 * a buffer, row by row
+	 * 
+	 * @param x
+	 *            The x coordinate in tiles of the region
+	 * @param y
+	 *            The y coordinate in tiles of the region
+	 * @param width
+	 *            The width in tiles of the region
+	 * @param height
+	 *            The height in tiles of the region
+	 * @param result
+	 *            The buffer to copy into. Tile x,y of the region is stored at
+	 *            (y * width) + x
+	 */
+	public void getTileIds(int x, int y, int width, int height, int[] result) {
+		getTileGids(x, y, width, height, result);
+		for (int i = (width * height) - 1; i >= 0; i--) {
+			result[i] &= ~MASK_FLIP_FLAGS;
+		}
+	}
+
+	/**
+	 * Copies the tile ids including flip flags of a region of the layer into a
+	 * buffer, row by row
+	 * 
+	 * @param x
+	 *            The x coordinate in tiles of the region
+	 * @param y
+	 *            The y coordinate in tiles of the region
+	 * @param width
+	 *            The width in tiles of the region
+	 * @param height
+	 *            The height in tiles of the region
+	 * @param result
+	 *            The buffer to copy into. Tile x,y of the region is stored at
+	 *            (y * width) + x
+	 */
+	public void getTileGids(int x, int y, int width, int height, int[] result) {
+		checkRegion(x, y, width, height);
+		for (int row = 0; row < height; row++) {
+			System.arraycopy(tiles, getIndex(x, y + row), result, row * width, width);
+		}
+	}
+
+	/**
+	 * Sets the tile id at a given coordinate on the layer. Any existing flip
+	 * flags for the coordinate are kept.
 	 * 
 	 * @param x
 	 *            The x coordinate in tiles
@@ -54,7 +136,9 @@ public class TileLayer extends Layer {
 	 *            0 if there is no tile
 	 */
 	public void setTileId(int x, int y, int id) {
-		tiles[x][y] = id;
+		int index = getIndex(x, y);
+		tiles[index] = (tiles[index] & MASK_FLIP_FLAGS) | (id & ~MASK_FLIP_FLAGS);
+		notifyTileChangeListeners(x, y);
 	}
 	
 	/**
@@ -71,12 +155,86 @@ public class TileLayer extends Layer {
 	 * @param flipD True if the tile is flipped (anti) diagonally - rotation
 	 */
 	public void setTileId(int x, int y, int id, boolean flipH, boolean flipV, boolean flipD) {
-		tiles[x][y] = id;
-		setFlippedHorizontally(x, y, flipH);
-		setFlippedVertically(x, y, flipV);
-		setFlippedDiagonally(x, y, flipD);
+		int gid = id & ~MASK_FLIP_FLAGS;
+		if (flipH) {
+			gid |= FLAG_FLIP_HORIZONTALLY;
+		}
+		if (flipV) {
+			gid |= FLAG_FLIP_VERTICALLY;
+		}
+		if (flipD) {
+			gid |= FLAG_FLIP_DIAGONALLY;
+		}
+		setTileGid(x, y, gid);
+	}
+
+	/**
+	 * Sets the tile id and flip flags at a given coordinate on the layer
+	 * 
+	 * @param x
+	 *            The x coordinate in tiles
+	 * @param y
+	 *            The y coordinate in tiles
+	 * @param gid
+	 *            The tile id including Tiled's flip flags. 0 if there is no
+	 *            tile
+	 */
+	public void setTileGid(int x, int y, int gid) {
+		tiles[getIndex(x, y)] = gid;
+		notifyTileChangeListeners(x, y);
+	}
+	
+	/**
+	 * Sets the tile ids including flip flags of a region of the layer from a
+	 * buffer, row by row
+	 * 
+	 * @param x
+	 *            The x coordinate in tiles of the region
+	 * @param y
+	 *            The y coordinate in tiles of the region
+	 * @param width
+	 *            The width in tiles of the region
+	 * @param height
+	 *            The height in tiles of the region
+	 * @param gids
+	 *            The buffer to copy from. Tile x,y of the region is read from
+	 *            (y * width) + x
+	 */
+	public void setTileGids(int x, int y, int width, int height, int[] gids) {
+		checkRegion(x, y, width, height);
+		for (int row = 0; row < height; row++) {
+			System.arraycopy(gids, row * width, tiles, getIndex(x, y + row), width);
+		}
+		if (tileChangeListeners == null) {
+			return;
+		}
+		for (int row = 0; row < height; row++) {
+			for (int column = 0; column < width; column++) {
+				notifyTileChangeListeners(x + column, y + row);
+			}
+		}
 	}
 	
+	/**
+	 * Sets the tile ids including flip flags of the whole layer from a buffer,
+	 * row by row
+	 * 
+	 * @param gids
+	 *            The buffer to copy from. Its remaining length must be at least
+	 *            width * height.
+	 */
+	public void setTileGids(IntBuffer gids) {
+		gids.get(tiles);
+		if (tileChangeListeners == null) {
+			return;
+		}
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				notifyTileChangeListeners(x, y);
+			}
+		}
+	}
+
 	/**
 	 * Returns if the tile at the given coordinate is flipped horizontally
 	 * @param x The tile x coordinate
@@ -84,7 +242,7 @@ public class TileLayer extends Layer {
 	 * @return True if flipped horizontally
 	 */
 	public boolean isFlippedHorizontally(int x, int y) {
-		return flipHorizontally.get(getBitIndex(x, y));
+		return (tiles[getIndex(x, y)] & FLAG_FLIP_HORIZONTALLY) != 0;
 	}
 	
 	/**
@@ -94,7 +252,7 @@ public class TileLayer extends Layer {
 	 * @param flip True if flipped horizontally
 	 */
 	public void setFlippedHorizontally(int x, int y, boolean flip) {
-		flipHorizontally.set(getBitIndex(x, y), flip);
+		setFlag(x, y, FLAG_FLIP_HORIZONTALLY, flip);
 	}
 	
 	/**
@@ -104,7 +262,7 @@ public class TileLayer extends Layer {
 	 * @return True if flipped vertically
 	 */
 	public boolean isFlippedVertically(int x, int y) {
-		return flipVertically.get(getBitIndex(x, y));
+		return (tiles[getIndex(x, y)] & FLAG_FLIP_VERTICALLY) != 0;
 	}
 	
 	/**
@@ -114,7 +272,7 @@ public class TileLayer extends Layer {
 	 * @param flip True if flipped vertically
 	 */
 	public void setFlippedVertically(int x, int y, boolean flip) {
-		flipVertically.set(getBitIndex(x, y), flip);
+		setFlag(x, y, FLAG_FLIP_VERTICALLY, flip);
 	}
 	
 	/**
@@ -124,7 +282,7 @@ public class TileLayer extends Layer {
 	 * @return True if flipped diagonally
 	 */
 	public boolean isFlippedDiagonally(int x, int y) {
-		return flipDiagonally.get(getBitIndex(x, y));
+		return (tiles[getIndex(x, y)] & FLAG_FLIP_DIAGONALLY) != 0;
 	}
 	
 	/**
@@ -134,7 +292,7 @@ public class TileLayer extends Layer {
 	 * @param flip True if flipped diagonally
 	 */
 	public void setFlippedDiagonally(int x, int y, boolean flip) {
-		flipDiagonally.set(getBitIndex(x, y), flip);
+		setFlag(x, y, FLAG_FLIP_DIAGONALLY, flip);
 	}
 
 	/**
@@ -142,7 +300,7 @@ public class TileLayer extends Layer {
 	 * @return The width in tiles
 	 */
 	public int getWidth() {
-		return tiles.length;
+		return width;
 	}
 
 	/**
@@ -150,10 +308,68 @@ public class TileLayer extends Layer {
 	 * @return The height in tiles
 	 */
 	public int getHeight() {
-		return tiles[0].length;
+		return height;
+	}
+	
+	/**
+	 * Adds a {@link TileChangeListener} to be notified when a tile on this
+	 * layer changes
+	 * 
+	 * @param listener
+	 *            The {@link TileChangeListener} to add
+	 */
+	public void addTileChangeListener(TileChangeListener listener) {
+		if (tileChangeListeners == null) {
+			tileChangeListeners = new ArrayList<TileChangeListener>(1);
+		}
+		tileChangeListeners.add(listener);
+	}
+
+	/**
+	 * Removes a {@link TileChangeListener} from this layer
+	 * 
+	 * @param listener
+	 *            The {@link TileChangeListener} to remove
+	 */
+	public void removeTileChangeListener(TileChangeListener listener) {
+		if (tileChangeListeners == null) {
+			return;
+		}
+		tileChangeListeners.remove(listener);
+	}
+
+	private void notifyTileChangeListeners(int x, int y) {
+		if (tileChangeListeners == null) {
+			return;
+		}
+		for (int i = tileChangeListeners.size() - 1; i >= 0; i--) {
+			tileChangeListeners.get(i).tileChanged(this, x, y);
+		}
 	}
 	
-	private int getBitIndex(int x, int y) {
-		return (y * tiles.length) + x;
+	private void setFlag(int x, int y, int flag, boolean value) {
+		int index = getIndex(x, y);
+		if (value) {
+			tiles[index] |= flag;
+		} else {
+			tiles[index] &= ~flag;
+		}
+		notifyTileChangeListeners(x, y);
+	}
+
+	private int getIndex(int x, int y) {
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			throw new ArrayIndexOutOfBoundsException(
+					"Tile " + x + "," + y + " is outside of the " + width + "x" + height + " layer");
+		}
+		return (y * width) + x;
+	}
+
+	private void checkRegion(int x, int y, int regionWidth, int regionHeight) {
+		if (regionWidth < 0 || regionHeight < 0 || x < 0 || y < 0 || x + regionWidth > width
+				|| y + regionHeight > height) {
+			throw new ArrayIndexOutOfBoundsException("Region " + x + "," + y + " " + regionWidth + "x"
+					+ regionHeight + " is outside of the " + width + "x" + height + " layer");
+		}
 	}
 }
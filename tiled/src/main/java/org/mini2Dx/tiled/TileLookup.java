@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.util.List;
+
+/**
+ * A flat lookup table from tile id (gid) to its {@link Tileset} and
+ * {@link Tile}, avoiding a scan of every {@link Tileset} per tile
+ */
+public class TileLookup {
+	private Tileset[] tilesets = new Tileset[0];
+	private Tile[] tiles = new Tile[0];
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tilesets
+	 *            The {@link Tileset}s of the {@link TiledMap}
+	 */
+	public TileLookup(List<Tileset> tilesets) {
+		super();
+		rebuild(tilesets);
+	}
+
+	/**
+	 * Rebuilds the lookup table for the given {@link Tileset}s. When tilesets
+	 * overlap, the first {@link Tileset} in the list takes precedence.
+	 * 
+	 * @param tilesets
+	 *            The {@link Tileset}s of the {@link TiledMap}
+	 */
+	public void rebuild(List<Tileset> tilesets) {
+		int maxGid = 0;
+		for (int i = 0; i < tilesets.size(); i++) {
+			maxGid = Math.max(maxGid, tilesets.get(i).getLastGid());
+		}
+
+		Tileset[] tilesetsByGid = new Tileset[maxGid + 1];
+		Tile[] tilesByGid = new Tile[maxGid + 1];
+		for (int i = tilesets.size() - 1; i >= 0; i--) {
+			Tileset tileset = tilesets.get(i);
+			for (int gid = Math.max(1, tileset.getFirstGid()); gid <= tileset.getLastGid(); gid++) {
+				if (!tileset.contains(gid)) {
+					continue;
+				}
+				tilesetsByGid[gid] = tileset;
+				tilesByGid[gid] = tileset.getTile(gid);
+			}
+		}
+		this.tilesets = tilesetsByGid;
+		this.tiles = tilesByGid;
+	}
+
+	/**
+	 * Returns the {@link Tileset} containing a tile id
+	 * 
+	 * @param tileId
+	 *            The tile id to look up
+	 * @return Null if no {@link Tileset} contains the tile id
+	 */
+	public Tileset getTileset(int tileId) {
+		if (tileId < 0 || tileId >= tilesets.length) {
+			return null;
+		}
+		return tilesets[tileId];
+	}
+
+	/**
+	 * Returns the {@link Tile} for a tile id
+	 * 
+	 * @param tileId
+	 *            The tile id to look up
+	 * @return Null if no {@link Tileset} contains the tile id
+	 */
+	public Tile getTile(int tileId) {
+		if (tileId < 0 || tileId >= tiles.length) {
+			return null;
+		}
+		return tiles[tileId];
+	}
+
+	/**
+	 * Returns the largest tile id in the lookup table
+	 * 
+	 * @return 0 if there are no tiles
+	 */
+	public int getMaxTileId() {
+		return Math.max(0, tiles.length - 1);
+	}
+}
@@ -437,6 +437,17 @@ public class TiledMap {
 		return tiledMapData.getTile(tileId);
 	}
 
+	/**
+	 * Returns the {@link Tileset} containing a given tile id
+	 * 
+	 * @param tileId
+	 *            The tile id to look up
+	 * @return Null if no {@link Tileset} contains the tile id
+	 */
+	public Tileset getTileset(int tileId) {
+		return tiledMapData.getTileset(tileId);
+	}
+
 	/**
 	 * Returns the {@link Tile} at the given coordinate on a specific layer
 	 * 
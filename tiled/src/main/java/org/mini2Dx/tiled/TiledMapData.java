@@ -45,6 +45,7 @@ public class TiledMapData implements TiledParserListener {
 	private Color backgroundColor;
 	private List<Tile> animatedTiles;
 	private Map<String, String> properties;
+	private TileLookup tileLookup;
 
 	/**
 	 * 
@@ -73,6 +74,7 @@ public class TiledMapData implements TiledParserListener {
 			throw new TiledParsingException(e);
 		}
 		tiledParser.removeListener(this);
+		tileLookup = new TileLookup(tilesets);
 	}
 
 	public Array<AssetDescriptor> getDependencies() {
@@ -200,6 +202,15 @@ public class TiledMapData implements TiledParserListener {
 		properties.put(propertyName, value);
 	}
 
+	/**
+	 * Returns the properties {@link Map} of this map
+	 * 
+	 * @return Null if there are no properties
+	 */
+	public Map<String, String> getProperties() {
+		return properties;
+	}
+
 	@Override
 	public void onMapPropertyParsed(String propertyName, String value) {
 		setProperty(propertyName, value);
@@ -337,12 +348,18 @@ public class TiledMapData implements TiledParserListener {
 	 * @return Null if there is no {@link Tile} with the given ID
 	 */
 	public Tile getTile(int tileId) {
-		for (int i = 0; i < tilesets.size(); i++) {
-			if (tilesets.get(i).contains(tileId)) {
-				return tilesets.get(i).getTile(tileId);
-			}
+		return getTileLookup().getTile(tileId);
+	}
+
+	public Tileset getTileset(int tileId) {
+		return getTileLookup().getTileset(tileId);
+	}
+
+	public TileLookup getTileLookup() {
+		if (tileLookup == null) {
+			tileLookup = new TileLookup(tilesets);
 		}
-		return null;
+		return tileLookup;
 	}
 
 	/**
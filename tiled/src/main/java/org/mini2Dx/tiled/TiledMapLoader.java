@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2017 See AUTHORS file
+ * Copyright (c) 2015 See AUTHORS file
  * All rights reserved.
  *
  * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
@@ -11,11 +11,14 @@
  */
 package org.mini2Dx.tiled;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.mini2Dx.tiled.TiledMapLoader.TiledMapParameter;
+import org.mini2Dx.tiled.exception.TiledParsingException;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -26,18 +29,52 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 
 /**
- * An {@link AssetLoader} implementation for loading {@link TiledMap} instances
+ * An {@link AssetLoader} implementation for loading {@link TiledMap} instances.
+ * If a map has been pre-baked with {@link BinaryTiledWriter}, the binary file
+ * is loaded instead of the TMX file unless the TMX file has changed since.
+ * 
+ * Multiple maps can be loaded concurrently. Parsed {@link TiledMapData} is
+ * cached for re-use by later loads of the same file, with the least recently
+ * used entries evicted once the cache holds more than the configured amount
+ * of maps.
  */
 public class TiledMapLoader extends AsynchronousAssetLoader<TiledMap, TiledMapParameter> {
+	/**
+	 * The default maximum amount of {@link TiledMapData} instances to cache
+	 */
+	public static final int DEFAULT_MAX_CACHED_MAPS = 8;
+
+	private static final String LOGGING_TAG = TiledMapLoader.class.getSimpleName();
 	private static final TiledMapParameter DEFAULT_PARAMETERS = new TiledMapParameter();
 	
-	private final Map<String, TiledMapData> tiledMapData = new ConcurrentHashMap<String, TiledMapData>();
-	private final TiledParser tiledParser = new TiledParser();
-	
-	private TiledMap nextTiledMap;
+	private final Map<String, TiledMapData> tiledMapData;
+	private final Map<String, LoadState> loadStates = new ConcurrentHashMap<String, LoadState>();
+	private final int maxCachedMaps;
 	
 	public TiledMapLoader(FileHandleResolver resolver) {
+		this(resolver, DEFAULT_MAX_CACHED_MAPS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param resolver
+	 *            The {@link FileHandleResolver} to use
+	 * @param maxCachedMaps
+	 *            The maximum amount of parsed maps to keep cached after
+	 *            loading. 0 disables caching.
+	 */
+	public TiledMapLoader(FileHandleResolver resolver, final int maxCachedMaps) {
 		super(resolver);
+		this.maxCachedMaps = maxCachedMaps;
+		this.tiledMapData = new LinkedHashMap<String, TiledMapData>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, TiledMapData> eldest) {
+				return size() > maxCachedMaps;
+			}
+		};
 	}
 
 	@Override
@@ -45,7 +82,14 @@ public class TiledMapLoader extends AsynchronousAssetLoader<TiledMap, TiledMapPa
 		if(parameter == null) {
 			parameter = DEFAULT_PARAMETERS;
 		}
-		nextTiledMap = new TiledMap(getTiledMapData(fileName, file), false, parameter.cacheLayers);
+		LoadState loadState = getLoadState(fileName, file);
+		try {
+			loadState.tiledMap = new TiledMap(loadState.tiledMapData, false, parameter.cacheLayers);
+		} catch (RuntimeException e) {
+			// loadSync is not called for failed loads
+			loadStates.remove(fileName);
+			throw e;
+		}
 	}
 
 	@Override
@@ -53,8 +97,14 @@ public class TiledMapLoader extends AsynchronousAssetLoader<TiledMap, TiledMapPa
 		if(parameter == null) {
 			parameter = DEFAULT_PARAMETERS;
 		}
-		nextTiledMap.loadTilesetTextures(manager);
-		return nextTiledMap;
+		LoadState loadState = loadStates.remove(fileName);
+		if(loadState == null || loadState.tiledMap == null) {
+			return null;
+		}
+		if(parameter.loadTilesets) {
+			loadState.tiledMap.loadTilesetTextures(manager);
+		}
+		return loadState.tiledMap;
 	}
 
 	@Override
@@ -62,17 +112,97 @@ public class TiledMapLoader extends AsynchronousAssetLoader<TiledMap, TiledMapPa
 		if(parameter == null) {
 			parameter = DEFAULT_PARAMETERS;
 		}
+		LoadState loadState = getLoadState(fileName, file);
 		if(!parameter.loadTilesets) {
 			return null;
 		}
-		return getTiledMapData(fileName, file).getDependencies();
+		return loadState.tiledMapData.getDependencies();
+	}
+
+	/**
+	 * Removes all cached {@link TiledMapData}. Maps currently loading are not
+	 * affected.
+	 */
+	public void clearCache() {
+		synchronized(tiledMapData) {
+			tiledMapData.clear();
+		}
+	}
+
+	/**
+	 * Returns the amount of {@link TiledMapData} instances currently cached
+	 * 
+	 * @return 0 if nothing is cached
+	 */
+	public int getTotalCachedMaps() {
+		synchronized(tiledMapData) {
+			return tiledMapData.size();
+		}
+	}
+
+	/**
+	 * Returns the maximum amount of {@link TiledMapData} instances to cache
+	 * 
+	 * @return 0 if caching is disabled
+	 */
+	public int getMaxCachedMaps() {
+		return maxCachedMaps;
+	}
+	
+	private LoadState getLoadState(String fileName, FileHandle file) {
+		LoadState loadState = loadStates.get(fileName);
+		if(loadState != null) {
+			return loadState;
+		}
+		loadState = new LoadState(getTiledMapData(fileName, file));
+		loadStates.put(fileName, loadState);
+		return loadState;
 	}
 	
 	private TiledMapData getTiledMapData(String fileName, FileHandle file) {
-		if(!tiledMapData.containsKey(fileName)) {
-			tiledMapData.put(fileName, new TiledMapData(tiledParser, file));
+		synchronized(tiledMapData) {
+			TiledMapData result = tiledMapData.get(fileName);
+			if(result != null) {
+				return result;
+			}
+		}
+
+		// Parse outside of the lock so that other maps can load concurrently
+		TiledMapData result = null;
+		if(BinaryTiledParser.getBinaryFileHandle(file).exists()) {
+			// The parser checks the header against the TMX file itself
+			try {
+				result = new TiledMapData(new BinaryTiledParser(), file);
+			} catch (TiledParsingException e) {
+				Gdx.app.log(LOGGING_TAG, e.getMessage() + ", parsing " + file.path() + " instead");
+			}
+		}
+		if(result == null) {
+			result = new TiledMapData(new TiledParser(), file);
+		}
+
+		synchronized(tiledMapData) {
+			TiledMapData existing = tiledMapData.get(fileName);
+			if(existing != null) {
+				return existing;
+			}
+			if(maxCachedMaps > 0) {
+				tiledMapData.put(fileName, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The state of a single file between dependency resolution and loading
+	 */
+	private static class LoadState {
+		final TiledMapData tiledMapData;
+		TiledMap tiledMap;
+
+		LoadState(TiledMapData tiledMapData) {
+			this.tiledMapData = tiledMapData;
 		}
-		return tiledMapData.get(fileName);
 	}
 	
 	static public class TiledMapParameter extends AssetLoaderParameters<TiledMap> {
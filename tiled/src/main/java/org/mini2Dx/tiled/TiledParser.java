@@ -13,8 +13,15 @@ package org.mini2Dx.tiled;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.zip.DataFormatException;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.Inflater;
@@ -40,20 +47,34 @@ import com.badlogic.gdx.utils.XmlReader.Element;
  * @author MobiDevelop (parsing logic from LibGDX)
  */
 public class TiledParser implements TiledParserNotifier {
-	protected static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
-	protected static final int FLAG_FLIP_VERTICALLY = 0x40000000;
-	protected static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
-	protected static final int MASK_CLEAR = 0xE0000000;
+	protected static final int FLAG_FLIP_HORIZONTALLY = TileLayer.FLAG_FLIP_HORIZONTALLY;
+	protected static final int FLAG_FLIP_VERTICALLY = TileLayer.FLAG_FLIP_VERTICALLY;
+	protected static final int FLAG_FLIP_DIAGONALLY = TileLayer.FLAG_FLIP_DIAGONALLY;
+	protected static final int MASK_CLEAR = TileLayer.MASK_FLIP_FLAGS;
 
 	private XmlReader xmlReader;
 	private List<TiledParserListener> listeners;
+	private ExecutorService layerDecodingExecutor;
 
 	/**
 	 * Constructor
 	 */
 	public TiledParser() {
+		this(null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param layerDecodingExecutor
+	 *            The {@link ExecutorService} to decode tile layers on
+	 *            concurrently. If null, layers are decoded on the parsing
+	 *            thread.
+	 */
+	public TiledParser(ExecutorService layerDecodingExecutor) {
 		xmlReader = new XmlReader();
 		listeners = new ArrayList<TiledParserListener>();
+		this.layerDecodingExecutor = layerDecodingExecutor;
 	}
 
 	/**
@@ -92,17 +113,60 @@ public class TiledParser implements TiledParserNotifier {
 			loadTileSet(element, tmxFileHandle);
 			root.removeChild(element);
 		}
+		if (layerDecodingExecutor == null) {
+			for (int i = 0, j = root.getChildCount(); i < j; i++) {
+				Element element = root.getChild(i);
+				String name = element.getName();
+				if (name.equals("layer")) {
+					loadTileLayer(element);
+				} else if (name.equals("objectgroup")) {
+					loadObjectGroup(element);
+				}
+			}
+			return;
+		}
+
+		// Decode all tile layers concurrently, then notify in document order
+		List<Future<TileLayer>> decodedLayers = new ArrayList<Future<TileLayer>>();
+		for (int i = 0, j = root.getChildCount(); i < j; i++) {
+			final Element element = root.getChild(i);
+			if (!element.getName().equals("layer")) {
+				continue;
+			}
+			decodedLayers.add(layerDecodingExecutor.submit(new Callable<TileLayer>() {
+				@Override
+				public TileLayer call() throws Exception {
+					return decodeTileLayer(element);
+				}
+			}));
+		}
+		int layerIndex = 0;
 		for (int i = 0, j = root.getChildCount(); i < j; i++) {
 			Element element = root.getChild(i);
 			String name = element.getName();
 			if (name.equals("layer")) {
-				loadTileLayer(element);
+				loadTileLayer(element, getDecodedTileLayer(decodedLayers.get(layerIndex)));
+				layerIndex++;
 			} else if (name.equals("objectgroup")) {
 				loadObjectGroup(element);
 			}
 		}
 	}
 
+	private TileLayer getDecodedTileLayer(Future<TileLayer> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while decoding TMX Layer Data", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException("Error Reading TMX Layer Data.", e.getCause());
+		}
+	}
+
 	/**
 	 * Parses a TSX file
 	 * 
@@ -205,31 +269,48 @@ public class TiledParser implements TiledParserNotifier {
 				}
 			} else {
 				// TSX tileset
-				TsxTilesetSource tilesetSource = new TsxTilesetSource(tmxFile, source);
-				tileset = new Tileset(firstGid, tilesetSource);
-				
-				for(int x = 0; x < tilesetSource.getWidthInTiles(); x++) {
-					for(int y = 0; y < tilesetSource.getHeightInTiles(); y++) {
-						Tile tile = tilesetSource.getTileByPosition(x, y);
-						if (tile == null) {
-							continue;
-						}
-						if (tile.getTileRenderer() == null) {
-							continue;
-						}
-						if (tile.getTileRenderer() instanceof AnimatedTileRenderer) {
-							notifyTilePropertyParsed(tile);
-						} else if(tile.getProperties() != null) {
-							notifyTilePropertyParsed(tile);
-						}
-					}
-				}
+				tileset = loadTsxTileset(tmxFile, source, firstGid);
 			}
 
 			notifyTilesetParsed(tileset);
 		}
 	}
 
+	/**
+	 * Loads a {@link Tileset} from a TSX file and notifies listeners of its
+	 * animated tiles and tiles with properties
+	 * 
+	 * @param tmxFile
+	 *            The TMX file referencing the TSX file
+	 * @param source
+	 *            The path of the TSX file relative to the TMX file
+	 * @param firstGid
+	 *            The first gid of the tileset within the map
+	 * @return The loaded {@link Tileset}
+	 */
+	protected Tileset loadTsxTileset(FileHandle tmxFile, String source, int firstGid) {
+		TsxTilesetSource tilesetSource = new TsxTilesetSource(tmxFile, source);
+		Tileset tileset = new Tileset(firstGid, tilesetSource);
+		
+		for(int x = 0; x < tilesetSource.getWidthInTiles(); x++) {
+			for(int y = 0; y < tilesetSource.getHeightInTiles(); y++) {
+				Tile tile = tilesetSource.getTileByPosition(x, y);
+				if (tile == null) {
+					continue;
+				}
+				if (tile.getTileRenderer() == null) {
+					continue;
+				}
+				if (tile.getTileRenderer() instanceof AnimatedTileRenderer) {
+					notifyTilePropertyParsed(tile);
+				} else if(tile.getProperties() != null) {
+					notifyTilePropertyParsed(tile);
+				}
+			}
+		}
+		return tileset;
+	}
+
 	private void loadTileProperties(TilesetSource tilesetSource, Array<Element> tileElements) {
 		for (Element tileElement : tileElements) {
 			int localtid = tileElement.getIntAttribute("id", 0);
@@ -275,7 +356,17 @@ public class TiledParser implements TiledParserNotifier {
 				notifyTilePropertyParsed(tile);
 			}
 		}
-		
+		setStaticTileRenderers(tilesetSource);
+	}
+
+	/**
+	 * Assigns a {@link StaticTileRenderer} to each tile in a
+	 * {@link TilesetSource} that does not already have a renderer
+	 * 
+	 * @param tilesetSource
+	 *            The {@link TilesetSource} to update
+	 */
+	protected void setStaticTileRenderers(TilesetSource tilesetSource) {
 		for(int x = 0; x < tilesetSource.getWidthInTiles(); x++) {
 			for(int y = 0; y < tilesetSource.getHeightInTiles(); y++) {
 				Tile tile = tilesetSource.getTileByPosition(x, y);
@@ -290,119 +381,194 @@ public class TiledParser implements TiledParserNotifier {
 		}
 	}
 
+	/**
+	 * Decodes and loads a TMX layer element. This is only called when layers
+	 * are decoded on the parsing thread. To handle layers regardless of
+	 * whether a layer decoding {@link ExecutorService} is used, override
+	 * {@link #loadTileLayer(Element, TileLayer)} instead.
+	 * 
+	 * @param element
+	 *            The layer {@link Element}
+	 */
 	protected void loadTileLayer(Element element) {
 		if (element.getName().equals("layer")) {
-			String name = element.getAttribute("name", null);
-			int width = element.getIntAttribute("width", 0);
-			int height = element.getIntAttribute("height", 0);
-			boolean visible = element.getIntAttribute("visible", 1) == 1;
-			TileLayer layer = new TileLayer(width, height);
-			layer.setVisible(visible);
-			layer.setName(name);
-
-			Element data = element.getChildByName("data");
-			String encoding = data.getAttribute("encoding", null);
-			String compression = data.getAttribute("compression", null);
-			if (encoding == null) { // no 'encoding' attribute means that the
-									// encoding is XML
-				throw new GdxRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
+			loadTileLayer(element, decodeTileLayer(element));
+		}
+	}
+
+	/**
+	 * Loads a decoded {@link TileLayer}. This is called on the parsing thread
+	 * in document order whether or not layers were decoded concurrently.
+	 * 
+	 * @param element
+	 *            The layer {@link Element}
+	 * @param layer
+	 *            The {@link TileLayer} decoded from the element
+	 */
+	protected void loadTileLayer(Element element, TileLayer layer) {
+		notifyTileLayerParsed(layer);
+	}
+
+	/**
+	 * Decodes a TMX layer element into a {@link TileLayer}. This method does
+	 * not notify listeners and may be called from any thread.
+	 * 
+	 * @param element
+	 *            The layer {@link Element}
+	 * @return The decoded {@link TileLayer}
+	 */
+	protected TileLayer decodeTileLayer(Element element) {
+		String name = element.getAttribute("name", null);
+		int width = element.getIntAttribute("width", 0);
+		int height = element.getIntAttribute("height", 0);
+		boolean visible = element.getIntAttribute("visible", 1) == 1;
+		TileLayer layer = new TileLayer(width, height);
+		layer.setVisible(visible);
+		layer.setName(name);
+
+		Element data = element.getChildByName("data");
+		String encoding = data.getAttribute("encoding", null);
+		String compression = data.getAttribute("compression", null);
+		int[] gids = new int[width * height];
+
+		if (encoding == null) { // no 'encoding' attribute means that the
+								// encoding is XML
+			throw new GdxRuntimeException("Unsupported encoding (XML) for TMX Layer Data");
+		}
+		if (encoding.equals("csv")) {
+			parseCsvTileGids(data.getText(), gids);
+		} else if (encoding.equals("base64")) {
+			byte[] bytes = Base64Coder.decode(data.getText().trim());
+			if (compression == null) {
+				readTileGids(bytes, bytes.length, gids);
+			} else if (compression.equals("gzip")) {
+				readTileGids(gunzip(bytes, gids.length * 4), gids.length * 4, gids);
+			} else if (compression.equals("zlib")) {
+				readTileGids(inflate(bytes, gids.length * 4), gids.length * 4, gids);
+			} else {
+				throw new GdxRuntimeException("Unrecognised compression (" + compression + ") for TMX Layer Data");
 			}
-			if (encoding.equals("csv")) {
-				String[] array = data.getText().split(",");
-				for (int y = 0; y < height; y++) {
-					for (int x = 0; x < width; x++) {
-						int id = (int) Long.parseLong(array[y * width + x].trim());
-						id = id & ~MASK_CLEAR;
-						layer.setTileId(x, y, id);
-					}
+		} else {
+			// any other value of 'encoding' is one we're not aware of,
+			// probably a feature of a future version of Tiled
+			throw new GdxRuntimeException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
+		}
+		layer.setTileGids(0, 0, width, height, gids);
+
+		Element properties = element.getChildByName("properties");
+		if (properties != null) {
+			for (Element property : properties.getChildrenByName("property")) {
+				String propertyName = property.getAttribute("name", null);
+				String propertyValue = property.getAttribute("value", null);
+				if (propertyValue == null) {
+					propertyValue = property.getText();
 				}
-			} else {
-				if (encoding.equals("base64")) {
-					byte[] bytes = Base64Coder.decode(data.getText());
-					if (compression == null) {
-						int read = 0;
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-
-								int id = unsignedByteToInt(bytes[read++]) | unsignedByteToInt(bytes[read++]) << 8
-										| unsignedByteToInt(bytes[read++]) << 16
-										| unsignedByteToInt(bytes[read++]) << 24;
-								boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
-							    boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
-							    boolean flipDiagonally = (id & FLAG_FLIP_DIAGONALLY) != 0;
-								id = id & ~MASK_CLEAR;
-								layer.setTileId(x, y, id, flipHorizontally, flipVertically, flipDiagonally);
-							}
-						}
-					} else if (compression.equals("gzip")) {
-						GZIPInputStream GZIS = null;
-						try {
-							GZIS = new GZIPInputStream(new ByteArrayInputStream(bytes), bytes.length);
-						} catch (IOException e) {
-							throw new GdxRuntimeException(
-									"Error Reading TMX Layer Data - IOException: " + e.getMessage());
-						}
+				layer.setProperty(propertyName, propertyValue);
+			}
+		}
+		return layer;
+	}
 
-						byte[] temp = new byte[4];
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-								try {
-									GZIS.read(temp, 0, 4);
-									int id = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-											| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-									boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
-								    boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
-								    boolean flipDiagonally = (id & FLAG_FLIP_DIAGONALLY) != 0;
-									id = id & ~MASK_CLEAR;
-									layer.setTileId(x, y, id, flipHorizontally, flipVertically, flipDiagonally);
-								} catch (IOException e) {
-									throw new GdxRuntimeException("Error Reading TMX Layer Data.", e);
-								}
-							}
-						}
-					} else if (compression.equals("zlib")) {
-						Inflater zlib = new Inflater();
-
-						byte[] temp = new byte[4];
-
-						zlib.setInput(bytes, 0, bytes.length);
-
-						for (int y = 0; y < height; y++) {
-							for (int x = 0; x < width; x++) {
-								try {
-									zlib.inflate(temp, 0, 4);
-									int id = unsignedByteToInt(temp[0]) | unsignedByteToInt(temp[1]) << 8
-											| unsignedByteToInt(temp[2]) << 16 | unsignedByteToInt(temp[3]) << 24;
-									boolean flipHorizontally = (id & FLAG_FLIP_HORIZONTALLY) != 0;
-								    boolean flipVertically = (id & FLAG_FLIP_VERTICALLY) != 0;
-								    boolean flipDiagonally = (id & FLAG_FLIP_DIAGONALLY) != 0;
-									id = id & ~MASK_CLEAR;
-									layer.setTileId(x, y, id, flipHorizontally, flipVertically, flipDiagonally);
-
-								} catch (DataFormatException e) {
-									throw new GdxRuntimeException("Error Reading TMX Layer Data.", e);
-								}
-							}
-						}
-					}
-				} else {
-					// any other value of 'encoding' is one we're not aware of,
-					// probably a feature of a future version of Tiled
-					throw new GdxRuntimeException("Unrecognised encoding (" + encoding + ") for TMX Layer Data");
+	/**
+	 * Parses comma separated tile gids without allocating intermediate
+	 * strings
+	 * 
+	 * @param text
+	 *            The CSV layer data
+	 * @param result
+	 *            The array to store the gids in
+	 */
+	static void parseCsvTileGids(String text, int[] result) {
+		int index = 0;
+		long value = 0;
+		boolean hasDigits = false;
+
+		for (int i = 0, length = text.length(); i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				value = (value * 10) + (c - '0');
+				hasDigits = true;
+			} else if (c == ',') {
+				if (index >= result.length) {
+					throw new GdxRuntimeException("Too many tiles in TMX Layer Data");
 				}
+				result[index++] = (int) value;
+				value = 0;
+				hasDigits = false;
+			} else if (!Character.isWhitespace(c)) {
+				throw new GdxRuntimeException("Unexpected character '" + c + "' in TMX Layer Data");
 			}
-			Element properties = element.getChildByName("properties");
-			if (properties != null) {
-				for (Element property : properties.getChildrenByName("property")) {
-					String propertyName = property.getAttribute("name", null);
-					String propertyValue = property.getAttribute("value", null);
-					if (propertyValue == null) {
-						propertyValue = property.getText();
-					}
-					layer.setProperty(propertyName, propertyValue);
+		}
+		if (hasDigits) {
+			if (index >= result.length) {
+				throw new GdxRuntimeException("Too many tiles in TMX Layer Data");
+			}
+			result[index++] = (int) value;
+		}
+		if (index != result.length) {
+			throw new GdxRuntimeException(
+					"Expected " + result.length + " tiles in TMX Layer Data but found " + index);
+		}
+	}
+
+	private static void readTileGids(byte[] bytes, int length, int[] result) {
+		if (length < result.length * 4) {
+			throw new GdxRuntimeException("Error Reading TMX Layer Data - Premature end of tile data");
+		}
+		IntBuffer intBuffer = ByteBuffer.wrap(bytes, 0, length).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+		intBuffer.get(result);
+	}
+
+	private static byte[] gunzip(byte[] bytes, int expectedLength) {
+		byte[] result = new byte[expectedLength];
+		GZIPInputStream inputStream = null;
+		try {
+			inputStream = new GZIPInputStream(new ByteArrayInputStream(bytes), Math.max(1, bytes.length));
+			int offset = 0;
+			while (offset < expectedLength) {
+				int read = inputStream.read(result, offset, expectedLength - offset);
+				if (read < 0) {
+					break;
+				}
+				offset += read;
+			}
+			if (offset < expectedLength) {
+				throw new GdxRuntimeException("Error Reading TMX Layer Data - Premature end of tile data");
+			}
+			return result;
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error Reading TMX Layer Data - IOException: " + e.getMessage());
+		} finally {
+			if (inputStream != null) {
+				try {
+					inputStream.close();
+				} catch (IOException e) {
+				}
+			}
+		}
+	}
+
+	private static byte[] inflate(byte[] bytes, int expectedLength) {
+		byte[] result = new byte[expectedLength];
+		Inflater zlib = new Inflater();
+		try {
+			zlib.setInput(bytes, 0, bytes.length);
+			int offset = 0;
+			while (offset < expectedLength && !zlib.finished()) {
+				int inflated = zlib.inflate(result, offset, expectedLength - offset);
+				if (inflated == 0 && (zlib.needsInput() || zlib.needsDictionary())) {
+					break;
 				}
+				offset += inflated;
 			}
-			notifyTileLayerParsed(layer);
+			if (offset < expectedLength) {
+				throw new GdxRuntimeException("Error Reading TMX Layer Data - Premature end of tile data");
+			}
+			return result;
+		} catch (DataFormatException e) {
+			throw new GdxRuntimeException("Error Reading TMX Layer Data.", e);
+		} finally {
+			zlib.end();
 		}
 	}
 
@@ -483,10 +649,6 @@ public class TiledParser implements TiledParserNotifier {
 		return null;
 	}
 
-	static int unsignedByteToInt(byte b) {
-		return (int) b & 0xFF;
-	}
-
 	/**
 	 * Adds a listener to be notified of parsing results
 	 * 
@@ -302,6 +302,15 @@ public class Tileset implements Disposable {
 		return tilesetSource.getMargin();
 	}
 
+	/**
+	 * Returns the {@link TilesetSource} this tileset was loaded from
+	 * 
+	 * @return The {@link TilesetSource}
+	 */
+	public TilesetSource getTilesetSource() {
+		return tilesetSource;
+	}
+
 	/**
 	 * Returns the first GID. See:
 	 * <a href="https://github.com/bjorn/tiled/wiki/TMX-Map-Format">TMX Map
@@ -312,4 +321,13 @@ public class Tileset implements Disposable {
 	public int getFirstGid() {
 		return firstGid;
 	}
+
+	/**
+	 * Returns the last tile id in this tileset
+	 * 
+	 * @return The last gid
+	 */
+	public int getLastGid() {
+		return lastGid;
+	}
 }
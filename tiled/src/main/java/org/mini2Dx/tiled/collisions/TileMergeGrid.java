@@ -0,0 +1,576 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.collisions;
+
+import org.mini2Dx.tiled.Tile;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+import org.mini2Dx.tiled.collisions.merger.AllCollisionMerger;
+import org.mini2Dx.tiled.collisions.merger.TileIdCollisionMerger;
+import org.mini2Dx.tiled.collisions.merger.TilePropertyCollisionMerger;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+
+/**
+ * A flat row-major grid of mergable tiles used by {@link TileMergeMode} to
+ * merge a {@link TileLayer} into rectangles without copying the layer for
+ * every merged area. The rectangles are the same as those found by the
+ * greedy per-tile search of {@link TileMergeMode}.
+ * 
+ * Each cell stores a merge class. Cells with the same class can be merged into
+ * the same collision and cells with class 0 are not merged at all. For the
+ * built-in {@link TiledCollisionMerger}s, which only compare tiles and not
+ * their positions, classes are assigned once per distinct tile id by
+ * comparing the first occurrence of each tile id against the first occurrence
+ * of every existing class, so merging never needs to call the
+ * {@link TiledCollisionMerger} per cell. Any other {@link TiledCollisionMerger}
+ * is called for every cell against the first cell of the area being merged.
+ */
+class TileMergeGrid {
+	/**
+	 * The amount of ints used to store each merged rectangle: x, y, columns,
+	 * rows and merge class
+	 */
+	public static final int RECTANGLE_SIZE = 5;
+
+	private final TiledMap tiledMap;
+	private final TileLayer layer;
+	/**
+	 * The {@link TiledCollisionMerger} to call per cell or null if cells are
+	 * only compared by merge class
+	 */
+	private final TiledCollisionMerger cellMerger;
+	/**
+	 * The coordinates (in tiles) of the grid within the {@link TileLayer}
+	 */
+	private final int offsetX, offsetY;
+	private final int width, height;
+	private final int[] tileIds;
+	private final int[] classes;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tiledMap
+	 *            The {@link TiledMap} the layer belongs to
+	 * @param layer
+	 *            The {@link TileLayer} to merge
+	 * @param collisionMerger
+	 *            The {@link TiledCollisionMerger} to determine mergable tiles
+	 *            with
+	 * @param emptySpaces
+	 *            True if empty spaces should be merged, false if collisions
+	 *            should be merged
+	 */
+	public TileMergeGrid(TiledMap tiledMap, TileLayer layer, TiledCollisionMerger collisionMerger,
+			boolean emptySpaces) {
+		this.tiledMap = tiledMap;
+		this.layer = layer;
+		this.offsetX = 0;
+		this.offsetY = 0;
+		this.width = layer.getWidth();
+		this.height = layer.getHeight();
+		this.tileIds = new int[width * height];
+		this.classes = new int[tileIds.length];
+
+		layer.getTileIds(0, 0, width, height, tileIds);
+		if (isTileMerger(collisionMerger)) {
+			cellMerger = null;
+		} else {
+			cellMerger = collisionMerger;
+		}
+
+		if (emptySpaces) {
+			for (int i = 0; i < tileIds.length; i++) {
+				classes[i] = tileIds[i] == 0 ? 1 : 0;
+			}
+		} else if (cellMerger != null) {
+			for (int i = 0; i < tileIds.length; i++) {
+				classes[i] = tileIds[i] == 0 ? 0 : 1;
+			}
+		} else {
+			classifyCollisions(collisionMerger);
+		}
+	}
+
+	/**
+	 * Constructs a grid over an area of a {@link TileLayer} where mergable
+	 * cells are marked by a collision array. The {@link TiledCollisionMerger}
+	 * is always called per cell.
+	 * 
+	 * @param tiledMap
+	 *            The {@link TiledMap} the layer belongs to
+	 * @param layer
+	 *            The {@link TileLayer} to merge
+	 * @param collisionMerger
+	 *            The {@link TiledCollisionMerger} to determine mergable tiles
+	 *            with
+	 * @param collisions
+	 *            The collisions of the layer indexed by [x][y]. Cells set to 0
+	 *            are not merged.
+	 * @param offsetX
+	 *            The x coordinate (in tiles) of the area
+	 * @param offsetY
+	 *            The y coordinate (in tiles) of the area
+	 * @param width
+	 *            The width (in tiles) of the area
+	 * @param height
+	 *            The height (in tiles) of the area
+	 */
+	public TileMergeGrid(TiledMap tiledMap, TileLayer layer, TiledCollisionMerger collisionMerger,
+			byte[][] collisions, int offsetX, int offsetY, int width, int height) {
+		this.tiledMap = tiledMap;
+		this.layer = layer;
+		this.cellMerger = collisionMerger;
+		this.offsetX = offsetX;
+		this.offsetY = offsetY;
+		this.width = width;
+		this.height = height;
+		this.tileIds = new int[width * height];
+		this.classes = new int[tileIds.length];
+
+		layer.getTileIds(offsetX, offsetY, width, height, tileIds);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				classes[(y * width) + x] = collisions[offsetX + x][offsetY + y] == 0 ? 0 : 1;
+			}
+		}
+	}
+
+	/**
+	 * Returns if a {@link TiledCollisionMerger} only compares the tiles
+	 * themselves, making the result the same for every pair of cells with the
+	 * same tile ids. Subclasses are excluded since they may override this.
+	 */
+	private static boolean isTileMerger(TiledCollisionMerger collisionMerger) {
+		final Class<?> mergerClass = collisionMerger.getClass();
+		return mergerClass == TileIdCollisionMerger.class || mergerClass == AllCollisionMerger.class
+				|| mergerClass == TilePropertyCollisionMerger.class;
+	}
+
+	private void classifyCollisions(TiledCollisionMerger collisionMerger) {
+		final IntIntMap tileIdClasses = new IntIntMap();
+		// The cell index of the first tile assigned to each class
+		final IntArray classCells = new IntArray();
+
+		for (int i = 0; i < tileIds.length; i++) {
+			final int tileId = tileIds[i];
+			if (tileId == 0) {
+				continue;
+			}
+			int mergeClass = tileIdClasses.get(tileId, 0);
+			if (mergeClass == 0) {
+				final int x = i % width;
+				final int y = i / width;
+				for (int j = 0; j < classCells.size; j++) {
+					final int classCell = classCells.get(j);
+					final int classX = classCell % width;
+					final int classY = classCell / width;
+					final Tile classTile = tiledMap.getTile(tileIds[classCell]);
+					if (collisionMerger.isMergable(tiledMap, layer, classTile, classX, classY, x, y)) {
+						mergeClass = j + 1;
+						break;
+					}
+				}
+				if (mergeClass == 0) {
+					classCells.add(i);
+					mergeClass = classCells.size;
+				}
+				tileIdClasses.put(tileId, mergeClass);
+			}
+			classes[i] = mergeClass;
+		}
+	}
+
+	/**
+	 * Returns if the tile at the given coordinates has not been merged yet
+	 * 
+	 * @param x
+	 *            The x coordinate (in tiles)
+	 * @param y
+	 *            The y coordinate (in tiles)
+	 * @return False if the tile is not mergable or is already part of a merged
+	 *         rectangle
+	 */
+	public boolean isMergable(int x, int y) {
+		return classes[(y * width) + x] != 0;
+	}
+
+	/**
+	 * Returns the amount of columns, starting at startX, that the area
+	 * startX,startY to startX + columns,startY + rows can be expanded to
+	 * 
+	 * @param startX
+	 *            The x coordinate (in tiles) of the area
+	 * @param startY
+	 *            The y coordinate (in tiles) of the area
+	 * @param columns
+	 *            The current amount of columns in the area
+	 * @param rows
+	 *            The current amount of rows in the area
+	 * @param maxColumns
+	 *            The maximum amount of columns
+	 * @return The new amount of columns
+	 */
+	public int expandColumns(int startX, int startY, int columns, int rows, int maxColumns) {
+		final int mergeClass = classes[(startY * width) + startX];
+		final Tile startTile = getCellMergerTile(startX, startY);
+		while (columns < maxColumns && startX + columns < width
+				&& isColumnMergable(startTile, startX, startY, startX + columns, startY, rows, mergeClass)) {
+			columns++;
+		}
+		return columns;
+	}
+
+	/**
+	 * Returns the amount of rows, starting at startY, that the area
+	 * startX,startY to startX + columns,startY + rows can be expanded to
+	 * 
+	 * @param startX
+	 *            The x coordinate (in tiles) of the area
+	 * @param startY
+	 *            The y coordinate (in tiles) of the area
+	 * @param columns
+	 *            The current amount of columns in the area
+	 * @param rows
+	 *            The current amount of rows in the area
+	 * @param maxRows
+	 *            The maximum amount of rows
+	 * @return The new amount of rows
+	 */
+	public int expandRows(int startX, int startY, int columns, int rows, int maxRows) {
+		final int mergeClass = classes[(startY * width) + startX];
+		final Tile startTile = getCellMergerTile(startX, startY);
+		while (rows < maxRows && startY + rows < height
+				&& isRowMergable(startTile, startX, startY, startX, startY + rows, columns, mergeClass)) {
+			rows++;
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns the size of the largest square, starting at startX,startY, that
+	 * can be merged
+	 * 
+	 * @param startX
+	 *            The x coordinate (in tiles) of the square
+	 * @param startY
+	 *            The y coordinate (in tiles) of the square
+	 * @param maxSize
+	 *            The maximum width and height of the square
+	 * @return The width and height of the square
+	 */
+	public int expandSquare(int startX, int startY, int maxSize) {
+		final int mergeClass = classes[(startY * width) + startX];
+		final Tile startTile = getCellMergerTile(startX, startY);
+		int size = 1;
+		while (size < maxSize && startX + size < width && startY + size < height
+				&& isRowMergable(startTile, startX, startY, startX, startY + size, size + 1, mergeClass)
+				&& isColumnMergable(startTile, startX, startY, startX + size, startY, size, mergeClass)) {
+			size++;
+		}
+		return size;
+	}
+
+	private Tile getCellMergerTile(int x, int y) {
+		if (cellMerger == null) {
+			return null;
+		}
+		return tiledMap.getTile(tileIds[(y * width) + x]);
+	}
+
+	private boolean isRowMergable(Tile startTile, int originX, int originY, int startX, int y, int columns,
+			int mergeClass) {
+		final int offset = (y * width) + startX;
+		for (int i = offset; i < offset + columns; i++) {
+			if (classes[i] != mergeClass) {
+				return false;
+			}
+			if (cellMerger != null && !cellMerger.isMergable(tiledMap, layer, startTile, originX + offsetX,
+					originY + offsetY, startX + (i - offset) + offsetX, y + offsetY)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isColumnMergable(Tile startTile, int originX, int originY, int x, int startY, int rows,
+			int mergeClass) {
+		for (int y = startY; y < startY + rows; y++) {
+			if (classes[(y * width) + x] != mergeClass) {
+				return false;
+			}
+			if (cellMerger != null && !cellMerger.isMergable(tiledMap, layer, startTile, originX + offsetX,
+					originY + offsetY, x + offsetX, y + offsetY)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns if every cell of an area can be merged into a rectangle
+	 * starting at originX,originY. Only called by
+	 * {@link #joinRectangles(TileMergeMode, IntArray, int, int)} when the
+	 * {@link TiledCollisionMerger} is called per cell, since the cells have
+	 * already been cleared by then and cannot be compared by merge class.
+	 */
+	private boolean isCellMergerAreaMergable(int originX, int originY, int startX, int startY, int columns,
+			int rows) {
+		if (cellMerger == null) {
+			return true;
+		}
+		final Tile startTile = tiledMap.getTile(tileIds[(originY * width) + originX]);
+		for (int y = startY; y < startY + rows; y++) {
+			for (int x = startX; x < startX + columns; x++) {
+				if (!cellMerger.isMergable(tiledMap, layer, startTile, originX + offsetX, originY + offsetY,
+						x + offsetX, y + offsetY)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Merges all mergable tiles within a region of the grid
+	 * 
+	 * @param mergeMode
+	 *            The {@link TileMergeMode} to merge tiles with
+	 * @param regionX
+	 *            The x coordinate (in tiles) of the region
+	 * @param regionY
+	 *            The y coordinate (in tiles) of the region
+	 * @param regionWidth
+	 *            The width (in tiles) of the region
+	 * @param regionHeight
+	 *            The height (in tiles) of the region
+	 * @param maxColumns
+	 *            The maximum number of columns to merge
+	 * @param maxRows
+	 *            The maximum number of rows to merge
+	 * @param rectangles
+	 *            The {@link IntArray} to append the merged rectangles to
+	 */
+	public void mergeRegion(TileMergeMode mergeMode, int regionX, int regionY, int regionWidth, int regionHeight,
+			int maxColumns, int maxRows, IntArray rectangles) {
+		final int endX = Math.min(width, regionX + regionWidth);
+		final int endY = Math.min(height, regionY + regionHeight);
+
+		for (int x = regionX; x < endX; x++) {
+			for (int y = regionY; y < endY; y++) {
+				if (!isMergable(x, y)) {
+					continue;
+				}
+				mergeMode.merge(this, x, y, Math.min(maxColumns, endX - x), Math.min(maxRows, endY - y),
+						rectangles);
+			}
+		}
+	}
+
+	/**
+	 * Marks an area as merged so that its tiles are not merged again
+	 * 
+	 * @param startX
+	 *            The x coordinate (in tiles) of the area
+	 * @param startY
+	 *            The y coordinate (in tiles) of the area
+	 * @param columns
+	 *            The amount of columns in the area
+	 * @param rows
+	 *            The amount of rows in the area
+	 * @param rectangles
+	 *            The {@link IntArray} to append the merged area to
+	 */
+	public void merge(int startX, int startY, int columns, int rows, IntArray rectangles) {
+		rectangles.add(startX);
+		rectangles.add(startY);
+		rectangles.add(columns);
+		rectangles.add(rows);
+		rectangles.add(classes[(startY * width) + startX]);
+
+		for (int y = startY; y < startY + rows; y++) {
+			final int offset = (y * width) + startX;
+			for (int i = offset; i < offset + columns; i++) {
+				classes[i] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Re-merges the tiles of every rectangle that touches a border between
+	 * regions merged with
+	 * {@link #mergeRegion(TileMergeMode, int, int, int, int, int, int, IntArray)}
+	 * so that merges across region borders are not lost. Rectangles that lie
+	 * entirely inside a region are kept as they are. The re-merge runs on the
+	 * calling thread.
+	 * 
+	 * @param mergeMode
+	 *            The {@link TileMergeMode} the regions were merged with
+	 * @param rectangles
+	 *            The merged rectangles of all regions
+	 * @param regionSize
+	 *            The width and height (in tiles) of each region
+	 * @param maxColumns
+	 *            The maximum number of columns to merge
+	 * @param maxRows
+	 *            The maximum number of rows to merge
+	 */
+	public void remergeRegionBorders(TileMergeMode mergeMode, IntArray rectangles, int regionSize, int maxColumns,
+			int maxRows) {
+		final int[] items = rectangles.items;
+		int size = 0;
+		for (int i = 0; i < rectangles.size; i += RECTANGLE_SIZE) {
+			final int startX = items[i];
+			final int startY = items[i + 1];
+			final int columns = items[i + 2];
+			final int rows = items[i + 3];
+			if (isTouchingRegionBorder(startX, startY, columns, rows, regionSize)) {
+				// Restore the tiles so they can be merged again
+				final int mergeClass = items[i + 4];
+				for (int y = startY; y < startY + rows; y++) {
+					final int offset = (y * width) + startX;
+					for (int j = offset; j < offset + columns; j++) {
+						classes[j] = mergeClass;
+					}
+				}
+				continue;
+			}
+			if (size != i) {
+				System.arraycopy(items, i, items, size, RECTANGLE_SIZE);
+			}
+			size += RECTANGLE_SIZE;
+		}
+		rectangles.size = size;
+		mergeRegion(mergeMode, 0, 0, width, height, maxColumns, maxRows, rectangles);
+	}
+
+	private boolean isTouchingRegionBorder(int startX, int startY, int columns, int rows, int regionSize) {
+		if (startX > 0 && startX % regionSize == 0) {
+			return true;
+		}
+		if (startY > 0 && startY % regionSize == 0) {
+			return true;
+		}
+		if (startX + columns < width && (startX + columns) % regionSize == 0) {
+			return true;
+		}
+		return startY + rows < height && (startY + rows) % regionSize == 0;
+	}
+
+	/**
+	 * Reduces the amount of merged rectangles by joining rectangles of the
+	 * same merge class that share a full edge, first across columns and then
+	 * across rows, within the maxColumns/maxRows limits. The greedy
+	 * {@link TileMergeMode}s often leave runs of equal height (or width) side
+	 * by side, which this joins into a single rectangle. Joined rectangles are
+	 * removed from the {@link IntArray}. {@link TileMergeMode#AREA} results
+	 * are left unchanged since joined squares would no longer be squares.
+	 * 
+	 * @param mergeMode
+	 *            The {@link TileMergeMode} the rectangles were merged with
+	 * @param rectangles
+	 *            The merged rectangles
+	 * @param maxColumns
+	 *            The maximum number of columns in a joined rectangle
+	 * @param maxRows
+	 *            The maximum number of rows in a joined rectangle
+	 */
+	public void joinRectangles(TileMergeMode mergeMode, IntArray rectangles, int maxColumns, int maxRows) {
+		if (mergeMode == TileMergeMode.AREA) {
+			return;
+		}
+		final int[] items = rectangles.items;
+		// Maps the top-left cell of each rectangle to its offset in the array
+		final IntIntMap corners = new IntIntMap(rectangles.size / RECTANGLE_SIZE);
+		for (int i = 0; i < rectangles.size; i += RECTANGLE_SIZE) {
+			corners.put((items[i + 1] * width) + items[i], i);
+		}
+
+		// Join rectangles of equal height side by side
+		for (int i = 0; i < rectangles.size; i += RECTANGLE_SIZE) {
+			if (items[i + 2] == 0) {
+				continue;
+			}
+			while (items[i] + items[i + 2] < width) {
+				final int j = corners.get((items[i + 1] * width) + items[i] + items[i + 2], -1);
+				if (j < 0 || items[j + 3] != items[i + 3] || items[j + 4] != items[i + 4]
+						|| (long) items[i + 2] + items[j + 2] > maxColumns) {
+					break;
+				}
+				if (!isCellMergerAreaMergable(items[i], items[i + 1], items[j], items[j + 1], items[j + 2],
+						items[j + 3])) {
+					break;
+				}
+				items[i + 2] += items[j + 2];
+				items[j + 2] = 0;
+				corners.remove((items[j + 1] * width) + items[j], -1);
+			}
+		}
+
+		// Join rectangles of equal width on top of each other
+		for (int i = 0; i < rectangles.size; i += RECTANGLE_SIZE) {
+			if (items[i + 2] == 0) {
+				continue;
+			}
+			while (items[i + 1] + items[i + 3] < height) {
+				final int j = corners.get(((items[i + 1] + items[i + 3]) * width) + items[i], -1);
+				if (j < 0 || items[j + 2] != items[i + 2] || items[j + 4] != items[i + 4]
+						|| (long) items[i + 3] + items[j + 3] > maxRows) {
+					break;
+				}
+				if (!isCellMergerAreaMergable(items[i], items[i + 1], items[j], items[j + 1], items[j + 2],
+						items[j + 3])) {
+					break;
+				}
+				items[i + 3] += items[j + 3];
+				items[j + 2] = 0;
+				corners.remove((items[j + 1] * width) + items[j], -1);
+			}
+		}
+
+		// Remove joined rectangles
+		int size = 0;
+		for (int i = 0; i < rectangles.size; i += RECTANGLE_SIZE) {
+			if (items[i + 2] == 0) {
+				continue;
+			}
+			if (size != i) {
+				System.arraycopy(items, i, items, size, RECTANGLE_SIZE);
+			}
+			size += RECTANGLE_SIZE;
+		}
+		rectangles.size = size;
+	}
+
+	/**
+	 * Returns the tile id at the given coordinates
+	 * 
+	 * @param x
+	 *            The x coordinate (in tiles)
+	 * @param y
+	 *            The y coordinate (in tiles)
+	 * @return 0 if there is no tile
+	 */
+	public int getTileId(int x, int y) {
+		return tileIds[(y * width) + x];
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+}
@@ -12,10 +12,11 @@
 package org.mini2Dx.tiled.collisions;
 
 import org.mini2Dx.core.engine.Positionable;
-import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
 
+import com.badlogic.gdx.utils.IntArray;
+
 /**
  * Search method for determining mergable tiles
  */
@@ -25,65 +26,11 @@ public enum TileMergeMode {
 	 */
 	ROWS_COLUMNS {
 		@Override
-		public <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
-				TiledCollisionMerger collisionMerger, int startX, int startY, int maxColumns, int maxRows,
-				byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
-			Tile startTile = tiledMap.getTile(layer.getTileId(startX, startY));
-
-			int maxXTiles = 0;
-			int maxYTiles = 0;
-
-			if (maxRows > 1) {
-				for (int y = 1; y < layer.getHeight() - startY; y++) {
-					if (collisions[startX][startY + y] == 0) {
-						break;
-					}
-
-					if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX, startY + y)) {
-						break;
-					}
-					maxYTiles = y;
-					if (maxYTiles >= maxRows - 1) {
-						break;
-					}
-				}
-			}
-
-			if (maxColumns > 1) {
-				for (int x = 1; x < layer.getWidth() - startX; x++) {
-					boolean mergeable = true;
-					for (int y = 0; y <= maxYTiles; y++) {
-						if (collisions[startX + x][startY + y] == 0) {
-							mergeable = false;
-							break;
-						}
-
-						if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX + x,
-								startY + y)) {
-							mergeable = false;
-							break;
-						}
-					}
-					if (!mergeable) {
-						break;
-					}
-					maxXTiles = x;
-					if (maxXTiles >= maxColumns - 1) {
-						break;
-					}
-				}
-			}
-
-			// Clear the collision data for merged tiles
-			for (int x = 0; x <= maxXTiles; x++) {
-				for (int y = 0; y <= maxYTiles; y++) {
-					collisions[startX + x][startY + y] = 0;
-				}
-			}
-
-			return collisionFactory.createCollision(tiledMap, startTile, startX * tiledMap.getTileWidth(),
-					startY * tiledMap.getTileHeight(), tiledMap.getTileWidth() + (maxXTiles * tiledMap.getTileWidth()),
-					tiledMap.getTileHeight() + (maxYTiles * tiledMap.getTileHeight()));
+		void merge(TileMergeGrid grid, int startX, int startY, int maxColumns, int maxRows,
+				IntArray rectangles) {
+			int rows = grid.expandRows(startX, startY, 1, 1, maxRows);
+			int columns = grid.expandColumns(startX, startY, 1, rows, maxColumns);
+			grid.merge(startX, startY, columns, rows, rectangles);
 		}
 	},
 	/**
@@ -91,65 +38,11 @@ public enum TileMergeMode {
 	 */
 	COLUMNS_ROWS {
 		@Override
-		public <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
-				TiledCollisionMerger collisionMerger, int startX, int startY, int maxColumns, int maxRows,
-				byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
-			Tile startTile = tiledMap.getTile(layer.getTileId(startX, startY));
-
-			int maxXTiles = 0;
-			int maxYTiles = 0;
-
-			if (maxColumns > 1) {
-				for (int x = 1; x < layer.getWidth() - startX; x++) {
-					if (collisions[startX + x][startY] == 0) {
-						break;
-					}
-
-					if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX + x, startY)) {
-						break;
-					}
-					maxXTiles = x;
-					if (maxXTiles >= maxColumns - 1) {
-						break;
-					}
-				}
-			}
-
-			if (maxRows > 1) {
-				for (int y = 1; y < layer.getHeight() - startY; y++) {
-					boolean mergeable = true;
-					for (int x = 0; x <= maxXTiles; x++) {
-						if (collisions[startX + x][startY + y] == 0) {
-							mergeable = false;
-							break;
-						}
-
-						if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX + x,
-								startY + y)) {
-							mergeable = false;
-							break;
-						}
-					}
-					if (!mergeable) {
-						break;
-					}
-					maxYTiles = y;
-					if (maxYTiles >= maxRows - 1) {
-						break;
-					}
-				}
-			}
-
-			// Clear the collision data for merged tiles
-			for (int x = 0; x <= maxXTiles; x++) {
-				for (int y = 0; y <= maxYTiles; y++) {
-					collisions[startX + x][startY + y] = 0;
-				}
-			}
-
-			return collisionFactory.createCollision(tiledMap, startTile, startX * tiledMap.getTileWidth(),
-					startY * tiledMap.getTileHeight(), tiledMap.getTileWidth() + (maxXTiles * tiledMap.getTileWidth()),
-					tiledMap.getTileHeight() + (maxYTiles * tiledMap.getTileHeight()));
+		void merge(TileMergeGrid grid, int startX, int startY, int maxColumns, int maxRows,
+				IntArray rectangles) {
+			int columns = grid.expandColumns(startX, startY, 1, 1, maxColumns);
+			int rows = grid.expandRows(startX, startY, columns, 1, maxRows);
+			grid.merge(startX, startY, columns, rows, rectangles);
 		}
 	},
 	/**
@@ -157,71 +50,85 @@ public enum TileMergeMode {
 	 */
 	AREA {
 		@Override
-		public <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
-				TiledCollisionMerger collisionMerger, int startX, int startY, int maxColumns, int maxRows,
-				byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
-			Tile startTile = tiledMap.getTile(layer.getTileId(startX, startY));
-
-			int maxXTiles = 0;
-			int maxYTiles = 0;
-
-			if (maxColumns > 1 && maxRows > 1) {
-				for (int xy = 1; xy < layer.getWidth() - startX && xy < layer.getHeight() - startY; xy++) {
-					boolean mergable = true;
-					
-					for(int x = 0; x <= xy; x++) {
-						if (collisions[startX + x][startY + xy] == 0) {
-							mergable = false;
-							break;
-						}
-						if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX + x, startY + xy)) {
-							mergable = false;
-							break;
-						}
-					}
-					if(mergable) {
-						for(int y = 0; y <= xy; y++) {
-							if (collisions[startX + xy][startY + y] == 0) {
-								mergable = false;
-								break;
-							}
-							if (!collisionMerger.isMergable(tiledMap, layer, startTile, startX, startY, startX + xy, startY + y)) {
-								mergable = false;
-								break;
-							}
-						}
-					}
-					
-					if(!mergable) {
-						break;
-					}
-					
-					maxXTiles = xy;
-					maxYTiles = xy;
-					
-					if (maxXTiles >= maxColumns - 1) {
-						break;
-					}
-					if (maxYTiles >= maxRows - 1) {
-						break;
-					}
-				}
-			}
-			
-			// Clear the collision data for merged tiles
-			for (int x = 0; x <= maxXTiles; x++) {
-				for (int y = 0; y <= maxYTiles; y++) {
-					collisions[startX + x][startY + y] = 0;
-				}
-			}
-
-			return collisionFactory.createCollision(tiledMap, startTile, startX * tiledMap.getTileWidth(),
-					startY * tiledMap.getTileHeight(), tiledMap.getTileWidth() + (maxXTiles * tiledMap.getTileWidth()),
-					tiledMap.getTileHeight() + (maxYTiles * tiledMap.getTileHeight()));
+		void merge(TileMergeGrid grid, int startX, int startY, int maxColumns, int maxRows,
+				IntArray rectangles) {
+			int size = grid.expandSquare(startX, startY, Math.min(maxColumns, maxRows));
+			grid.merge(startX, startY, size, size, rectangles);
 		}
 	};
 
-	public abstract <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
+	/**
+	 * Merges the largest area starting at startX,startY that this mode can find
+	 * and marks it as merged in the {@link TileMergeGrid}. The search is greedy
+	 * and does not minimise the total amount of merged areas.
+	 * 
+	 * @param grid
+	 *            The {@link TileMergeGrid} to merge tiles in
+	 * @param startX
+	 *            The x coordinate (in tiles) of the first unmerged tile
+	 * @param startY
+	 *            The y coordinate (in tiles) of the first unmerged tile
+	 * @param maxColumns
+	 *            The maximum number of columns to merge
+	 * @param maxRows
+	 *            The maximum number of rows to merge
+	 * @param rectangles
+	 *            The {@link IntArray} to append the merged area to
+	 */
+	abstract void merge(TileMergeGrid grid, int startX, int startY, int maxColumns, int maxRows,
+			IntArray rectangles);
+
+	/**
+	 * Merges the largest area starting at startX,startY that this mode can find
+	 * and clears the merged tiles in the collisions array
+	 * 
+	 * @deprecated Copies the searched area of the layer on every call. Use
+	 *             {@link TiledCollisionMapper} to merge a whole layer without
+	 *             copying it.
+	 * @param collisionFactory
+	 *            The {@link TiledCollisionFactory} to create the merged
+	 *            collision with
+	 * @param collisionMerger
+	 *            The {@link TiledCollisionMerger} to determine mergable tiles
+	 *            with
+	 * @param startX
+	 *            The x coordinate (in tiles) of the first tile
+	 * @param startY
+	 *            The y coordinate (in tiles) of the first tile
+	 * @param maxColumns
+	 *            The maximum number of columns to merge
+	 * @param maxRows
+	 *            The maximum number of rows to merge
+	 * @param collisions
+	 *            The collisions of the layer indexed by [x][y]. Cells set to 0
+	 *            are not merged.
+	 * @param layer
+	 *            The {@link TileLayer} to merge
+	 * @param tiledMap
+	 *            The {@link TiledMap} the layer belongs to
+	 * @return The merged collision
+	 */
+	@Deprecated
+	public <T extends Positionable> T merge(TiledCollisionFactory<T> collisionFactory,
 			TiledCollisionMerger collisionMerger, final int startX, final int startY, final int maxColumns,
-			final int maxRows, byte[][] collisions, TileLayer layer, TiledMap tiledMap);
+			final int maxRows, byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
+		final int columns = Math.min(maxColumns, layer.getWidth() - startX);
+		final int rows = Math.min(maxRows, layer.getHeight() - startY);
+		final TileMergeGrid grid = new TileMergeGrid(tiledMap, layer, collisionMerger, collisions, startX, startY,
+				columns, rows);
+		final IntArray rectangles = new IntArray(TileMergeGrid.RECTANGLE_SIZE);
+		merge(grid, 0, 0, columns, rows, rectangles);
+
+		final int mergedColumns = rectangles.get(2);
+		final int mergedRows = rectangles.get(3);
+		// Clear the collision data for merged tiles
+		for (int x = startX; x < startX + mergedColumns; x++) {
+			for (int y = startY; y < startY + mergedRows; y++) {
+				collisions[x][y] = 0;
+			}
+		}
+		return collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(startX, startY)),
+				startX * tiledMap.getTileWidth(), startY * tiledMap.getTileHeight(),
+				mergedColumns * tiledMap.getTileWidth(), mergedRows * tiledMap.getTileHeight());
+	}
 }
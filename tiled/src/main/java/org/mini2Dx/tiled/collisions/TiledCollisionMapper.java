@@ -11,7 +11,10 @@
  */
 package org.mini2Dx.tiled.collisions;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.mini2Dx.core.collisions.QuadTree;
 import org.mini2Dx.core.engine.Positionable;
@@ -23,6 +26,9 @@ import org.mini2Dx.tiled.TiledObject;
 import org.mini2Dx.tiled.TiledObjectGroup;
 import org.mini2Dx.tiled.collisions.merger.TileIdCollisionMerger;
 
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
 /**
  * Utility class for converting {@link TiledMap} data into collision data.
  */
@@ -113,9 +119,11 @@ public class TiledCollisionMapper<T extends Positionable> {
 
 	private static byte[][] mapCollisionsByLayer(TiledMap tiledMap, TileLayer layer) {
 		byte[][] result = new byte[layer.getWidth()][layer.getHeight()];
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) > 0) {
+		int[] tileIds = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileIds(0, y, tileIds.length, 1, tileIds);
+			for (int x = 0; x < tileIds.length; x++) {
+				if (tileIds[x] > 0) {
 					result[x][y] = 1;
 				}
 			}
@@ -157,9 +165,11 @@ public class TiledCollisionMapper<T extends Positionable> {
 
 	private static byte[][] mapEmptySpacesByLayer(TiledMap tiledMap, TileLayer layer) {
 		byte[][] result = new byte[layer.getWidth()][layer.getHeight()];
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) == 0) {
+		int[] tileIds = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileIds(0, y, tileIds.length, 1, tileIds);
+			for (int x = 0; x < tileIds.length; x++) {
+				if (tileIds[x] == 0) {
 					result[x][y] = 1;
 				}
 			}
@@ -184,10 +194,12 @@ public class TiledCollisionMapper<T extends Positionable> {
 			return;
 		}
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) > 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+		int[] tileIds = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileIds(0, y, tileIds.length, 1, tileIds);
+			for (int x = 0; x < tileIds.length; x++) {
+				if (tileIds[x] > 0) {
+					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(tileIds[x]),
 							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
 							tiledMap.getTileHeight());
 					if (collision == null) {
@@ -216,10 +228,12 @@ public class TiledCollisionMapper<T extends Positionable> {
 			return;
 		}
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) == 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+		int[] tileIds = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileIds(0, y, tileIds.length, 1, tileIds);
+			for (int x = 0; x < tileIds.length; x++) {
+				if (tileIds[x] == 0) {
+					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(tileIds[x]),
 							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
 							tiledMap.getTileHeight());
 					if (collision == null) {
@@ -248,10 +262,12 @@ public class TiledCollisionMapper<T extends Positionable> {
 			return;
 		}
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) > 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+		int[] tileIds = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileIds(0, y, tileIds.length, 1, tileIds);
+			for (int x = 0; x < tileIds.length; x++) {
+				if (tileIds[x] > 0) {
+					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(tileIds[x]),
 							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
 							tiledMap.getTileHeight());
 					if (collision == null) {
@@ -280,10 +296,12 @@ public class TiledCollisionMapper<T extends Positionable> {
 			return;
 		}
 		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (layer.getTileId(x, y) == 0) {
-					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(layer.getTileId(x, y)),
+		int[] tileIds = new int[layer.getWidth()];
+		for (int y = 0; y < layer.getHeight(); y++) {
+			layer.getTileIds(0, y, tileIds.length, 1, tileIds);
+			for (int x = 0; x < tileIds.length; x++) {
+				if (tileIds[x] == 0) {
+					T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(tileIds[x]),
 							x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(), tiledMap.getTileWidth(),
 							tiledMap.getTileHeight());
 					if (collision == null) {
@@ -550,21 +568,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 			throw new MdxException("maxRows cannot be less than 1");
 		}
 
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		byte[][] collisions = mapCollisionsByLayer(tiledMap, layer);
-
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (collisions[x][y] == 0) {
-					continue;
-				}
-				T collision = mergeCollisions(x, y, maxColumns, maxRows, collisions, layer, tiledMap);
-				if (collision == null) {
-					continue;
-				}
-				quadTree.add(collision);
-			}
-		}
+		List<T> results = new ArrayList<T>();
+		mergeCollisions(results, tiledMap, tiledMap.getTileLayer(layerIndex), false, maxColumns, maxRows);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -633,21 +639,9 @@ public class TiledCollisionMapper<T extends Positionable> {
 			throw new MdxException("maxRows cannot be less than 1");
 		}
 
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		byte[][] emptySpaces = mapEmptySpacesByLayer(tiledMap, layer);
-
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (emptySpaces[x][y] == 0) {
-					continue;
-				}
-				T collision = mergeCollisions(x, y, maxColumns, maxRows, emptySpaces, layer, tiledMap);
-				if (collision == null) {
-					continue;
-				}
-				quadTree.add(collision);
-			}
-		}
+		List<T> results = new ArrayList<T>();
+		mergeCollisions(results, tiledMap, tiledMap.getTileLayer(layerIndex), true, maxColumns, maxRows);
+		quadTree.addAll(results);
 	}
 
 	/**
@@ -716,21 +710,7 @@ public class TiledCollisionMapper<T extends Positionable> {
 			throw new MdxException("maxRows cannot be less than 1");
 		}
 
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		byte[][] collisions = mapCollisionsByLayer(tiledMap, layer);
-
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (collisions[x][y] == 0) {
-					continue;
-				}
-				T collision = mergeCollisions(x, y, maxColumns, maxRows, collisions, layer, tiledMap);
-				if (collision == null) {
-					continue;
-				}
-				results.add(collision);
-			}
-		}
+		mergeCollisions(results, tiledMap, tiledMap.getTileLayer(layerIndex), false, maxColumns, maxRows);
 	}
 
 	/**
@@ -799,26 +779,315 @@ public class TiledCollisionMapper<T extends Positionable> {
 			throw new MdxException("maxRows cannot be less than 1");
 		}
 
-		TileLayer layer = tiledMap.getTileLayer(layerIndex);
-		byte[][] emptySpaces = mapEmptySpacesByLayer(tiledMap, layer);
+		mergeCollisions(results, tiledMap, tiledMap.getTileLayer(layerIndex), true, maxColumns, maxRows);
+	}
 
-		for (int x = 0; x < layer.getWidth(); x++) {
-			for (int y = 0; y < layer.getHeight(); y++) {
-				if (emptySpaces[x][y] == 0) {
-					continue;
-				}
-				T collision = mergeCollisions(x, y, maxColumns, maxRows, emptySpaces, layer, tiledMap);
-				if (collision == null) {
-					continue;
+	/**
+	 * Extracts and merges collisions in multiple {@link TiledMap} layers
+	 * concurrently and adds them to a {@link QuadTree} instance in a single
+	 * batch. Each layer is merged as a separate task on the
+	 * {@link ForkJoinPool} so the {@link TiledCollisionFactory} and
+	 * {@link TiledCollisionMerger} must be thread-safe.
+	 * 
+	 * @param quadTree
+	 *            The {@link QuadTree} instance to add collisions to
+	 * @param tiledMap
+	 *            The {@link TiledMap} to extract collisions from
+	 * @param pool
+	 *            The {@link ForkJoinPool} to merge the layers on
+	 * @param layerIndices
+	 *            The indices of the layers to extract collisions from. Each
+	 *            tile drawn in the layers is treated as a collision.
+	 */
+	public void mapAndMergeCollisionsByLayers(QuadTree<T> quadTree, TiledMap tiledMap, ForkJoinPool pool,
+			int... layerIndices) {
+		List<T> results = new ArrayList<T>();
+		mapAndMergeCollisionsByLayers(results, tiledMap, pool, layerIndices);
+		quadTree.addAll(results);
+	}
+
+	/**
+	 * Extracts and merges collisions in multiple {@link TiledMap} layers
+	 * concurrently and adds them to a {@link List} instance. Each layer is
+	 * merged as a separate task on the {@link ForkJoinPool} so the
+	 * {@link TiledCollisionFactory} and {@link TiledCollisionMerger} must be
+	 * thread-safe.
+	 * 
+	 * @param results
+	 *            The {@link List} instance to add collisions to. Collisions
+	 *            are added in the same order as the layer indices.
+	 * @param tiledMap
+	 *            The {@link TiledMap} to extract collisions from
+	 * @param pool
+	 *            The {@link ForkJoinPool} to merge the layers on
+	 * @param layerIndices
+	 *            The indices of the layers to extract collisions from. Each
+	 *            tile drawn in the layers is treated as a collision.
+	 */
+	public void mapAndMergeCollisionsByLayers(List<T> results, TiledMap tiledMap, ForkJoinPool pool,
+			int... layerIndices) {
+		if (layerIndices.length == 0) {
+			return;
+		}
+		LayerMergeTask task = new LayerMergeTask(tiledMap, layerIndices, 0, layerIndices.length);
+		pool.invoke(task);
+		results.addAll(task.results);
+	}
+
+	/**
+	 * Extracts and merges collisions in a {@link TiledMap} layer by splitting
+	 * the layer into square regions that are merged concurrently, then merging
+	 * the collisions that touch a region border again across the whole layer.
+	 * The collisions are added to a {@link QuadTree} instance in a single batch.
+	 * 
+	 * With {@link TileMergeMode#ROWS_COLUMNS} and
+	 * {@link TileMergeMode#COLUMNS_ROWS} this produces about as many collisions
+	 * as {@link #mapAndMergeCollisionsByLayer(List, TiledMap, int)}. With
+	 * {@link TileMergeMode#AREA} the squares inside each region are kept, so
+	 * large mergable areas can produce more collisions than merging the whole
+	 * layer at once.
+	 * 
+	 * @param quadTree
+	 *            The {@link QuadTree} instance to add collisions to
+	 * @param tiledMap
+	 *            The {@link TiledMap} to extract collisions from
+	 * @param layerIndex
+	 *            The index of the layer to extract collisions from. Each tile drawn
+	 *            in the layer is treated as a collision.
+	 * @param regionSize
+	 *            The width and height (in tiles) of each region
+	 * @param pool
+	 *            The {@link ForkJoinPool} to merge the regions on
+	 */
+	public void mapAndMergeCollisionsByRegions(QuadTree<T> quadTree, TiledMap tiledMap, int layerIndex,
+			int regionSize, ForkJoinPool pool) {
+		mapAndMergeCollisionsByRegions(quadTree, tiledMap, layerIndex, regionSize, pool, Integer.MAX_VALUE,
+				Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Extracts and merges collisions in a {@link TiledMap} layer by splitting
+	 * the layer into square regions that are merged concurrently, then merging
+	 * the collisions that touch a region border again across the whole layer.
+	 * The collisions are added to a {@link QuadTree} instance in a single batch.
+	 * 
+	 * With {@link TileMergeMode#ROWS_COLUMNS} and
+	 * {@link TileMergeMode#COLUMNS_ROWS} this produces about as many collisions
+	 * as {@link #mapAndMergeCollisionsByLayer(List, TiledMap, int)}. With
+	 * {@link TileMergeMode#AREA} the squares inside each region are kept, so
+	 * large mergable areas can produce more collisions than merging the whole
+	 * layer at once.
+	 * 
+	 * @param quadTree
+	 *            The {@link QuadTree} instance to add collisions to
+	 * @param tiledMap
+	 *            The {@link TiledMap} to extract collisions from
+	 * @param layerIndex
+	 *            The index of the layer to extract collisions from. Each tile drawn
+	 *            in the layer is treated as a collision.
+	 * @param regionSize
+	 *            The width and height (in tiles) of each region
+	 * @param pool
+	 *            The {@link ForkJoinPool} to merge the regions on
+	 * @param maxColumns
+	 *            The maximum number of columns to merge
+	 * @param maxRows
+	 *            The maximum number of rows to merge
+	 */
+	public void mapAndMergeCollisionsByRegions(QuadTree<T> quadTree, TiledMap tiledMap, int layerIndex,
+			int regionSize, ForkJoinPool pool, int maxColumns, int maxRows) {
+		List<T> results = new ArrayList<T>();
+		mapAndMergeCollisionsByRegions(results, tiledMap, layerIndex, regionSize, pool, maxColumns, maxRows);
+		quadTree.addAll(results);
+	}
+
+	/**
+	 * Extracts and merges collisions in a {@link TiledMap} layer by splitting
+	 * the layer into square regions that are merged concurrently, then merging
+	 * the collisions that touch a region border again across the whole layer.
+	 * The collisions are added to a {@link List} instance.
+	 * 
+	 * With {@link TileMergeMode#ROWS_COLUMNS} and
+	 * {@link TileMergeMode#COLUMNS_ROWS} this produces about as many collisions
+	 * as {@link #mapAndMergeCollisionsByLayer(List, TiledMap, int)}. With
+	 * {@link TileMergeMode#AREA} the squares inside each region are kept, so
+	 * large mergable areas can produce more collisions than merging the whole
+	 * layer at once.
+	 * 
+	 * @param results
+	 *            The {@link List} instance to add collisions to
+	 * @param tiledMap
+	 *            The {@link TiledMap} to extract collisions from
+	 * @param layerIndex
+	 *            The index of the layer to extract collisions from. Each tile drawn
+	 *            in the layer is treated as a collision.
+	 * @param regionSize
+	 *            The width and height (in tiles) of each region
+	 * @param pool
+	 *            The {@link ForkJoinPool} to merge the regions on
+	 */
+	public void mapAndMergeCollisionsByRegions(List<T> results, TiledMap tiledMap, int layerIndex, int regionSize,
+			ForkJoinPool pool) {
+		mapAndMergeCollisionsByRegions(results, tiledMap, layerIndex, regionSize, pool, Integer.MAX_VALUE,
+				Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Extracts and merges collisions in a {@link TiledMap} layer by splitting
+	 * the layer into square regions that are merged concurrently, then merging
+	 * the collisions that touch a region border again across the whole layer.
+	 * The collisions are added to a {@link List} instance.
+	 * 
+	 * With {@link TileMergeMode#ROWS_COLUMNS} and
+	 * {@link TileMergeMode#COLUMNS_ROWS} this produces about as many collisions
+	 * as {@link #mapAndMergeCollisionsByLayer(List, TiledMap, int)}. With
+	 * {@link TileMergeMode#AREA} the squares inside each region are kept, so
+	 * large mergable areas can produce more collisions than merging the whole
+	 * layer at once.
+	 * 
+	 * @param results
+	 *            The {@link List} instance to add collisions to
+	 * @param tiledMap
+	 *            The {@link TiledMap} to extract collisions from
+	 * @param layerIndex
+	 *            The index of the layer to extract collisions from. Each tile drawn
+	 *            in the layer is treated as a collision.
+	 * @param regionSize
+	 *            The width and height (in tiles) of each region
+	 * @param pool
+	 *            The {@link ForkJoinPool} to merge the regions on
+	 * @param maxColumns
+	 *            The maximum number of columns to merge
+	 * @param maxRows
+	 *            The maximum number of rows to merge
+	 */
+	public void mapAndMergeCollisionsByRegions(List<T> results, TiledMap tiledMap, int layerIndex, int regionSize,
+			ForkJoinPool pool, int maxColumns, int maxRows) {
+		if (layerIndex < 0) {
+			return;
+		}
+		if (regionSize < 1) {
+			throw new MdxException("regionSize cannot be less than 1");
+		}
+		if (maxColumns < 0) {
+			throw new MdxException("maxColumns cannot be less than 1");
+		}
+		if (maxRows < 0) {
+			throw new MdxException("maxRows cannot be less than 1");
+		}
+
+		TileMergeGrid grid = new TileMergeGrid(tiledMap, tiledMap.getTileLayer(layerIndex), collisionMerger, false);
+		int regionsX = MathUtils.ceil(grid.getWidth() / (float) regionSize);
+		int regionsY = MathUtils.ceil(grid.getHeight() / (float) regionSize);
+
+		RegionMergeTask task = new RegionMergeTask(grid, regionSize, regionsX, maxColumns, maxRows, 0,
+				regionsX * regionsY);
+		pool.invoke(task);
+
+		grid.remergeRegionBorders(mergeMode, task.rectangles, regionSize, maxColumns, maxRows);
+		grid.joinRectangles(mergeMode, task.rectangles, maxColumns, maxRows);
+		createCollisions(results, tiledMap, grid, task.rectangles);
+	}
+
+	private void mergeCollisions(List<T> results, TiledMap tiledMap, TileLayer layer, boolean emptySpaces,
+			final int maxColumns, final int maxRows) {
+		TileMergeGrid grid = new TileMergeGrid(tiledMap, layer, collisionMerger, emptySpaces);
+		IntArray rectangles = new IntArray();
+		grid.mergeRegion(mergeMode, 0, 0, grid.getWidth(), grid.getHeight(), maxColumns, maxRows, rectangles);
+		createCollisions(results, tiledMap, grid, rectangles);
+	}
+
+	private void createCollisions(List<T> results, TiledMap tiledMap, TileMergeGrid grid, IntArray rectangles) {
+		for (int i = 0; i < rectangles.size; i += TileMergeGrid.RECTANGLE_SIZE) {
+			final int x = rectangles.get(i);
+			final int y = rectangles.get(i + 1);
+			T collision = collisionFactory.createCollision(tiledMap, tiledMap.getTile(grid.getTileId(x, y)),
+					x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight(),
+					rectangles.get(i + 2) * tiledMap.getTileWidth(), rectangles.get(i + 3) * tiledMap.getTileHeight());
+			if (collision == null) {
+				continue;
+			}
+			results.add(collision);
+		}
+	}
+
+	/**
+	 * Merges a range of layers, forking a sub-task per half of the range
+	 */
+	private class LayerMergeTask extends RecursiveAction {
+		private static final long serialVersionUID = 4163338296506312744L;
+
+		private final TiledMap tiledMap;
+		private final int[] layerIndices;
+		private final int from, to;
+		private final List<T> results = new ArrayList<T>();
+
+		public LayerMergeTask(TiledMap tiledMap, int[] layerIndices, int from, int to) {
+			this.tiledMap = tiledMap;
+			this.layerIndices = layerIndices;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				if (layerIndices[from] < 0) {
+					return;
 				}
-				results.add(collision);
+				mergeCollisions(results, tiledMap, tiledMap.getTileLayer(layerIndices[from]), false,
+						Integer.MAX_VALUE, Integer.MAX_VALUE);
+				return;
 			}
+			final int middle = (from + to) / 2;
+			LayerMergeTask left = new LayerMergeTask(tiledMap, layerIndices, from, middle);
+			LayerMergeTask right = new LayerMergeTask(tiledMap, layerIndices, middle, to);
+			invokeAll(left, right);
+			results.addAll(left.results);
+			results.addAll(right.results);
 		}
 	}
 
-	private T mergeCollisions(final int startX, final int startY, final int maxColumns, final int maxRows,
-			byte[][] collisions, TileLayer layer, TiledMap tiledMap) {
-		return mergeMode.merge(collisionFactory, collisionMerger, startX, startY, maxColumns, maxRows, collisions,
-				layer, tiledMap);
+	/**
+	 * Merges a range of regions of a {@link TileMergeGrid}, forking a sub-task
+	 * per half of the range
+	 */
+	private class RegionMergeTask extends RecursiveAction {
+		private static final long serialVersionUID = -6806328474183914311L;
+
+		private final TileMergeGrid grid;
+		private final int regionSize, regionsX, maxColumns, maxRows;
+		private final int from, to;
+		private final IntArray rectangles = new IntArray();
+
+		public RegionMergeTask(TileMergeGrid grid, int regionSize, int regionsX, int maxColumns, int maxRows,
+				int from, int to) {
+			this.grid = grid;
+			this.regionSize = regionSize;
+			this.regionsX = regionsX;
+			this.maxColumns = maxColumns;
+			this.maxRows = maxRows;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				final int regionX = (from % regionsX) * regionSize;
+				final int regionY = (from / regionsX) * regionSize;
+				grid.mergeRegion(mergeMode, regionX, regionY, regionSize, regionSize, maxColumns, maxRows,
+						rectangles);
+				return;
+			}
+			final int middle = (from + to) / 2;
+			RegionMergeTask left = new RegionMergeTask(grid, regionSize, regionsX, maxColumns, maxRows, from,
+					middle);
+			RegionMergeTask right = new RegionMergeTask(grid, regionSize, regionsX, maxColumns, maxRows, middle,
+					to);
+			invokeAll(left, right);
+			rectangles.addAll(left.rectangles);
+			rectangles.addAll(right.rectangles);
+		}
 	}
 }
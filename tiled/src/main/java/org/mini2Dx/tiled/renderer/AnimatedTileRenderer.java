@@ -87,6 +87,15 @@ public class AnimatedTileRenderer implements TileRenderer {
 		return tilesetSource.getTileImage(frames[currentFrame].tileId);
 	}
 
+	/**
+	 * Returns the frames of this animation
+	 * 
+	 * @return The {@link TileFrame}s in playback order
+	 */
+	public TileFrame[] getFrames() {
+		return frames;
+	}
+
 	@Override
 	public void dispose() {
 	}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import org.mini2Dx.tiled.StaggerAxis;
+import org.mini2Dx.tiled.StaggerIndex;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * A {@link TileLayerChunkCache} for hexagonal {@link TileLayer}s. Tiles are
+ * drawn row by row and on maps staggered along the x axis, the staggered
+ * (lower) tiles of each row are drawn after the others.
+ */
+public class HexagonalTileLayerChunkCache extends TileLayerChunkCache {
+	private final int hexWidth, hexHeight;
+	private final int halfHexWidth, halfHexHeight, threeQuarterHexWidth, threeQuarterHexHeight;
+
+	public HexagonalTileLayerChunkCache(TiledMap tiledMap, TileLayer layer, int hexWidth, int hexHeight) {
+		this(tiledMap, layer, hexWidth, hexHeight, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_RESIDENT_CHUNKS);
+	}
+
+	public HexagonalTileLayerChunkCache(TiledMap tiledMap, TileLayer layer, int hexWidth, int hexHeight,
+			int chunkSize, int maxResidentChunks) {
+		super(tiledMap, layer, chunkSize, maxResidentChunks);
+		this.hexWidth = hexWidth;
+		this.hexHeight = hexHeight;
+		this.halfHexWidth = MathUtils.round(hexWidth * 0.5f);
+		this.halfHexHeight = MathUtils.round(hexHeight * 0.5f);
+		this.threeQuarterHexWidth = MathUtils.round(hexWidth * 0.75f);
+		this.threeQuarterHexHeight = MathUtils.round(hexHeight * 0.75f);
+	}
+
+	@Override
+	protected boolean isDrawingPartialChunksPerTile() {
+		return true;
+	}
+
+	@Override
+	protected int cacheTiles(SpriteCache spriteCache, int startTileX, int startTileY, int endTileX, int endTileY) {
+		if (tiledMap.getStaggerAxis() == StaggerAxis.X) {
+			return cacheStaggeredXTiles(spriteCache, startTileX, startTileY, endTileX, endTileY);
+		}
+		return cacheStaggeredYTiles(spriteCache, startTileX, startTileY, endTileX, endTileY);
+	}
+
+	private int cacheStaggeredXTiles(SpriteCache spriteCache, int startTileX, int startTileY, int endTileX,
+			int endTileY) {
+		int totalTiles = 0;
+		for (int y = startTileY; y < endTileY; y++) {
+			for (int x = startTileX; x < endTileX; x++) {
+				if (isStaggered(x)) {
+					continue;
+				}
+				if (cacheTile(spriteCache, x, y, x * threeQuarterHexWidth, y * hexHeight)) {
+					totalTiles++;
+				}
+			}
+			for (int x = startTileX; x < endTileX; x++) {
+				if (!isStaggered(x)) {
+					continue;
+				}
+				if (cacheTile(spriteCache, x, y, x * threeQuarterHexWidth, (y * hexHeight) + halfHexHeight)) {
+					totalTiles++;
+				}
+			}
+		}
+		return totalTiles;
+	}
+
+	private int cacheStaggeredYTiles(SpriteCache spriteCache, int startTileX, int startTileY, int endTileX,
+			int endTileY) {
+		int totalTiles = 0;
+		for (int y = startTileY; y < endTileY; y++) {
+			int offsetX = isStaggered(y) ? halfHexWidth : 0;
+			for (int x = startTileX; x < endTileX; x++) {
+				if (cacheTile(spriteCache, x, y, (x * hexWidth) + offsetX, y * threeQuarterHexHeight)) {
+					totalTiles++;
+				}
+			}
+		}
+		return totalTiles;
+	}
+
+	private boolean isStaggered(int index) {
+		if (tiledMap.getStaggerIndex() == StaggerIndex.EVEN) {
+			return index % 2 == 0;
+		}
+		return index % 2 == 1;
+	}
+}
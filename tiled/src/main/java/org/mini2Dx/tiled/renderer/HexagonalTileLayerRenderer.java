@@ -12,27 +12,55 @@
 package org.mini2Dx.tiled.renderer;
 
 import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
-import org.mini2Dx.tiled.Tileset;
 
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntMap;
 
 /**
  * Renders hexagonal {@link TileLayer}s
  */
 public class HexagonalTileLayerRenderer implements TileLayerRenderer {
+	private IntMap<TileLayerChunkCache> layerCaches;
+
 	private final boolean cacheLayers;
 	private final TiledMap tiledMap;
+	private final int chunkSize, maxResidentChunks;
 
 	private final int hexWidth, hexHeight;
 	private final int quarterHexWidth, quarterHexHeight, halfHexWidth, halfHexHeight, threeQuarterHexWidth,
 			threeQuarterHexHeight;
 
 	public HexagonalTileLayerRenderer(TiledMap tiledMap, boolean cacheLayers) {
+		this(tiledMap, cacheLayers, TileLayerChunkCache.DEFAULT_CHUNK_SIZE,
+				TileLayerChunkCache.DEFAULT_MAX_RESIDENT_CHUNKS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tiledMap
+	 *            The {@link TiledMap} being rendered
+	 * @param cacheLayers
+	 *            True if layers should be cached as chunks
+	 * @param chunkSize
+	 *            The width and height of each cached chunk in tiles
+	 * @param maxResidentChunks
+	 *            The maximum amount of cached chunks to keep per layer
+	 */
+	public HexagonalTileLayerRenderer(TiledMap tiledMap, boolean cacheLayers, int chunkSize,
+			int maxResidentChunks) {
 		super();
 		this.cacheLayers = cacheLayers;
 		this.tiledMap = tiledMap;
+		this.chunkSize = chunkSize;
+		this.maxResidentChunks = maxResidentChunks;
+
+		if (cacheLayers) {
+			layerCaches = new IntMap<TileLayerChunkCache>();
+		}
 
 		switch (tiledMap.getStaggerAxis()) {
 		case X:
@@ -57,7 +85,12 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 	@Override
 	public void drawLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX, int startTileY,
 			int widthInTiles, int heightInTiles) {
-		// TODO: Support caching
+		if (cacheLayers) {
+			renderCachedLayer(g, layer, renderX, renderY, startTileX, startTileY, widthInTiles, heightInTiles);
+			return;
+		}
+		widthInTiles = Math.min(widthInTiles, layer.getWidth() - startTileX);
+		heightInTiles = Math.min(heightInTiles, layer.getHeight() - startTileY);
 		switch (tiledMap.getStaggerAxis()) {
 		case X:
 			drawStaggeredXLayer(g, layer, renderX, renderY, startTileX, startTileY, widthInTiles, heightInTiles);
@@ -69,6 +102,34 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 		}
 	}
 
+	private void renderCachedLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
+			int startTileY, int widthInTiles, int heightInTiles) {
+		TileLayerChunkCache layerCache = layerCaches.get(layer.getIndex());
+		if (layerCache == null) {
+			layerCache = new HexagonalTileLayerChunkCache(tiledMap, layer, hexWidth, hexHeight, chunkSize,
+					maxResidentChunks);
+			layerCaches.put(layer.getIndex(), layerCache);
+		}
+
+		// Chunks are cached with tile 0,0 at 0,0
+		int offsetX, offsetY;
+		switch (tiledMap.getStaggerAxis()) {
+		case X:
+			offsetX = renderX - (startTileX * threeQuarterHexWidth);
+			offsetY = renderY - (startTileY * hexHeight);
+			break;
+		case Y:
+		default:
+			offsetX = renderX - (startTileX * hexWidth);
+			offsetY = renderY - (startTileY * threeQuarterHexHeight);
+			break;
+		}
+
+		g.translate(-offsetX, -offsetY);
+		layerCache.draw(g, startTileX, startTileY, widthInTiles, heightInTiles);
+		g.translate(offsetX, offsetY);
+	}
+
 	private void drawStaggeredXLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
 			int startTileY, int widthInTiles, int heightInTiles) {
 		for (int y = 0; y < heightInTiles; y++) {
@@ -102,7 +163,7 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 			default: {
 				int row1Offset = startTileX % 2 == 0 ? 0 : 1;
 				int row2Offset = startTileX % 2 == 0 ? 1 : 0;
-				for (int x = row1Offset; x <  + widthInTiles; x += 2) {
+				for (int x = row1Offset; x < widthInTiles; x += 2) {
 					int tileId = layer.getTileId(x + startTileX, y + startTileY);
 
 					if (tileId < 1) {
@@ -144,14 +205,14 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 
 				switch (tiledMap.getStaggerIndex()) {
 				case EVEN: {
-					if (y % 2 == 0) {
+					if ((y + startTileY) % 2 == 0) {
 						tileRenderX += halfHexWidth;
 					}
 					break;
 				}
 				default:
 				case ODD: {
-					if (y % 2 == 1) {
+					if ((y + startTileY) % 2 == 1) {
 						tileRenderX += halfHexWidth;
 					}
 					break;
@@ -164,18 +225,22 @@ public class HexagonalTileLayerRenderer implements TileLayerRenderer {
 	}
 
 	private void renderTile(Graphics g, int tileId, int tileRenderX, int tileRenderY) {
-		for (int i = 0; i < tiledMap.getTilesets().size(); i++) {
-			Tileset tileset = tiledMap.getTilesets().get(i);
-			if (tileset.contains(tileId)) {
-				tileset.getTile(tileId).draw(g, tileRenderX, tileRenderY);
-				break;
-			}
+		Tile tile = tiledMap.getTile(tileId);
+		if (tile == null) {
+			return;
 		}
+		tile.draw(g, tileRenderX, tileRenderY);
 	}
 
 	@Override
 	public void dispose() {
-
+		if (layerCaches == null) {
+			return;
+		}
+		for (TileLayerChunkCache layerCache : layerCaches.values()) {
+			layerCache.dispose();
+		}
+		layerCaches.clear();
 	}
 
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+
+/**
+ * A {@link TileLayerChunkCache} for isometric {@link TileLayer}s. Tiles and
+ * chunks are both ordered by diagonal (x + y) so that tiles further back are
+ * drawn first.
+ */
+public class IsometricTileLayerChunkCache extends TileLayerChunkCache {
+	private final float halfTileWidth, halfTileHeight;
+
+	public IsometricTileLayerChunkCache(TiledMap tiledMap, TileLayer layer) {
+		this(tiledMap, layer, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_RESIDENT_CHUNKS);
+	}
+
+	public IsometricTileLayerChunkCache(TiledMap tiledMap, TileLayer layer, int chunkSize, int maxResidentChunks) {
+		super(tiledMap, layer, chunkSize, maxResidentChunks);
+		this.halfTileWidth = tiledMap.getTileWidth() / 2f;
+		this.halfTileHeight = tiledMap.getTileHeight() / 2f;
+	}
+
+	@Override
+	protected boolean isDrawingPartialChunksPerTile() {
+		return true;
+	}
+
+	@Override
+	protected void drawChunks(Graphics g, int startChunkX, int startChunkY, int endChunkX, int endChunkY) {
+		for (int diagonal = startChunkX + startChunkY; diagonal <= endChunkX + endChunkY; diagonal++) {
+			int firstChunkX = Math.max(startChunkX, diagonal - endChunkY);
+			int lastChunkX = Math.min(endChunkX, diagonal - startChunkY);
+			for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+				drawChunk(g, chunkX, diagonal - chunkX);
+			}
+		}
+	}
+
+	@Override
+	protected int cacheTiles(SpriteCache spriteCache, int startTileX, int startTileY, int endTileX, int endTileY) {
+		int totalTiles = 0;
+		for (int diagonal = startTileX + startTileY; diagonal <= endTileX + endTileY - 2; diagonal++) {
+			int firstTileX = Math.max(startTileX, diagonal - (endTileY - 1));
+			int lastTileX = Math.min(endTileX - 1, diagonal - startTileY);
+			for (int x = firstTileX; x <= lastTileX; x++) {
+				int y = diagonal - x;
+				if (cacheTile(spriteCache, x, y, (x - y) * halfTileWidth, (x + y) * halfTileHeight)) {
+					totalTiles++;
+				}
+			}
+		}
+		return totalTiles;
+	}
+}
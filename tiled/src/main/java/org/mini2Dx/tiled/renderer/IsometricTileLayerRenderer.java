@@ -12,39 +12,84 @@
 package org.mini2Dx.tiled.renderer;
 
 import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
-import org.mini2Dx.tiled.Tileset;
 
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntMap;
 
 /**
  * Renders isometric {@link TileLayer}s
  */
 public class IsometricTileLayerRenderer implements TileLayerRenderer {
-	private TiledMapRenderArea mapClip, tmpClip;
+	private IntMap<TileLayerChunkCache> layerCaches;
 	
 	private final boolean cacheLayers;
 	private final TiledMap tiledMap;
+	private final int chunkSize, maxResidentChunks;
 	private final float halfTileWidth, halfTileHeight;
 
 	public IsometricTileLayerRenderer(TiledMap tiledMap, boolean cacheLayers) {
+		this(tiledMap, cacheLayers, TileLayerChunkCache.DEFAULT_CHUNK_SIZE,
+				TileLayerChunkCache.DEFAULT_MAX_RESIDENT_CHUNKS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tiledMap
+	 *            The {@link TiledMap} being rendered
+	 * @param cacheLayers
+	 *            True if layers should be cached as chunks
+	 * @param chunkSize
+	 *            The width and height of each cached chunk in tiles
+	 * @param maxResidentChunks
+	 *            The maximum amount of cached chunks to keep per layer
+	 */
+	public IsometricTileLayerRenderer(TiledMap tiledMap, boolean cacheLayers, int chunkSize,
+			int maxResidentChunks) {
 		super();
 		this.cacheLayers = cacheLayers;
 		this.tiledMap = tiledMap;
+		this.chunkSize = chunkSize;
+		this.maxResidentChunks = maxResidentChunks;
 		
 		this.halfTileWidth = tiledMap.getTileWidth() / 2f;
 		this.halfTileHeight = tiledMap.getTileHeight() / 2f;
+
+		if (cacheLayers) {
+			layerCaches = new IntMap<TileLayerChunkCache>();
+		}
 	}
 
 	@Override
 	public void drawLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX, int startTileY,
 			int widthInTiles, int heightInTiles) {
-		
-		//TODO: Support cached layers through SpriteCache
+		if (cacheLayers) {
+			renderCachedLayer(g, layer, renderX, renderY, startTileX, startTileY, widthInTiles, heightInTiles);
+			return;
+		}
 		renderLayer(g, layer, renderX, renderY, startTileX,
 				startTileY, widthInTiles, heightInTiles);
 	}
+
+	private void renderCachedLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
+			int startTileY, int widthInTiles, int heightInTiles) {
+		TileLayerChunkCache layerCache = layerCaches.get(layer.getIndex());
+		if (layerCache == null) {
+			layerCache = new IsometricTileLayerChunkCache(tiledMap, layer, chunkSize, maxResidentChunks);
+			layerCaches.put(layer.getIndex(), layerCache);
+		}
+
+		// Chunks are cached with tile 0,0 at 0,0
+		int offsetX = MathUtils.round(renderX - ((startTileX - startTileY) * halfTileWidth));
+		int offsetY = MathUtils.round(renderY - ((startTileX + startTileY) * halfTileHeight));
+
+		g.translate(-offsetX, -offsetY);
+		layerCache.draw(g, startTileX, startTileY, widthInTiles, heightInTiles);
+		g.translate(offsetX, offsetY);
+	}
 	
 	private void renderLayer(Graphics g, TileLayer layer, int renderX,
 			int renderY, int startTileX, int startTileY, int widthInTiles,
@@ -69,13 +114,11 @@ public class IsometricTileLayerRenderer implements TileLayerRenderer {
 				int tileRenderX = MathUtils.round(renderX + ((relativeTileX - relativeTileY) * halfTileWidth));
 				int tileRenderY = MathUtils.round(renderY + ((relativeTileX + relativeTileY) * halfTileHeight));
 				
-				for (int i = 0; i < tiledMap.getTilesets().size(); i++) {
-					Tileset tileset = tiledMap.getTilesets().get(i);
-					if (tileset.contains(tileId)) {
-						tileset.getTile(tileId).draw(g, tileRenderX, tileRenderY);
-						break;
-					}
+				Tile tile = tiledMap.getTile(tileId);
+				if (tile == null) {
+					continue;
 				}
+				tile.draw(g, tileRenderX, tileRenderY);
 			}
 		}
 	}
@@ -106,7 +149,13 @@ public class IsometricTileLayerRenderer implements TileLayerRenderer {
 	
 	@Override
 	public void dispose() {
-		
+		if (layerCaches == null) {
+			return;
+		}
+		for (TileLayerChunkCache layerCache : layerCaches.values()) {
+			layerCache.dispose();
+		}
+		layerCaches.clear();
 	}
 
 }
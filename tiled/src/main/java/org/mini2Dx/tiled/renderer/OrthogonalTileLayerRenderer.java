@@ -11,41 +11,57 @@
  */
 package org.mini2Dx.tiled.renderer;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.Tile;
 import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
-import org.mini2Dx.tiled.Tileset;
 
-import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntMap;
 
 /**
  * Renders orthogonal {@link TileLayer}s
  */
 public class OrthogonalTileLayerRenderer implements TileLayerRenderer {
-	private TiledMapRenderArea mapClip, tmpClip;
-	private SpriteCache layerCache;
-	private Map<Integer, Integer> layerCacheIds;
+	private IntMap<TileLayerChunkCache> layerCaches;
 
 	private final boolean cacheLayers;
 	private final TiledMap tiledMap;
+	private final int chunkSize, maxResidentChunks;
 	private final Rectangle graphicsClip = new Rectangle();
+	private int[] rowBuffer = new int[0];
+
+	int visibleStartTileX, visibleStartTileY, visibleWidthInTiles, visibleHeightInTiles;
 
 	public OrthogonalTileLayerRenderer(TiledMap tiledMap, boolean cacheLayers) {
+		this(tiledMap, cacheLayers, TileLayerChunkCache.DEFAULT_CHUNK_SIZE,
+				TileLayerChunkCache.DEFAULT_MAX_RESIDENT_CHUNKS);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param tiledMap
+	 *            The {@link TiledMap} being rendered
+	 * @param cacheLayers
+	 *            True if layers should be cached as chunks
+	 * @param chunkSize
+	 *            The width and height of each cached chunk in tiles
+	 * @param maxResidentChunks
+	 *            The maximum amount of cached chunks to keep per layer
+	 */
+	public OrthogonalTileLayerRenderer(TiledMap tiledMap, boolean cacheLayers, int chunkSize,
+			int maxResidentChunks) {
 		super();
 		this.cacheLayers = cacheLayers;
 		this.tiledMap = tiledMap;
+		this.chunkSize = chunkSize;
+		this.maxResidentChunks = maxResidentChunks;
 
 		if (cacheLayers) {
-			layerCache = new SpriteCache(5000, true);
-			layerCacheIds = new HashMap<Integer, Integer>();
+			layerCaches = new IntMap<TileLayerChunkCache>();
 		}
-		mapClip = new TiledMapRenderArea();
-		tmpClip = new TiledMapRenderArea();
 	}
 
 	@Override
@@ -73,10 +89,14 @@ public class OrthogonalTileLayerRenderer implements TileLayerRenderer {
 			g.setClip(graphicsClip);
 		}
 
-		if (cacheLayers) {
-			renderCachedLayer(g, layer, tileRenderX, tileRenderY, startTileX, startTileY, widthInTiles, heightInTiles);
-		} else {
-			renderLayer(g, layer, tileRenderX, tileRenderY, startTileX, startTileY, widthInTiles, heightInTiles);
+		if (calculateVisibleTiles(g, layer, startTileX, startTileY, widthInTiles, heightInTiles)) {
+			if (cacheLayers) {
+				renderCachedLayer(g, layer, tileRenderX, tileRenderY, visibleStartTileX, visibleStartTileY,
+						visibleWidthInTiles, visibleHeightInTiles);
+			} else {
+				renderLayer(g, layer, tileRenderX, tileRenderY, visibleStartTileX, visibleStartTileY,
+						visibleWidthInTiles, visibleHeightInTiles);
+			}
 		}
 
 		g.removeClip();
@@ -89,96 +109,115 @@ public class OrthogonalTileLayerRenderer implements TileLayerRenderer {
 
 	private void renderCachedLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
 			int startTileY, int widthInTiles, int heightInTiles) {
-		tmpClip.set(startTileX, startTileY, widthInTiles, heightInTiles);
-		if (!mapClip.equals(tmpClip)) {
-			layerCache.clear();
-			mapClip.set(startTileX, startTileY, widthInTiles, heightInTiles);
-		}
-		if (!layerCacheIds.containsKey(layer)) {
-			renderLayerToCache(g, layer, renderX, renderY, startTileX, startTileY, widthInTiles, heightInTiles);
+		TileLayerChunkCache layerCache = layerCaches.get(layer.getIndex());
+		if (layerCache == null) {
+			layerCache = new TileLayerChunkCache(tiledMap, layer, chunkSize, maxResidentChunks);
+			layerCaches.put(layer.getIndex(), layerCache);
 		}
-
-		int cacheId = layerCacheIds.get(layer.getIndex());
-		g.drawSpriteCache(layerCache, cacheId);
+		layerCache.draw(g, startTileX, startTileY, widthInTiles, heightInTiles);
 	}
 
 	private void renderLayer(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX, int startTileY,
 			int widthInTiles, int heightInTiles) {
-		for (int y = startTileY; y < startTileY + heightInTiles && y < layer.getHeight(); y++) {
-			for (int x = startTileX; x < startTileX + widthInTiles && x < layer.getWidth(); x++) {
-				int tileId = layer.getTileId(x, y);
+		if (rowBuffer.length < widthInTiles) {
+			rowBuffer = new int[widthInTiles];
+		}
+		for (int y = startTileY; y < startTileY + heightInTiles; y++) {
+			layer.getTileGids(startTileX, y, widthInTiles, 1, rowBuffer);
+
+			for (int i = 0; i < widthInTiles; i++) {
+				int tileGid = rowBuffer[i];
+				int tileId = tileGid & ~TileLayer.MASK_FLIP_FLAGS;
 
 				if (tileId < 1) {
 					continue;
 				}
-				boolean flipHorizontally = layer.isFlippedHorizontally(x, y);
-				boolean flipVertically = layer.isFlippedVertically(x, y);
-				boolean flipDiagonally = layer.isFlippedDiagonally(x, y);
+				boolean flipHorizontally = (tileGid & TileLayer.FLAG_FLIP_HORIZONTALLY) != 0;
+				boolean flipVertically = (tileGid & TileLayer.FLAG_FLIP_VERTICALLY) != 0;
+				boolean flipDiagonally = (tileGid & TileLayer.FLAG_FLIP_DIAGONALLY) != 0;
 
-				int tileRenderX = x * tiledMap.getTileWidth();
+				int tileRenderX = (startTileX + i) * tiledMap.getTileWidth();
 				int tileRenderY = y * tiledMap.getTileHeight();
 
-				if (tileRenderX + tiledMap.getTileWidth() < g.getTranslationX()) {
-					continue;
-				}
-				if (tileRenderY + tiledMap.getTileHeight() < g.getTranslationY()) {
-					continue;
-				}
-				if (tileRenderX > g.getTranslationX() + g.getViewportWidth()) {
+				Tile tile = tiledMap.getTile(tileId);
+				if (tile == null) {
 					continue;
 				}
-				if (tileRenderY > g.getTranslationY() + g.getViewportHeight()) {
-					continue;
-				}
-
-				for (int i = 0; i < tiledMap.getTilesets().size(); i++) {
-					Tileset tileset = tiledMap.getTilesets().get(i);
-					if (tileset.contains(tileId)) {
-						tileset.getTile(tileId).draw(g, tileRenderX, tileRenderY, flipHorizontally, flipVertically, flipDiagonally);
-						break;
-					}
-				}
+				tile.draw(g, tileRenderX, tileRenderY, flipHorizontally, flipVertically, flipDiagonally);
 			}
 		}
 	}
 
-	private void renderLayerToCache(Graphics g, TileLayer layer, int renderX, int renderY, int startTileX,
-			int startTileY, int widthInTiles, int heightInTiles) {
-		layerCache.beginCache();
-		for (int y = startTileY; y < startTileY + heightInTiles && y < layer.getHeight(); y++) {
-			for (int x = startTileX; x < startTileX + widthInTiles && x < layer.getWidth(); x++) {
-				int tileId = layer.getTileId(x, y);
-
-				if (tileId < 1) {
-					continue;
-				}
-				
-				boolean flipHorizontally = layer.isFlippedHorizontally(x, y);
-				boolean flipVertically = layer.isFlippedVertically(x, y);
-				boolean flipDiagonally = layer.isFlippedDiagonally(x, y);
-				
-				int tileRenderX = x * tiledMap.getTileWidth();
-				int tileRenderY = y * tiledMap.getTileHeight();
-
-				for (int i = 0; i < tiledMap.getTilesets().size(); i++) {
-					Tileset tileset = tiledMap.getTilesets().get(i);
-					if (tileset.contains(tileId)) {
-						layerCache.add(tileset.getTile(tileId).getTileRenderer().getCurrentTileImage(), tileRenderX,
-								tileRenderY);
-						break;
-					}
-				}
+	/**
+	 * Clamps the requested tile area to the layer bounds and to the area
+	 * visible through the {@link Graphics} camera, taking translation,
+	 * scaling and rotation into account
+	 * 
+	 * @return False if no tiles are visible
+	 */
+	boolean calculateVisibleTiles(Graphics g, TileLayer layer, int startTileX, int startTileY, int widthInTiles,
+			int heightInTiles) {
+		int minTileX = Math.max(0, startTileX);
+		int minTileY = Math.max(0, startTileY);
+		int maxTileX = Math.min(layer.getWidth(), startTileX + widthInTiles);
+		int maxTileY = Math.min(layer.getHeight(), startTileY + heightInTiles);
+
+		if (g.getScaleX() > 0f && g.getScaleY() > 0f) {
+			float viewportX = g.getTranslationX();
+			float viewportY = g.getTranslationY();
+			float viewportWidth = g.getWindowWidth() / g.getScaleX();
+			float viewportHeight = g.getWindowHeight() / g.getScaleY();
+
+			float minX = viewportX;
+			float minY = viewportY;
+			float maxX = viewportX + viewportWidth;
+			float maxY = viewportY + viewportHeight;
+
+			if (g.getRotation() % 360f != 0f) {
+				// Union of the viewport bounds rotated in both directions
+				// around the rotation point
+				float cos = MathUtils.cosDeg(g.getRotation());
+				float sin = MathUtils.sinDeg(g.getRotation());
+				float halfWidth = ((viewportWidth * Math.abs(cos)) + (viewportHeight * Math.abs(sin))) * 0.5f;
+				float halfHeight = ((viewportWidth * Math.abs(sin)) + (viewportHeight * Math.abs(cos))) * 0.5f;
+
+				float offsetX = viewportX + (viewportWidth * 0.5f) - g.getRotationX();
+				float offsetY = viewportY + (viewportHeight * 0.5f) - g.getRotationY();
+				float rotatedOffsetX = (offsetX * cos) - (offsetY * sin);
+				float rotatedOffsetY = (offsetX * sin) + (offsetY * cos);
+				float reverseOffsetX = (offsetX * cos) + (offsetY * sin);
+				float reverseOffsetY = (offsetY * cos) - (offsetX * sin);
+
+				minX = g.getRotationX() + Math.min(rotatedOffsetX, reverseOffsetX) - halfWidth;
+				minY = g.getRotationY() + Math.min(rotatedOffsetY, reverseOffsetY) - halfHeight;
+				maxX = g.getRotationX() + Math.max(rotatedOffsetX, reverseOffsetX) + halfWidth;
+				maxY = g.getRotationY() + Math.max(rotatedOffsetY, reverseOffsetY) + halfHeight;
 			}
+
+			float tileWidth = tiledMap.getTileWidth();
+			float tileHeight = tiledMap.getTileHeight();
+			minTileX = Math.max(minTileX, (int) Math.ceil(minX / tileWidth) - 1);
+			minTileY = Math.max(minTileY, (int) Math.ceil(minY / tileHeight) - 1);
+			maxTileX = Math.min(maxTileX, (int) Math.floor(maxX / tileWidth) + 1);
+			maxTileY = Math.min(maxTileY, (int) Math.floor(maxY / tileHeight) + 1);
 		}
-		layerCacheIds.put(layer.getIndex(), layerCache.endCache());
+
+		visibleStartTileX = minTileX;
+		visibleStartTileY = minTileY;
+		visibleWidthInTiles = Math.max(0, maxTileX - minTileX);
+		visibleHeightInTiles = Math.max(0, maxTileY - minTileY);
+		return visibleWidthInTiles > 0 && visibleHeightInTiles > 0;
 	}
 
 	@Override
 	public void dispose() {
-		if (layerCache == null) {
+		if (layerCaches == null) {
 			return;
 		}
-		layerCache.dispose();
+		for (TileLayerChunkCache layerCache : layerCaches.values()) {
+			layerCache.dispose();
+		}
+		layerCaches.clear();
 	}
 
 }
@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.TileChangeListener;
+import org.mini2Dx.tiled.Tile;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Caches a {@link TileLayer} as square chunks of tiles, each chunk stored in
+ * its own {@link SpriteCache}. Chunks are built when first drawn and the least
+ * recently drawn chunks are recycled once the maximum amount of resident
+ * chunks is reached. Changing a tile only rebuilds the chunk containing it.
+ * 
+ * By default tiles are laid out orthogonally. Other orientations override
+ * {@link #cacheTiles(SpriteCache, int, int, int, int)} and
+ * {@link #drawChunks(Graphics, int, int, int, int)} to control tile placement
+ * and depth order.
+ */
+public class TileLayerChunkCache implements TileChangeListener, Disposable {
+	public static final int DEFAULT_CHUNK_SIZE = 16;
+	public static final int DEFAULT_MAX_RESIDENT_CHUNKS = 64;
+
+	protected final TiledMap tiledMap;
+	protected final TileLayer layer;
+	private final int chunkSize;
+	private final int maxResidentChunks;
+	private final int widthInChunks;
+
+	private final IntMap<TileChunk> chunks = new IntMap<TileChunk>();
+	private final Array<SpriteCache> spriteCachePool = new Array<SpriteCache>();
+
+	private long drawCount;
+	private int totalChunkBuilds;
+	private int drawStartTileX, drawStartTileY, drawEndTileX, drawEndTileY;
+	private Graphics tileGraphics;
+
+	public TileLayerChunkCache(TiledMap tiledMap, TileLayer layer) {
+		this(tiledMap, layer, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_RESIDENT_CHUNKS);
+	}
+
+	public TileLayerChunkCache(TiledMap tiledMap, TileLayer layer, int chunkSize, int maxResidentChunks) {
+		super();
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be greater than 0");
+		}
+		if (maxResidentChunks < 1) {
+			throw new IllegalArgumentException("maxResidentChunks must be greater than 0");
+		}
+		this.tiledMap = tiledMap;
+		this.layer = layer;
+		this.chunkSize = chunkSize;
+		this.maxResidentChunks = maxResidentChunks;
+		this.widthInChunks = ((layer.getWidth() - 1) / chunkSize) + 1;
+
+		layer.addTileChangeListener(this);
+	}
+
+	/**
+	 * Draws the chunks overlapping an area of the layer, building any chunks
+	 * that are not resident or have changed
+	 * 
+	 * @param g
+	 *            The {@link Graphics} context
+	 * @param startTileX
+	 *            The tile x coordinate to start at
+	 * @param startTileY
+	 *            The tile y coordinate to start at
+	 * @param widthInTiles
+	 *            The width to draw in tiles
+	 * @param heightInTiles
+	 *            The height to draw in tiles
+	 */
+	public void draw(Graphics g, int startTileX, int startTileY, int widthInTiles, int heightInTiles) {
+		drawCount++;
+
+		int startChunkX = Math.max(0, startTileX) / chunkSize;
+		int startChunkY = Math.max(0, startTileY) / chunkSize;
+		int endTileX = Math.min(layer.getWidth(), startTileX + widthInTiles);
+		int endTileY = Math.min(layer.getHeight(), startTileY + heightInTiles);
+		if (endTileX <= 0 || endTileY <= 0) {
+			return;
+		}
+		int endChunkX = (endTileX - 1) / chunkSize;
+		int endChunkY = (endTileY - 1) / chunkSize;
+
+		drawStartTileX = Math.max(0, startTileX);
+		drawStartTileY = Math.max(0, startTileY);
+		drawEndTileX = endTileX;
+		drawEndTileY = endTileY;
+		drawChunks(g, startChunkX, startChunkY, endChunkX, endChunkY);
+	}
+
+	/**
+	 * Draws a range of chunks by calling {@link #drawChunk(Graphics, int, int)}
+	 * in depth order. By default chunks are drawn row by row.
+	 * 
+	 * @param g
+	 *            The {@link Graphics} context
+	 * @param startChunkX
+	 *            The first chunk x coordinate (inclusive)
+	 * @param startChunkY
+	 *            The first chunk y coordinate (inclusive)
+	 * @param endChunkX
+	 *            The last chunk x coordinate (inclusive)
+	 * @param endChunkY
+	 *            The last chunk y coordinate (inclusive)
+	 */
+	protected void drawChunks(Graphics g, int startChunkX, int startChunkY, int endChunkX, int endChunkY) {
+		for (int chunkY = startChunkY; chunkY <= endChunkY; chunkY++) {
+			for (int chunkX = startChunkX; chunkX <= endChunkX; chunkX++) {
+				drawChunk(g, chunkX, chunkY);
+			}
+		}
+	}
+
+	/**
+	 * Draws a single chunk, building it first if required. If
+	 * {@link #isDrawingPartialChunksPerTile()} is true and the chunk is only
+	 * partially inside the area being drawn, only the tiles inside the area
+	 * are drawn individually instead.
+	 * 
+	 * @param g
+	 *            The {@link Graphics} context
+	 * @param chunkX
+	 *            The chunk x coordinate
+	 * @param chunkY
+	 *            The chunk y coordinate
+	 */
+	protected final void drawChunk(Graphics g, int chunkX, int chunkY) {
+		if (isDrawingPartialChunksPerTile()) {
+			int chunkStartTileX = chunkX * chunkSize;
+			int chunkStartTileY = chunkY * chunkSize;
+			int chunkEndTileX = Math.min(layer.getWidth(), chunkStartTileX + chunkSize);
+			int chunkEndTileY = Math.min(layer.getHeight(), chunkStartTileY + chunkSize);
+
+			if (chunkStartTileX < drawStartTileX || chunkStartTileY < drawStartTileY
+					|| chunkEndTileX > drawEndTileX || chunkEndTileY > drawEndTileY) {
+				tileGraphics = g;
+				cacheTiles(null, Math.max(chunkStartTileX, drawStartTileX),
+						Math.max(chunkStartTileY, drawStartTileY), Math.min(chunkEndTileX, drawEndTileX),
+						Math.min(chunkEndTileY, drawEndTileY));
+				tileGraphics = null;
+				return;
+			}
+		}
+		TileChunk chunk = getChunk(chunkX, chunkY);
+		if (chunk.empty) {
+			return;
+		}
+		g.drawSpriteCache(chunk.spriteCache, chunk.cacheId);
+	}
+
+	@Override
+	public void tileChanged(TileLayer layer, int x, int y) {
+		TileChunk chunk = chunks.get(getChunkKey(x / chunkSize, y / chunkSize));
+		if (chunk == null) {
+			return;
+		}
+		chunk.dirty = true;
+	}
+
+	private TileChunk getChunk(int chunkX, int chunkY) {
+		int key = getChunkKey(chunkX, chunkY);
+		TileChunk chunk = chunks.get(key);
+		if (chunk == null) {
+			evictLeastRecentlyDrawnChunk();
+
+			chunk = new TileChunk(chunkX, chunkY);
+			chunk.spriteCache = spriteCachePool.size > 0 ? spriteCachePool.pop() : createSpriteCache();
+			chunks.put(key, chunk);
+			buildChunk(chunk);
+		} else if (chunk.dirty) {
+			buildChunk(chunk);
+		}
+		chunk.lastDrawn = drawCount;
+		return chunk;
+	}
+
+	private void evictLeastRecentlyDrawnChunk() {
+		if (chunks.size < maxResidentChunks) {
+			return;
+		}
+		TileChunk leastRecentlyDrawn = null;
+		for (TileChunk chunk : chunks.values()) {
+			if (chunk.lastDrawn >= drawCount) {
+				continue;
+			}
+			if (leastRecentlyDrawn == null || chunk.lastDrawn < leastRecentlyDrawn.lastDrawn) {
+				leastRecentlyDrawn = chunk;
+			}
+		}
+		if (leastRecentlyDrawn == null) {
+			// Every resident chunk is required by the current draw
+			return;
+		}
+		chunks.remove(getChunkKey(leastRecentlyDrawn.chunkX, leastRecentlyDrawn.chunkY));
+		leastRecentlyDrawn.spriteCache.clear();
+		spriteCachePool.add(leastRecentlyDrawn.spriteCache);
+	}
+
+	private void buildChunk(TileChunk chunk) {
+		int startTileX = chunk.chunkX * chunkSize;
+		int startTileY = chunk.chunkY * chunkSize;
+		int endTileX = Math.min(layer.getWidth(), startTileX + chunkSize);
+		int endTileY = Math.min(layer.getHeight(), startTileY + chunkSize);
+
+		SpriteCache spriteCache = chunk.spriteCache;
+		spriteCache.clear();
+		spriteCache.beginCache();
+		int totalTiles = cacheTiles(spriteCache, startTileX, startTileY, endTileX, endTileY);
+		chunk.cacheId = spriteCache.endCache();
+		chunk.empty = totalTiles == 0;
+		chunk.dirty = false;
+		totalChunkBuilds++;
+	}
+
+	/**
+	 * Adds the tiles of a chunk to a {@link SpriteCache} in depth order using
+	 * {@link #cacheTile(SpriteCache, int, int, float, float)}. Coordinates are
+	 * relative to tile 0,0 of the layer being rendered at 0,0. This is also
+	 * used to draw the visible part of a partially visible chunk, in which case
+	 * the {@link SpriteCache} is null and tiles are drawn immediately.
+	 * 
+	 * @param spriteCache
+	 *            The {@link SpriteCache} to add to
+	 * @param startTileX
+	 *            The first tile x coordinate (inclusive)
+	 * @param startTileY
+	 *            The first tile y coordinate (inclusive)
+	 * @param endTileX
+	 *            The last tile x coordinate (exclusive)
+	 * @param endTileY
+	 *            The last tile y coordinate (exclusive)
+	 * @return The amount of tiles added
+	 */
+	protected int cacheTiles(SpriteCache spriteCache, int startTileX, int startTileY, int endTileX, int endTileY) {
+		int totalTiles = 0;
+		for (int y = startTileY; y < endTileY; y++) {
+			for (int x = startTileX; x < endTileX; x++) {
+				if (cacheTile(spriteCache, x, y, x * tiledMap.getTileWidth(), y * tiledMap.getTileHeight())) {
+					totalTiles++;
+				}
+			}
+		}
+		return totalTiles;
+	}
+
+	/**
+	 * Adds the current image of a tile to a {@link SpriteCache}, or draws it
+	 * immediately when drawing a partially visible chunk
+	 * 
+	 * @param spriteCache
+	 *            The {@link SpriteCache} to add to
+	 * @param x
+	 *            The tile x coordinate
+	 * @param y
+	 *            The tile y coordinate
+	 * @param renderX
+	 *            The x coordinate to render the tile at
+	 * @param renderY
+	 *            The y coordinate to render the tile at
+	 * @return False if there is no tile at the coordinate
+	 */
+	protected final boolean cacheTile(SpriteCache spriteCache, int x, int y, float renderX, float renderY) {
+		int tileId = layer.getTileId(x, y);
+		if (tileId < 1) {
+			return false;
+		}
+		Tile tile = tiledMap.getTile(tileId);
+		if (tile == null) {
+			return false;
+		}
+		if (tileGraphics != null) {
+			tileGraphics.drawSprite(tile.getTileRenderer().getCurrentTileImage(), renderX, renderY);
+		} else {
+			spriteCache.add(tile.getTileRenderer().getCurrentTileImage(), renderX, renderY);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns if chunks that are only partially inside the area being drawn
+	 * should have their visible tiles drawn individually. Layouts where tiles
+	 * cannot be clipped to a rectangle (e.g. isometric and hexagonal) should
+	 * return true so that only the requested tiles are drawn.
+	 * 
+	 * @return False by default
+	 */
+	protected boolean isDrawingPartialChunksPerTile() {
+		return false;
+	}
+
+	/**
+	 * Creates a {@link SpriteCache} large enough to hold a single chunk
+	 * 
+	 * @return A new {@link SpriteCache}
+	 */
+	protected SpriteCache createSpriteCache() {
+		return new SpriteCache(chunkSize * chunkSize, true);
+	}
+
+	private int getChunkKey(int chunkX, int chunkY) {
+		return (chunkY * widthInChunks) + chunkX;
+	}
+
+	/**
+	 * Returns the amount of chunks currently held in memory
+	 * 
+	 * @return 0 if no chunks have been drawn yet
+	 */
+	public int getTotalResidentChunks() {
+		return chunks.size;
+	}
+
+	/**
+	 * Returns the amount of times a chunk has been built or rebuilt
+	 * 
+	 * @return 0 if no chunks have been drawn yet
+	 */
+	public int getTotalChunkBuilds() {
+		return totalChunkBuilds;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public int getMaxResidentChunks() {
+		return maxResidentChunks;
+	}
+
+	@Override
+	public void dispose() {
+		layer.removeTileChangeListener(this);
+		for (TileChunk chunk : chunks.values()) {
+			chunk.spriteCache.dispose();
+		}
+		chunks.clear();
+		for (int i = 0; i < spriteCachePool.size; i++) {
+			spriteCachePool.get(i).dispose();
+		}
+		spriteCachePool.clear();
+	}
+
+	private static class TileChunk {
+		final int chunkX, chunkY;
+		SpriteCache spriteCache;
+		int cacheId;
+		long lastDrawn;
+		boolean dirty, empty;
+
+		TileChunk(int chunkX, int chunkY) {
+			this.chunkX = chunkX;
+			this.chunkY = chunkY;
+		}
+	}
+}
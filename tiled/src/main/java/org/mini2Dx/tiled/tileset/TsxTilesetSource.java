@@ -47,17 +47,20 @@ public class TsxTilesetSource extends TilesetSource {
 		super();
 		this.tsxPath = tsxPath;
 
-		if (!TILESETS.containsKey(tsxPath)) {
-			try {
-				TILESETS.put(tsxPath, TSX_PARSER.parseTsx(tmxPath.sibling(tsxPath)));
-			} catch (IOException e) {
-				Gdx.app.error(LOGGING_TAG, "Could not parse " + tsxPath + ". " + e.getMessage(), e);
-				TILESETS.put(tsxPath, null);
+		// Maps referencing the same TSX file may be loaded concurrently
+		synchronized (TILESET_REFS) {
+			if (!TILESETS.containsKey(tsxPath)) {
+				try {
+					TILESETS.put(tsxPath, TSX_PARSER.parseTsx(tmxPath.sibling(tsxPath)));
+				} catch (IOException e) {
+					Gdx.app.error(LOGGING_TAG, "Could not parse " + tsxPath + ". " + e.getMessage(), e);
+					TILESETS.put(tsxPath, null);
+				}
+				TILESET_REFS.put(tsxPath, new AtomicInteger(0));
 			}
-			TILESET_REFS.put(tsxPath, new AtomicInteger(0));
+			tileset = TILESETS.get(tsxPath);
+			TILESET_REFS.get(tsxPath).incrementAndGet();
 		}
-		tileset = TILESETS.get(tsxPath);
-		TILESET_REFS.get(tsxPath).incrementAndGet();
 	}
 	
 	@Override
@@ -171,11 +174,14 @@ public class TsxTilesetSource extends TilesetSource {
 
 	@Override
 	public void dispose() {
-		int remainingRefs = TILESET_REFS.get(tsxPath).decrementAndGet();
-		if (remainingRefs > 0) {
-			return;
+		ImageTilesetSource tilesetSource;
+		synchronized (TILESET_REFS) {
+			int remainingRefs = TILESET_REFS.get(tsxPath).decrementAndGet();
+			if (remainingRefs > 0) {
+				return;
+			}
+			tilesetSource = TILESETS.remove(tsxPath);
 		}
-		ImageTilesetSource tilesetSource = TILESETS.remove(tsxPath);
 		if (tilesetSource == null) {
 			return;
 		}
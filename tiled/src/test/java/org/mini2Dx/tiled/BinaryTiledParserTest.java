@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mini2Dx.tiled.exception.TiledParsingException;
+import org.mini2Dx.tiled.renderer.AnimatedTileRenderer;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link BinaryTiledParser} and {@link BinaryTiledWriter}
+ */
+public class BinaryTiledParserTest {
+	private static final String[] MAP_FILES = new String[] { "orthogonal.tmx", "orthogonal_tsx.tmx",
+			"isometric.tmx", "hexagonal_x.tmx", "hexagonal_y.tmx" };
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private FileHandle mapDirectory;
+
+	@Before
+	public void setUp() throws IOException {
+		// Copy the test maps so that pre-baked files are written alongside
+		FileHandle resourceDirectory = new FileHandle(
+				Thread.currentThread().getContextClassLoader().getResource("orthogonal.tmx").getFile()).parent();
+		mapDirectory = new FileHandle(temporaryFolder.newFolder("maps"));
+		for (FileHandle file : resourceDirectory.list()) {
+			file.copyTo(mapDirectory);
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		for (String mapFile : MAP_FILES) {
+			FileHandle tmxFileHandle = mapDirectory.child(mapFile);
+			TiledMapData expected = new TiledMapData(tmxFileHandle);
+			BinaryTiledWriter.write(expected);
+			Assert.assertTrue(BinaryTiledParser.getBinaryFileHandle(tmxFileHandle).exists());
+
+			TiledMapData actual = new TiledMapData(new BinaryTiledParser(), tmxFileHandle);
+			assertMapEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void testIsUpToDate() throws IOException {
+		FileHandle tmxFileHandle = mapDirectory.child("orthogonal.tmx");
+		Assert.assertFalse(BinaryTiledParser.isUpToDate(tmxFileHandle));
+
+		BinaryTiledWriter.write(new TiledMapData(tmxFileHandle));
+		Assert.assertTrue(BinaryTiledParser.isUpToDate(tmxFileHandle));
+
+		tmxFileHandle.writeString("<!-- edited -->", true);
+		Assert.assertFalse(BinaryTiledParser.isUpToDate(tmxFileHandle));
+	}
+
+	@Test(expected = TiledParsingException.class)
+	public void testOutOfDateFile() throws IOException {
+		FileHandle tmxFileHandle = mapDirectory.child("orthogonal.tmx");
+		BinaryTiledWriter.write(new TiledMapData(tmxFileHandle));
+		tmxFileHandle.writeString("<!-- edited -->", true);
+		new TiledMapData(new BinaryTiledParser(), tmxFileHandle);
+	}
+
+	@Test
+	public void testBinaryFileHandle() {
+		FileHandle tmxFileHandle = mapDirectory.child("orthogonal.tmx");
+		Assert.assertEquals(mapDirectory.child("orthogonal." + BinaryTiledParser.FILE_EXTENSION).path(),
+				BinaryTiledParser.getBinaryFileHandle(tmxFileHandle).path());
+	}
+
+	@Test(expected = TiledParsingException.class)
+	public void testInvalidFile() {
+		FileHandle tmxFileHandle = mapDirectory.child("orthogonal.tmx");
+		BinaryTiledParser.getBinaryFileHandle(tmxFileHandle).writeString("not a map", false);
+		new TiledMapData(new BinaryTiledParser(), tmxFileHandle);
+	}
+
+	@Test(expected = TiledParsingException.class)
+	public void testMissingFile() {
+		new TiledMapData(new BinaryTiledParser(), new FileHandle(new File(mapDirectory.file(), "missing.tmx")));
+	}
+
+	private void assertMapEquals(TiledMapData expected, TiledMapData actual) {
+		Assert.assertEquals(expected.getOrientation(), actual.getOrientation());
+		Assert.assertEquals(expected.getStaggerAxis(), actual.getStaggerAxis());
+		Assert.assertEquals(expected.getStaggerIndex(), actual.getStaggerIndex());
+		Assert.assertEquals(expected.getBackgroundColor(), actual.getBackgroundColor());
+		Assert.assertEquals(expected.getWidth(), actual.getWidth());
+		Assert.assertEquals(expected.getHeight(), actual.getHeight());
+		Assert.assertEquals(expected.getTileWidth(), actual.getTileWidth());
+		Assert.assertEquals(expected.getTileHeight(), actual.getTileHeight());
+		Assert.assertEquals(expected.getSideLength(), actual.getSideLength());
+		Assert.assertEquals(expected.getPixelWidth(), actual.getPixelWidth());
+		Assert.assertEquals(expected.getPixelHeight(), actual.getPixelHeight());
+		Assert.assertEquals(expected.getProperties(), actual.getProperties());
+		Assert.assertEquals(expected.containsAnimatedTiles(), actual.containsAnimatedTiles());
+
+		List<Tileset> expectedTilesets = expected.getTilesets();
+		List<Tileset> actualTilesets = actual.getTilesets();
+		Assert.assertEquals(expectedTilesets.size(), actualTilesets.size());
+		for (int i = 0; i < expectedTilesets.size(); i++) {
+			assertTilesetEquals(expectedTilesets.get(i), actualTilesets.get(i));
+		}
+
+		List<Layer> expectedLayers = expected.getLayers();
+		List<Layer> actualLayers = actual.getLayers();
+		Assert.assertEquals(expectedLayers.size(), actualLayers.size());
+		for (int i = 0; i < expectedLayers.size(); i++) {
+			Layer expectedLayer = expectedLayers.get(i);
+			Layer actualLayer = actualLayers.get(i);
+			Assert.assertEquals(expectedLayer.getName(), actualLayer.getName());
+			Assert.assertEquals(expectedLayer.getIndex(), actualLayer.getIndex());
+			Assert.assertEquals(expectedLayer.isVisible(), actualLayer.isVisible());
+			Assert.assertEquals(expectedLayer.getProperties(), actualLayer.getProperties());
+			Assert.assertEquals(expectedLayer.getLayerType(), actualLayer.getLayerType());
+
+			switch (expectedLayer.getLayerType()) {
+			case TILE:
+				assertTileLayerEquals((TileLayer) expectedLayer, (TileLayer) actualLayer);
+				break;
+			case OBJECT:
+				assertObjectGroupEquals((TiledObjectGroup) expectedLayer, (TiledObjectGroup) actualLayer);
+				break;
+			}
+		}
+	}
+
+	private void assertTilesetEquals(Tileset expected, Tileset actual) {
+		Assert.assertEquals(expected.getFirstGid(), actual.getFirstGid());
+		Assert.assertEquals(expected.getWidth(), actual.getWidth());
+		Assert.assertEquals(expected.getHeight(), actual.getHeight());
+		Assert.assertEquals(expected.getTileWidth(), actual.getTileWidth());
+		Assert.assertEquals(expected.getTileHeight(), actual.getTileHeight());
+		Assert.assertEquals(expected.getSpacing(), actual.getSpacing());
+		Assert.assertEquals(expected.getMargin(), actual.getMargin());
+		Assert.assertEquals(expected.getProperties(), actual.getProperties());
+
+		for (int x = 0; x < expected.getWidthInTiles(); x++) {
+			for (int y = 0; y < expected.getHeightInTiles(); y++) {
+				Tile expectedTile = expected.getTile(x, y);
+				Tile actualTile = actual.getTile(x, y);
+				Assert.assertEquals(expectedTile.getTileId(expected.getFirstGid()),
+						actualTile.getTileId(actual.getFirstGid()));
+				Assert.assertEquals(expectedTile.getProperties(), actualTile.getProperties());
+				Assert.assertEquals(expectedTile.getTileRenderer() instanceof AnimatedTileRenderer,
+						actualTile.getTileRenderer() instanceof AnimatedTileRenderer);
+				Assert.assertNotNull(actualTile.getTileRenderer());
+			}
+		}
+	}
+
+	private void assertTileLayerEquals(TileLayer expected, TileLayer actual) {
+		Assert.assertEquals(expected.getWidth(), actual.getWidth());
+		Assert.assertEquals(expected.getHeight(), actual.getHeight());
+		for (int x = 0; x < expected.getWidth(); x++) {
+			for (int y = 0; y < expected.getHeight(); y++) {
+				Assert.assertEquals(expected.getTileGid(x, y), actual.getTileGid(x, y));
+			}
+		}
+	}
+
+	private void assertObjectGroupEquals(TiledObjectGroup expected, TiledObjectGroup actual) {
+		Assert.assertEquals(expected.getObjects().size(), actual.getObjects().size());
+		for (int i = 0; i < expected.getObjects().size(); i++) {
+			TiledObject expectedObject = expected.getObjects().get(i);
+			TiledObject actualObject = actual.getObjects().get(i);
+			Assert.assertEquals(expectedObject.getName(), actualObject.getName());
+			Assert.assertEquals(expectedObject.getType(), actualObject.getType());
+			Assert.assertEquals(expectedObject.getX(), actualObject.getX());
+			Assert.assertEquals(expectedObject.getY(), actualObject.getY());
+			Assert.assertEquals(expectedObject.getWidth(), actualObject.getWidth());
+			Assert.assertEquals(expectedObject.getHeight(), actualObject.getHeight());
+			Assert.assertEquals(expectedObject.getGid(), actualObject.getGid());
+			Assert.assertEquals(expectedObject.isGidFlipHorizontally(), actualObject.isGidFlipHorizontally());
+			Assert.assertEquals(expectedObject.isGidFlipVertically(), actualObject.isGidFlipVertically());
+			Assert.assertEquals(expectedObject.isGidFlipDiagonally(), actualObject.isGidFlipDiagonally());
+			Assert.assertEquals(expectedObject.isVisible(), actualObject.isVisible());
+			Assert.assertEquals(expectedObject.getProperties(), actualObject.getProperties());
+		}
+	}
+}
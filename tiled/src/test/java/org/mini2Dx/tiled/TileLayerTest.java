@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link TileLayer}
+ */
+public class TileLayerTest {
+	private static final int WIDTH = 5;
+	private static final int HEIGHT = 3;
+
+	private TileLayer layer;
+
+	@Before
+	public void setUp() {
+		layer = new TileLayer(WIDTH, HEIGHT);
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				layer.setTileId(x, y, (y * 10) + x + 1);
+			}
+		}
+	}
+
+	@Test
+	public void testDimensions() {
+		Assert.assertEquals(WIDTH, layer.getWidth());
+		Assert.assertEquals(HEIGHT, layer.getHeight());
+	}
+
+	@Test
+	public void testSetTileIdWithFlipFlags() {
+		layer.setTileId(2, 1, 7, true, false, true);
+		Assert.assertEquals(7, layer.getTileId(2, 1));
+		Assert.assertTrue(layer.isFlippedHorizontally(2, 1));
+		Assert.assertFalse(layer.isFlippedVertically(2, 1));
+		Assert.assertTrue(layer.isFlippedDiagonally(2, 1));
+		Assert.assertEquals(7 | TileLayer.FLAG_FLIP_HORIZONTALLY | TileLayer.FLAG_FLIP_DIAGONALLY,
+				layer.getTileGid(2, 1));
+
+		// Neighbouring tiles are unaffected
+		Assert.assertFalse(layer.isFlippedHorizontally(1, 1));
+		Assert.assertFalse(layer.isFlippedHorizontally(3, 1));
+		Assert.assertEquals(12, layer.getTileId(1, 1));
+	}
+
+	@Test
+	public void testSetTileIdKeepsFlipFlags() {
+		layer.setFlippedVertically(4, 2, true);
+		layer.setTileId(4, 2, 99);
+		Assert.assertEquals(99, layer.getTileId(4, 2));
+		Assert.assertTrue(layer.isFlippedVertically(4, 2));
+
+		layer.setFlippedVertically(4, 2, false);
+		Assert.assertFalse(layer.isFlippedVertically(4, 2));
+		Assert.assertEquals(99, layer.getTileGid(4, 2));
+	}
+
+	@Test
+	public void testSetTileGid() {
+		layer.setTileGid(0, 0, 3 | TileLayer.FLAG_FLIP_VERTICALLY);
+		Assert.assertEquals(3, layer.getTileId(0, 0));
+		Assert.assertFalse(layer.isFlippedHorizontally(0, 0));
+		Assert.assertTrue(layer.isFlippedVertically(0, 0));
+		Assert.assertFalse(layer.isFlippedDiagonally(0, 0));
+	}
+
+	@Test
+	public void testGetTileIds() {
+		layer.setFlippedHorizontally(2, 1, true);
+
+		int[] result = new int[6];
+		layer.getTileIds(1, 1, 3, 2, result);
+		Assert.assertEquals(12, result[0]);
+		Assert.assertEquals(13, result[1]);
+		Assert.assertEquals(14, result[2]);
+		Assert.assertEquals(22, result[3]);
+		Assert.assertEquals(23, result[4]);
+		Assert.assertEquals(24, result[5]);
+	}
+
+	@Test
+	public void testGetTileGids() {
+		layer.setFlippedHorizontally(2, 1, true);
+
+		int[] result = new int[WIDTH];
+		layer.getTileGids(0, 1, WIDTH, 1, result);
+		for (int x = 0; x < WIDTH; x++) {
+			Assert.assertEquals(layer.getTileGid(x, 1), result[x]);
+		}
+		Assert.assertEquals(13 | TileLayer.FLAG_FLIP_HORIZONTALLY, result[2]);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testGetTileIdOutsideWidth() {
+		// Would otherwise wrap around onto the next row
+		layer.getTileId(WIDTH, 0);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testSetTileIdNegativeX() {
+		layer.setTileId(-1, 1, 5);
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void testGetTileGidsOutsideWidth() {
+		layer.getTileGids(3, 0, 3, 1, new int[3]);
+	}
+
+	@Test
+	public void testTileChangeListenerNotified() {
+		final int[] notifications = new int[1];
+		layer.addTileChangeListener(new TileChangeListener() {
+			@Override
+			public void tileChanged(TileLayer layer, int x, int y) {
+				notifications[0]++;
+			}
+		});
+		layer.setTileGid(0, 0, 1);
+		layer.setTileId(0, 0, 1, true, true, true);
+		layer.setFlippedDiagonally(0, 0, false);
+		Assert.assertEquals(3, notifications[0]);
+	}
+}
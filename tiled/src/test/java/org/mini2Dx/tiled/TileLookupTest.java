@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link TileLookup}
+ */
+public class TileLookupTest {
+
+	@Test
+	public void testMatchesTilesetScan() {
+		assertMatchesTilesetScan(loadMap("orthogonal.tmx"));
+		assertMatchesTilesetScan(loadMap("orthogonal_tsx.tmx"));
+		assertMatchesTilesetScan(loadMap("isometric.tmx"));
+		assertMatchesTilesetScan(loadMap("hexagonal_x.tmx"));
+	}
+
+	@Test
+	public void testOutOfRangeTileIds() {
+		TiledMap tiledMap = loadMap("orthogonal.tmx");
+		TileLookup tileLookup = new TileLookup(tiledMap.getTilesets());
+
+		Assert.assertNull(tileLookup.getTile(0));
+		Assert.assertNull(tileLookup.getTile(-1));
+		Assert.assertNull(tileLookup.getTile(tileLookup.getMaxTileId() + 1));
+		Assert.assertNull(tileLookup.getTileset(Integer.MAX_VALUE));
+		Assert.assertNotNull(tileLookup.getTile(tileLookup.getMaxTileId()));
+	}
+
+	@Test
+	public void testGetTilesetFromTiledMap() {
+		TiledMap tiledMap = loadMap("orthogonal.tmx");
+		Assert.assertSame(tiledMap.getTilesets().get(0), tiledMap.getTileset(1));
+		Assert.assertSame(tiledMap.getTilesets().get(0).getTile(53), tiledMap.getTile(53));
+	}
+
+	private void assertMatchesTilesetScan(TiledMap tiledMap) {
+		List<Tileset> tilesets = tiledMap.getTilesets();
+		int maxGid = 0;
+		for (int i = 0; i < tilesets.size(); i++) {
+			maxGid = Math.max(maxGid, tilesets.get(i).getLastGid());
+		}
+		for (int tileId = 0; tileId <= maxGid + 1; tileId++) {
+			Tileset expectedTileset = null;
+			for (int i = 0; i < tilesets.size(); i++) {
+				if (tilesets.get(i).contains(tileId)) {
+					expectedTileset = tilesets.get(i);
+					break;
+				}
+			}
+			Assert.assertSame(expectedTileset, tiledMap.getTileset(tileId));
+			if (expectedTileset == null) {
+				Assert.assertNull(tiledMap.getTile(tileId));
+			} else {
+				Assert.assertSame(expectedTileset.getTile(tileId), tiledMap.getTile(tileId));
+			}
+		}
+	}
+
+	private TiledMap loadMap(String filename) {
+		FileHandle file = new FileHandle(
+				Thread.currentThread().getContextClassLoader().getResource(filename).getFile());
+		return new TiledMap(file, false, false);
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mini2Dx.tiled.TiledMapLoader.TiledMapParameter;
+import org.mini2Dx.tiled.exception.UnsupportedOrientationException;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link TiledMapLoader}
+ */
+public class TiledMapLoaderTest {
+	private static final String[] MAP_FILES = new String[] { "orthogonal.tmx", "orthogonal_tsx.tmx",
+			"isometric.tmx", "hexagonal_x.tmx", "hexagonal_y.tmx" };
+
+	private final FileHandleResolver resolver = new FileHandleResolver() {
+		@Override
+		public FileHandle resolve(String fileName) {
+			return new FileHandle(Thread.currentThread().getContextClassLoader().getResource(fileName).getFile());
+		}
+	};
+	private final TiledMapParameter parameter = new TiledMapParameter();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		parameter.loadTilesets = false;
+	}
+
+	@Test
+	public void testCacheIsBounded() {
+		TiledMapLoader loader = new TiledMapLoader(resolver, 2);
+		for (String mapFile : MAP_FILES) {
+			load(loader, mapFile);
+			Assert.assertTrue(loader.getTotalCachedMaps() <= 2);
+		}
+		Assert.assertEquals(2, loader.getTotalCachedMaps());
+
+		loader.clearCache();
+		Assert.assertEquals(0, loader.getTotalCachedMaps());
+	}
+
+	@Test
+	public void testCachingDisabled() {
+		TiledMapLoader loader = new TiledMapLoader(resolver, 0);
+		Assert.assertNotNull(load(loader, "orthogonal.tmx"));
+		Assert.assertEquals(0, loader.getTotalCachedMaps());
+	}
+
+	@Test
+	public void testReloadUsesCache() {
+		TiledMapLoader loader = new TiledMapLoader(resolver, 2);
+		TiledMap first = load(loader, "orthogonal.tmx");
+		TiledMap second = load(loader, "orthogonal.tmx");
+		Assert.assertNotSame(first, second);
+		Assert.assertSame(first.getTileLayer(0), second.getTileLayer(0));
+		Assert.assertEquals(1, loader.getTotalCachedMaps());
+	}
+
+	@Test
+	public void testConcurrentLoads() throws Exception {
+		final TiledMapLoader loader = new TiledMapLoader(resolver, MAP_FILES.length);
+		ExecutorService executorService = Executors.newFixedThreadPool(MAP_FILES.length);
+		try {
+			List<Future<TiledMap>> futures = new ArrayList<Future<TiledMap>>();
+			for (final String mapFile : MAP_FILES) {
+				futures.add(executorService.submit(new Callable<TiledMap>() {
+					@Override
+					public TiledMap call() throws Exception {
+						return load(loader, mapFile);
+					}
+				}));
+			}
+			for (int i = 0; i < MAP_FILES.length; i++) {
+				TiledMap expected = new TiledMap(resolver.resolve(MAP_FILES[i]), false, false);
+				TiledMap actual = futures.get(i).get();
+				Assert.assertEquals(expected.getOrientation(), actual.getOrientation());
+				Assert.assertEquals(expected.getStaggerAxis(), actual.getStaggerAxis());
+				Assert.assertEquals(expected.getWidth(), actual.getWidth());
+				Assert.assertEquals(expected.getTileWidth(), actual.getTileWidth());
+				Assert.assertEquals(expected.getTileHeight(), actual.getTileHeight());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testFailedLoadIsNotReused() throws Exception {
+		String tmx = resolver.resolve("orthogonal.tmx").readString();
+		FileHandle file = new FileHandle(temporaryFolder.newFile("failing.tmx"));
+		file.writeString(tmx.replace("orientation=\"orthogonal\"", "orientation=\"unknown\""), false);
+
+		TiledMapLoader loader = new TiledMapLoader(resolver, 0);
+		try {
+			load(loader, "failing.tmx", file);
+			Assert.fail("Expected UnsupportedOrientationException");
+		} catch (UnsupportedOrientationException e) {
+		}
+
+		file.writeString(tmx, false);
+		TiledMap tiledMap = load(loader, "failing.tmx", file);
+		Assert.assertNotNull(tiledMap);
+		Assert.assertEquals(Orientation.ORTHOGONAL, tiledMap.getOrientation());
+	}
+
+	private TiledMap load(TiledMapLoader loader, String fileName) {
+		return load(loader, fileName, resolver.resolve(fileName));
+	}
+
+	private TiledMap load(TiledMapLoader loader, String fileName, FileHandle file) {
+		loader.getDependencies(fileName, file, parameter);
+		loader.loadAsync(null, fileName, file, parameter);
+		return loader.loadSync(null, fileName, file, parameter);
+	}
+}
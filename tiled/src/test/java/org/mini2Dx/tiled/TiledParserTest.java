@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.XmlReader;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link TiledParser}
+ */
+public class TiledParserTest {
+	private static final int WIDTH = 3;
+	private static final int HEIGHT = 2;
+	private static final int[] GIDS = new int[] { 1, 0, 5, 7 | TileLayer.FLAG_FLIP_HORIZONTALLY, 1024,
+			2 | TileLayer.FLAG_FLIP_VERTICALLY | TileLayer.FLAG_FLIP_DIAGONALLY };
+
+	private final TiledParser tiledParser = new TiledParser();
+
+	@Test
+	public void testParseCsvTileGids() {
+		int[] result = new int[4];
+		TiledParser.parseCsvTileGids("\n1,2,\n 3, 2147483649\n", result);
+		Assert.assertEquals(1, result[0]);
+		Assert.assertEquals(2, result[1]);
+		Assert.assertEquals(3, result[2]);
+		Assert.assertEquals(1 | TileLayer.FLAG_FLIP_HORIZONTALLY, result[3]);
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void testParseCsvTileGidsWithTooFewTiles() {
+		TiledParser.parseCsvTileGids("1,2,3", new int[4]);
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void testParseCsvTileGidsWithTooManyTiles() {
+		TiledParser.parseCsvTileGids("1,2,3,4,5", new int[4]);
+	}
+
+	@Test
+	public void testDecodeCsvLayer() {
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < GIDS.length; i++) {
+			if (i > 0) {
+				csv.append(i % WIDTH == 0 ? ",\n" : ",");
+			}
+			csv.append(GIDS[i] & 0xFFFFFFFFL);
+		}
+		assertDecodedLayer(decodeLayer("encoding=\"csv\"", csv.toString()));
+	}
+
+	@Test
+	public void testDecodeBase64Layer() {
+		assertDecodedLayer(decodeLayer("encoding=\"base64\"", encode(toBytes(GIDS))));
+	}
+
+	@Test
+	public void testDecodeGzipLayer() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+		gzipOutputStream.write(toBytes(GIDS));
+		gzipOutputStream.close();
+		assertDecodedLayer(decodeLayer("encoding=\"base64\" compression=\"gzip\"", encode(outputStream.toByteArray())));
+	}
+
+	@Test
+	public void testDecodeZlibLayer() throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream);
+		deflaterOutputStream.write(toBytes(GIDS));
+		deflaterOutputStream.close();
+		assertDecodedLayer(decodeLayer("encoding=\"base64\" compression=\"zlib\"", encode(outputStream.toByteArray())));
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void testDecodeTruncatedLayer() {
+		int[] gids = new int[GIDS.length - 1];
+		System.arraycopy(GIDS, 0, gids, 0, gids.length);
+		decodeLayer("encoding=\"base64\"", encode(toBytes(gids)));
+	}
+
+	@Test
+	public void testConcurrentLayerDecodingMatchesSequential() {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			FileHandle file = new FileHandle(
+					Thread.currentThread().getContextClassLoader().getResource("orthogonal.tmx").getFile());
+			TiledMap sequentialMap = new TiledMap(file, false, false);
+			TiledMap concurrentMap = new TiledMap(new TiledParser(executorService), file, false, false);
+
+			List<Layer> expectedLayers = sequentialMap.getLayers();
+			List<Layer> actualLayers = concurrentMap.getLayers();
+			Assert.assertEquals(expectedLayers.size(), actualLayers.size());
+
+			for (int i = 0; i < expectedLayers.size(); i++) {
+				Layer expected = expectedLayers.get(i);
+				Layer actual = actualLayers.get(i);
+				Assert.assertEquals(expected.getName(), actual.getName());
+				Assert.assertEquals(expected.getLayerType(), actual.getLayerType());
+				if (expected.getLayerType() != LayerType.TILE) {
+					continue;
+				}
+				TileLayer expectedTileLayer = (TileLayer) expected;
+				TileLayer actualTileLayer = (TileLayer) actual;
+				for (int x = 0; x < expectedTileLayer.getWidth(); x++) {
+					for (int y = 0; y < expectedTileLayer.getHeight(); y++) {
+						Assert.assertEquals(expectedTileLayer.getTileGid(x, y), actualTileLayer.getTileGid(x, y));
+					}
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testLoadTileLayerHookCalledWithConcurrentLayerDecoding() {
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			FileHandle file = new FileHandle(
+					Thread.currentThread().getContextClassLoader().getResource("orthogonal.tmx").getFile());
+			TiledMap sequentialMap = new TiledMap(file, false, false);
+
+			final List<String> loadedLayers = new ArrayList<String>();
+			TiledParser parser = new TiledParser(executorService) {
+				@Override
+				protected void loadTileLayer(XmlReader.Element element, TileLayer layer) {
+					loadedLayers.add(layer.getName());
+					super.loadTileLayer(element, layer);
+				}
+			};
+			new TiledMap(parser, file, false, false);
+
+			List<String> expectedLayers = new ArrayList<String>();
+			for (Layer layer : sequentialMap.getLayers()) {
+				if (layer.getLayerType() == LayerType.TILE) {
+					expectedLayers.add(layer.getName());
+				}
+			}
+			Assert.assertFalse(expectedLayers.isEmpty());
+			Assert.assertEquals(expectedLayers, loadedLayers);
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private TileLayer decodeLayer(String dataAttributes, String data) {
+		String xml = "<layer name=\"test\" width=\"" + WIDTH + "\" height=\"" + HEIGHT + "\"><data " + dataAttributes
+				+ ">" + data + "</data></layer>";
+		return tiledParser.decodeTileLayer(new XmlReader().parse(xml));
+	}
+
+	private void assertDecodedLayer(TileLayer layer) {
+		Assert.assertEquals("test", layer.getName());
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				Assert.assertEquals(GIDS[(y * WIDTH) + x], layer.getTileGid(x, y));
+			}
+		}
+		Assert.assertTrue(layer.isFlippedHorizontally(0, 1));
+		Assert.assertEquals(7, layer.getTileId(0, 1));
+	}
+
+	private static byte[] toBytes(int[] gids) {
+		ByteBuffer byteBuffer = ByteBuffer.allocate(gids.length * 4).order(ByteOrder.LITTLE_ENDIAN);
+		byteBuffer.asIntBuffer().put(gids);
+		return byteBuffer.array();
+	}
+
+	private static String encode(byte[] bytes) {
+		return new String(Base64Coder.encode(bytes));
+	}
+}
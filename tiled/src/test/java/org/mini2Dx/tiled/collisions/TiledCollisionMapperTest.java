@@ -11,8 +11,12 @@
  */
 package org.mini2Dx.tiled.collisions;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -22,11 +26,15 @@ import org.mini2Dx.core.collisions.QuadTree;
 import org.mini2Dx.core.collisions.RegionQuadTree;
 import org.mini2Dx.core.engine.geom.CollisionBox;
 import org.mini2Dx.core.geom.Rectangle;
+import org.mini2Dx.tiled.Tile;
+import org.mini2Dx.tiled.TileLayer;
 import org.mini2Dx.tiled.TiledMap;
 import org.mini2Dx.tiled.collisions.merger.AllCollisionMerger;
+import org.mini2Dx.tiled.collisions.merger.TileIdCollisionMerger;
 import org.mini2Dx.tiled.exception.TiledException;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
 
 import junit.framework.Assert;
 
@@ -141,6 +149,201 @@ public class TiledCollisionMapperTest {
 		Assert.assertEquals(tiledMap.getTileHeight() * 1f, collision.getHeight());
 	}
 
+	@Test
+	public void testMapAndMergeCollisionsByLayerColumnsRows() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		RegionQuadTree<CollisionBox> quadTree = new RegionQuadTree<CollisionBox>(8, 0f, 0f,
+				tiledMap.getWidth() * tiledMap.getTileWidth(), tiledMap.getHeight() * tiledMap.getTileHeight());
+
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new TileIdCollisionMerger(),
+				TileMergeMode.COLUMNS_ROWS);
+		collisionBoxMapper.mapAndMergeCollisionsByLayer(quadTree, tiledMap, collisionLayerIndex);
+
+		List<CollisionBox> collisions = quadTree.getElementsWithinArea(quadTree);
+		Assert.assertEquals(3, collisions.size());
+
+		CollisionBox collision = getCollisionAt(1, 5, quadTree, tiledMap);
+		Assert.assertEquals(tiledMap.getTileWidth() * 2f, collision.getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 2f, collision.getHeight());
+
+		collision = getCollisionAt(5, 4, quadTree, tiledMap);
+		Assert.assertEquals(tiledMap.getTileWidth() * 2f, collision.getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 1f, collision.getHeight());
+
+		collision = getCollisionAt(6, 3, quadTree, tiledMap);
+		Assert.assertEquals(tiledMap.getTileWidth() * 1f, collision.getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 1f, collision.getHeight());
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByLayerRowsColumnsWithMaxColumns() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		List<CollisionBox> collisions = new ArrayList<CollisionBox>();
+
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new TileIdCollisionMerger(),
+				TileMergeMode.ROWS_COLUMNS);
+		collisionBoxMapper.mapAndMergeCollisionsByLayer(collisions, tiledMap, collisionLayerIndex, 1,
+				Integer.MAX_VALUE);
+		Assert.assertEquals(4, collisions.size());
+
+		for (CollisionBox collision : collisions) {
+			Assert.assertEquals(tiledMap.getTileWidth() * 1f, collision.getWidth());
+		}
+		Assert.assertEquals(tiledMap.getTileHeight() * 2f, collisions.get(0).getHeight());
+		Assert.assertEquals(tiledMap.getTileHeight() * 2f, collisions.get(1).getHeight());
+		Assert.assertEquals(tiledMap.getTileHeight() * 1f, collisions.get(2).getHeight());
+		Assert.assertEquals(tiledMap.getTileHeight() * 2f, collisions.get(3).getHeight());
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByRegions() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		RegionQuadTree<CollisionBox> quadTree = new RegionQuadTree<CollisionBox>(8, 0f, 0f,
+				tiledMap.getWidth() * tiledMap.getTileWidth(), tiledMap.getHeight() * tiledMap.getTileHeight());
+
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new TileIdCollisionMerger(),
+				TileMergeMode.COLUMNS_ROWS);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			collisionBoxMapper.mapAndMergeCollisionsByRegions(quadTree, tiledMap, collisionLayerIndex, 2, pool);
+		} finally {
+			pool.shutdown();
+		}
+
+		List<CollisionBox> collisions = quadTree.getElementsWithinArea(quadTree);
+		Assert.assertEquals(3, collisions.size());
+
+		// Split into 4 regions and stitched back together
+		CollisionBox collision = getCollisionAt(1, 5, quadTree, tiledMap);
+		Assert.assertEquals(tiledMap.getTileWidth() * 2f, collision.getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 2f, collision.getHeight());
+
+		collision = getCollisionAt(5, 4, quadTree, tiledMap);
+		Assert.assertEquals(tiledMap.getTileWidth() * 2f, collision.getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 1f, collision.getHeight());
+
+		collision = getCollisionAt(6, 3, quadTree, tiledMap);
+		Assert.assertEquals(tiledMap.getTileWidth() * 1f, collision.getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 1f, collision.getHeight());
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByRegionsWithMaxColumns() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		List<CollisionBox> collisions = new ArrayList<CollisionBox>();
+
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new TileIdCollisionMerger(),
+				TileMergeMode.COLUMNS_ROWS);
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			collisionBoxMapper.mapAndMergeCollisionsByRegions(collisions, tiledMap, collisionLayerIndex, 2, pool, 1,
+					Integer.MAX_VALUE);
+		} finally {
+			pool.shutdown();
+		}
+
+		Assert.assertEquals(4, collisions.size());
+		for (CollisionBox collision : collisions) {
+			Assert.assertEquals(tiledMap.getTileWidth() * 1f, collision.getWidth());
+		}
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByRegionsAcrossRegionBorders() throws IOException, TiledException {
+		File tmxFile = File.createTempFile("regions", ".tmx");
+		tmxFile.deleteOnExit();
+		new FileHandle(tmxFile).writeString(createRandomTmx(37, 29, 40, 7), false, "UTF-8");
+		TiledMap randomMap = new TiledMap(new FileHandle(tmxFile), false, false);
+		int collisionLayerIndex = randomMap.getLayerIndex("Collisions");
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			for (TileMergeMode mergeMode : TileMergeMode.values()) {
+				collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(),
+						new TileIdCollisionMerger(), mergeMode);
+				List<CollisionBox> byLayer = new ArrayList<CollisionBox>();
+				collisionBoxMapper.mapAndMergeCollisionsByLayer(byLayer, randomMap, collisionLayerIndex);
+				List<CollisionBox> byRegions = new ArrayList<CollisionBox>();
+				collisionBoxMapper.mapAndMergeCollisionsByRegions(byRegions, randomMap, collisionLayerIndex, 3,
+						pool);
+
+				assertCoversCollisions(randomMap, collisionLayerIndex, byRegions);
+				if (mergeMode == TileMergeMode.AREA) {
+					for (CollisionBox collision : byRegions) {
+						Assert.assertEquals(collision.getWidth(), collision.getHeight());
+					}
+				} else {
+					Assert.assertTrue(mergeMode + ": " + byRegions.size() + " > " + byLayer.size(),
+							byRegions.size() <= byLayer.size() + (byLayer.size() / 20));
+				}
+			}
+		} finally {
+			pool.shutdown();
+			tmxFile.delete();
+		}
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByLayerWithPositionalMerger() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		List<CollisionBox> collisions = new ArrayList<CollisionBox>();
+
+		collisionBoxMapper = new TiledCollisionMapper<>(new TiledCollisionBoxFactory(), new TiledCollisionMerger() {
+			@Override
+			public boolean isMergable(TiledMap tiledMap, TileLayer layer, Tile tile1, int tile1X, int tile1Y,
+					int tile2X, int tile2Y) {
+				return tile1X == tile2X;
+			}
+		}, TileMergeMode.COLUMNS_ROWS);
+		collisionBoxMapper.mapAndMergeCollisionsByLayer(collisions, tiledMap, collisionLayerIndex);
+
+		Assert.assertEquals(4, collisions.size());
+		for (CollisionBox collision : collisions) {
+			Assert.assertEquals(tiledMap.getTileWidth() * 1f, collision.getWidth());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testTileMergeModeMerge() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		TileLayer layer = tiledMap.getTileLayer(collisionLayerIndex);
+		byte[][] collisions = TiledCollisionMapper.mapCollisionsByLayer(tiledMap, collisionLayerIndex);
+		List<CollisionBox> results = new ArrayList<CollisionBox>();
+
+		for (int x = 0; x < tiledMap.getWidth(); x++) {
+			for (int y = 0; y < tiledMap.getHeight(); y++) {
+				if (collisions[x][y] == 0) {
+					continue;
+				}
+				results.add(TileMergeMode.COLUMNS_ROWS.merge(new TiledCollisionBoxFactory(),
+						new TileIdCollisionMerger(), x, y, Integer.MAX_VALUE, Integer.MAX_VALUE, collisions, layer,
+						tiledMap));
+			}
+		}
+		Assert.assertEquals(3, results.size());
+		Assert.assertEquals(tiledMap.getTileWidth() * 2f, results.get(0).getWidth());
+		Assert.assertEquals(tiledMap.getTileHeight() * 2f, results.get(0).getHeight());
+	}
+
+	@Test
+	public void testMapAndMergeCollisionsByLayers() {
+		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
+		RegionQuadTree<CollisionBox> quadTree = new RegionQuadTree<CollisionBox>(8, 0f, 0f,
+				tiledMap.getWidth() * tiledMap.getTileWidth(), tiledMap.getHeight() * tiledMap.getTileHeight());
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			collisionBoxMapper.mapAndMergeCollisionsByLayers(quadTree, tiledMap, pool, collisionLayerIndex,
+					tiledMap.getLayerIndex("NonExistingLayer"), collisionLayerIndex);
+		} finally {
+			pool.shutdown();
+		}
+
+		List<CollisionBox> collisions = quadTree.getElementsWithinArea(quadTree);
+		Assert.assertEquals(8, collisions.size());
+	}
+
 	@Test
 	public void testMapCollisionsByLayerIndexToByteArray() {
 		int collisionLayerIndex = tiledMap.getLayerIndex("Collisions");
@@ -214,6 +417,70 @@ public class TiledCollisionMapperTest {
 		Assert.assertEquals(19, collisions.size());
 	}
 
+	private void assertCoversCollisions(TiledMap tiledMap, int layerIndex, List<CollisionBox> collisions) {
+		TileLayer layer = tiledMap.getTileLayer(layerIndex);
+		int[] coverage = new int[tiledMap.getWidth() * tiledMap.getHeight()];
+		for (CollisionBox collision : collisions) {
+			int startX = MathUtils.round(collision.getX() / tiledMap.getTileWidth());
+			int startY = MathUtils.round(collision.getY() / tiledMap.getTileHeight());
+			int columns = MathUtils.round(collision.getWidth() / tiledMap.getTileWidth());
+			int rows = MathUtils.round(collision.getHeight() / tiledMap.getTileHeight());
+			for (int y = startY; y < startY + rows; y++) {
+				for (int x = startX; x < startX + columns; x++) {
+					Assert.assertEquals(layer.getTileId(startX, startY), layer.getTileId(x, y));
+					coverage[(y * tiledMap.getWidth()) + x]++;
+				}
+			}
+		}
+		for (int y = 0; y < tiledMap.getHeight(); y++) {
+			for (int x = 0; x < tiledMap.getWidth(); x++) {
+				Assert.assertEquals(layer.getTileId(x, y) > 0 ? 1 : 0, coverage[(y * tiledMap.getWidth()) + x]);
+			}
+		}
+	}
+
+	private String createRandomTmx(int width, int height, int totalAreas, int maxAreaSize) {
+		// Overlapping rectangular areas of two different tiles
+		final int[] tileIds = new int[width * height];
+		final Random random = new Random(width * height);
+		for (int i = 0; i < totalAreas; i++) {
+			int areaX = random.nextInt(width);
+			int areaY = random.nextInt(height);
+			int areaWidth = Math.min(width - areaX, random.nextInt(maxAreaSize) + 1);
+			int areaHeight = Math.min(height - areaY, random.nextInt(maxAreaSize) + 1);
+			int tileId = random.nextInt(2) + 1;
+			for (int y = areaY; y < areaY + areaHeight; y++) {
+				for (int x = areaX; x < areaX + areaWidth; x++) {
+					tileIds[(y * width) + x] = tileId;
+				}
+			}
+		}
+
+		StringBuilder result = new StringBuilder();
+		result.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		result.append("<map version=\"1.0\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"" + width
+				+ "\" height=\"" + height + "\" tilewidth=\"32\" tileheight=\"32\">\n");
+		result.append(" <tileset firstgid=\"1\" name=\"tileset\" tilewidth=\"32\" tileheight=\"32\""
+				+ " tilecount=\"4\" columns=\"2\">\n");
+		result.append("  <image source=\"tileset.png\" width=\"64\" height=\"64\"/>\n");
+		result.append(" </tileset>\n");
+		result.append(" <layer name=\"Collisions\" width=\"" + width + "\" height=\"" + height + "\">\n");
+		result.append("  <data encoding=\"csv\">\n");
+		for (int i = 0; i < tileIds.length; i++) {
+			result.append(tileIds[i]);
+			if (i < tileIds.length - 1) {
+				result.append(',');
+			}
+			if ((i + 1) % width == 0) {
+				result.append('\n');
+			}
+		}
+		result.append("  </data>\n");
+		result.append(" </layer>\n");
+		result.append("</map>\n");
+		return result.toString();
+	}
+
 	private void assertCollisionAt(int tileX, int tileY, QuadTree<?> quadTree, TiledMap tiledMap) {
 		List<?> collisions = quadTree.getElementsWithinArea(new Rectangle(tileX * tiledMap.getTileWidth(),
 				tileY * tiledMap.getTileHeight(), tiledMap.getTileWidth() - 1f, tiledMap.getTileHeight() - 1f));
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link HexagonalTileLayerChunkCache}
+ */
+public class HexagonalTileLayerChunkCacheTest {
+	private Mockery mockery;
+	private Graphics graphics;
+
+	private final List<float[]> cachedTilePositions = new ArrayList<float[]>();
+	private int totalSpriteCaches;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		graphics = mockery.mock(Graphics.class);
+		mockery.checking(new Expectations() {
+			{
+				ignoring(graphics);
+			}
+		});
+	}
+
+	@Test
+	public void testStaggeredXCachesTilesBackToFront() {
+		TiledMap tiledMap = loadMap("hexagonal_x.tmx");
+		HexagonalTileLayerChunkCache chunkCache = createChunkCache(tiledMap, tiledMap.getSideLength() * 2,
+				tiledMap.getTileHeight());
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		chunkCache.dispose();
+
+		assertCachedBackToFront();
+	}
+
+	@Test
+	public void testStaggeredYCachesTilesBackToFront() {
+		TiledMap tiledMap = loadMap("hexagonal_y.tmx");
+		HexagonalTileLayerChunkCache chunkCache = createChunkCache(tiledMap, tiledMap.getTileWidth(),
+				tiledMap.getSideLength() * 2);
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		chunkCache.dispose();
+
+		assertCachedBackToFront();
+	}
+
+	@Test
+	public void testSetTileIdInvalidatesOnlyContainingChunk() {
+		TiledMap tiledMap = loadMap("hexagonal_x.tmx");
+		TileLayer layer = tiledMap.getTileLayer(0);
+		HexagonalTileLayerChunkCache chunkCache = createChunkCache(tiledMap, tiledMap.getSideLength() * 2,
+				tiledMap.getTileHeight());
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		Assert.assertEquals(9, chunkCache.getTotalChunkBuilds());
+
+		layer.setTileId(9, 9, layer.getTileId(9, 9));
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		Assert.assertEquals(10, chunkCache.getTotalChunkBuilds());
+		chunkCache.dispose();
+	}
+
+	private void assertCachedBackToFront() {
+		Assert.assertFalse(cachedTilePositions.isEmpty());
+
+		// Within each chunk, tiles lower on screen must be cached later
+		float previousChunk = -1f;
+		float previousY = Float.NEGATIVE_INFINITY;
+		for (float[] position : cachedTilePositions) {
+			if (position[2] != previousChunk) {
+				previousChunk = position[2];
+				previousY = Float.NEGATIVE_INFINITY;
+			}
+			Assert.assertTrue(position[1] >= previousY);
+			previousY = position[1];
+		}
+	}
+
+	private TiledMap loadMap(String filename) {
+		FileHandle file = new FileHandle(
+				Thread.currentThread().getContextClassLoader().getResource(filename).getFile());
+		return new TiledMap(file, false, false);
+	}
+
+	private HexagonalTileLayerChunkCache createChunkCache(TiledMap tiledMap, int hexWidth, int hexHeight) {
+		return new HexagonalTileLayerChunkCache(tiledMap, tiledMap.getTileLayer(0), hexWidth, hexHeight, 4, 9) {
+			@Override
+			protected SpriteCache createSpriteCache() {
+				final SpriteCache result = mockery.mock(SpriteCache.class, "spriteCache" + totalSpriteCaches);
+				final int spriteCacheIndex = totalSpriteCaches;
+				totalSpriteCaches++;
+				mockery.checking(new Expectations() {
+					{
+						allowing(result).add(with(any(TextureRegion.class)), with(any(float.class)),
+								with(any(float.class)));
+						will(new CustomAction("record tile position") {
+							@Override
+							public Object invoke(Invocation invocation) throws Throwable {
+								cachedTilePositions.add(new float[] { (Float) invocation.getParameter(1),
+										(Float) invocation.getParameter(2), spriteCacheIndex });
+								return null;
+							}
+						});
+						ignoring(result);
+					}
+				});
+				return result;
+			}
+		};
+	}
+}
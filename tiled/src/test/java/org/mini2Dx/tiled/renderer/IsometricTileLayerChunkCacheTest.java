@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.core.graphics.Sprite;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link IsometricTileLayerChunkCache}
+ */
+public class IsometricTileLayerChunkCacheTest {
+	private Mockery mockery;
+	private Graphics graphics;
+
+	private TiledMap tiledMap;
+	private TileLayer layer;
+	private IsometricTileLayerChunkCache chunkCache;
+
+	private final List<int[]> chunkBuildOrder = new ArrayList<int[]>();
+	private final List<float[]> cachedTilePositions = new ArrayList<float[]>();
+	private int totalSpriteCaches;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		graphics = mockery.mock(Graphics.class);
+		mockery.checking(new Expectations() {
+			{
+				ignoring(graphics);
+			}
+		});
+
+		FileHandle file = new FileHandle(
+				Thread.currentThread().getContextClassLoader().getResource("isometric.tmx").getFile());
+		tiledMap = new TiledMap(file, false, false);
+		layer = tiledMap.getTileLayer(0);
+
+		// isometric.tmx is 10x10 tiles, so 4x4 chunks produce a 3x3 grid
+		chunkCache = new IsometricTileLayerChunkCache(tiledMap, layer, 4, 9) {
+			@Override
+			protected SpriteCache createSpriteCache() {
+				final SpriteCache result = mockery.mock(SpriteCache.class, "spriteCache" + totalSpriteCaches);
+				totalSpriteCaches++;
+				mockery.checking(new Expectations() {
+					{
+						allowing(result).add(with(any(TextureRegion.class)), with(any(float.class)),
+								with(any(float.class)));
+						will(new CustomAction("record tile position") {
+							@Override
+							public Object invoke(Invocation invocation) throws Throwable {
+								cachedTilePositions.add(new float[] { (Float) invocation.getParameter(1),
+										(Float) invocation.getParameter(2) });
+								return null;
+							}
+						});
+						ignoring(result);
+					}
+				});
+				return result;
+			}
+
+			@Override
+			protected int cacheTiles(SpriteCache spriteCache, int startTileX, int startTileY, int endTileX,
+					int endTileY) {
+				chunkBuildOrder.add(new int[] { startTileX / 4, startTileY / 4 });
+				return super.cacheTiles(spriteCache, startTileX, startTileY, endTileX, endTileY);
+			}
+		};
+	}
+
+	@After
+	public void teardown() {
+		chunkCache.dispose();
+	}
+
+	@Test
+	public void testDrawsChunksInDiagonalOrder() {
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		Assert.assertEquals(9, chunkBuildOrder.size());
+
+		int previousDiagonal = 0;
+		for (int[] chunk : chunkBuildOrder) {
+			int diagonal = chunk[0] + chunk[1];
+			Assert.assertTrue(diagonal >= previousDiagonal);
+			previousDiagonal = diagonal;
+		}
+	}
+
+	@Test
+	public void testCachesTilesBackToFront() {
+		chunkCache.draw(graphics, 0, 0, 4, 4);
+		Assert.assertEquals(1, chunkCache.getTotalChunkBuilds());
+		Assert.assertFalse(cachedTilePositions.isEmpty());
+
+		float previousY = Float.NEGATIVE_INFINITY;
+		for (float[] position : cachedTilePositions) {
+			Assert.assertTrue(position[1] >= previousY);
+			previousY = position[1];
+		}
+	}
+
+	@Test
+	public void testCachesTilesRelativeToOrigin() {
+		layer.setTileId(2, 1, layer.getTileId(2, 1) < 1 ? 1 : layer.getTileId(2, 1));
+		chunkCache.draw(graphics, 0, 0, 4, 4);
+
+		float expectedX = (2 - 1) * (tiledMap.getTileWidth() / 2f);
+		float expectedY = (2 + 1) * (tiledMap.getTileHeight() / 2f);
+		boolean found = false;
+		for (float[] position : cachedTilePositions) {
+			if (position[0] == expectedX && position[1] == expectedY) {
+				found = true;
+			}
+		}
+		Assert.assertTrue(found);
+	}
+
+	@Test
+	public void testSetTileIdInvalidatesOnlyContainingChunk() {
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		Assert.assertEquals(9, chunkCache.getTotalChunkBuilds());
+
+		layer.setTileId(5, 9, layer.getTileId(5, 9));
+		chunkCache.draw(graphics, 0, 0, 10, 10);
+		Assert.assertEquals(10, chunkCache.getTotalChunkBuilds());
+		Assert.assertEquals(1, chunkBuildOrder.get(9)[0]);
+		Assert.assertEquals(2, chunkBuildOrder.get(9)[1]);
+	}
+
+	@Test
+	public void testDrawsPartialChunksPerTile() {
+		int expectedTiles = 0;
+		for (int x = 1; x < 6; x++) {
+			for (int y = 1; y < 3; y++) {
+				if (layer.getTileId(x, y) > 0) {
+					expectedTiles++;
+				}
+			}
+		}
+		final Graphics tileGraphics = mockery.mock(Graphics.class, "tileGraphics");
+		final int totalTiles = expectedTiles;
+		mockery.checking(new Expectations() {
+			{
+				exactly(totalTiles).of(tileGraphics).drawSprite(with(any(Sprite.class)), with(any(float.class)),
+						with(any(float.class)));
+			}
+		});
+
+		chunkCache.draw(tileGraphics, 1, 1, 5, 2);
+		Assert.assertEquals(0, chunkCache.getTotalChunkBuilds());
+		Assert.assertTrue(cachedTilePositions.isEmpty());
+		mockery.assertIsSatisfied();
+	}
+}
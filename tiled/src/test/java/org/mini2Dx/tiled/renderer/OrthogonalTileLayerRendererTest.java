@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link OrthogonalTileLayerRenderer}
+ */
+public class OrthogonalTileLayerRendererTest {
+	private static final int LAYER_SIZE = 1000;
+
+	private Mockery mockery;
+	private OrthogonalTileLayerRenderer renderer;
+	private TileLayer layer;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+
+		// orthogonal.tmx uses 32x32 tiles
+		FileHandle file = new FileHandle(
+				Thread.currentThread().getContextClassLoader().getResource("orthogonal.tmx").getFile());
+		TiledMap tiledMap = new TiledMap(file, false, false);
+		renderer = new OrthogonalTileLayerRenderer(tiledMap, false);
+		layer = new TileLayer(LAYER_SIZE, LAYER_SIZE);
+	}
+
+	@Test
+	public void testVisibleTilesWithTranslation() {
+		Graphics g = createGraphics(320f, 640f, 1f, 0f, 0f, 0f);
+		Assert.assertEquals(true, renderer.calculateVisibleTiles(g, layer, 0, 0, LAYER_SIZE, LAYER_SIZE));
+		assertVisibleTiles(9, 19, 27, 20);
+	}
+
+	@Test
+	public void testVisibleTilesWithScale() {
+		Graphics g = createGraphics(320f, 640f, 2f, 0f, 0f, 0f);
+		Assert.assertEquals(true, renderer.calculateVisibleTiles(g, layer, 0, 0, LAYER_SIZE, LAYER_SIZE));
+		assertVisibleTiles(9, 19, 14, 11);
+	}
+
+	@Test
+	public void testVisibleTilesWithRotation() {
+		Graphics g = createGraphics(320f, 640f, 1f, 90f, 720f, 940f);
+		Assert.assertEquals(true, renderer.calculateVisibleTiles(g, layer, 0, 0, LAYER_SIZE, LAYER_SIZE));
+		assertVisibleTiles(13, 16, 19, 26);
+	}
+
+	@Test
+	public void testVisibleTilesClampedToRequestedArea() {
+		Graphics g = createGraphics(320f, 640f, 1f, 0f, 0f, 0f);
+		Assert.assertEquals(true, renderer.calculateVisibleTiles(g, layer, 0, 0, 15, 25));
+		assertVisibleTiles(9, 19, 6, 6);
+	}
+
+	@Test
+	public void testVisibleTilesClampedToLayer() {
+		Graphics g = createGraphics(-100f, -100f, 1f, 0f, 0f, 0f);
+		Assert.assertEquals(true, renderer.calculateVisibleTiles(g, layer, -5, -5, LAYER_SIZE, LAYER_SIZE));
+		assertVisibleTiles(0, 0, 22, 16);
+
+		g = createGraphics((LAYER_SIZE * 32f) + 100f, 0f, 1f, 0f, 0f, 0f);
+		Assert.assertEquals(false, renderer.calculateVisibleTiles(g, layer, 0, 0, LAYER_SIZE, LAYER_SIZE));
+	}
+
+	@Test
+	public void testNoVisibleTilesOutsideViewport() {
+		Graphics g = createGraphics(-5000f, -5000f, 1f, 0f, 0f, 0f);
+		Assert.assertEquals(false, renderer.calculateVisibleTiles(g, layer, 0, 0, LAYER_SIZE, LAYER_SIZE));
+	}
+
+	private void assertVisibleTiles(int startTileX, int startTileY, int widthInTiles, int heightInTiles) {
+		Assert.assertEquals(startTileX, renderer.visibleStartTileX);
+		Assert.assertEquals(startTileY, renderer.visibleStartTileY);
+		Assert.assertEquals(widthInTiles, renderer.visibleWidthInTiles);
+		Assert.assertEquals(heightInTiles, renderer.visibleHeightInTiles);
+	}
+
+	private Graphics createGraphics(final float translationX, final float translationY, final float scale,
+			final float rotation, final float rotationX, final float rotationY) {
+		final Graphics g = mockery.mock(Graphics.class, "graphics" + translationX + "," + translationY + "," + scale);
+		mockery.checking(new Expectations() {
+			{
+				allowing(g).getTranslationX();
+				will(returnValue(translationX));
+				allowing(g).getTranslationY();
+				will(returnValue(translationY));
+				allowing(g).getWindowWidth();
+				will(returnValue(800));
+				allowing(g).getWindowHeight();
+				will(returnValue(600));
+				allowing(g).getScaleX();
+				will(returnValue(scale));
+				allowing(g).getScaleY();
+				will(returnValue(scale));
+				allowing(g).getRotation();
+				will(returnValue(rotation));
+				allowing(g).getRotationX();
+				will(returnValue(rotationX));
+				allowing(g).getRotationY();
+				will(returnValue(rotationY));
+			}
+		});
+		return g;
+	}
+}
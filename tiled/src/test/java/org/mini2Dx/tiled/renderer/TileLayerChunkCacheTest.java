@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.tiled.renderer;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.tiled.TileLayer;
+import org.mini2Dx.tiled.TiledMap;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link TileLayerChunkCache}
+ */
+public class TileLayerChunkCacheTest {
+	private Mockery mockery;
+	private Graphics graphics;
+
+	private TiledMap tiledMap;
+	private TileLayer layer;
+	private TileLayerChunkCache chunkCache;
+	private int totalSpriteCaches;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		graphics = mockery.mock(Graphics.class);
+		mockery.checking(new Expectations() {
+			{
+				ignoring(graphics);
+			}
+		});
+
+		FileHandle file = new FileHandle(
+				Thread.currentThread().getContextClassLoader().getResource("orthogonal.tmx").getFile());
+		tiledMap = new TiledMap(file, false, false);
+		layer = tiledMap.getTileLayer(0);
+
+		// orthogonal.tmx is 10x8 tiles, so 4x4 chunks produce a 3x2 grid
+		chunkCache = new TileLayerChunkCache(tiledMap, layer, 4, 4) {
+			@Override
+			protected SpriteCache createSpriteCache() {
+				final SpriteCache result = mockery.mock(SpriteCache.class, "spriteCache" + totalSpriteCaches);
+				totalSpriteCaches++;
+				mockery.checking(new Expectations() {
+					{
+						ignoring(result);
+					}
+				});
+				return result;
+			}
+		};
+	}
+
+	@After
+	public void teardown() {
+		chunkCache.dispose();
+	}
+
+	@Test
+	public void testBuildsOnlyVisibleChunks() {
+		chunkCache.draw(graphics, 0, 0, 4, 4);
+		Assert.assertEquals(1, chunkCache.getTotalResidentChunks());
+		Assert.assertEquals(1, chunkCache.getTotalChunkBuilds());
+
+		chunkCache.draw(graphics, 2, 2, 4, 4);
+		Assert.assertEquals(4, chunkCache.getTotalResidentChunks());
+		Assert.assertEquals(4, chunkCache.getTotalChunkBuilds());
+	}
+
+	@Test
+	public void testScrollingDoesNotRebuildResidentChunks() {
+		for (int x = 0; x < 4; x++) {
+			chunkCache.draw(graphics, x, 0, 4, 4);
+		}
+		Assert.assertEquals(2, chunkCache.getTotalResidentChunks());
+		Assert.assertEquals(2, chunkCache.getTotalChunkBuilds());
+	}
+
+	@Test
+	public void testSetTileIdInvalidatesOnlyContainingChunk() {
+		chunkCache.draw(graphics, 0, 0, 10, 8);
+		Assert.assertEquals(6, chunkCache.getTotalChunkBuilds());
+
+		layer.setTileId(5, 1, layer.getTileId(5, 1));
+		chunkCache.draw(graphics, 0, 0, 10, 8);
+		Assert.assertEquals(7, chunkCache.getTotalChunkBuilds());
+
+		chunkCache.draw(graphics, 0, 0, 10, 8);
+		Assert.assertEquals(7, chunkCache.getTotalChunkBuilds());
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyDrawnChunk() {
+		chunkCache.draw(graphics, 0, 0, 8, 8);
+		Assert.assertEquals(4, chunkCache.getTotalResidentChunks());
+
+		chunkCache.draw(graphics, 0, 0, 4, 4);
+		chunkCache.draw(graphics, 8, 0, 2, 4);
+		Assert.assertEquals(4, chunkCache.getTotalResidentChunks());
+		Assert.assertEquals(5, chunkCache.getTotalChunkBuilds());
+
+		// Evicted caches are reused for new chunks
+		Assert.assertEquals(4, totalSpriteCaches);
+
+		chunkCache.draw(graphics, 0, 0, 4, 4);
+		Assert.assertEquals(5, chunkCache.getTotalChunkBuilds());
+	}
+
+	@Test
+	public void testGrowsWhenVisibleChunksExceedMaximum() {
+		chunkCache.draw(graphics, 0, 0, 10, 8);
+		Assert.assertEquals(6, chunkCache.getTotalResidentChunks());
+	}
+}
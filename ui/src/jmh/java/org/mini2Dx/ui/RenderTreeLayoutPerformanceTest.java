@@ -56,7 +56,8 @@ public class RenderTreeLayoutPerformanceTest {
 		private List<Modal> modals = new ArrayList<Modal>();
 		
 		private HeadlessMini2DxGame game;
-		private UiContainer uiContainer;
+		protected UiContainer uiContainer;
+		protected Label leafLabel;
 		
 		{
 			assetManager.setLoader(UiTheme.class, new UiThemeLoader(fileHandleResolver, true));
@@ -114,8 +115,10 @@ public class RenderTreeLayoutPerformanceTest {
 				label.setText("Label " + i);
 				label.setResponsive(true);
 				column.add(label);
+				leafLabel = label;
 				
 				addNestedElements(column, depth + 1);
+				root.add(column);
 			}
 		}
 
@@ -132,10 +135,33 @@ public class RenderTreeLayoutPerformanceTest {
 		public void render(Graphics g) {}
 	}
 	
+	@State(Scope.Thread)
+	public static class SingleLeafChangeState extends TestState {
+		private int changes = 0;
+		
+		@Setup(Level.Iteration)
+		public void initialLayout() {
+			uiContainer.update(GameContainer.MAXIMUM_DELTA);
+		}
+		
+		public void changeLeaf() {
+			changes++;
+			leafLabel.setText("Leaf " + changes);
+		}
+	}
+	
 	@Benchmark
 	@BenchmarkMode(value=Mode.AverageTime)
 	@Group("UiContainer_InitialLayout")
 	public void testInitialLayout(TestState state) {
 		state.uiContainer.update(GameContainer.MAXIMUM_DELTA);
 	}
+	
+	@Benchmark
+	@BenchmarkMode(value=Mode.AverageTime)
+	@Group("UiContainer_SingleLeafChange")
+	public void testSingleLeafChange(SingleLeafChangeState state) {
+		state.changeLeaf();
+		state.uiContainer.update(GameContainer.MAXIMUM_DELTA);
+	}
 }
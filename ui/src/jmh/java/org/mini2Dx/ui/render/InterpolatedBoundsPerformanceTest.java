@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import org.mini2Dx.core.engine.geom.CollisionBox;
+import org.mini2Dx.core.geom.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares {@link InterpolatedBounds} against the {@link CollisionBox} and
+ * {@link Rectangle} pair previously held by each {@link RenderNode} for a UI of
+ * 2000 elements. The allocation benchmarks report the heap used per UI via the
+ * gc profiler (gc.alloc.rate.norm) and the frame benchmarks measure the
+ * per-frame update and interpolation cost.
+ */
+public class InterpolatedBoundsPerformanceTest {
+	private static final int TOTAL_NODES = 2000;
+	private static final float DELTA = 1f / 60f;
+	private static final float ALPHA = 0.5f;
+
+	@State(Scope.Thread)
+	public static class TestState {
+		public final CollisionBox[] collisionBoxes = new CollisionBox[TOTAL_NODES];
+		public final Rectangle[] rectangles = new Rectangle[TOTAL_NODES];
+		public final InterpolatedBounds[] currentBounds = new InterpolatedBounds[TOTAL_NODES];
+		public final InterpolatedBounds[] targetBounds = new InterpolatedBounds[TOTAL_NODES];
+		public float offset = 0f;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			for (int i = 0; i < TOTAL_NODES; i++) {
+				collisionBoxes[i] = new CollisionBox();
+				rectangles[i] = new Rectangle();
+				currentBounds[i] = new InterpolatedBounds();
+				targetBounds[i] = new InterpolatedBounds();
+			}
+		}
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public Object[] testAllocateCollisionBoxes() {
+		Object[] result = new Object[TOTAL_NODES * 2];
+		for (int i = 0; i < result.length; i += 2) {
+			result[i] = new CollisionBox();
+			result[i + 1] = new Rectangle();
+		}
+		return result;
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public Object[] testAllocateInterpolatedBounds() {
+		Object[] result = new Object[TOTAL_NODES * 2];
+		for (int i = 0; i < result.length; i += 2) {
+			result[i] = new InterpolatedBounds();
+			result[i + 1] = new InterpolatedBounds();
+		}
+		return result;
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public int testFrameCollisionBoxes(TestState state) {
+		state.offset += DELTA;
+		int result = 0;
+		for (int i = 0; i < TOTAL_NODES; i++) {
+			Rectangle target = state.rectangles[i];
+			CollisionBox current = state.collisionBoxes[i];
+			target.set(state.offset + i, state.offset, 100f, 20f);
+			current.preUpdate();
+			current.forceTo(target);
+			current.interpolate(null, ALPHA);
+			result += current.getRenderX();
+		}
+		return result;
+	}
+
+	@Benchmark
+	@BenchmarkMode(value = Mode.AverageTime)
+	public int testFrameInterpolatedBounds(TestState state) {
+		state.offset += DELTA;
+		int result = 0;
+		for (int i = 0; i < TOTAL_NODES; i++) {
+			InterpolatedBounds target = state.targetBounds[i];
+			InterpolatedBounds current = state.currentBounds[i];
+			target.set(state.offset + i, state.offset, 100f, 20f);
+			current.preUpdate();
+			current.forceTo(target);
+			current.interpolate(ALPHA);
+			result += current.getRenderX();
+		}
+		return result;
+	}
+}
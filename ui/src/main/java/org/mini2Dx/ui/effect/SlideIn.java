@@ -11,11 +11,10 @@
  */
 package org.mini2Dx.ui.effect;
 
-import org.mini2Dx.core.engine.geom.CollisionBox;
-import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.ui.element.UiElement;
 import org.mini2Dx.ui.element.Visibility;
+import org.mini2Dx.ui.render.InterpolatedBounds;
 import org.mini2Dx.ui.render.UiContainerRenderTree;
 
 import com.badlogic.gdx.math.MathUtils;
@@ -83,7 +82,7 @@ public class SlideIn implements UiEffect {
 	}
 
 	@Override
-	public boolean update(UiContainerRenderTree uiContainer, CollisionBox currentArea, Rectangle targetArea,
+	public boolean update(UiContainerRenderTree uiContainer, InterpolatedBounds currentArea, InterpolatedBounds targetArea,
 			float delta) {
 		if (finished) {
 			return true;
@@ -11,10 +11,9 @@
  */
 package org.mini2Dx.ui.effect;
 
-import org.mini2Dx.core.engine.geom.CollisionBox;
-import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.ui.element.UiElement;
+import org.mini2Dx.ui.render.InterpolatedBounds;
 import org.mini2Dx.ui.render.UiContainerRenderTree;
 
 /**
@@ -49,7 +48,7 @@ public interface UiEffect {
 	 *            The frame delta
 	 * @return True if the {@link UiElement} should be rendered
 	 */
-	public boolean update(UiContainerRenderTree uiContainer, CollisionBox currentArea, Rectangle targetArea,
+	public boolean update(UiContainerRenderTree uiContainer, InterpolatedBounds currentArea, InterpolatedBounds targetArea,
 			float delta);
 
 	/**
@@ -19,6 +19,7 @@ import java.util.Queue;
 import org.mini2Dx.core.serialization.annotation.ConstructorArg;
 import org.mini2Dx.core.serialization.annotation.Field;
 import org.mini2Dx.ui.animation.ScrollTo;
+import org.mini2Dx.ui.layout.FlexDirection;
 import org.mini2Dx.ui.listener.ScrollListener;
 import org.mini2Dx.ui.render.ParentRenderNode;
 import org.mini2Dx.ui.render.ScrollBoxRenderNode;
@@ -30,6 +31,7 @@ import com.badlogic.gdx.math.MathUtils;
  */
 public class ScrollBox extends Column {
 	private static final float DEFAULT_SCROLL_FACTOR = 0.005f;
+	private static final float DEFAULT_OVERSCAN = 64f;
 
 	@Field(optional = true)
 	private float scrollFactor = DEFAULT_SCROLL_FACTOR;
@@ -37,6 +39,10 @@ public class ScrollBox extends Column {
 	private float minHeight = Float.MIN_VALUE;
 	@Field(optional = true)
 	private float maxHeight = Float.MAX_VALUE;
+	@Field(optional = true)
+	private boolean virtualised = false;
+	@Field(optional = true)
+	private float overscan = DEFAULT_OVERSCAN;
 
 	private final Queue<ScrollTo> scrollTos = new LinkedList<ScrollTo>();
 	private List<ScrollListener> scrollListeners;
@@ -177,6 +183,67 @@ public class ScrollBox extends Column {
 		renderNode.setDirty(true);
 	}
 
+	/**
+	 * Returns if only the children within the visible scroll window are laid
+	 * out, updated and rendered
+	 * 
+	 * @return False by default
+	 */
+	public boolean isVirtualised() {
+		return virtualised;
+	}
+
+	/**
+	 * Sets if only the children within the visible scroll window are laid
+	 * out, updated and rendered. This is intended for very long lists and
+	 * only applies when the {@link FlexDirection} is {@link FlexDirection#ROW}.
+	 * The heights of children that have not been laid out yet are estimated
+	 * from the children that have been.
+	 * 
+	 * @param virtualised
+	 *            True if this {@link ScrollBox} should be virtualised
+	 */
+	public void setVirtualised(boolean virtualised) {
+		if (this.virtualised == virtualised) {
+			return;
+		}
+		this.virtualised = virtualised;
+
+		if (renderNode == null) {
+			return;
+		}
+		renderNode.setDirty(true);
+	}
+
+	/**
+	 * Returns the extra height (in pixels) above and below the visible scroll
+	 * window in which children are still laid out when virtualised
+	 * 
+	 * @return {@link #DEFAULT_OVERSCAN} by default
+	 */
+	public float getOverscan() {
+		return overscan;
+	}
+
+	/**
+	 * Sets the extra height (in pixels) above and below the visible scroll
+	 * window in which children are still laid out when virtualised
+	 * 
+	 * @param overscan
+	 *            The overscan height in pixels
+	 */
+	public void setOverscan(float overscan) {
+		if (MathUtils.isEqual(this.overscan, overscan, MathUtils.FLOAT_ROUNDING_ERROR)) {
+			return;
+		}
+		this.overscan = overscan;
+
+		if (renderNode == null) {
+			return;
+		}
+		renderNode.setDirty(true);
+	}
+
 	/**
 	 * Returns how much this {@link ScrollBox} scrolls when the up/down buttons
 	 * are clicked (expressed as a % between 0.0 and 1.0)
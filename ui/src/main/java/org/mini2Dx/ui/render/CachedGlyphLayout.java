@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * A {@link GlyphLayout} owned by a single {@link RenderNode} that is only
+ * recalculated when the font, text, target width or alignment it was
+ * calculated with changes
+ */
+class CachedGlyphLayout {
+	private final GlyphLayout glyphLayout = new GlyphLayout();
+
+	private BitmapFont font;
+	private String text;
+	private float targetWidth, fontScaleX, fontScaleY;
+	private int horizontalAlignment;
+	private boolean wrap;
+	private int revision;
+
+	/**
+	 * Lays out a single line of text
+	 * 
+	 * @param font
+	 *            The {@link BitmapFont} to use
+	 * @param text
+	 *            The text to lay out
+	 * @return True if the text was laid out again, false if the cached
+	 *         layout was still valid
+	 */
+	public boolean setText(BitmapFont font, String text) {
+		return setText(font, text, 0f, Align.left, false);
+	}
+
+	/**
+	 * Lays out text
+	 * 
+	 * @param font
+	 *            The {@link BitmapFont} to use
+	 * @param text
+	 *            The text to lay out
+	 * @param targetWidth
+	 *            The width to align (and wrap) the text within
+	 * @param horizontalAlignment
+	 *            The {@link Align} value
+	 * @param wrap
+	 *            True if the text should wrap at the target width
+	 * @return True if the text was laid out again, false if the cached
+	 *         layout was still valid
+	 */
+	public boolean setText(BitmapFont font, String text, float targetWidth, int horizontalAlignment, boolean wrap) {
+		if (isValid(font, text, targetWidth, horizontalAlignment, wrap)) {
+			return false;
+		}
+		glyphLayout.setText(font, text, Color.WHITE, targetWidth, horizontalAlignment, wrap);
+
+		this.font = font;
+		this.text = text;
+		this.targetWidth = targetWidth;
+		this.horizontalAlignment = horizontalAlignment;
+		this.wrap = wrap;
+		this.fontScaleX = font.getData().scaleX;
+		this.fontScaleY = font.getData().scaleY;
+		revision++;
+		return true;
+	}
+
+	private boolean isValid(BitmapFont font, String text, float targetWidth, int horizontalAlignment,
+			boolean wrap) {
+		if (this.font != font) {
+			return false;
+		}
+		if (this.targetWidth != targetWidth) {
+			return false;
+		}
+		if (this.horizontalAlignment != horizontalAlignment) {
+			return false;
+		}
+		if (this.wrap != wrap) {
+			return false;
+		}
+		if (fontScaleX != font.getData().scaleX || fontScaleY != font.getData().scaleY) {
+			return false;
+		}
+		if (this.text == null) {
+			return false;
+		}
+		return this.text.equals(text);
+	}
+
+	/**
+	 * Forces the text to be laid out again on the next call to setText
+	 */
+	public void invalidate() {
+		font = null;
+		text = null;
+	}
+
+	public float getWidth() {
+		return glyphLayout.width;
+	}
+
+	public float getHeight() {
+		return glyphLayout.height;
+	}
+
+	/**
+	 * Returns a counter that is incremented each time the text is laid out
+	 * again. This allows callers to detect changes made by other callers
+	 * sharing this layout.
+	 * 
+	 * @return The layout revision
+	 */
+	public int getRevision() {
+		return revision;
+	}
+}
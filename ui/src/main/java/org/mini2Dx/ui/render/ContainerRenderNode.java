@@ -37,6 +37,12 @@ public abstract class ContainerRenderNode extends ParentRenderNode<Column, Conta
 		}
 		super.layout(layoutState);
 	}
+
+	@Override
+	protected void endIncrementalLayout() {
+		elementIdLookupCache.clear();
+		super.endIncrementalLayout();
+	}
 	
 	@Override
 	public RenderNode<?, ?> getElementById(String id) {
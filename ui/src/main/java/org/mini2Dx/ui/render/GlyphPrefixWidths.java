@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout.GlyphRun;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Stores the rendered width of every prefix of a single line of text so that
+ * cursor positions can be looked up without measuring substrings. The table
+ * is rebuilt in a single pass over the glyphs only when the font or text
+ * changes.
+ */
+class GlyphPrefixWidths {
+	private final GlyphRun glyphRun = new GlyphRun();
+	private final GlyphLayout glyphLayout = new GlyphLayout();
+	private final FloatArray widths = new FloatArray();
+
+	private BitmapFontData fontData;
+	private String text;
+	private float fontScaleX;
+	private float lineHeight;
+
+	/**
+	 * Rebuilds the table if the font or text has changed
+	 * 
+	 * @param font
+	 *            The {@link BitmapFont} the text is rendered with
+	 * @param text
+	 *            The text being rendered
+	 */
+	public void update(BitmapFont font, String text) {
+		if (isValid(font.getData(), text)) {
+			return;
+		}
+		if (font.getData().markupEnabled) {
+			updateWithMarkup(font, text);
+			return;
+		}
+		update(font.getData(), text);
+	}
+
+	void update(BitmapFontData fontData, String text) {
+		widths.clear();
+		widths.add(0f);
+		glyphRun.glyphs.clear();
+		glyphRun.xAdvances.clear();
+		fontData.getGlyphs(glyphRun, text, 0, text.length(), true);
+
+		float x = 0f;
+		int glyphIndex = 0;
+		for (int i = 0; i < text.length(); i++) {
+			if (glyphIndex >= glyphRun.glyphs.size || !isRendered(fontData, text.charAt(i))) {
+				// Characters without a glyph do not change the width
+				widths.add(widths.peek());
+				continue;
+			}
+			Glyph glyph = glyphRun.glyphs.get(glyphIndex);
+			x += glyphRun.xAdvances.get(glyphIndex);
+			if (glyph.fixedWidth) {
+				widths.add(x + (glyph.xadvance * fontData.scaleX));
+			} else {
+				widths.add(x + ((glyph.xoffset + glyph.width - fontData.padRight) * fontData.scaleX));
+			}
+			glyphIndex++;
+		}
+		setKey(fontData, text);
+	}
+
+	private void updateWithMarkup(BitmapFont font, String text) {
+		// Markup characters are not rendered so fall back to measuring
+		widths.clear();
+		widths.add(0f);
+		for (int i = 0; i < text.length(); i++) {
+			glyphLayout.setText(font, text, 0, i + 1, font.getColor(), 0f, Align.left, false, null);
+			widths.add(glyphLayout.width);
+		}
+		glyphLayout.reset();
+		setKey(font.getData(), text);
+	}
+
+	private void setKey(BitmapFontData fontData, String text) {
+		this.fontData = fontData;
+		this.text = text;
+		this.fontScaleX = fontData.scaleX;
+		this.lineHeight = fontData.capHeight;
+	}
+
+	private boolean isValid(BitmapFontData fontData, String text) {
+		if (this.fontData != fontData) {
+			return false;
+		}
+		if (fontScaleX != fontData.scaleX) {
+			return false;
+		}
+		if (this.text == null) {
+			return false;
+		}
+		return this.text.equals(text);
+	}
+
+	private boolean isRendered(BitmapFontData fontData, char c) {
+		return fontData.getGlyph(c) != null || fontData.missingGlyph != null;
+	}
+
+	/**
+	 * Returns the rendered width of the first characters of the text
+	 * 
+	 * @param totalCharacters
+	 *            The amount of characters from the start of the text
+	 * @return 0 if totalCharacters is 0
+	 */
+	public float getWidth(int totalCharacters) {
+		if (totalCharacters <= 0) {
+			return 0f;
+		}
+		return widths.get(Math.min(totalCharacters, widths.size - 1));
+	}
+
+	/**
+	 * Returns the index of the character rendered at an x coordinate
+	 * 
+	 * @param x
+	 *            The x coordinate relative to the start of the text
+	 * @return The index of the first character whose right edge is beyond x,
+	 *         or the text length if x is beyond the end of the text
+	 */
+	public int getCharacterIndexAt(float x) {
+		int low = 1;
+		int high = widths.size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (x < widths.get(mid)) {
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low - 1;
+	}
+
+	/**
+	 * Returns the height of a single line of text
+	 * 
+	 * @return The font's cap height
+	 */
+	public float getLineHeight() {
+		return lineHeight;
+	}
+}
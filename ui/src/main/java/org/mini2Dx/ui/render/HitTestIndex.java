@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import java.util.List;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * A uniform grid over the laid out bounds of the children of a
+ * {@link RenderLayer}. Bounds are relative to the inner area of the layer's
+ * owner so the index remains valid while the owner moves and only needs
+ * rebuilding after the layer is laid out.
+ */
+class HitTestIndex {
+	private static final int MAX_CELLS_PER_AXIS = 32;
+
+	private final IntArray result = new IntArray();
+	private IntArray[] cells = new IntArray[0];
+	private int cellsX, cellsY;
+	private float minX, minY, cellWidth, cellHeight;
+
+	/**
+	 * Rebuilds the index
+	 * 
+	 * @param children
+	 *            The children of the {@link RenderLayer}
+	 */
+	public void build(List<RenderNode<?, ?>> children) {
+		for (int i = 0; i < cells.length; i++) {
+			if (cells[i] != null) {
+				cells[i].clear();
+			}
+		}
+		minX = Float.MAX_VALUE;
+		minY = Float.MAX_VALUE;
+		float maxX = -Float.MAX_VALUE;
+		float maxY = -Float.MAX_VALUE;
+		int totalIndexed = 0;
+		for (int i = 0; i < children.size(); i++) {
+			RenderNode<?, ?> child = children.get(i);
+			if (!child.isIncludedInLayout()) {
+				continue;
+			}
+			minX = Math.min(minX, child.getRelativeX());
+			minY = Math.min(minY, child.getRelativeY());
+			maxX = Math.max(maxX, child.getRelativeX() + child.getPreferredOuterWidth());
+			maxY = Math.max(maxY, child.getRelativeY() + child.getPreferredOuterHeight());
+			totalIndexed++;
+		}
+		if (totalIndexed == 0) {
+			cellsX = 0;
+			cellsY = 0;
+			return;
+		}
+
+		int cellsPerAxis = Math.min(MAX_CELLS_PER_AXIS, Math.max(1, (int) Math.ceil(Math.sqrt(totalIndexed))));
+		cellsX = cellsPerAxis;
+		cellsY = cellsPerAxis;
+		cellWidth = Math.max(1f, (maxX - minX) / cellsX);
+		cellHeight = Math.max(1f, (maxY - minY) / cellsY);
+		if (cells.length < cellsX * cellsY) {
+			IntArray[] previousCells = cells;
+			cells = new IntArray[cellsX * cellsY];
+			System.arraycopy(previousCells, 0, cells, 0, previousCells.length);
+		}
+
+		for (int i = 0; i < children.size(); i++) {
+			RenderNode<?, ?> child = children.get(i);
+			if (!child.isIncludedInLayout()) {
+				continue;
+			}
+			int startCellX = getCellX(child.getRelativeX());
+			int startCellY = getCellY(child.getRelativeY());
+			int endCellX = getCellX(child.getRelativeX() + child.getPreferredOuterWidth());
+			int endCellY = getCellY(child.getRelativeY() + child.getPreferredOuterHeight());
+			for (int y = startCellY; y <= endCellY; y++) {
+				for (int x = startCellX; x <= endCellX; x++) {
+					int cellIndex = (y * cellsX) + x;
+					if (cells[cellIndex] == null) {
+						cells[cellIndex] = new IntArray();
+					}
+					cells[cellIndex].add(i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the indices of children whose bounds may contain a point
+	 * 
+	 * @param x
+	 *            The x coordinate relative to the owner's inner area
+	 * @param y
+	 *            The y coordinate relative to the owner's inner area
+	 * @return The child indices in ascending order. This instance is reused
+	 *         between queries.
+	 */
+	public IntArray query(float x, float y) {
+		result.clear();
+		if (cellsX == 0) {
+			return result;
+		}
+		if (x < minX || y < minY || x > minX + (cellWidth * cellsX) || y > minY + (cellHeight * cellsY)) {
+			return result;
+		}
+		IntArray cell = cells[(getCellY(y) * cellsX) + getCellX(x)];
+		if (cell != null) {
+			result.addAll(cell);
+		}
+		return result;
+	}
+
+	private int getCellX(float x) {
+		return Math.max(0, Math.min(cellsX - 1, (int) ((x - minX) / cellWidth)));
+	}
+
+	private int getCellY(float y) {
+		return Math.max(0, Math.min(cellsY - 1, (int) ((y - minY) / cellHeight)));
+	}
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import org.mini2Dx.core.engine.geom.CollisionBox;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Axis-aligned bounds of a {@link RenderNode} with interpolated render
+ * coordinates. Unlike {@link CollisionBox} this stores only primitive floats,
+ * does not support rotation or listeners and takes no locks. Instances are
+ * expected to only be accessed from the thread updating the UI.
+ */
+public class InterpolatedBounds {
+	private float x, y, width, height;
+	private float previousX, previousY, previousWidth, previousHeight;
+	private int renderX, renderY, renderWidth, renderHeight;
+	private boolean interpolate = false;
+
+	public InterpolatedBounds() {
+		this(0f, 0f, 1f, 1f);
+	}
+
+	public InterpolatedBounds(float x, float y, float width, float height) {
+		forceTo(x, y, width, height);
+	}
+
+	/**
+	 * Stores the current bounds as the start point for interpolation. Should
+	 * be called before the bounds are updated each frame.
+	 */
+	public void preUpdate() {
+		previousX = x;
+		previousY = y;
+		previousWidth = width;
+		previousHeight = height;
+	}
+
+	/**
+	 * Interpolates the render coordinates between the previous and current
+	 * bounds
+	 * 
+	 * @param alpha
+	 *            The interpolation alpha
+	 */
+	public void interpolate(float alpha) {
+		if (!interpolate) {
+			return;
+		}
+		final float inverseAlpha = 1.0f - alpha;
+		previousX = (previousX * inverseAlpha) + (x * alpha);
+		previousY = (previousY * inverseAlpha) + (y * alpha);
+		if (previousWidth != width) {
+			previousWidth = (previousWidth * inverseAlpha) + (width * alpha);
+		}
+		if (previousHeight != height) {
+			previousHeight = (previousHeight * inverseAlpha) + (height * alpha);
+		}
+		storeRenderCoordinates(previousX, previousY, previousWidth, previousHeight);
+
+		if (renderX != MathUtils.round(x)) {
+			return;
+		}
+		if (renderY != MathUtils.round(y)) {
+			return;
+		}
+		if (renderWidth != MathUtils.round(width)) {
+			return;
+		}
+		if (renderHeight != MathUtils.round(height)) {
+			return;
+		}
+		interpolate = false;
+	}
+
+	/**
+	 * Sets the current bounds and force updates the render coordinates to
+	 * match
+	 * 
+	 * @param x
+	 *            The x coordinate to set
+	 * @param y
+	 *            The y coordinate to set
+	 * @param width
+	 *            The width to set
+	 * @param height
+	 *            The height to set
+	 */
+	public void forceTo(float x, float y, float width, float height) {
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		previousX = x;
+		previousY = y;
+		previousWidth = width;
+		previousHeight = height;
+		storeRenderCoordinates(x, y, width, height);
+		interpolate = false;
+	}
+
+	/**
+	 * Sets the current bounds to the current bounds of another instance and
+	 * force updates the render coordinates to match
+	 * 
+	 * @param bounds
+	 *            The {@link InterpolatedBounds} to copy
+	 */
+	public void forceTo(InterpolatedBounds bounds) {
+		forceTo(bounds.x, bounds.y, bounds.width, bounds.height);
+	}
+
+	public void set(float x, float y, float width, float height) {
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		interpolate = true;
+	}
+
+	public void set(float x, float y) {
+		this.x = x;
+		this.y = y;
+		interpolate = true;
+	}
+
+	public boolean contains(float x, float y) {
+		return x >= this.x && x <= this.x + width && y >= this.y && y <= this.y + height;
+	}
+
+	private void storeRenderCoordinates(float x, float y, float width, float height) {
+		renderX = MathUtils.round(x);
+		renderY = MathUtils.round(y);
+		renderWidth = MathUtils.round(width);
+		renderHeight = MathUtils.round(height);
+	}
+
+	public boolean isInterpolateRequired() {
+		return interpolate;
+	}
+
+	public float getX() {
+		return x;
+	}
+
+	public void setX(float x) {
+		this.x = x;
+		interpolate = true;
+	}
+
+	public float getY() {
+		return y;
+	}
+
+	public void setY(float y) {
+		this.y = y;
+		interpolate = true;
+	}
+
+	public float getWidth() {
+		return width;
+	}
+
+	public void setWidth(float width) {
+		this.width = width;
+		interpolate = true;
+	}
+
+	public float getHeight() {
+		return height;
+	}
+
+	public void setHeight(float height) {
+		this.height = height;
+		interpolate = true;
+	}
+
+	public int getRenderX() {
+		return renderX;
+	}
+
+	public int getRenderY() {
+		return renderY;
+	}
+
+	public int getRenderWidth() {
+		return renderWidth;
+	}
+
+	public int getRenderHeight() {
+		return renderHeight;
+	}
+
+	@Override
+	public String toString() {
+		return "InterpolatedBounds [x=" + x + ", y=" + y + ", width=" + width + ", height=" + height + ", renderX="
+				+ renderX + ", renderY=" + renderY + ", renderWidth=" + renderWidth + ", renderHeight="
+				+ renderHeight + "]";
+	}
+}
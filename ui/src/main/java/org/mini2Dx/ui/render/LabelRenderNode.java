@@ -14,6 +14,7 @@ package org.mini2Dx.ui.render;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.ui.animation.NullTextAnimation;
+import org.mini2Dx.ui.animation.TextAnimation;
 import org.mini2Dx.ui.element.Label;
 import org.mini2Dx.ui.layout.LayoutState;
 import org.mini2Dx.ui.style.LabelStyleRule;
@@ -21,18 +22,21 @@ import org.mini2Dx.ui.style.LabelStyleRule;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 
 /**
  * {@link RenderNode} implementation for {@link Label}
  */
 public class LabelRenderNode extends RenderNode<Label, LabelStyleRule> {
-	protected static final GlyphLayout GLYPH_LAYOUT = new GlyphLayout();
 	protected static final BitmapFont DEFAULT_FONT = new BitmapFont(true);
 
 	protected final NullTextAnimation nullAnimation = new NullTextAnimation();
 	protected BitmapFontCache bitmapFontCache = DEFAULT_FONT.newFontCache();
 
+	private final CachedGlyphLayout unwrappedGlyphLayout = new CachedGlyphLayout();
+	private final CachedGlyphLayout wrappedGlyphLayout = new CachedGlyphLayout();
+	private TextAnimation bitmapFontCacheAnimation;
+	private int bitmapFontCacheRevision = -1;
+
 	public LabelRenderNode(ParentRenderNode<?, ?> parent, Label element) {
 		super(parent, element);
 	}
@@ -40,6 +44,7 @@ public class LabelRenderNode extends RenderNode<Label, LabelStyleRule> {
 	@Override
 	public void update(UiContainerRenderTree uiContainer, float delta) {
 		super.update(uiContainer, delta);
+		updateBitmapFontCacheContents();
 		if (element.getTextAnimation() == null) {
 			nullAnimation.update(bitmapFontCache, element.getText(), preferredContentWidth,
 					element.getHorizontalAlignment().getAlignValue(), delta);
@@ -80,25 +85,25 @@ public class LabelRenderNode extends RenderNode<Label, LabelStyleRule> {
 		if (element.isResponsive()) {
 			return style.getRounding().calculateRounding(availableWidth);
 		} else {
-			GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getText());
+			unwrappedGlyphLayout.setText(bitmapFontCache.getFont(), element.getText());
 
-			if (GLYPH_LAYOUT.width > availableWidth) {
+			if (unwrappedGlyphLayout.getWidth() > availableWidth) {
 				return style.getRounding().calculateRounding(availableWidth);
 			}
-			return style.getRounding().calculateRounding(GLYPH_LAYOUT.width);
+			return style.getRounding().calculateRounding(unwrappedGlyphLayout.getWidth());
 		}
 	}
 
 	@Override
 	protected float determinePreferredContentHeight(LayoutState layoutState) {
-		GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getText(), Color.WHITE, preferredContentWidth,
+		wrappedGlyphLayout.setText(bitmapFontCache.getFont(), element.getText(), preferredContentWidth,
 				element.getHorizontalAlignment().getAlignValue(), true);
-		if (style.getMinHeight() > 0 && GLYPH_LAYOUT.height + style.getPaddingTop() + style.getPaddingBottom()
-				+ style.getMarginTop() + style.getMarginBottom() < style.getMinHeight()) {
+		if (style.getMinHeight() > 0 && wrappedGlyphLayout.getHeight() + style.getPaddingTop()
+				+ style.getPaddingBottom() + style.getMarginTop() + style.getMarginBottom() < style.getMinHeight()) {
 			return style.getMinHeight() - style.getPaddingTop() - style.getPaddingBottom() - style.getMarginTop()
 					- style.getMarginBottom();
 		}
-		return GLYPH_LAYOUT.height;
+		return wrappedGlyphLayout.getHeight();
 	}
 
 	@Override
@@ -113,44 +118,56 @@ public class LabelRenderNode extends RenderNode<Label, LabelStyleRule> {
 
 	@Override
 	protected LabelStyleRule determineStyleRule(LayoutState layoutState) {
-		if (bitmapFontCache != null) {
-			bitmapFontCache.clear();
-			bitmapFontCache = null;
-			nullAnimation.reset();
-
-			if (element.getTextAnimation() != null) {
-				element.getTextAnimation().reset();
-			}
-		}
-
 		LabelStyleRule result = layoutState.getTheme().getStyleRule(element, layoutState.getScreenSize());
-		if (result.getBitmapFont() == null) {
-			bitmapFontCache = DEFAULT_FONT.newFontCache();
-		} else {
-			bitmapFontCache = result.getBitmapFont().newFontCache();
+		BitmapFont font = result.getBitmapFont() == null ? DEFAULT_FONT : result.getBitmapFont();
+		if (bitmapFontCache.getFont() != font) {
+			bitmapFontCache.clear();
+			bitmapFontCache = font.newFontCache();
+			bitmapFontCacheRevision = -1;
 		}
 
-		if (element.getColor() != null) {
-			bitmapFontCache.setColor(element.getColor());
-		} else if (result.getColor() != null) {
-			bitmapFontCache.setColor(result.getColor());
-		} else {
+		Color color = element.getColor() != null ? element.getColor() : result.getColor();
+		if (color == null) {
 			throw new MdxException("Could not determine color for Label " + element.getId()
 					+ ". Please use Label#setColor or set a Color on the label style rule");
 		}
+		if (!bitmapFontCache.getColor().equals(color)) {
+			bitmapFontCache.setColor(color);
+			bitmapFontCacheRevision = -1;
+		}
 		return result;
 	}
 
-	public void updateBitmapFontCache() {
-		if (style == null) {
+	/**
+	 * Clears the {@link BitmapFontCache} and resets the text animations only
+	 * if the font, color, text, width or alignment has changed since the text
+	 * was last added to the cache
+	 */
+	private void updateBitmapFontCacheContents() {
+		wrappedGlyphLayout.setText(bitmapFontCache.getFont(), element.getText(), preferredContentWidth,
+				element.getHorizontalAlignment().getAlignValue(), true);
+		if (bitmapFontCacheRevision == wrappedGlyphLayout.getRevision()
+				&& bitmapFontCacheAnimation == element.getTextAnimation()) {
 			return;
 		}
 		bitmapFontCache.clear();
 		nullAnimation.reset();
+		if (element.getTextAnimation() != null) {
+			element.getTextAnimation().reset();
+		}
+		bitmapFontCacheRevision = wrappedGlyphLayout.getRevision();
+		bitmapFontCacheAnimation = element.getTextAnimation();
+	}
 
-		GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getText(), Color.WHITE, preferredContentWidth,
-				element.getHorizontalAlignment().getAlignValue(), true);
-		if (GLYPH_LAYOUT.height == getPreferredContentHeight()) {
+	public void updateBitmapFontCache() {
+		if (style == null) {
+			return;
+		}
+		if (!wrappedGlyphLayout.setText(bitmapFontCache.getFont(), element.getText(), preferredContentWidth,
+				element.getHorizontalAlignment().getAlignValue(), true)) {
+			return;
+		}
+		if (wrappedGlyphLayout.getHeight() == getPreferredContentHeight()) {
 			return;
 		}
 		setDirty(true);
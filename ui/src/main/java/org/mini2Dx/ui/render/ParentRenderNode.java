@@ -63,7 +63,7 @@ public abstract class ParentRenderNode<T extends ParentUiElement, S extends Pare
 		boolean overflowClipped = element.isOverflowClipped();
 		g.peekClip(cachedClip);
 		if (overflowClipped) {
-			g.setClip(outerArea);
+			g.setClip(outerArea.getX(), outerArea.getY(), outerArea.getWidth(), outerArea.getHeight());
 		}
 		if (style.getBackgroundNinePatch() != null) {
 			g.drawNinePatch(style.getBackgroundNinePatch(), getInnerRenderX(), getInnerRenderY(), getInnerRenderWidth(),
@@ -120,7 +120,6 @@ public abstract class ParentRenderNode<T extends ParentUiElement, S extends Pare
 			preferredContentHeight = determinePreferredContentHeight(layoutState);
 		}
 		setImmediateDirty(false);
-		setDirty(false);
 		childDirty = false;
 		initialLayoutOccurred = true;
 	}
@@ -197,6 +196,19 @@ public abstract class ParentRenderNode<T extends ParentUiElement, S extends Pare
 		return false;
 	}
 
+	@Override
+	protected boolean isMouseEventRequired() {
+		if (super.isMouseEventRequired()) {
+			return true;
+		}
+		for (RenderLayer layer : layers.values()) {
+			if (layer.isMouseEventRequired()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public boolean mouseScrolled(int screenX, int screenY, float amount) {
 		if (outerArea.contains(screenX, screenY)) {
@@ -230,12 +242,23 @@ public abstract class ParentRenderNode<T extends ParentUiElement, S extends Pare
 	public void addChild(RenderNode<?, ?> child) {
 		int zIndex = child.getZIndex();
 		if (!layers.containsKey(zIndex)) {
-			layers.put(zIndex, new RenderLayer(this, zIndex));
+			layers.put(zIndex, createRenderLayer(zIndex));
 		}
 		layers.get(zIndex).add(child);
 		setDirty(true);
 	}
 
+	/**
+	 * Creates the {@link RenderLayer} for a z index of this node
+	 * 
+	 * @param zIndex
+	 *            The z index of the layer
+	 * @return A new {@link RenderLayer}
+	 */
+	protected RenderLayer createRenderLayer(int zIndex) {
+		return new RenderLayer(this, zIndex);
+	}
+
 	public void removeChild(RenderNode<?, ?> child) {
 		if (!layers.containsKey(child.getZIndex())) {
 			return;
@@ -259,16 +282,31 @@ public abstract class ParentRenderNode<T extends ParentUiElement, S extends Pare
 		if (layers == null || layers.size() == 0) {
 			super.setDirty(dirty);
 		} else {
+			if (dirty) {
+				setImmediateDirty(true);
+			}
 			for (RenderLayer layer : layers.values()) {
 				layer.setDirty(dirty);
 			}
 		}
 	}
 
+	/**
+	 * Called when an incremental layout has laid out all dirty descendants
+	 * of this node without needing to lay out this node
+	 */
+	protected void endIncrementalLayout() {
+		childDirty = false;
+	}
+
 	protected void setImmediateDirty(boolean dirty) {
 		super.setDirty(dirty);
 	}
 
+	boolean isImmediateDirty() {
+		return super.isDirty();
+	}
+
 	boolean isChildDirty() {
 		return childDirty;
 	}
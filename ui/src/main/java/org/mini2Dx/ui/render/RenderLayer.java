@@ -17,13 +17,26 @@ import java.util.List;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.ui.layout.LayoutState;
 
+import com.badlogic.gdx.utils.IntArray;
+
 /**
  * Represents a layer of {@link RenderNode}s on the z axis of a {@link ParentRenderNode}
  */
 public class RenderLayer implements Comparable<RenderLayer> {
+	/**
+	 * The amount of children above which mouse events are resolved using a
+	 * {@link HitTestIndex} instead of testing every child
+	 */
+	public static final int MIN_HIT_TEST_INDEX_CHILDREN = 16;
+
 	protected final List<RenderNode<?, ?>> children = new ArrayList<RenderNode<?, ?>>(1);
 	protected final ParentRenderNode<?, ?> owner;
 	protected final int zIndex;
+
+	private final IntArray mouseEventChildren = new IntArray();
+	private final IntArray hitTestCandidates = new IntArray();
+	private HitTestIndex hitTestIndex;
+	private boolean hitTestIndexDirty = true;
 	
 	public RenderLayer(ParentRenderNode<?, ?> owner, int zIndex) {
 		this.owner = owner;
@@ -32,15 +45,28 @@ public class RenderLayer implements Comparable<RenderLayer> {
 	
 	public void add(RenderNode<?, ?> child) {
 		children.add(child);
+		invalidateHitTestIndex();
 	}
 	
 	public void remove(RenderNode<?, ?> child) {
 		children.remove(child);
+		invalidateHitTestIndex();
+		mouseEventChildren.clear();
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i).isMouseEventRequired()) {
+				mouseEventChildren.add(i);
+			}
+		}
 	}
 	
 	public void update(UiContainerRenderTree uiContainer, float delta) {
+		mouseEventChildren.clear();
 		for (int i = 0; i < children.size(); i++) {
-			children.get(i).update(uiContainer, delta);
+			RenderNode<?, ?> child = children.get(i);
+			child.update(uiContainer, delta);
+			if (child.isMouseEventRequired()) {
+				mouseEventChildren.add(i);
+			}
 		}
 	}
 	
@@ -58,9 +84,93 @@ public class RenderLayer implements Comparable<RenderLayer> {
 	
 	public void layout(LayoutState layoutState) {
 		owner.getFlexDirection().layout(layoutState, owner, children);
+		invalidateHitTestIndex();
+	}
+
+	/**
+	 * Marks the {@link HitTestIndex} for rebuilding before the next mouse
+	 * event. Should be called whenever the relative positions or sizes of
+	 * children change.
+	 */
+	protected void invalidateHitTestIndex() {
+		hitTestIndexDirty = true;
+	}
+
+	/**
+	 * Returns the indices of children that need to receive a mouse event at a
+	 * point. These are the children whose laid out bounds contain the point
+	 * plus the children that require mouse events regardless.
+	 * 
+	 * @param screenX
+	 *            The x coordinate of the mouse
+	 * @param screenY
+	 *            The y coordinate of the mouse
+	 * @return Null if there are too few children to use an index and all
+	 *         children should be tested, otherwise the child indices in
+	 *         ascending order (may contain duplicates)
+	 */
+	private IntArray getHitTestCandidates(int screenX, int screenY) {
+		if (children.size() < MIN_HIT_TEST_INDEX_CHILDREN) {
+			return null;
+		}
+		if (hitTestIndex == null) {
+			hitTestIndex = new HitTestIndex();
+		}
+		if (hitTestIndexDirty) {
+			hitTestIndex.build(children);
+			hitTestIndexDirty = false;
+		}
+		hitTestCandidates.clear();
+		hitTestCandidates.addAll(hitTestIndex.query(screenX - owner.getInnerX(), screenY - owner.getInnerY()));
+		hitTestCandidates.addAll(mouseEventChildren);
+		hitTestCandidates.sort();
+		return hitTestCandidates;
+	}
+
+	/**
+	 * Returns if any child of this layer needs to receive mouse events
+	 * regardless of the mouse position
+	 * 
+	 * @return True if at least one child requires mouse events
+	 */
+	boolean isMouseEventRequired() {
+		return mouseEventChildren.size > 0;
+	}
+
+	private void onMouseEventDelivered(int childIndex) {
+		if (!children.get(childIndex).isMouseEventRequired()) {
+			return;
+		}
+		if (mouseEventChildren.contains(childIndex)) {
+			return;
+		}
+		mouseEventChildren.add(childIndex);
 	}
 	
+	/**
+	 * Returns if dirty children of this layer can be laid out individually
+	 * during an incremental layout of the {@link UiContainerRenderTree}
+	 * 
+	 * @return False if the owner must be laid out instead
+	 */
+	boolean isIncrementalLayoutSupported() {
+		return true;
+	}
+
 	public boolean mouseScrolled(int screenX, int screenY, float amount) {
+		IntArray candidates = getHitTestCandidates(screenX, screenY);
+		if (candidates != null) {
+			boolean result = false;
+			for (int i = candidates.size - 1; i >= 0; i--) {
+				if (i < candidates.size - 1 && candidates.get(i) == candidates.get(i + 1)) {
+					continue;
+				}
+				if (children.get(candidates.get(i)).mouseScrolled(screenX, screenY, amount)) {
+					result = true;
+				}
+			}
+			return result;
+		}
 		boolean result = false;
 		for(int i = children.size() - 1; i >= 0; i--) {
 			if(children.get(i).mouseScrolled(screenX, screenY, amount)) {
@@ -71,6 +181,20 @@ public class RenderLayer implements Comparable<RenderLayer> {
 	}
 	
 	public boolean mouseMoved(int screenX, int screenY) {
+		IntArray candidates = getHitTestCandidates(screenX, screenY);
+		if (candidates != null) {
+			boolean result = false;
+			for (int i = candidates.size - 1; i >= 0; i--) {
+				if (i < candidates.size - 1 && candidates.get(i) == candidates.get(i + 1)) {
+					continue;
+				}
+				if (children.get(candidates.get(i)).mouseMoved(screenX, screenY)) {
+					result = true;
+				}
+				onMouseEventDelivered(candidates.get(i));
+			}
+			return result;
+		}
 		boolean result = false;
 		for(int i = children.size() - 1; i >= 0; i--) {
 			if(children.get(i).mouseMoved(screenX, screenY)) {
@@ -81,6 +205,24 @@ public class RenderLayer implements Comparable<RenderLayer> {
 	}
 	
 	public ActionableRenderNode mouseDown(int screenX, int screenY, int pointer, int button) {
+		IntArray candidates = getHitTestCandidates(screenX, screenY);
+		if (candidates != null) {
+			for (int i = candidates.size - 1; i >= 0; i--) {
+				if (i < candidates.size - 1 && candidates.get(i) == candidates.get(i + 1)) {
+					continue;
+				}
+				RenderNode<?, ?> child = children.get(candidates.get(i));
+				if (!child.isIncludedInRender()) {
+					continue;
+				}
+				ActionableRenderNode result = child.mouseDown(screenX, screenY, pointer, button);
+				onMouseEventDelivered(candidates.get(i));
+				if (result != null) {
+					return result;
+				}
+			}
+			return null;
+		}
 		for (int i = children.size() - 1; i >= 0; i--) {
 			if(!children.get(i).isIncludedInRender()) {
 				continue;
@@ -14,9 +14,7 @@ package org.mini2Dx.ui.render;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.mini2Dx.core.engine.geom.CollisionBox;
 import org.mini2Dx.core.exception.MdxException;
-import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.ui.effect.UiEffect;
 import org.mini2Dx.ui.element.UiElement;
@@ -31,10 +29,11 @@ import com.badlogic.gdx.Gdx;
  */
 public abstract class RenderNode<T extends UiElement, S extends StyleRule> implements HoverableRenderNode {
 	protected final List<UiEffect> effects = new ArrayList<UiEffect>(1);
-	protected final CollisionBox outerArea = new CollisionBox();
-	protected final Rectangle targetOuterArea = new Rectangle();
+	protected final InterpolatedBounds outerArea = new InterpolatedBounds();
+	protected final InterpolatedBounds targetOuterArea = new InterpolatedBounds();
 	protected final ParentRenderNode<?, ?> parent;
 	protected final T element;
+	private final int depth;
 
 	protected UiContainerRenderTree rootNode;
 	protected S style;
@@ -52,6 +51,7 @@ public abstract class RenderNode<T extends UiElement, S extends StyleRule> imple
 		this.parent = parent;
 		this.element = element;
 		this.zIndex = element.getZIndex();
+		this.depth = parent == null ? 0 : parent.getDepth() + 1;
 
 		setDirty(true);
 	}
@@ -104,7 +104,7 @@ public abstract class RenderNode<T extends UiElement, S extends StyleRule> imple
 		if (!initialLayoutOccurred) {
 			return;
 		}
-		outerArea.interpolate(null, alpha);
+		outerArea.interpolate(alpha);
 	}
 
 	public void render(Graphics g) {
@@ -149,6 +149,18 @@ public abstract class RenderNode<T extends UiElement, S extends StyleRule> imple
 	public void mouseUp(int screenX, int screenY, int pointer, int button) {
 	}
 
+	/**
+	 * Returns if this node needs to receive mouse events even when the mouse
+	 * is outside of its laid out bounds, e.g. to end a hover or continue a
+	 * drag
+	 * 
+	 * @return True if this node should not be skipped by a
+	 *         {@link HitTestIndex}
+	 */
+	protected boolean isMouseEventRequired() {
+		return state != NodeState.NORMAL || effects.size() > 0;
+	}
+
 	public boolean contains(float screenX, float screenY) {
 		return outerArea.contains(screenX, screenY);
 	}
@@ -194,6 +206,7 @@ public abstract class RenderNode<T extends UiElement, S extends StyleRule> imple
 			preferredContentHeight = 0f;
 			xOffset = 0f;
 			yOffset = 0f;
+			dirty = false;
 			return;
 		default:
 			preferredContentWidth = determinePreferredContentWidth(layoutState);
@@ -251,6 +264,15 @@ public abstract class RenderNode<T extends UiElement, S extends StyleRule> imple
 		parent.setChildDirty(dirty);
 	}
 
+	/**
+	 * Returns the depth of this node in the render tree
+	 * 
+	 * @return 0 for the root node
+	 */
+	int getDepth() {
+		return depth;
+	}
+
 	public void applyEffect(UiEffect effect) {
 		effect.preBegin(element);
 		effects.add(effect);
@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import org.mini2Dx.core.graphics.Graphics;
+import org.mini2Dx.ui.element.ScrollBox;
+import org.mini2Dx.ui.layout.FlexDirection;
+import org.mini2Dx.ui.layout.LayoutState;
+
+/**
+ * {@link RenderLayer} implementation for {@link ScrollBoxRenderNode}. When the
+ * {@link ScrollBox} is virtualised, only the children within the visible
+ * scroll window (plus the overscan) are laid out, updated, rendered and
+ * receive input. The remaining children are positioned using their last
+ * measured height or, if they have never been laid out, the average height of
+ * the children that have.
+ */
+public class ScrollBoxRenderLayer extends RenderLayer {
+	private final ScrollBoxRenderNode scrollBox;
+
+	private int firstWindowIndex = 0, lastWindowIndex = -1;
+	private float windowTop, windowBottom;
+	private float estimatedHeight, totalHeight;
+
+	public ScrollBoxRenderLayer(ScrollBoxRenderNode owner, int zIndex) {
+		super(owner, zIndex);
+		this.scrollBox = owner;
+	}
+
+	@Override
+	public void update(UiContainerRenderTree uiContainer, float delta) {
+		if (!isVirtualised()) {
+			super.update(uiContainer, delta);
+			return;
+		}
+		for (int i = firstWindowIndex, end = getLastWindowIndex(); i <= end; i++) {
+			children.get(i).update(uiContainer, delta);
+		}
+	}
+
+	@Override
+	public void interpolate(float alpha) {
+		if (!isVirtualised()) {
+			super.interpolate(alpha);
+			return;
+		}
+		for (int i = firstWindowIndex, end = getLastWindowIndex(); i <= end; i++) {
+			children.get(i).interpolate(alpha);
+		}
+	}
+
+	@Override
+	protected void render(Graphics g) {
+		if (!isVirtualised()) {
+			super.render(g);
+			return;
+		}
+		for (int i = firstWindowIndex, end = getLastWindowIndex(); i <= end; i++) {
+			children.get(i).render(g);
+		}
+	}
+
+	@Override
+	public void layout(LayoutState layoutState) {
+		if (!isVirtualised()) {
+			super.layout(layoutState);
+			firstWindowIndex = 0;
+			lastWindowIndex = children.size() - 1;
+			return;
+		}
+		final float scrollY = scrollBox.getScrollTranslationY();
+		final float overscan = ((ScrollBox) scrollBox.getElement()).getOverscan();
+		final float layoutTop = scrollY - overscan;
+		final float layoutBottom = scrollY + scrollBox.getViewportHeight() + overscan;
+
+		final float startX = owner.getStyle().getPaddingLeft();
+		final float startY = owner.getStyle().getPaddingTop();
+		float y = startY;
+		float measuredHeight = 0f;
+		int measuredChildren = 0;
+
+		firstWindowIndex = -1;
+		lastWindowIndex = -1;
+
+		for (int i = 0; i < children.size(); i++) {
+			RenderNode<?, ?> node = children.get(i);
+			float height = getChildHeight(node);
+
+			if (y + height >= layoutTop && y < layoutBottom) {
+				node.layout(layoutState);
+				height = getChildHeight(node);
+
+				if (firstWindowIndex < 0) {
+					firstWindowIndex = i;
+					windowTop = y;
+				}
+				lastWindowIndex = i;
+				windowBottom = y + height;
+			}
+			if (node.initialLayoutOccurred && node.isIncludedInLayout()) {
+				measuredHeight += height;
+				measuredChildren++;
+			}
+
+			node.setRelativeX(startX + node.getXOffset());
+			node.setRelativeY(y + node.getYOffset());
+			y += height;
+		}
+
+		if (firstWindowIndex < 0) {
+			firstWindowIndex = 0;
+			windowTop = startY;
+			windowBottom = startY;
+		}
+		if (measuredChildren > 0) {
+			estimatedHeight = measuredHeight / measuredChildren;
+		}
+		totalHeight = y - startY;
+	}
+
+	private float getChildHeight(RenderNode<?, ?> node) {
+		if (!node.initialLayoutOccurred) {
+			return estimatedHeight;
+		}
+		if (!node.isIncludedInLayout()) {
+			return 0f;
+		}
+		return node.getPreferredOuterHeight() + node.getYOffset();
+	}
+
+	@Override
+	public boolean mouseScrolled(int screenX, int screenY, float amount) {
+		if (!isVirtualised()) {
+			return super.mouseScrolled(screenX, screenY, amount);
+		}
+		boolean result = false;
+		for (int i = getLastWindowIndex(); i >= firstWindowIndex; i--) {
+			if (children.get(i).mouseScrolled(screenX, screenY, amount)) {
+				result = true;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean mouseMoved(int screenX, int screenY) {
+		if (!isVirtualised()) {
+			return super.mouseMoved(screenX, screenY);
+		}
+		boolean result = false;
+		for (int i = getLastWindowIndex(); i >= firstWindowIndex; i--) {
+			if (children.get(i).mouseMoved(screenX, screenY)) {
+				result = true;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public ActionableRenderNode mouseDown(int screenX, int screenY, int pointer, int button) {
+		if (!isVirtualised()) {
+			return super.mouseDown(screenX, screenY, pointer, button);
+		}
+		for (int i = getLastWindowIndex(); i >= firstWindowIndex; i--) {
+			if (!children.get(i).isIncludedInRender()) {
+				continue;
+			}
+			ActionableRenderNode result = children.get(i).mouseDown(screenX, screenY, pointer, button);
+			if (result != null) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public float determinePreferredContentHeight(LayoutState layoutState) {
+		if (!isVirtualised()) {
+			return super.determinePreferredContentHeight(layoutState);
+		}
+		return totalHeight;
+	}
+
+	@Override
+	public void setDirty(boolean dirty) {
+		if (dirty || !isVirtualised()) {
+			super.setDirty(dirty);
+			return;
+		}
+		// Children outside the window keep their dirty state until laid out
+		for (int i = getLastWindowIndex(); i >= firstWindowIndex; i--) {
+			children.get(i).setDirty(false);
+		}
+	}
+
+	/**
+	 * Returns if the visible scroll window contains children that have not
+	 * been laid out
+	 * 
+	 * @param scrollY
+	 *            The current scroll translation
+	 * @param viewportHeight
+	 *            The height of the visible scroll window
+	 * @return True if this layer needs to be laid out again
+	 */
+	public boolean isWindowChanged(float scrollY, float viewportHeight) {
+		if (!isVirtualised()) {
+			return false;
+		}
+		if (scrollY < windowTop && firstWindowIndex > 0) {
+			return true;
+		}
+		return scrollY + viewportHeight > windowBottom && lastWindowIndex < children.size() - 1;
+	}
+
+	/**
+	 * Returns the index of the first child laid out in the scroll window
+	 * 
+	 * @return 0 if the {@link ScrollBox} is not virtualised
+	 */
+	public int getFirstWindowIndex() {
+		return firstWindowIndex;
+	}
+
+	/**
+	 * Returns the index of the last child laid out in the scroll window
+	 * 
+	 * @return The index of the last child if the {@link ScrollBox} is not
+	 *         virtualised
+	 */
+	public int getLastWindowIndex() {
+		return Math.min(lastWindowIndex, children.size() - 1);
+	}
+
+	/**
+	 * Returns the height used for children that have not been laid out yet
+	 * 
+	 * @return The average height of children that have been laid out
+	 */
+	public float getEstimatedHeight() {
+		return estimatedHeight;
+	}
+
+	@Override
+	boolean isIncrementalLayoutSupported() {
+		return !isVirtualised();
+	}
+
+	private boolean isVirtualised() {
+		return ((ScrollBox) scrollBox.getElement()).isVirtualised()
+				&& scrollBox.getFlexDirection() == FlexDirection.ROW;
+	}
+}
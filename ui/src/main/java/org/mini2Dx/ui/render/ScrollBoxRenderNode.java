@@ -13,7 +13,6 @@ package org.mini2Dx.ui.render;
 
 import java.util.NavigableSet;
 
-import org.mini2Dx.core.engine.geom.CollisionBox;
 import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.core.graphics.NinePatch;
@@ -35,10 +34,10 @@ import com.badlogic.gdx.math.MathUtils;
  */
 public class ScrollBoxRenderNode extends ParentRenderNode<ScrollBox, ScrollBoxStyleRule>
 		implements ActionableRenderNode {
-	private final CollisionBox topScrollButton = new CollisionBox();
-	private final CollisionBox bottomScrollButton = new CollisionBox();
-	private final CollisionBox scrollThumb = new CollisionBox();
-	private final CollisionBox scrollTrack = new CollisionBox();
+	private final InterpolatedBounds topScrollButton = new InterpolatedBounds();
+	private final InterpolatedBounds bottomScrollButton = new InterpolatedBounds();
+	private final InterpolatedBounds scrollThumb = new InterpolatedBounds();
+	private final InterpolatedBounds scrollTrack = new InterpolatedBounds();
 
 	private ScrollTo scrollTo = null;
 
@@ -91,10 +90,10 @@ public class ScrollBoxRenderNode extends ParentRenderNode<ScrollBox, ScrollBoxSt
 	@Override
 	public void interpolate(float alpha) {
 		super.interpolate(alpha);
-		scrollTrack.interpolate(null, alpha);
-		scrollThumb.interpolate(null, alpha);
-		topScrollButton.interpolate(null, alpha);
-		bottomScrollButton.interpolate(null, alpha);
+		scrollTrack.interpolate(alpha);
+		scrollThumb.interpolate(alpha);
+		topScrollButton.interpolate(alpha);
+		bottomScrollButton.interpolate(alpha);
 	}
 
 	@Override
@@ -190,22 +189,22 @@ public class ScrollBoxRenderNode extends ParentRenderNode<ScrollBox, ScrollBoxSt
 
 		float currentScrollY = getInnerY() + scrollTranslationY;
 		float scrollFactor = ((ScrollBox) element).getScrollFactor() * contentHeight;
-		if (scrollToNode.getOuterY() + scrollToNode.getOuterHeight() > currentScrollY + getInnerHeight()
+		if (getScrollTargetY(scrollToNode) + getScrollTargetHeight(scrollToNode) > currentScrollY + getInnerHeight()
 				+ scrollFactor) {
 			if (scrollTo.isImmediate()) {
 				// TODO: Optimise this
-				while (scrollToNode.getOuterY() + scrollToNode.getOuterHeight() > currentScrollY + getInnerHeight()
-						+ scrollFactor) {
+				while (getScrollTargetY(scrollToNode) + getScrollTargetHeight(scrollToNode) > currentScrollY
+						+ getInnerHeight() + scrollFactor) {
 					setScrollThumbPosition(scrollThumbPosition + ((ScrollBox) element).getScrollFactor());
 					currentScrollY = getInnerY() + scrollTranslationY;
 				}
 			} else {
 				setScrollThumbPosition(scrollThumbPosition + ((ScrollBox) element).getScrollFactor());
 			}
-		} else if (scrollToNode.getOuterY() < currentScrollY - scrollFactor) {
+		} else if (getScrollTargetY(scrollToNode) < currentScrollY - scrollFactor) {
 			if (scrollTo.isImmediate()) {
 				// TODO: Optimise this
-				while (scrollToNode.getOuterY() < currentScrollY - scrollFactor) {
+				while (getScrollTargetY(scrollToNode) < currentScrollY - scrollFactor) {
 					setScrollThumbPosition(scrollThumbPosition - ((ScrollBox) element).getScrollFactor());
 					currentScrollY = getInnerY() + scrollTranslationY;
 				}
@@ -217,6 +216,21 @@ public class ScrollBoxRenderNode extends ParentRenderNode<ScrollBox, ScrollBoxSt
 		}
 	}
 
+	private float getScrollTargetY(RenderNode<?, ?> node) {
+		if (((ScrollBox) element).isVirtualised() && node.getParent() == this) {
+			// Children outside the scroll window are not updated
+			return getInnerY() + node.getRelativeY();
+		}
+		return node.getOuterY();
+	}
+
+	private float getScrollTargetHeight(RenderNode<?, ?> node) {
+		if (((ScrollBox) element).isVirtualised() && node.getParent() == this) {
+			return node.getPreferredOuterHeight();
+		}
+		return node.getOuterHeight();
+	}
+
 	@Override
 	public boolean mouseMoved(int screenX, int screenY) {
 		boolean outerAreaContains = false;
@@ -241,6 +255,15 @@ public class ScrollBoxRenderNode extends ParentRenderNode<ScrollBox, ScrollBoxSt
 		return result;
 	}
 
+	@Override
+	protected boolean isMouseEventRequired() {
+		if (super.isMouseEventRequired()) {
+			return true;
+		}
+		return scrollThumbState != NodeState.NORMAL || topScrollButtonState != NodeState.NORMAL
+				|| bottomScrollButtonState != NodeState.NORMAL;
+	}
+
 	private boolean handleScrollThumbMouseMoved(boolean outerAreaContains, int screenX, int screenY) {
 		switch (scrollThumbState) {
 		case ACTION:
@@ -440,6 +463,44 @@ public class ScrollBoxRenderNode extends ParentRenderNode<ScrollBox, ScrollBoxSt
 		}
 		scrollTranslationY = MathUtils.round(scrollThumbPosition * contentHeight);
 		((ScrollBox) element).notifyScrollListeners(scrollThumbPosition);
+
+		if (!((ScrollBox) element).isVirtualised()) {
+			return;
+		}
+		float viewportHeight = getViewportHeight();
+		for (RenderLayer layer : layers.values()) {
+			if (((ScrollBoxRenderLayer) layer).isWindowChanged(scrollTranslationY, viewportHeight)) {
+				setChildDirty(true);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the amount of pixels the content is scrolled by
+	 * 
+	 * @return 0 when scrolled to the top
+	 */
+	public int getScrollTranslationY() {
+		return scrollTranslationY;
+	}
+
+	/**
+	 * Returns the height of the visible scroll window
+	 * 
+	 * @return {@link Float#MAX_VALUE} if the height is not known yet and the
+	 *         {@link ScrollBox} has no maximum height
+	 */
+	public float getViewportHeight() {
+		if (preferredContentHeight > 0f) {
+			return getPreferredInnerHeight();
+		}
+		return ((ScrollBox) element).getMaxHeight();
+	}
+
+	@Override
+	protected RenderLayer createRenderLayer(int zIndex) {
+		return new ScrollBoxRenderLayer(this, zIndex);
 	}
 
 	public boolean offerScrollTo(ScrollTo scrollTo) {
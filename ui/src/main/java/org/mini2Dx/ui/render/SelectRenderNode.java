@@ -11,7 +11,6 @@
  */
 package org.mini2Dx.ui.render;
 
-import org.mini2Dx.core.engine.geom.CollisionBox;
 import org.mini2Dx.core.exception.MdxException;
 import org.mini2Dx.core.graphics.Graphics;
 import org.mini2Dx.ui.element.Select;
@@ -39,8 +38,8 @@ import com.badlogic.gdx.utils.Align;
 public class SelectRenderNode extends RenderNode<Select<?>, SelectStyleRule> implements ActionableRenderNode {
 	private static final GlyphLayout glyphLayout = new GlyphLayout();
 
-	private final CollisionBox leftButton = new CollisionBox();
-	private final CollisionBox rightButton = new CollisionBox();
+	private final InterpolatedBounds leftButton = new InterpolatedBounds();
+	private final InterpolatedBounds rightButton = new InterpolatedBounds();
 
 	private NodeState leftButtonState = NodeState.NORMAL;
 	private NodeState rightButtonState = NodeState.NORMAL;
@@ -66,8 +65,8 @@ public class SelectRenderNode extends RenderNode<Select<?>, SelectStyleRule> imp
 	@Override
 	public void interpolate(float alpha) {
 		super.interpolate(alpha);
-		leftButton.interpolate(null, alpha);
-		rightButton.interpolate(null, alpha);
+		leftButton.interpolate(alpha);
+		rightButton.interpolate(alpha);
 	}
 
 	@Override
@@ -254,6 +253,14 @@ public class SelectRenderNode extends RenderNode<Select<?>, SelectStyleRule> imp
 		EventTriggerParamsPool.release(params);
 	}
 
+	@Override
+	protected boolean isMouseEventRequired() {
+		if (super.isMouseEventRequired()) {
+			return true;
+		}
+		return leftButtonState != NodeState.NORMAL || rightButtonState != NodeState.NORMAL;
+	}
+
 	@Override
 	public boolean mouseMoved(int screenX, int screenY) {
 		if (outerArea.contains(screenX, screenY)) {
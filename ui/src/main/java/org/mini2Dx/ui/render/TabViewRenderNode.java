@@ -44,6 +44,12 @@ public class TabViewRenderNode extends ParentRenderNode<TabView, TabStyleRule>im
 		super.layout(layoutState);
 	}
 
+	@Override
+	protected void endIncrementalLayout() {
+		elementIdLookupCache.clear();
+		super.endIncrementalLayout();
+	}
+
 	@Override
 	public ActionableRenderNode hotkey(int keycode) {
 		String id = keyboardHotkeys.get(keycode);
@@ -28,9 +28,9 @@ import org.mini2Dx.ui.style.TextBoxStyleRule;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Buttons;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.utils.Clipboard;
 
 /**
@@ -38,10 +38,13 @@ import com.badlogic.gdx.utils.Clipboard;
  */
 public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> implements TextInputableRenderNode {
 	private static final float CURSOR_VISIBLE_DURATION = 0.5f;
-	private static final GlyphLayout GLYPH_LAYOUT = new GlyphLayout();
 	private static final BitmapFont DEFAULT_FONT = new BitmapFont(true);
 
 	private final Clipboard clipboard = Gdx.app.getClipboard();
+	private final GlyphPrefixWidths prefixWidths = new GlyphPrefixWidths();
+	private final Color bitmapFontCacheColor = new Color();
+	private String bitmapFontCacheValue;
+	private float bitmapFontCacheWidth;
 
 	private int cursor;
 	private float cursorTimer = 1.0f;
@@ -67,6 +70,7 @@ public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> imp
 			verticalLayoutRuleset = new LayoutRuleset(false, element.getVerticalLayout());
 		}
 		super.layout(layoutState);
+		updateBitmapFontCache();
 	}
 
 	@Override
@@ -159,18 +163,14 @@ public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> imp
 
 	@Override
 	protected TextBoxStyleRule determineStyleRule(LayoutState layoutState) {
-		if (bitmapFontCache != null) {
-			bitmapFontCache.clear();
-			bitmapFontCache = null;
-		}
 		TextBoxStyleRule result = layoutState.getTheme().getStyleRule(element, layoutState.getScreenSize());
 
-		if (result == null) {
-			bitmapFontCache = DEFAULT_FONT.newFontCache();
-		} else {
-			bitmapFontCache = result.getBitmapFont().newFontCache();
+		BitmapFont font = result == null ? DEFAULT_FONT : result.getBitmapFont();
+		if (bitmapFontCache.getFont() != font) {
+			bitmapFontCache.clear();
+			bitmapFontCache = font.newFontCache();
+			bitmapFontCacheValue = null;
 		}
-		updateBitmapFontCache();
 		return result;
 	}
 
@@ -410,19 +410,9 @@ public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> imp
 
 		float clickX = screenX - getOuterRenderX() - style.getPaddingLeft();
 
-		for (int i = 0; i < element.getValue().length(); i++) {
-			GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getValue().substring(0, i + 1));
-			if (clickX < GLYPH_LAYOUT.width) {
-				float result = GLYPH_LAYOUT.width;
-				GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getValue().charAt(i) + "");
-				result -= GLYPH_LAYOUT.width;
-				cursor = i;
-				setCursorRender(result - 1f, GLYPH_LAYOUT.height);
-				return;
-			}
-		}
-		cursor = element.getValue().length();
-		setCursorRender(GLYPH_LAYOUT.width + 1f, GLYPH_LAYOUT.height);
+		prefixWidths.update(bitmapFontCache.getFont(), element.getValue());
+		cursor = prefixWidths.getCharacterIndexAt(clickX);
+		setCursorRenderX();
 	}
 
 	private void setCursorRenderX() {
@@ -434,12 +424,8 @@ public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> imp
 			if (style == null) {
 				return;
 			}
-			if (cursor > element.getValue().length()) {
-				GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getValue());
-			} else {
-				GLYPH_LAYOUT.setText(bitmapFontCache.getFont(), element.getValue().substring(0, cursor));
-			}
-			setCursorRender(GLYPH_LAYOUT.width + 1f, GLYPH_LAYOUT.height);
+			prefixWidths.update(bitmapFontCache.getFont(), element.getValue());
+			setCursorRender(prefixWidths.getWidth(cursor) + 1f, prefixWidths.getLineHeight());
 			break;
 		}
 	}
@@ -449,10 +435,29 @@ public class TextBoxRenderNode extends RenderNode<TextBox, TextBoxStyleRule> imp
 			return;
 		}
 
+		if (isBitmapFontCacheValid()) {
+			return;
+		}
 		bitmapFontCache.clear();
 		bitmapFontCache.setColor(style.getColor());
 		bitmapFontCache.addText(element.getValue(), 0f, 0f, preferredContentWidth,
 				HorizontalAlignment.LEFT.getAlignValue(), true);
+		bitmapFontCacheColor.set(style.getColor());
+		bitmapFontCacheValue = element.getValue();
+		bitmapFontCacheWidth = preferredContentWidth;
+	}
+
+	private boolean isBitmapFontCacheValid() {
+		if (bitmapFontCacheValue == null) {
+			return false;
+		}
+		if (bitmapFontCacheWidth != preferredContentWidth) {
+			return false;
+		}
+		if (!bitmapFontCacheColor.equals(style.getColor())) {
+			return false;
+		}
+		return bitmapFontCacheValue.equals(element.getValue());
 	}
 
 	private void setCursorRender(float renderX, float renderHeight) {
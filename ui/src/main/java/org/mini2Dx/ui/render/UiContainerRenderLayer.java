@@ -36,5 +36,6 @@ public class UiContainerRenderLayer extends RenderLayer {
 			node.setRelativeX(node.getXOffset());
 			node.setRelativeY(node.getYOffset());
 		}
+		invalidateHitTestIndex();
 	}
 }
@@ -12,9 +12,13 @@
 package org.mini2Dx.ui.render;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 import org.mini2Dx.core.controller.ControllerType;
 import org.mini2Dx.ui.InputSource;
@@ -32,9 +36,18 @@ import com.badlogic.gdx.assets.AssetManager;
  */
 public class UiContainerRenderTree extends ParentRenderNode<UiContainer, ParentStyleRule> {
 	private static final String LOGGING_TAG = UiContainerRenderTree.class.getSimpleName();
+	private static final Comparator<RenderNode<?, ?>> DEEPEST_FIRST = new Comparator<RenderNode<?, ?>>() {
+		@Override
+		public int compare(RenderNode<?, ?> o1, RenderNode<?, ?> o2) {
+			return o2.getDepth() - o1.getDepth();
+		}
+	};
 
 	private final AssetManager assetManager;
 	private final Map<String, RenderNode<?, ?>> elementIdLookupCache = new HashMap<String, RenderNode<?, ?>>();
+	private final PriorityQueue<RenderNode<?, ?>> layoutQueue = new PriorityQueue<RenderNode<?, ?>>(16, DEEPEST_FIRST);
+	private final Set<RenderNode<?, ?>> queuedNodes = new HashSet<RenderNode<?, ?>>();
+	private final List<RenderNode<?, ?>> laidOutNodes = new ArrayList<RenderNode<?, ?>>();
 
 	private List<ScreenSizeListener> screenSizeListeners;
 	private ScreenSize currentScreenSize = ScreenSize.XS;
@@ -53,8 +66,107 @@ public class UiContainerRenderTree extends ParentRenderNode<UiContainer, ParentS
 	}
 
 	public void layout() {
-		layout(new LayoutState(this, assetManager, element.getTheme(), currentScreenSize, 12,
-				((UiContainer) element).getWidth(), screenSizeChanged));
+		LayoutState layoutState = new LayoutState(this, assetManager, element.getTheme(), currentScreenSize, 12,
+				((UiContainer) element).getWidth(), screenSizeChanged);
+		if (screenSizeChanged || !initialLayoutOccurred || isImmediateDirty() || !queueDirtyNodes(this)) {
+			layout(layoutState);
+			return;
+		}
+		layoutQueuedNodes(layoutState);
+	}
+
+	/**
+	 * Follows the dirty children of a node and queues the highest dirty node
+	 * on each path for layout
+	 * 
+	 * @param node
+	 *            The {@link ParentRenderNode} to search
+	 * @return False if the node must be laid out itself
+	 */
+	private boolean queueDirtyNodes(ParentRenderNode<?, ?> node) {
+		boolean result = false;
+		for (RenderLayer layer : node.layers.values()) {
+			if (!layer.isIncrementalLayoutSupported()) {
+				return false;
+			}
+			for (int i = 0; i < layer.children.size(); i++) {
+				RenderNode<?, ?> child = layer.children.get(i);
+				if (!child.isDirty()) {
+					continue;
+				}
+				if (child instanceof ParentRenderNode) {
+					ParentRenderNode<?, ?> parentChild = (ParentRenderNode<?, ?>) child;
+					if (!parentChild.isImmediateDirty() && queueDirtyNodes(parentChild)) {
+						result = true;
+						continue;
+					}
+				}
+				queueLayout(child);
+				result = true;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Lays out only the queued dirty nodes, deepest first. A node's parent is
+	 * only laid out if the node's outer size, offset or inclusion in layout
+	 * changed.
+	 * 
+	 * @param layoutState
+	 *            The {@link LayoutState} for the tree
+	 */
+	private void layoutQueuedNodes(LayoutState layoutState) {
+		if (element.isDebugEnabled()) {
+			Gdx.app.log(LOGGING_TAG, "Incremental layout triggered for " + layoutQueue.size() + " nodes");
+		}
+		while (!layoutQueue.isEmpty()) {
+			RenderNode<?, ?> node = layoutQueue.poll();
+			queuedNodes.remove(node);
+
+			if (node == this) {
+				laidOutNodes.clear();
+				layout(layoutState);
+				return;
+			}
+			if (!node.isDirty()) {
+				continue;
+			}
+			ParentRenderNode<?, ?> parent = node.getParent();
+			float previousOuterWidth = node.getPreferredOuterWidth();
+			float previousOuterHeight = node.getPreferredOuterHeight();
+			float previousXOffset = node.getXOffset();
+			float previousYOffset = node.getYOffset();
+			boolean previouslyIncluded = node.isIncludedInLayout();
+
+			layoutState.setParentWidth(parent.getPreferredContentWidth());
+			node.layout(layoutState);
+			laidOutNodes.add(node);
+
+			if (previousOuterWidth != node.getPreferredOuterWidth()
+					|| previousOuterHeight != node.getPreferredOuterHeight()
+					|| previousXOffset != node.getXOffset() || previousYOffset != node.getYOffset()
+					|| previouslyIncluded != node.isIncludedInLayout()) {
+				parent.setChildDirty(true);
+				queueLayout(parent);
+			}
+		}
+
+		for (int i = 0; i < laidOutNodes.size(); i++) {
+			ParentRenderNode<?, ?> ancestor = laidOutNodes.get(i).getParent();
+			while (ancestor != null && ancestor.isChildDirty()) {
+				ancestor.endIncrementalLayout();
+				ancestor = ancestor.getParent();
+			}
+		}
+		laidOutNodes.clear();
+	}
+
+	private void queueLayout(RenderNode<?, ?> node) {
+		if (!queuedNodes.add(node)) {
+			return;
+		}
+		layoutQueue.offer(node);
 	}
 
 	@Override
@@ -82,10 +194,18 @@ public class UiContainerRenderTree extends ParentRenderNode<UiContainer, ParentS
 		}
 
 		setImmediateDirty(false);
-		setDirty(false);
 		childDirty = false;
 		screenSizeChanged = false;
 		initialLayoutOccurred = true;
+
+		layoutQueue.clear();
+		queuedNodes.clear();
+	}
+
+	@Override
+	protected void endIncrementalLayout() {
+		elementIdLookupCache.clear();
+		super.endIncrementalLayout();
 	}
 
 	@Override
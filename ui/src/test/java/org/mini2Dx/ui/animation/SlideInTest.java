@@ -17,10 +17,9 @@ import org.jmock.lib.legacy.ClassImposteriser;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mini2Dx.core.engine.geom.CollisionBox;
-import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.ui.effect.SlideDirection;
 import org.mini2Dx.ui.effect.SlideIn;
+import org.mini2Dx.ui.render.InterpolatedBounds;
 import org.mini2Dx.ui.render.UiContainerRenderTree;
 
 import junit.framework.Assert;
@@ -39,8 +38,8 @@ public class SlideInTest {
 	private static final float TARGET_Y = (CONTAINER_HEIGHT / 2f) - (TARGET_HEIGHT / 2f);
 
 	private final Mockery mockery = new Mockery();
-	private final CollisionBox currentArea = new CollisionBox();
-	private final Rectangle targetArea = new Rectangle(TARGET_X, TARGET_Y, TARGET_WIDTH, TARGET_HEIGHT);
+	private final InterpolatedBounds currentArea = new InterpolatedBounds();
+	private final InterpolatedBounds targetArea = new InterpolatedBounds(TARGET_X, TARGET_Y, TARGET_WIDTH, TARGET_HEIGHT);
 
 	private UiContainerRenderTree renderTree;
 
@@ -17,11 +17,10 @@ import org.jmock.lib.legacy.ClassImposteriser;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import org.mini2Dx.core.engine.geom.CollisionBox;
-import org.mini2Dx.core.geom.Rectangle;
 import org.mini2Dx.ui.effect.SlideDirection;
 import org.mini2Dx.ui.effect.SlideIn;
 import org.mini2Dx.ui.effect.SlideOut;
+import org.mini2Dx.ui.render.InterpolatedBounds;
 import org.mini2Dx.ui.render.UiContainerRenderTree;
 
 import com.badlogic.gdx.math.MathUtils;
@@ -42,8 +41,8 @@ public class SlideOutTest {
 	private static final float CURRENT_Y = (CONTAINER_HEIGHT / 2f) - (CURRENT_HEIGHT / 2f);
 
 	private final Mockery mockery = new Mockery();
-	private final CollisionBox currentArea = new CollisionBox(CURRENT_X, CURRENT_Y, CURRENT_WIDTH, CURRENT_HEIGHT);
-	private final Rectangle targetArea = new Rectangle();
+	private final InterpolatedBounds currentArea = new InterpolatedBounds(CURRENT_X, CURRENT_Y, CURRENT_WIDTH, CURRENT_HEIGHT);
+	private final InterpolatedBounds targetArea = new InterpolatedBounds();
 
 	private UiContainerRenderTree renderTree;
 
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link GlyphPrefixWidths}
+ */
+public class GlyphPrefixWidthsTest {
+	private final GlyphPrefixWidths prefixWidths = new GlyphPrefixWidths();
+
+	private BitmapFontData fontData;
+
+	@Before
+	public void setUp() {
+		fontData = new BitmapFontData();
+		fontData.setGlyph('a', createGlyph('a', 1, 8, 10));
+		fontData.setGlyph('b', createGlyph('b', 0, 12, 12));
+	}
+
+	@Test
+	public void testGetWidth() {
+		prefixWidths.update(fontData, "aba");
+
+		Assert.assertEquals(0f, prefixWidths.getWidth(0));
+		Assert.assertEquals(8f, prefixWidths.getWidth(1));
+		Assert.assertEquals(21f, prefixWidths.getWidth(2));
+		Assert.assertEquals(30f, prefixWidths.getWidth(3));
+		Assert.assertEquals(30f, prefixWidths.getWidth(4));
+	}
+
+	@Test
+	public void testGetWidthWithMissingGlyph() {
+		prefixWidths.update(fontData, "azb");
+
+		Assert.assertEquals(8f, prefixWidths.getWidth(1));
+		Assert.assertEquals(8f, prefixWidths.getWidth(2));
+		Assert.assertEquals(21f, prefixWidths.getWidth(3));
+	}
+
+	@Test
+	public void testGetWidthWithScale() {
+		fontData.scaleX = 2f;
+		prefixWidths.update(fontData, "ab");
+
+		Assert.assertEquals(16f, prefixWidths.getWidth(1));
+		Assert.assertEquals(42f, prefixWidths.getWidth(2));
+	}
+
+	@Test
+	public void testGetCharacterIndexAt() {
+		prefixWidths.update(fontData, "aba");
+
+		Assert.assertEquals(0, prefixWidths.getCharacterIndexAt(-5f));
+		Assert.assertEquals(0, prefixWidths.getCharacterIndexAt(7.9f));
+		Assert.assertEquals(1, prefixWidths.getCharacterIndexAt(8f));
+		Assert.assertEquals(2, prefixWidths.getCharacterIndexAt(25f));
+		Assert.assertEquals(3, prefixWidths.getCharacterIndexAt(100f));
+	}
+
+	@Test
+	public void testGetCharacterIndexAtEmptyText() {
+		prefixWidths.update(fontData, "");
+
+		Assert.assertEquals(0, prefixWidths.getCharacterIndexAt(10f));
+		Assert.assertEquals(0f, prefixWidths.getWidth(1));
+	}
+
+	private Glyph createGlyph(char c, int xOffset, int width, int xAdvance) {
+		Glyph result = new Glyph();
+		result.id = c;
+		result.xoffset = xOffset;
+		result.width = width;
+		result.xadvance = xAdvance;
+		return result;
+	}
+}
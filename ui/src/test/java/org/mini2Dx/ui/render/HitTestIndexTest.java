@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.ui.dummy.DummyParentRenderNode;
+import org.mini2Dx.ui.dummy.DummyParentUiElement;
+import org.mini2Dx.ui.dummy.DummyRenderNode;
+import org.mini2Dx.ui.dummy.DummyUiElement;
+import org.mini2Dx.ui.layout.LayoutState;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link HitTestIndex} and its use by {@link RenderLayer}
+ */
+public class HitTestIndexTest {
+	private static final int GRID_SIZE = 5;
+	private static final float CHILD_SIZE = 20f;
+
+	private final Mockery mockery = new Mockery();
+	private final List<CountingRenderNode> children = new ArrayList<CountingRenderNode>();
+
+	private LayoutState layoutState;
+	private UiContainerRenderTree renderTree;
+	private DummyParentRenderNode parentRenderNode;
+	private RenderLayer renderLayer;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		layoutState = mockery.mock(LayoutState.class);
+		renderTree = mockery.mock(UiContainerRenderTree.class);
+		mockery.checking(new Expectations() {
+			{
+				allowing(layoutState).getUiContainerRenderTree();
+				will(returnValue(renderTree));
+				allowing(layoutState).isScreenSizeChanged();
+				will(returnValue(false));
+			}
+		});
+
+		parentRenderNode = new DummyParentRenderNode(null, new DummyParentUiElement());
+		renderLayer = new RenderLayer(parentRenderNode, 0);
+		for (int y = 0; y < GRID_SIZE; y++) {
+			for (int x = 0; x < GRID_SIZE; x++) {
+				DummyUiElement element = new DummyUiElement();
+				element.setPreferredContentWidth(CHILD_SIZE);
+				element.setPreferredContentHeight(CHILD_SIZE);
+
+				CountingRenderNode child = new CountingRenderNode(parentRenderNode, element);
+				child.layout(layoutState);
+				child.setRelativeX(x * CHILD_SIZE);
+				child.setRelativeY(y * CHILD_SIZE);
+				child.update(renderTree, 1f);
+				children.add(child);
+				renderLayer.add(child);
+			}
+		}
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testQuery() {
+		HitTestIndex hitTestIndex = new HitTestIndex();
+		hitTestIndex.build(renderLayer.children);
+
+		IntArray result = hitTestIndex.query(45f, 25f);
+		Assert.assertTrue(result.contains(7));
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i).contains(45f, 25f)) {
+				Assert.assertTrue(result.contains(i));
+			}
+		}
+		Assert.assertTrue(result.size < children.size());
+		Assert.assertEquals(0, hitTestIndex.query(-10f, 25f).size);
+		Assert.assertEquals(0, hitTestIndex.query(45f, 200f).size);
+	}
+
+	@Test
+	public void testMouseMovedOnlyTestsCandidates() {
+		Assert.assertTrue(renderLayer.mouseMoved(45, 25));
+
+		Assert.assertEquals(NodeState.HOVER, children.get(7).getState());
+		int totalTested = 0;
+		for (int i = 0; i < children.size(); i++) {
+			totalTested += children.get(i).mouseMovedCount;
+			if (i != 7) {
+				Assert.assertEquals(NodeState.NORMAL, children.get(i).getState());
+			}
+		}
+		Assert.assertTrue(totalTested < children.size());
+	}
+
+	@Test
+	public void testMouseMovedEndsHoverOutsideCell() {
+		renderLayer.mouseMoved(45, 25);
+		Assert.assertEquals(NodeState.HOVER, children.get(7).getState());
+
+		renderLayer.mouseMoved(95, 95);
+		Assert.assertEquals(NodeState.NORMAL, children.get(7).getState());
+		Assert.assertEquals(NodeState.HOVER, children.get(24).getState());
+	}
+
+	@Test
+	public void testRelayoutInvalidatesIndex() {
+		renderLayer.mouseMoved(5, 5);
+		Assert.assertEquals(NodeState.HOVER, children.get(0).getState());
+
+		children.get(0).setRelativeX(80f);
+		children.get(0).update(renderTree, 1f);
+		renderLayer.invalidateHitTestIndex();
+
+		renderLayer.mouseMoved(85, 5);
+		Assert.assertEquals(NodeState.HOVER, children.get(0).getState());
+		Assert.assertEquals(NodeState.HOVER, children.get(4).getState());
+	}
+
+	private class CountingRenderNode extends DummyRenderNode {
+		private int mouseMovedCount = 0;
+
+		public CountingRenderNode(ParentRenderNode<?, ?> parent, DummyUiElement element) {
+			super(parent, element);
+		}
+
+		@Override
+		public boolean mouseMoved(int screenX, int screenY) {
+			mouseMovedCount++;
+			return super.mouseMoved(screenX, screenY);
+		}
+	}
+}
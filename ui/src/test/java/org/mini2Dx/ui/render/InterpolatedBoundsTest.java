@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import org.junit.Test;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link InterpolatedBounds}
+ */
+public class InterpolatedBoundsTest {
+	private final InterpolatedBounds bounds = new InterpolatedBounds(10f, 20f, 30f, 40f);
+
+	@Test
+	public void testForceTo() {
+		bounds.forceTo(50f, 60f, 70f, 80f);
+
+		Assert.assertEquals(50f, bounds.getX());
+		Assert.assertEquals(60f, bounds.getY());
+		Assert.assertEquals(70f, bounds.getWidth());
+		Assert.assertEquals(80f, bounds.getHeight());
+		Assert.assertEquals(50, bounds.getRenderX());
+		Assert.assertEquals(60, bounds.getRenderY());
+		Assert.assertEquals(70, bounds.getRenderWidth());
+		Assert.assertEquals(80, bounds.getRenderHeight());
+		Assert.assertFalse(bounds.isInterpolateRequired());
+	}
+
+	@Test
+	public void testInterpolate() {
+		bounds.preUpdate();
+		bounds.set(20f, 40f, 50f, 80f);
+		Assert.assertTrue(bounds.isInterpolateRequired());
+
+		bounds.interpolate(0.5f);
+		Assert.assertEquals(15, bounds.getRenderX());
+		Assert.assertEquals(30, bounds.getRenderY());
+		Assert.assertEquals(40, bounds.getRenderWidth());
+		Assert.assertEquals(60, bounds.getRenderHeight());
+		Assert.assertTrue(bounds.isInterpolateRequired());
+
+		bounds.preUpdate();
+		bounds.interpolate(1f);
+		Assert.assertEquals(20, bounds.getRenderX());
+		Assert.assertEquals(40, bounds.getRenderY());
+		Assert.assertEquals(50, bounds.getRenderWidth());
+		Assert.assertEquals(80, bounds.getRenderHeight());
+		Assert.assertFalse(bounds.isInterpolateRequired());
+	}
+
+	@Test
+	public void testContains() {
+		Assert.assertTrue(bounds.contains(10f, 20f));
+		Assert.assertTrue(bounds.contains(25f, 45f));
+		Assert.assertTrue(bounds.contains(40f, 60f));
+		Assert.assertFalse(bounds.contains(9f, 30f));
+		Assert.assertFalse(bounds.contains(20f, 61f));
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.ui.dummy.DummyRenderNode;
+import org.mini2Dx.ui.dummy.DummyUiElement;
+import org.mini2Dx.ui.element.ScrollBox;
+import org.mini2Dx.ui.layout.FlexDirection;
+import org.mini2Dx.ui.layout.LayoutState;
+import org.mini2Dx.ui.style.ScrollBoxStyleRule;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for {@link ScrollBoxRenderLayer}
+ */
+public class ScrollBoxRenderLayerTest {
+	private static final int TOTAL_ROWS = 50;
+	private static final float ROW_HEIGHT = 20f;
+	private static final float VIEWPORT_HEIGHT = 100f;
+
+	private Mockery mockery;
+	private LayoutState layoutState;
+	private UiContainerRenderTree renderTree;
+
+	private final ScrollBox scrollBox = new ScrollBox();
+	private final List<DummyRenderNode> rows = new ArrayList<DummyRenderNode>();
+	private int scrollTranslationY = 0;
+
+	private ScrollBoxRenderNode scrollBoxRenderNode;
+	private ScrollBoxRenderLayer renderLayer;
+
+	@Before
+	public void setUp() {
+		mockery = new Mockery();
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+
+		layoutState = mockery.mock(LayoutState.class);
+		renderTree = mockery.mock(UiContainerRenderTree.class);
+		mockery.checking(new Expectations() {
+			{
+				allowing(layoutState).getUiContainerRenderTree();
+				will(returnValue(renderTree));
+				allowing(layoutState).isScreenSizeChanged();
+				will(returnValue(false));
+			}
+		});
+
+		scrollBox.setVirtualised(true);
+		scrollBox.setOverscan(0f);
+		scrollBox.setFlexDirection(FlexDirection.ROW);
+
+		scrollBoxRenderNode = new ScrollBoxRenderNode(null, scrollBox) {
+			@Override
+			public int getScrollTranslationY() {
+				return scrollTranslationY;
+			}
+
+			@Override
+			public float getViewportHeight() {
+				return VIEWPORT_HEIGHT;
+			}
+		};
+		scrollBoxRenderNode.style = new ScrollBoxStyleRule();
+		scrollBoxRenderNode.flexDirection = FlexDirection.ROW;
+
+		renderLayer = new ScrollBoxRenderLayer(scrollBoxRenderNode, 0);
+		for (int i = 0; i < TOTAL_ROWS; i++) {
+			DummyUiElement element = new DummyUiElement();
+			element.setPreferredContentWidth(100f);
+			element.setPreferredContentHeight(ROW_HEIGHT);
+
+			DummyRenderNode row = new DummyRenderNode(scrollBoxRenderNode, element);
+			rows.add(row);
+			renderLayer.add(row);
+		}
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+	}
+
+	@Test
+	public void testLayoutOnlyChildrenInWindow() {
+		renderLayer.layout(layoutState);
+
+		Assert.assertEquals(0, renderLayer.getFirstWindowIndex());
+		Assert.assertEquals(4, renderLayer.getLastWindowIndex());
+		for (int i = 0; i < TOTAL_ROWS; i++) {
+			Assert.assertEquals(i < 5, rows.get(i).initialLayoutOccurred);
+		}
+		Assert.assertEquals(ROW_HEIGHT, renderLayer.getEstimatedHeight());
+		Assert.assertEquals(ROW_HEIGHT * 4f, rows.get(4).getRelativeY());
+	}
+
+	@Test
+	public void testEstimatedContentHeight() {
+		renderLayer.layout(layoutState);
+		renderLayer.layout(layoutState);
+
+		Assert.assertEquals(ROW_HEIGHT * TOTAL_ROWS, renderLayer.determinePreferredContentHeight(layoutState));
+		Assert.assertEquals(ROW_HEIGHT * 30f, rows.get(30).getRelativeY());
+	}
+
+	@Test
+	public void testScrollWindow() {
+		renderLayer.layout(layoutState);
+		renderLayer.layout(layoutState);
+
+		Assert.assertFalse(renderLayer.isWindowChanged(0f, VIEWPORT_HEIGHT));
+		Assert.assertTrue(renderLayer.isWindowChanged(ROW_HEIGHT * 20f, VIEWPORT_HEIGHT));
+
+		scrollTranslationY = Math.round(ROW_HEIGHT * 20f);
+		renderLayer.layout(layoutState);
+
+		Assert.assertEquals(19, renderLayer.getFirstWindowIndex());
+		Assert.assertEquals(24, renderLayer.getLastWindowIndex());
+		Assert.assertTrue(rows.get(22).initialLayoutOccurred);
+		Assert.assertFalse(rows.get(25).initialLayoutOccurred);
+		Assert.assertFalse(renderLayer.isWindowChanged(ROW_HEIGHT * 20f, VIEWPORT_HEIGHT));
+		Assert.assertTrue(renderLayer.isWindowChanged(0f, VIEWPORT_HEIGHT));
+	}
+
+	@Test
+	public void testChildrenOutsideWindowStayDirty() {
+		renderLayer.layout(layoutState);
+		renderLayer.setDirty(false);
+
+		for (int i = 0; i < TOTAL_ROWS; i++) {
+			Assert.assertEquals(i >= 5, rows.get(i).isDirty());
+		}
+	}
+
+	@Test
+	public void testNotVirtualised() {
+		scrollBox.setVirtualised(false);
+		renderLayer.layout(layoutState);
+
+		Assert.assertEquals(0, renderLayer.getFirstWindowIndex());
+		Assert.assertEquals(TOTAL_ROWS - 1, renderLayer.getLastWindowIndex());
+		for (int i = 0; i < TOTAL_ROWS; i++) {
+			Assert.assertTrue(rows.get(i).initialLayoutOccurred);
+		}
+		Assert.assertEquals(ROW_HEIGHT * TOTAL_ROWS, renderLayer.determinePreferredContentHeight(layoutState));
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2015 See AUTHORS file
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ * Neither the name of the mini2Dx nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.mini2Dx.ui.render;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jmock.Mockery;
+import org.jmock.lib.legacy.ClassImposteriser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mini2Dx.ui.UiContainer;
+import org.mini2Dx.ui.dummy.DummyParentRenderNode;
+import org.mini2Dx.ui.dummy.DummyParentUiElement;
+import org.mini2Dx.ui.dummy.DummyRenderNode;
+import org.mini2Dx.ui.dummy.DummyUiElement;
+import org.mini2Dx.ui.layout.LayoutState;
+
+import com.badlogic.gdx.assets.AssetManager;
+
+import junit.framework.Assert;
+
+/**
+ * Unit tests for incremental layout of {@link UiContainerRenderTree}
+ */
+public class UiContainerRenderTreeTest {
+	private static final int TOTAL_CHILDREN = 5;
+
+	private final Mockery mockery = new Mockery();
+	private final List<DummyUiElement> childElements = new ArrayList<DummyUiElement>();
+	private final List<CountingRenderNode> children = new ArrayList<CountingRenderNode>();
+
+	private UiContainer uiContainer;
+	private UiContainerRenderTree renderTree;
+	private DummyParentUiElement parentElement;
+	private CountingParentRenderNode parent;
+
+	@Before
+	public void setUp() {
+		mockery.setImposteriser(ClassImposteriser.INSTANCE);
+		AssetManager assetManager = mockery.mock(AssetManager.class);
+
+		uiContainer = new UiContainer(800, 600, assetManager);
+		renderTree = new UiContainerRenderTree(uiContainer, assetManager);
+
+		parentElement = new DummyParentUiElement();
+		parentElement.setPreferredContentWidth(200f);
+		parentElement.setPreferredContentHeight(200f);
+		parent = new CountingParentRenderNode(renderTree, parentElement);
+		renderTree.addChild(parent);
+
+		for (int i = 0; i < TOTAL_CHILDREN; i++) {
+			addChild();
+		}
+		renderTree.layout();
+	}
+
+	@After
+	public void teardown() {
+		mockery.assertIsSatisfied();
+		uiContainer.dispose();
+	}
+
+	@Test
+	public void testInitialLayout() {
+		Assert.assertFalse(renderTree.isDirty());
+		Assert.assertEquals(1, parent.layouts);
+		for (int i = 0; i < TOTAL_CHILDREN; i++) {
+			Assert.assertEquals(1, children.get(i).layouts);
+		}
+	}
+
+	@Test
+	public void testLayoutStopsWhenSizeUnchanged() {
+		children.get(2).setDirty(true);
+		Assert.assertTrue(renderTree.isDirty());
+
+		renderTree.layout();
+
+		Assert.assertFalse(renderTree.isDirty());
+		Assert.assertFalse(parent.isDirty());
+		Assert.assertEquals(1, parent.layouts);
+		for (int i = 0; i < TOTAL_CHILDREN; i++) {
+			Assert.assertEquals(i == 2 ? 2 : 1, children.get(i).layouts);
+		}
+	}
+
+	@Test
+	public void testLayoutPropagatesWhenSizeChanged() {
+		childElements.get(2).setPreferredContentHeight(40f);
+		children.get(2).setDirty(true);
+
+		renderTree.layout();
+
+		Assert.assertFalse(renderTree.isDirty());
+		Assert.assertEquals(2, parent.layouts);
+		Assert.assertEquals(40f, children.get(2).getPreferredOuterHeight());
+		for (int i = 0; i < TOTAL_CHILDREN; i++) {
+			Assert.assertEquals(i == 2 ? 2 : 1, children.get(i).layouts);
+		}
+	}
+
+	@Test
+	public void testLayoutNewChild() {
+		CountingRenderNode child = addChild();
+		Assert.assertTrue(renderTree.isDirty());
+
+		renderTree.layout();
+
+		Assert.assertFalse(renderTree.isDirty());
+		Assert.assertEquals(2, parent.layouts);
+		Assert.assertEquals(1, child.layouts);
+		Assert.assertEquals(20f, child.getPreferredOuterHeight());
+	}
+
+	@Test
+	public void testFullLayoutOnResize() {
+		renderTree.onResize(1024, 768);
+		renderTree.layout();
+
+		Assert.assertEquals(2, parent.layouts);
+		for (int i = 0; i < TOTAL_CHILDREN; i++) {
+			Assert.assertEquals(2, children.get(i).layouts);
+		}
+	}
+
+	private CountingRenderNode addChild() {
+		DummyUiElement element = new DummyUiElement();
+		element.setPreferredContentWidth(100f);
+		element.setPreferredContentHeight(20f);
+
+		CountingRenderNode child = new CountingRenderNode(parent, element);
+		parent.addChild(child);
+		childElements.add(element);
+		children.add(child);
+		return child;
+	}
+
+	private class CountingRenderNode extends DummyRenderNode {
+		private int layouts = 0;
+
+		public CountingRenderNode(ParentRenderNode<?, ?> parent, DummyUiElement element) {
+			super(parent, element);
+		}
+
+		@Override
+		public void layout(LayoutState layoutState) {
+			if (isDirty() || layoutState.isScreenSizeChanged()) {
+				layouts++;
+			}
+			super.layout(layoutState);
+		}
+	}
+
+	private class CountingParentRenderNode extends DummyParentRenderNode {
+		private int layouts = 0;
+
+		public CountingParentRenderNode(ParentRenderNode<?, ?> parent, DummyParentUiElement element) {
+			super(parent, element);
+		}
+
+		@Override
+		public void layout(LayoutState layoutState) {
+			if (isDirty() || layoutState.isScreenSizeChanged()) {
+				layouts++;
+			}
+			super.layout(layoutState);
+		}
+	}
+}